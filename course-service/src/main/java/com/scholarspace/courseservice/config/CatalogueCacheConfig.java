@@ -0,0 +1,43 @@
+package com.scholarspace.courseservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks catalogue GETs as cacheable for a short while so the gateway response cache can serve
+ * them. Without an explicit header Spring Security sends {@code no-store} on every response.
+ * Only the shared catalogue paths are listed; anything else under {@code /api/courses}, such as
+ * gradebooks, seat counts and per-student eligibility, is per user or live and stays uncached.
+ */
+@Configuration
+public class CatalogueCacheConfig implements WebMvcConfigurer {
+
+    @Value("${app.catalogue-cache.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        String cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).getHeaderValue();
+        registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        if ("GET".equals(request.getMethod())) {
+                            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                        }
+                        return true;
+                    }
+                })
+                .addPathPatterns("/api/courses", "/api/courses/active", "/api/courses/{id}", "/api/courses/code/*",
+                        "/api/courses/department/**", "/api/courses/institution/**", "/api/courses/*/prerequisites")
+                .excludePathPatterns("/api/courses/eligibility");
+    }
+}
@@ -0,0 +1,20 @@
+package com.scholarspace.courseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.processing")
+public class ContentProcessingProperties {
+    private boolean enabled = true;
+    private int workers = 2;
+    private int queueCapacity = 50;
+    private long pollIntervalMs = 2000;
+    private int maxAttempts = 5;
+    private long initialBackoffMs = 5000;
+    private long maxBackoffMs = 600000;
+    private int maxExtractedChars = 1000000;
+    private int thumbnailSize = 256;
+}
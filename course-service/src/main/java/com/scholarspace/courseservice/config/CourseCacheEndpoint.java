@@ -0,0 +1,32 @@
+package com.scholarspace.courseservice.config;
+
+import com.scholarspace.courseservice.services.CourseCatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/coursecache}: size, hit rate and eviction count per catalogue cache.
+ * The same figures are published as {@code cache.*} meters under {@code /actuator/metrics}.
+ */
+@Component
+@Endpoint(id = "coursecache")
+@RequiredArgsConstructor
+public class CourseCacheEndpoint {
+
+    private final CourseCatalogCache courseCatalogCache;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> caches() {
+        return courseCatalogCache.describe();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        courseCatalogCache.invalidateAll();
+    }
+}
@@ -0,0 +1,15 @@
+package com.scholarspace.courseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.courses")
+public class CourseCacheProperties {
+    private boolean warmOnStartup = true;
+    private long maximumSize = 10000;
+    // Safety net only - writes through CourseService invalidate entries immediately
+    private long expireAfterWriteMinutes = 360;
+}
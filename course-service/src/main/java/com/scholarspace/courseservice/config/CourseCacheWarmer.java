@@ -0,0 +1,34 @@
+package com.scholarspace.courseservice.config;
+
+import com.scholarspace.courseservice.services.CourseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class CourseCacheWarmer implements ApplicationRunner {
+
+    private final CourseService courseService;
+    private final CourseCacheProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isWarmOnStartup()) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            courseService.warmCache();
+            log.info("Course catalogue cache warmed in {} ms", System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // A cold cache only costs latency; never block startup on it
+            log.warn("Course catalogue cache warm-up failed: {}", e.getMessage());
+        }
+    }
+}
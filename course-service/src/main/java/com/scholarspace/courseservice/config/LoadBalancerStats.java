@@ -0,0 +1,129 @@
+package com.scholarspace.courseservice.config;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight calls and peak-EWMA latency per replica, fed by the load balancer lifecycle of every
+ * {@code @LoadBalanced} client. A slow call raises a replica's latency at once; the average then
+ * decays back towards zero, also while the replica gets no traffic, so a replica that was avoided
+ * after a GC pause is tried again once the pause is long enough ago.
+ */
+@Component
+public class LoadBalancerStats implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final LoadBalancingProperties properties;
+    private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+
+    public LoadBalancerStats(LoadBalancingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            of(lbResponse.getServer()).inFlight.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = of(lbResponse.getServer());
+        stats.inFlight.decrementAndGet();
+        long now = System.nanoTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            stats.observe(properties.getFailurePenalty().toNanos(), now);
+        } else if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0) {
+            stats.observe(now - timed.getRequestStartTime(), now);
+        }
+    }
+
+    int inFlight(ServiceInstance instance) {
+        return of(instance).inFlight.get();
+    }
+
+    /**
+     * Expected wait for one more call: latency times the calls it would queue behind. A replica
+     * without a sample yet is free while idle and expensive while its first call is outstanding.
+     */
+    double cost(ServiceInstance instance) {
+        InstanceStats stats = of(instance);
+        int inFlight = stats.inFlight.get();
+        double latency = stats.latencyNanos(System.nanoTime());
+        if (latency == 0) {
+            return inFlight == 0 ? 0 : Double.MAX_VALUE / 2;
+        }
+        return latency * (inFlight + 1);
+    }
+
+    void observe(ServiceInstance instance, long latencyNanos) {
+        of(instance).observe(latencyNanos, System.nanoTime());
+    }
+
+    private InstanceStats of(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), key -> new InstanceStats(properties.getDecay().toNanos()));
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class InstanceStats {
+
+        private final long decayNanos;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        // Guarded by this
+        private double ewmaNanos;
+        private long updatedAt;
+
+        InstanceStats(long decayNanos) {
+            this.decayNanos = decayNanos;
+        }
+
+        synchronized void observe(long latencyNanos, long now) {
+            if (latencyNanos > ewmaNanos || updatedAt == 0) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - updatedAt) / (double) decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            updatedAt = now;
+        }
+
+        synchronized double latencyNanos(long now) {
+            if (updatedAt == 0) {
+                return 0;
+            }
+            // Decays towards zero between samples, but never reaches it once a sample exists
+            double weight = Math.exp(-Math.max(0, now - updatedAt) / (double) decayNanos);
+            return Math.max(1, ewmaNanos * weight);
+        }
+    }
+}
@@ -1,16 +1,76 @@
 package com.scholarspace.courseservice.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        Gauge.builder("http.client.pool.leased", connectionManager, m -> m.getTotalStats().getLeased()).register(meterRegistry);
+        Gauge.builder("http.client.pool.available", connectionManager, m -> m.getTotalStats().getAvailable()).register(meterRegistry);
+        Gauge.builder("http.client.pool.pending", connectionManager, m -> m.getTotalStats().getPending()).register(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager, HttpClientProperties properties) {
+        // Retries are left to ResilientRestTemplate, which knows the target and its deadline
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(properties.getKeepAliveMs()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictMs()))
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientProperties properties, MeterRegistry meterRegistry,
+                                     ObservationRegistry observationRegistry) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        // Load balancing rewrites the URL to an instance address, so the per-target response timeout
+        // is handed over from ResilientRestTemplate on the calling thread
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            Long responseTimeoutMs = ResilientRestTemplate.RESPONSE_TIMEOUT_MS.get();
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeoutMs()))
+                    .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs != null ? responseTimeoutMs : properties.getReadTimeoutMs()))
+                    .build());
+            return context;
+        });
+        ResilientRestTemplate restTemplate = new ResilientRestTemplate(requestFactory, properties, meterRegistry);
+        // Asking for a generated message sends Accept: application/x-protobuf; Map and DTO reads stay JSON
+        restTemplate.getMessageConverters().add(0, new ProtobufHttpMessageConverter());
+        // Every attempt becomes a client span and carries the trace headers to the next service
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
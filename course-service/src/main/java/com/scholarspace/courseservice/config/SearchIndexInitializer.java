@@ -0,0 +1,40 @@
+package com.scholarspace.courseservice.config;
+
+import com.scholarspace.courseservice.services.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the search index on startup when it is empty, or when the service is started with
+ * {@code --reindex}. Runs on a background thread so startup is not held up by a large catalogue.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private final SearchIndexService searchIndexService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean requested = args.containsOption("reindex");
+        if (!requested && !searchIndexService.isEmpty()) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                searchIndexService.reindexAll();
+            } catch (RuntimeException e) {
+                log.error("Initial search index build failed", e);
+            }
+        }, "search-reindex");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+    private String indexDir = "search-index";
+    private int reindexThreads = 4;
+    private int reindexPageSize = 200;
+    private int maxResults = 50;
+    private long commitIntervalMs = 30000;
+}
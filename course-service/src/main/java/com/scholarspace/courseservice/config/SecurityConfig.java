@@ -41,10 +41,20 @@ public class SecurityConfig {
                 
                 // Allow actuator health checks
                 .requestMatchers("/actuator/health").permitAll()
+                // Slow traces carry request URLs, SQL and error messages
+                .requestMatchers("/actuator/slowtraces/**").hasAuthority("ROLE_ADMIN")
+                
+                // Event batches from other services' outbox relays carry a shared token instead of a JWT
+                .requestMatchers(HttpMethod.POST, "/internal/events").permitAll()
                 
                 // Allow OPTIONS requests (CORS preflight)
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 
+                // Gradebook - students may read their own row, instructors of the course manage the rest;
+                // ownership and course assignment are checked in the controller
+                .requestMatchers(HttpMethod.GET, "/api/courses/*/gradebook/students/*").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR", "ROLE_STUDENT")
+                .requestMatchers("/api/courses/*/gradebook", "/api/courses/*/gradebook/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
+                
                 // Course management - Admin only
                 .requestMatchers(HttpMethod.POST, "/api/courses").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/courses/**").hasAuthority("ROLE_ADMIN")
@@ -83,10 +93,31 @@ public class SecurityConfig {
                 
                 // Grading - Instructors only
                 .requestMatchers("/api/submissions/*/grade").hasAuthority("ROLE_INSTRUCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/submissions/grades").hasAuthority("ROLE_INSTRUCTOR")
+                
+                // Ungraded work queue - Instructors only
+                .requestMatchers("/api/submissions/queue", "/api/submissions/queue/**").hasAuthority("ROLE_INSTRUCTOR")
                 
                 // Submission viewing - Students and Instructors
                 .requestMatchers(HttpMethod.GET, "/api/submissions/**").hasAnyAuthority("ROLE_STUDENT", "ROLE_INSTRUCTOR")
                 
+                // Attendance - Instructors record sessions; reads are checked per course and student in the controller
+                .requestMatchers(HttpMethod.POST, "/api/attendance/**").hasAuthority("ROLE_INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/attendance/**").authenticated()
+                
+                // Lessons - term validation and teacher reassignment are Admin only, scheduling is Admin and Instructors
+                .requestMatchers(HttpMethod.POST, "/api/lessons/validate").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/lessons/class-subjects/**").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/lessons/**").authenticated()
+                .requestMatchers("/api/lessons", "/api/lessons/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_INSTRUCTOR")
+                
+                // Timetable generation - Admin only
+                .requestMatchers("/api/timetables/**").hasAuthority("ROLE_ADMIN")
+                
+                // Search - index rebuild is Admin only, queries are filtered per user
+                .requestMatchers(HttpMethod.POST, "/api/search/reindex").hasAuthority("ROLE_ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/search").authenticated()
+                
                 // Dashboard stats - Admin only
                 .requestMatchers("/api/dashboard/**").hasAuthority("ROLE_ADMIN")
                 
@@ -0,0 +1,34 @@
+package com.scholarspace.courseservice.config;
+
+import com.scholarspace.courseservice.services.TraceCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowtraces}: the slowest recent traces seen by this service with self time
+ * per hop; {@code /actuator/slowtraces/{traceId}} lists the spans of one trace.
+ */
+@Component
+@Endpoint(id = "slowtraces")
+@RequiredArgsConstructor
+public class SlowTracesEndpoint {
+
+    private final TraceCollector traceCollector;
+    private final TracingProperties properties;
+
+    @ReadOperation
+    public List<TraceCollector.TraceSummary> slowest(@Nullable Integer limit) {
+        return traceCollector.slowest(limit != null ? limit : properties.getSlowestLimit());
+    }
+
+    @ReadOperation
+    public List<TraceCollector.SpanRecord> trace(@Selector String traceId) {
+        return traceCollector.spans(traceId).orElse(null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.scholarspace.courseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.timetable")
+public class TimetableProperties {
+    private int solverThreads = 4;
+    private long defaultTimeBudgetMs = 20000;
+    private long maxTimeBudgetMs = 120000;
+    private List<DayOfWeek> days = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+    private List<String> periodStarts = List.of("08:00", "08:45", "09:30", "10:30", "11:15", "12:45", "13:30", "14:15");
+    private int periodMinutes = 40;
+}
@@ -0,0 +1,105 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.dto.AttendanceSessionRequest;
+import com.scholarspace.courseservice.security.CourseAccess;
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.AttendanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+@Tag(name = "Attendance", description = "Session attendance capture and attendance rates per course and term.")
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+    private final CourseAccess courseAccess;
+
+    @PostMapping("/courses/{courseId}/sessions/{date}")
+    @Operation(
+        summary = "Record a session register",
+        description = "Records attendance for every listed student of one session in a single write. " +
+                "Submitting the same session again replaces the earlier register. Only actively enrolled students may be listed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Register recorded"),
+        @ApiResponse(responseCode = "400", description = "Future date, unassigned instructor, duplicate or unenrolled students")
+    })
+    public ResponseEntity<?> recordSession(
+            @PathVariable Long courseId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody AttendanceSessionRequest request,
+            Authentication authentication) {
+        try {
+            Long instructorId = CurrentUser.requireId(authentication);
+            int recorded = attendanceService.recordSession(courseId, date, request, instructorId);
+            return ResponseEntity.ok(Map.of("courseId", courseId, "sessionDate", date, "recorded", recorded));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/courses/{courseId}/sessions/{date}")
+    public ResponseEntity<?> getSession(
+            @PathVariable Long courseId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Authentication authentication) {
+        if (!courseAccess.canManageCourse(authentication, courseId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(attendanceService.getSession(courseId, date));
+    }
+
+    @GetMapping("/courses/{courseId}/summary")
+    @Operation(
+        summary = "Get course attendance summary",
+        description = "Returns counts, attendance rate and present streaks for every student with recorded attendance. Excused sessions are left out of rates and streaks."
+    )
+    public ResponseEntity<?> getCourseSummary(@PathVariable Long courseId, Authentication authentication) {
+        if (!courseAccess.canManageCourse(authentication, courseId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(attendanceService.getCourseSummary(courseId));
+    }
+
+    @GetMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<?> getStudentStats(@PathVariable Long courseId, @PathVariable Long studentId,
+                                             Authentication authentication) {
+        if (!courseAccess.canReadStudentInCourse(authentication, courseId, studentId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(attendanceService.getStudentStats(courseId, studentId));
+    }
+
+    @GetMapping("/students/{studentId}")
+    @Operation(
+        summary = "Get student attendance for a term",
+        description = "Aggregates the student's attendance across the courses of the given academic year and semester."
+    )
+    public ResponseEntity<?> getStudentTermAttendance(
+            @PathVariable Long studentId,
+            @RequestParam String academicYear,
+            @RequestParam String semester,
+            Authentication authentication) {
+        if (!courseAccess.canReadStudent(authentication, studentId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(attendanceService.getStudentTermAttendance(studentId, academicYear, semester));
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Not allowed to read this attendance"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.CourseContentSummary;
+import com.scholarspace.courseservice.models.ContentProcessingJob;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.services.ContentProcessingService;
 import com.scholarspace.courseservice.services.CourseContentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +30,7 @@ import java.util.Optional;
 public class CourseContentController {
 
     private final CourseContentService courseContentService;
+    private final ContentProcessingService contentProcessingService;
 
     @PostMapping
     @Operation(
@@ -44,6 +48,8 @@ public class CourseContentController {
             @RequestParam("description") String description,
             @RequestParam("contentType") String contentTypeStr,
             @RequestParam(value = "dueDate", required = false) String dueDateStr,
+            @RequestParam(value = "gradeCategory", required = false) String gradeCategory,
+            @RequestParam(value = "maxPoints", required = false) Double maxPoints,
             @RequestParam(value = "file", required = false) MultipartFile file,
             Authentication authentication) {
         
@@ -57,7 +63,7 @@ public class CourseContentController {
             }
             
             CourseContent content = courseContentService.createCourseContent(
-                courseId, title, description, contentType, instructorId, dueDate, file);
+                courseId, title, description, contentType, instructorId, dueDate, gradeCategory, maxPoints, file);
             
             return ResponseEntity.ok(content);
         } catch (Exception e) {
@@ -71,14 +77,14 @@ public class CourseContentController {
         description = "Retrieves all content for a specific course."
     )
     @ApiResponse(responseCode = "200", description = "Course contents retrieved successfully")
-    public ResponseEntity<List<CourseContent>> getCourseContentsByCourse(
+    public ResponseEntity<List<CourseContentSummary>> getCourseContentsByCourse(
         @Parameter(description = "Course ID", example = "1")
         @PathVariable Long courseId) {
         return ResponseEntity.ok(courseContentService.getCourseContentsByCourse(courseId));
     }
 
     @GetMapping("/course/{courseId}/type/{contentType}")
-    public ResponseEntity<List<CourseContent>> getCourseContentsByType(
+    public ResponseEntity<List<CourseContentSummary>> getCourseContentsByType(
             @PathVariable Long courseId,
             @PathVariable String contentType) {
         
@@ -97,6 +103,15 @@ public class CourseContentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{contentId}/processing")
+    @Operation(
+        summary = "Get processing status",
+        description = "Returns the post-upload processing jobs (file type verification, text extraction, thumbnails) for a content item."
+    )
+    public ResponseEntity<List<ContentProcessingJob>> getProcessingJobs(@PathVariable Long contentId) {
+        return ResponseEntity.ok(contentProcessingService.getJobsForContent(contentId));
+    }
+
     @PutMapping("/{contentId}")
     public ResponseEntity<?> updateCourseContent(
             @PathVariable Long contentId,
@@ -120,8 +135,14 @@ public class CourseContentController {
                         DateTimeFormatter.ISO_LOCAL_DATE_TIME);
             }
             
+            String gradeCategory = (String) updateData.get("gradeCategory");
+            Double maxPoints = null;
+            if (updateData.get("maxPoints") != null) {
+                maxPoints = Double.valueOf(updateData.get("maxPoints").toString());
+            }
+            
             CourseContent content = courseContentService.updateCourseContent(
-                contentId, title, description, contentType, dueDate, instructorId);
+                contentId, title, description, contentType, dueDate, gradeCategory, maxPoints, instructorId);
             
             return ResponseEntity.ok(content);
         } catch (Exception e) {
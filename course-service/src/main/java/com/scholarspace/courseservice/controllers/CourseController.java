@@ -1,8 +1,16 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.config.ProtobufConfig;
+import com.scholarspace.courseservice.dto.DepartmentCourseStats;
+import com.scholarspace.courseservice.dto.InstitutionCourseStats;
 import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.proto.CourseRef;
 import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.security.CourseAccess;
+import com.scholarspace.courseservice.security.CurrentUser;
 import com.scholarspace.courseservice.services.CourseService;
+import com.scholarspace.courseservice.services.CourseStatsService;
+import com.scholarspace.courseservice.services.PrerequisiteGraphService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,12 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -27,6 +42,9 @@ public class CourseController {
     
     private final CourseRepository courseRepo;
     private final CourseService courseService;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final CourseStatsService courseStatsService;
+    private final CourseAccess courseAccess;
 
     @GetMapping
     @Operation(
@@ -42,7 +60,7 @@ public class CourseController {
         )
     )
     public List<Course> getAllCourses() {
-        return courseRepo.findAll();
+        return courseService.getAllCourses();
     }
 
     @PostMapping
@@ -116,8 +134,10 @@ public class CourseController {
                 semester, academicYear, departmentId
             );
             
-            course.setActive(isActive);
-            courseRepo.save(course);
+            if (course.isActive() != isActive) {
+                course.setActive(isActive);
+                course = courseService.updateCourse(course);
+            }
             
             return ResponseEntity.ok(course);
         } catch (NumberFormatException e) {
@@ -146,7 +166,7 @@ public class CourseController {
     @GetMapping("/{id}")
     @Operation(
         summary = "Get course by ID",
-        description = "Retrieves a specific course by its unique identifier."
+        description = "Retrieves a specific course by its unique identifier. Internal callers that accept application/x-protobuf get a compact CourseRef message instead of JSON."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Course found"),
@@ -154,12 +174,35 @@ public class CourseController {
     })
     public ResponseEntity<?> getCourseById(
         @Parameter(description = "Course ID", example = "1")
-        @PathVariable Long id) {
-        Optional<Course> course = courseRepo.findById(id);
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Optional<Course> course = courseService.getCourseById(id);
+        if (course.isPresent() && ProtobufConfig.acceptsProtobuf(accept)) {
+            return ResponseEntity.ok().contentType(ProtobufConfig.PROTOBUF).body(toRef(course.get()));
+        }
         return course.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    private static CourseRef toRef(Course course) {
+        CourseRef.Builder ref = CourseRef.newBuilder()
+                .setCourseId(course.getId())
+                .setCode(course.getCode())
+                .setTitle(course.getTitle())
+                .setActive(course.isActive())
+                .setEnrolledCount(course.getEnrolledCount());
+        if (course.getDepartmentId() != null) {
+            ref.setDepartmentId(course.getDepartmentId());
+        }
+        if (course.getCreditHours() != null) {
+            ref.setCreditHours(course.getCreditHours());
+        }
+        if (course.getCapacity() != null) {
+            ref.setCapacity(course.getCapacity());
+        }
+        return ref.build();
+    }
+
     @GetMapping("/code/{code}")
     @Operation(
         summary = "Get course by code",
@@ -189,6 +232,64 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getCoursesByDepartment(departmentId));
     }
 
+    @GetMapping("/department/{departmentId}/stats")
+    @Operation(
+        summary = "Get department course stats",
+        description = "Returns course and enrollment counts for a department. Counts are cached for a few seconds."
+    )
+    @ApiResponse(responseCode = "200", description = "Stats retrieved successfully")
+    public ResponseEntity<DepartmentCourseStats> getDepartmentStats(
+        @Parameter(description = "Department ID", example = "1")
+        @PathVariable Long departmentId) {
+        return ResponseEntity.ok(courseStatsService.getDepartmentStats(departmentId));
+    }
+
+    @GetMapping("/institution/{institutionId}/stats")
+    @Operation(
+        summary = "Get institution course stats",
+        description = "Returns course and enrollment counts summed over the given departments of an institution. Courses only reference departments, so the caller passes the institution's department ids."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many department ids")
+    })
+    public ResponseEntity<?> getInstitutionStats(
+        @Parameter(description = "Institution ID", example = "1")
+        @PathVariable Long institutionId,
+        @Parameter(description = "Department ids of the institution", example = "1,2,3")
+        @RequestParam(defaultValue = "") List<Long> departmentIds) {
+        try {
+            InstitutionCourseStats stats = courseStatsService.getInstitutionStats(institutionId, departmentIds);
+            return ResponseEntity.ok(stats);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/institution/{institutionId}/departments/stats")
+    @Operation(
+        summary = "Get course stats for every department of an institution",
+        description = "Batch variant of the department stats: one call and one set of grouped queries for all the given departments, plus the institution totals."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many department ids")
+    })
+    public ResponseEntity<?> getInstitutionDepartmentStats(
+        @Parameter(description = "Institution ID", example = "1")
+        @PathVariable Long institutionId,
+        @Parameter(description = "Department ids of the institution", example = "1,2,3")
+        @RequestParam(defaultValue = "") List<Long> departmentIds) {
+        try {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("institution", courseStatsService.getInstitutionStats(institutionId, departmentIds));
+            response.put("departments", courseStatsService.getDepartmentStats(departmentIds));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Update course",
@@ -262,7 +363,7 @@ public class CourseController {
                 course.setDepartmentId(departmentId);
             }
 
-            Course updatedCourse = courseRepo.save(course);
+            Course updatedCourse = courseService.updateCourse(course);
             return ResponseEntity.ok(updatedCourse);
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid number format: " + e.getMessage()));
@@ -283,7 +384,7 @@ public class CourseController {
     public ResponseEntity<?> activateCourse(
         @Parameter(description = "Course ID", example = "1")
         @PathVariable Long id) {
-        Optional<Course> courseOpt = courseRepo.findById(id);
+        Optional<Course> courseOpt = courseService.getCourseById(id);
         if (courseOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -304,7 +405,7 @@ public class CourseController {
     public ResponseEntity<?> deactivateCourse(
         @Parameter(description = "Course ID", example = "1")
         @PathVariable Long id) {
-        Optional<Course> courseOpt = courseRepo.findById(id);
+        Optional<Course> courseOpt = courseService.getCourseById(id);
         if (courseOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -327,7 +428,7 @@ public class CourseController {
         @Parameter(description = "Course ID", example = "1")
         @PathVariable Long id) {
         try {
-            if (courseRepo.findById(id).isEmpty()) {
+            if (courseService.getCourseById(id).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             courseService.deleteCourse(id);
@@ -336,4 +437,173 @@ public class CourseController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    @GetMapping("/{id}/seats")
+    @Operation(
+        summary = "Get course seats",
+        description = "Returns the capacity of a course and how many seats are currently taken. A null capacity means unlimited."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seats retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<?> getSeats(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(seats(courseService.getCourseWithSeats(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/{id}/capacity")
+    @Operation(
+        summary = "Set course capacity",
+        description = "Sets the maximum number of seat-holding enrollments (pending, active or completed). Send a null capacity to remove the limit; lowering it below the current count only blocks new enrollments."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Capacity updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown course or negative capacity"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<?> setCapacity(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id,
+        @RequestBody Map<String, Integer> request) {
+        try {
+            return ResponseEntity.ok(seats(courseService.setCapacity(id, request.get("capacity"))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> seats(Course course) {
+        Map<String, Object> seats = new LinkedHashMap<>();
+        seats.put("courseId", course.getId());
+        seats.put("capacity", course.getCapacity());
+        seats.put("enrolled", course.getEnrolledCount());
+        seats.put("available", course.getCapacity() == null ? null : Math.max(0, course.getCapacity() - course.getEnrolledCount()));
+        return seats;
+    }
+
+    @GetMapping("/{id}/prerequisites")
+    @Operation(
+        summary = "Get course prerequisites",
+        description = "Returns the direct prerequisites of a course and its full transitive prerequisite chain."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prerequisites retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<?> getPrerequisites(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id) {
+        if (courseService.getCourseById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+            "courseId", id,
+            "direct", prerequisiteGraphService.getDirectPrerequisites(id),
+            "all", prerequisiteGraphService.getAllPrerequisites(id)
+        ));
+    }
+
+    @PutMapping("/{id}/prerequisites")
+    @Operation(
+        summary = "Set course prerequisites",
+        description = "Replaces the direct prerequisites of a course. Rejected if the change would create a prerequisite cycle."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prerequisites updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown course or prerequisite cycle"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    public ResponseEntity<?> setPrerequisites(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id,
+        @RequestBody Map<String, List<Number>> request) {
+        try {
+            Set<Long> prerequisiteIds = new HashSet<>();
+            for (Number prerequisiteId : request.getOrDefault("prerequisiteIds", List.of())) {
+                prerequisiteIds.add(prerequisiteId.longValue());
+            }
+            prerequisiteGraphService.setPrerequisites(id, prerequisiteIds);
+            return ResponseEntity.ok(Map.of(
+                "message", "Prerequisites updated successfully",
+                "direct", prerequisiteGraphService.getDirectPrerequisites(id),
+                "all", prerequisiteGraphService.getAllPrerequisites(id)
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/eligibility")
+    @Operation(
+        summary = "Check prerequisite eligibility for students",
+        description = "Checks each student's completed enrollments against the course's full prerequisite chain. " +
+                     "Admins and instructors of the course may check anyone; a student may only check themself."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Eligibility computed for every requested student"),
+        @ApiResponse(responseCode = "403", description = "Caller may not see one of the requested students")
+    })
+    public ResponseEntity<?> checkEligibility(
+        @Parameter(description = "Course ID", example = "1")
+        @PathVariable Long id,
+        @RequestBody Map<String, List<Number>> request,
+        Authentication authentication) {
+        List<Long> studentIds = new ArrayList<>();
+        for (Number studentId : request.getOrDefault("studentIds", List.of())) {
+            studentIds.add(studentId.longValue());
+        }
+        if (!courseAccess.canManageCourse(authentication, id)
+                && !studentIds.stream().allMatch(studentId -> CurrentUser.isSelf(authentication, studentId))) {
+            return forbidden();
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        prerequisiteGraphService.getMissingPrerequisites(id, studentIds).forEach((studentId, missing) -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("studentId", studentId);
+            result.put("eligible", missing.isEmpty());
+            result.put("missingPrerequisites", missing);
+            results.add(result);
+        });
+        return ResponseEntity.ok(Map.of("courseId", id, "results", results));
+    }
+
+    @GetMapping("/eligibility")
+    @Operation(
+        summary = "Check prerequisite eligibility for a student",
+        description = "Checks one student's completed enrollments against the full prerequisite chain of each requested course. " +
+                     "Students may only check themselves."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Eligibility computed for every requested course"),
+        @ApiResponse(responseCode = "403", description = "Caller may not see this student")
+    })
+    public ResponseEntity<?> checkStudentEligibility(
+        @RequestParam Long studentId,
+        @RequestParam List<Long> courseIds,
+        Authentication authentication) {
+        if (!courseAccess.canReadStudent(authentication, studentId)) {
+            return forbidden();
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        prerequisiteGraphService.getMissingPrerequisitesForStudent(studentId, courseIds).forEach((courseId, missing) -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("courseId", courseId);
+            result.put("eligible", missing.isEmpty());
+            result.put("missingPrerequisites", missing);
+            results.add(result);
+        });
+        return ResponseEntity.ok(Map.of("studentId", studentId, "results", results));
+    }
+
+    private static ResponseEntity<Map<String, String>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", "Not allowed to check eligibility for this student"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.config.OutboxProperties;
+import com.scholarspace.courseservice.services.events.DomainEvent;
+import com.scholarspace.courseservice.services.events.DomainEventDispatcher;
+import com.scholarspace.courseservice.services.events.HttpEventPublisher;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+/** Receives event batches relayed from other services' outboxes. */
+@RestController
+@RequestMapping("/internal/events")
+@RequiredArgsConstructor
+@Hidden
+public class DomainEventController {
+
+    private final DomainEventDispatcher dispatcher;
+    private final OutboxProperties properties;
+
+    @PostMapping
+    public ResponseEntity<?> receive(@RequestHeader(name = HttpEventPublisher.TOKEN_HEADER, required = false) String token,
+                                     @RequestBody List<DomainEvent> events) {
+        if (!validToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Invalid event token"));
+        }
+        // A listener failure surfaces as a 5xx so the sender backs off and redelivers the batch
+        int delivered = dispatcher.dispatch(events);
+        return ResponseEntity.ok(Map.of("received", events.size(), "delivered", delivered));
+    }
+
+    private boolean validToken(String token) {
+        String expected = properties.getToken();
+        return token != null && expected != null && !expected.isEmpty()
+                && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
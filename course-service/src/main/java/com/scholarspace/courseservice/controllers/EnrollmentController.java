@@ -1,5 +1,6 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.EnrollmentSummary;
 import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.models.EnrollmentStatus;
 import com.scholarspace.courseservice.services.EnrollmentService;
@@ -54,22 +55,22 @@ public class EnrollmentController {
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<EnrollmentSummary>> getEnrollmentsByCourse(@PathVariable Long courseId) {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByCourse(courseId));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<EnrollmentSummary>> getEnrollmentsByStudent(@PathVariable Long studentId) {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudent(studentId));
     }
 
     @GetMapping("/course/{courseId}/active")
-    public ResponseEntity<List<Enrollment>> getActiveEnrollmentsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<EnrollmentSummary>> getActiveEnrollmentsByCourse(@PathVariable Long courseId) {
         return ResponseEntity.ok(enrollmentService.getActiveEnrollmentsByCourse(courseId));
     }
 
     @GetMapping("/student/{studentId}/active")
-    public ResponseEntity<List<Enrollment>> getActiveEnrollmentsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<EnrollmentSummary>> getActiveEnrollmentsByStudent(@PathVariable Long studentId) {
         return ResponseEntity.ok(enrollmentService.getActiveEnrollmentsByStudent(studentId));
     }
 
@@ -79,7 +80,7 @@ public class EnrollmentController {
         description = "Retrieves all enrollment requests that are pending approval. Only administrators can access this."
     )
     @ApiResponse(responseCode = "200", description = "Pending enrollments retrieved successfully")
-    public ResponseEntity<List<Enrollment>> getPendingEnrollments() {
+    public ResponseEntity<List<EnrollmentSummary>> getPendingEnrollments() {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByStatus(EnrollmentStatus.PENDING));
     }
 
@@ -0,0 +1,81 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.dto.GradebookMatrix;
+import com.scholarspace.courseservice.security.CourseAccess;
+import com.scholarspace.courseservice.services.GradebookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/courses/{courseId}/gradebook")
+@RequiredArgsConstructor
+@Tag(name = "Gradebook", description = "Weighted course grades computed from graded submissions.")
+public class GradebookController {
+
+    private final GradebookService gradebookService;
+    private final CourseAccess courseAccess;
+
+    @GetMapping
+    @Operation(
+        summary = "Get course gradebook",
+        description = "Returns the whole-course matrix of students by graded assignments with per-category percentages and weighted totals."
+    )
+    @ApiResponse(responseCode = "200", description = "Gradebook retrieved successfully")
+    public ResponseEntity<?> getGradebook(@PathVariable Long courseId, Authentication authentication) {
+        if (!courseAccess.canManageCourse(authentication, courseId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(gradebookService.getGradebook(courseId));
+    }
+
+    @GetMapping("/students/{studentId}")
+    @Operation(
+        summary = "Get one student's grades",
+        description = "Students may read only their own row; instructors assigned to the course and admins may read any."
+    )
+    public ResponseEntity<?> getStudentGrades(@PathVariable Long courseId, @PathVariable Long studentId,
+                                              Authentication authentication) {
+        if (!courseAccess.canReadStudentInCourse(authentication, courseId, studentId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(gradebookService.getStudentGrades(courseId, studentId));
+    }
+
+    @GetMapping("/weights")
+    public ResponseEntity<?> getWeights(@PathVariable Long courseId, Authentication authentication) {
+        if (!courseAccess.canManageCourse(authentication, courseId)) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(gradebookService.getWeights(courseId));
+    }
+
+    @PutMapping("/weights")
+    @Operation(
+        summary = "Set category weights",
+        description = "Replaces the category weights of the course, e.g. {\"ASSIGNMENT\": 40, \"EXAM\": 60}. " +
+                "Without weights every category counts equally; once set, unlisted categories are excluded from totals."
+    )
+    public ResponseEntity<?> setWeights(@PathVariable Long courseId, @RequestBody Map<String, Double> weights,
+                                        Authentication authentication) {
+        if (!courseAccess.canManageCourse(authentication, courseId)) {
+            return forbidden();
+        }
+        try {
+            return ResponseEntity.ok(gradebookService.setWeights(courseId, weights));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Not allowed to access this gradebook"));
+    }
+}
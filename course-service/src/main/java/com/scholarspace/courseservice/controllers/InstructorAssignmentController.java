@@ -1,5 +1,6 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.CourseInstructorSummary;
 import com.scholarspace.courseservice.models.CourseInstructor;
 import com.scholarspace.courseservice.models.InstructorRole;
 import com.scholarspace.courseservice.services.InstructorAssignmentService;
@@ -59,7 +60,7 @@ public class InstructorAssignmentController {
     }
 
     @GetMapping("/courses/instructor/{instructorId}")
-    public ResponseEntity<List<CourseInstructor>> getCoursesByInstructor(@PathVariable Long instructorId) {
+    public ResponseEntity<List<CourseInstructorSummary>> getCoursesByInstructor(@PathVariable Long instructorId) {
         return ResponseEntity.ok(instructorAssignmentService.getCoursesByInstructor(instructorId));
     }
 
@@ -103,7 +104,7 @@ public class InstructorAssignmentController {
     }
 
     @GetMapping("/{courseId}/instructors")
-    public ResponseEntity<List<CourseInstructor>> getInstructorsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<CourseInstructorSummary>> getInstructorsByCourse(@PathVariable Long courseId) {
         return ResponseEntity.ok(instructorAssignmentService.getInstructorsByCourse(courseId));
     }
 
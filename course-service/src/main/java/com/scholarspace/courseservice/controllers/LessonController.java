@@ -0,0 +1,189 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.dto.ScheduleConflict;
+import com.scholarspace.courseservice.dto.TermValidationReport;
+import com.scholarspace.courseservice.dto.WeekView;
+import com.scholarspace.courseservice.models.ClassSubject;
+import com.scholarspace.courseservice.models.Lesson;
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.LessonScheduleService;
+import com.scholarspace.courseservice.services.LessonService;
+import com.scholarspace.courseservice.services.WeekViewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/lessons")
+@RequiredArgsConstructor
+@Tag(name = "Lessons", description = "Lesson scheduling with teacher, room and class double-booking checks.")
+public class LessonController {
+
+    private final LessonService lessonService;
+    private final LessonScheduleService lessonScheduleService;
+    private final WeekViewService weekViewService;
+
+    @PostMapping
+    @Operation(
+        summary = "Schedule a lesson",
+        description = "Creates a lesson unless its teacher, room or class is already booked for an overlapping time that day."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lesson scheduled"),
+        @ApiResponse(responseCode = "400", description = "Invalid lesson or unknown class subject"),
+        @ApiResponse(responseCode = "409", description = "Lesson clashes with existing bookings")
+    })
+    public ResponseEntity<?> createLesson(@RequestBody Lesson lesson, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(lessonService.createLesson(lesson, CurrentUser.requireId(authentication)));
+        } catch (LessonScheduleService.ScheduleConflictException e) {
+            return conflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{lessonId}")
+    public ResponseEntity<?> updateLesson(@PathVariable Long lessonId, @RequestBody Lesson lesson) {
+        try {
+            return ResponseEntity.ok(lessonService.updateLesson(lessonId, lesson));
+        } catch (LessonScheduleService.ScheduleConflictException e) {
+            return conflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{lessonId}/cancel")
+    public ResponseEntity<?> cancelLesson(@PathVariable Long lessonId) {
+        try {
+            return ResponseEntity.ok(lessonService.cancelLesson(lessonId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{lessonId}")
+    public ResponseEntity<?> deleteLesson(@PathVariable Long lessonId) {
+        try {
+            lessonService.deleteLesson(lessonId);
+            return ResponseEntity.ok(Map.of("message", "Lesson deleted successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{lessonId}")
+    public ResponseEntity<Lesson> getLessonById(@PathVariable Long lessonId) {
+        return lessonService.getLessonById(lessonId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/class-subject/{classSubjectId}")
+    public ResponseEntity<List<Lesson>> getLessonsByClassSubject(
+            @PathVariable Long classSubjectId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(lessonService.getLessonsByClassSubject(classSubjectId, from, to));
+    }
+
+    @PostMapping("/conflicts")
+    @Operation(
+        summary = "Check a lesson for clashes",
+        description = "Returns the bookings the lesson would clash with, without saving it. Pass lessonId to check a reschedule."
+    )
+    public ResponseEntity<?> checkConflicts(@RequestBody Lesson lesson) {
+        try {
+            List<ScheduleConflict> conflicts = lessonService.checkConflicts(lesson);
+            return ResponseEntity.ok(conflicts);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/validate")
+    @Operation(
+        summary = "Validate a whole term",
+        description = "Checks every lesson in the date range for teacher, room and class clashes, one school per worker, and reports them grouped by school."
+    )
+    public ResponseEntity<?> validateTerm(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            TermValidationReport report = lessonScheduleService.validateTerm(from, to);
+            return ResponseEntity.ok(report);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/week/classes/{classId}")
+    @Operation(
+        summary = "Get a class's week",
+        description = "Returns the class's lessons for the Monday-to-Sunday week containing the date, with subject and class names resolved. Send the ETag back in If-None-Match to get 304 when nothing changed."
+    )
+    public ResponseEntity<WeekView> getClassWeek(
+            @PathVariable Long classId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return weekResponse(weekViewService.getClassWeek(classId, date != null ? date : LocalDate.now()));
+    }
+
+    @GetMapping("/week/teachers/{teacherId}")
+    @Operation(
+        summary = "Get a teacher's week",
+        description = "Returns the teacher's lessons across all classes for the week containing the date. Supports If-None-Match like the class week."
+    )
+    public ResponseEntity<WeekView> getTeacherWeek(
+            @PathVariable Long teacherId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return weekResponse(weekViewService.getTeacherWeek(teacherId, date != null ? date : LocalDate.now()));
+    }
+
+    @PutMapping("/class-subjects/{classSubjectId}")
+    @Operation(
+        summary = "Reassign a class subject",
+        description = "Changes the teacher and room preference of a class subject. Refused with 409 if the new teacher is already booked during any upcoming lesson."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Class subject updated"),
+        @ApiResponse(responseCode = "400", description = "Unknown class subject"),
+        @ApiResponse(responseCode = "409", description = "New teacher clashes with upcoming lessons")
+    })
+    public ResponseEntity<?> updateClassSubject(@PathVariable Long classSubjectId, @RequestBody Map<String, Object> request) {
+        try {
+            Number teacherId = (Number) request.get("teacherId");
+            ClassSubject saved = lessonService.updateClassSubject(classSubjectId,
+                    teacherId != null ? teacherId.longValue() : null, (String) request.get("roomPreference"));
+            return ResponseEntity.ok(saved);
+        } catch (LessonScheduleService.ScheduleConflictException e) {
+            return conflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Spring answers 304 itself when If-None-Match matches this ETag, skipping the body
+    private static ResponseEntity<WeekView> weekResponse(WeekView view) {
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(view);
+    }
+
+    private ResponseEntity<?> conflict(LessonScheduleService.ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage(), "conflicts", e.getConflicts()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.services.EnrollmentService;
+import com.scholarspace.courseservice.services.InstructorAssignmentService;
+import com.scholarspace.courseservice.services.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search over courses and course contents, filtered to what the caller may see.")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+    private final EnrollmentService enrollmentService;
+    private final InstructorAssignmentService instructorAssignmentService;
+
+    @GetMapping
+    @Operation(
+        summary = "Search courses and contents",
+        description = "Searches course code, title and description plus content title, description and extracted document text. " +
+                      "Contents are only returned for courses the caller teaches or is actively enrolled in."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search results ordered by relevance"),
+        @ApiResponse(responseCode = "400", description = "Missing query or invalid type")
+    })
+    public ResponseEntity<?> search(
+            @Parameter(description = "Search text", example = "algebra")
+            @RequestParam("q") String query,
+            @Parameter(description = "Restrict to 'course' or 'content'")
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            Authentication authentication) {
+
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query must not be empty"));
+        }
+        if (type != null && !type.equals("course") && !type.equals("content")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid type: " + type));
+        }
+
+        boolean isAdmin = hasRole(authentication, "ROLE_ADMIN");
+        Set<Long> visibleCourseIds = isAdmin ? null : resolveVisibleCourseIds(authentication);
+
+        List<Map<String, Object>> results = searchIndexService.search(query, type, visibleCourseIds, isAdmin, limit);
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/reindex")
+    @Operation(
+        summary = "Rebuild search index",
+        description = "Drops and rebuilds the search index from the database in parallel. Admin only."
+    )
+    public ResponseEntity<?> reindex() {
+        try {
+            long documents = searchIndexService.reindexAll();
+            return ResponseEntity.ok(Map.of("message", "Search index rebuilt", "documents", documents));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Set<Long> resolveVisibleCourseIds(Authentication authentication) {
+        Set<Long> courseIds = new HashSet<>();
+        if (!(authentication.getDetails() instanceof Long userId)) {
+            return courseIds;
+        }
+        if (hasRole(authentication, "ROLE_INSTRUCTOR")) {
+            courseIds.addAll(instructorAssignmentService.getCourseIdsByInstructor(userId));
+        }
+        if (hasRole(authentication, "ROLE_STUDENT")) {
+            courseIds.addAll(enrollmentService.getActiveCourseIdsByStudent(userId));
+        }
+        return courseIds;
+    }
+
+    private boolean hasRole(Authentication authentication, String role) {
+        return authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(role));
+    }
+}
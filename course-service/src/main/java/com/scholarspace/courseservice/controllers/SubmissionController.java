@@ -1,10 +1,21 @@
 package com.scholarspace.courseservice.controllers;
 
+import com.scholarspace.courseservice.dto.GradeResult;
+import com.scholarspace.courseservice.dto.GradeUpdate;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
+import com.scholarspace.courseservice.dto.UngradedPage;
 import com.scholarspace.courseservice.models.Submission;
+import com.scholarspace.courseservice.security.CurrentUser;
 import com.scholarspace.courseservice.services.SubmissionService;
+import com.scholarspace.courseservice.services.UngradedQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,6 +31,7 @@ import java.util.Optional;
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final UngradedQueueService ungradedQueueService;
 
     @PostMapping
     public ResponseEntity<?> submitAssignment(
@@ -28,7 +40,7 @@ public class SubmissionController {
             Authentication authentication) {
         
         try {
-            Long studentId = getUserIdFromAuth(authentication);
+            Long studentId = CurrentUser.requireId(authentication);
             Submission submission = submissionService.submitAssignment(contentId, studentId, file);
             return ResponseEntity.ok(submission);
         } catch (Exception e) {
@@ -37,17 +49,17 @@ public class SubmissionController {
     }
 
     @GetMapping("/assignment/{contentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByAssignment(@PathVariable Long contentId) {
+    public ResponseEntity<List<SubmissionSummary>> getSubmissionsByAssignment(@PathVariable Long contentId) {
         return ResponseEntity.ok(submissionService.getSubmissionsByAssignment(contentId));
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<SubmissionSummary>> getSubmissionsByStudent(@PathVariable Long studentId) {
         return ResponseEntity.ok(submissionService.getSubmissionsByStudent(studentId));
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Submission>> getSubmissionsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<SubmissionSummary>> getSubmissionsByCourse(@PathVariable Long courseId) {
         return ResponseEntity.ok(submissionService.getSubmissionsByCourse(courseId));
     }
 
@@ -59,10 +71,44 @@ public class SubmissionController {
     }
 
     @GetMapping("/ungraded")
-    public ResponseEntity<List<Submission>> getUngradedSubmissions() {
+    public ResponseEntity<List<SubmissionSummary>> getUngradedSubmissions() {
         return ResponseEntity.ok(submissionService.getUngradedSubmissions());
     }
 
+    @GetMapping("/queue")
+    @Operation(
+        summary = "Get ungraded work queue",
+        description = "Ungraded submissions across the calling instructor's assigned courses, oldest first. " +
+                "Pass the returned nextCursor to fetch the following page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Queue page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<?> getUngradedQueue(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            Authentication authentication) {
+        
+        try {
+            Long instructorId = CurrentUser.requireId(authentication);
+            UngradedPage page = ungradedQueueService.getQueue(instructorId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/queue/counts")
+    @Operation(
+        summary = "Get ungraded counts per course",
+        description = "Number of ungraded submissions in each of the calling instructor's assigned courses."
+    )
+    public ResponseEntity<Map<Long, Integer>> getUngradedCounts(Authentication authentication) {
+        Long instructorId = CurrentUser.requireId(authentication);
+        return ResponseEntity.ok(ungradedQueueService.getCounts(instructorId));
+    }
+
     @PutMapping("/{submissionId}/grade")
     public ResponseEntity<?> gradeSubmission(
             @PathVariable Long submissionId,
@@ -70,19 +116,45 @@ public class SubmissionController {
             Authentication authentication) {
         
         try {
-            Long instructorId = getUserIdFromAuth(authentication);
+            Long instructorId = CurrentUser.requireId(authentication);
             Double grade = Double.valueOf(gradeData.get("grade").toString());
             String feedback = (String) gradeData.get("feedback");
             
             Submission submission = submissionService.gradeSubmission(submissionId, grade, feedback, instructorId);
             return ResponseEntity.ok(submission);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
-    private Long getUserIdFromAuth(Authentication authentication) {
-        // Extract user ID from JWT token - placeholder implementation
-        return 1L;
+    @PostMapping("/grades")
+    @Operation(
+        summary = "Grade submissions in bulk",
+        description = "Applies a list of grades as one batched update. Pass the version each submission had when it was " +
+                "opened to detect edits by another grader; conflicting rows, and rows in courses the caller is not " +
+                "assigned to, are reported and left untouched."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-row results of the bulk grading"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request")
+    })
+    public ResponseEntity<?> gradeSubmissions(
+            @RequestBody List<GradeUpdate> grades,
+            Authentication authentication) {
+        
+        try {
+            Long instructorId = CurrentUser.requireId(authentication);
+            List<GradeResult> results = submissionService.gradeSubmissions(grades, instructorId);
+            long updated = results.stream().filter(r -> r.outcome() == GradeResult.Outcome.UPDATED).count();
+            return ResponseEntity.ok(Map.of(
+                "updated", updated,
+                "failed", results.size() - updated,
+                "results", results
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 }
\ No newline at end of file
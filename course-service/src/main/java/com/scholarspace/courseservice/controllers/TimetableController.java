@@ -0,0 +1,74 @@
+package com.scholarspace.courseservice.controllers;
+
+import com.scholarspace.courseservice.dto.TimetableEntry;
+import com.scholarspace.courseservice.dto.TimetableJobStatus;
+import com.scholarspace.courseservice.dto.TimetableRequest;
+import com.scholarspace.courseservice.security.CurrentUser;
+import com.scholarspace.courseservice.services.TimetableService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timetables")
+@RequiredArgsConstructor
+@Tag(name = "Timetables", description = "Automatic weekly timetable generation from class subjects and weekly periods.")
+public class TimetableController {
+
+    private final TimetableService timetableService;
+
+    @PostMapping("/generate")
+    @Operation(
+        summary = "Generate a school timetable",
+        description = "Starts generating a clash-free weekly timetable for every active class of the school and academic year, " +
+                "then writes it as lessons for each week of the term. Returns immediately; poll the job for progress. " +
+                "If any lesson would clash with an existing teacher, room or class booking the job fails and nothing is written. " +
+                "With dryRun the timetable is only computed, not written."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Generation started"),
+        @ApiResponse(responseCode = "400", description = "Invalid request, impossible load, or the term already has lessons")
+    })
+    public ResponseEntity<?> generate(@RequestBody TimetableRequest request, Authentication authentication) {
+        try {
+            TimetableJobStatus status = timetableService.start(request, CurrentUser.requireId(authentication));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(
+        summary = "Get generation progress",
+        description = "Returns the job state, solver iterations so far and the best clash count and soft penalty found."
+    )
+    public ResponseEntity<TimetableJobStatus> getStatus(@PathVariable String jobId) {
+        return timetableService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/jobs/{jobId}/entries")
+    public ResponseEntity<List<TimetableEntry>> getEntries(@PathVariable String jobId) {
+        return timetableService.getEntries(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<TimetableJobStatus> cancel(@PathVariable String jobId) {
+        return timetableService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,6 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDateTime;
+
+public record AssignmentRef(Long contentId, String title, LocalDateTime dueDate, Long courseId) {
+}
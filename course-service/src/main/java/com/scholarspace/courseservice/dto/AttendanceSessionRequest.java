@@ -0,0 +1,9 @@
+package com.scholarspace.courseservice.dto;
+
+import java.util.List;
+
+/**
+ * The full register of one class session, as sets of student ids per status.
+ */
+public record AttendanceSessionRequest(List<Long> present, List<Long> absent, List<Long> excused) {
+}
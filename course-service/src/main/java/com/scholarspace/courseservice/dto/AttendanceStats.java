@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Attendance of one student in one course. {@code rate} is present / (present + absent) as a
+ * percentage, excused sessions counting toward neither; streaks are runs of attended sessions.
+ */
+public record AttendanceStats(
+        Long courseId,
+        Long studentId,
+        int present,
+        int absent,
+        int excused,
+        Double rate,
+        int currentStreak,
+        int longestStreak) {
+}
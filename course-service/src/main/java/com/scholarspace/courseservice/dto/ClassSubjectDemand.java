@@ -0,0 +1,13 @@
+package com.scholarspace.courseservice.dto;
+
+/** What one class subject needs from a weekly timetable: who teaches it, where, and how often. */
+public record ClassSubjectDemand(
+        Long classSubjectId,
+        Long classId,
+        String className,
+        String subjectName,
+        Long teacherId,
+        String roomPreference,
+        String classRoom,
+        Integer weeklyPeriods) {
+}
@@ -0,0 +1,39 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.ContentType;
+
+import java.time.LocalDateTime;
+
+public record CourseContentSummary(
+        Long contentId,
+        Long courseId,
+        CourseRef course,
+        String title,
+        String description,
+        ContentType contentType,
+        String filePath,
+        String fileType,
+        String gradeCategory,
+        Double maxPoints,
+        String detectedFileType,
+        Integer pageCount,
+        String thumbnailPath,
+        LocalDateTime publishedAt,
+        LocalDateTime dueDate,
+        Long createdBy,
+        LocalDateTime createdAt) {
+
+    // Flat constructor used by JPQL constructor expressions
+    public CourseContentSummary(Long contentId, Long courseId, String courseCode, String courseTitle, String courseDescription,
+                                Integer creditHours, String semester, String academicYear, Long departmentId,
+                                boolean courseActive, LocalDateTime courseCreatedAt, Integer capacity, int enrolledCount,
+                                String title, String description, ContentType contentType, String filePath,
+                                String fileType, String gradeCategory, Double maxPoints, String detectedFileType,
+                                Integer pageCount, String thumbnailPath, LocalDateTime publishedAt,
+                                LocalDateTime dueDate, Long createdBy, LocalDateTime createdAt) {
+        this(contentId, courseId, new CourseRef(courseId, courseCode, courseTitle, courseDescription, creditHours,
+                semester, academicYear, departmentId, courseActive, courseCreatedAt, capacity, enrolledCount),
+                title, description, contentType, filePath, fileType, gradeCategory, maxPoints, detectedFileType,
+                pageCount, thumbnailPath, publishedAt, dueDate, createdBy, createdAt);
+    }
+}
@@ -0,0 +1,23 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.InstructorRole;
+
+import java.time.LocalDateTime;
+
+public record CourseInstructorSummary(
+        Long id,
+        CourseRef course,
+        Long instructorId,
+        InstructorRole role,
+        LocalDateTime createdAt) {
+
+    // Flat constructor used by JPQL constructor expressions
+    public CourseInstructorSummary(Long id, Long courseId, String courseCode, String courseTitle, String courseDescription,
+                                   Integer creditHours, String semester, String academicYear, Long departmentId,
+                                   boolean courseActive, LocalDateTime courseCreatedAt, Integer capacity, int enrolledCount,
+                                   Long instructorId, InstructorRole role, LocalDateTime createdAt) {
+        this(id, new CourseRef(courseId, courseCode, courseTitle, courseDescription, creditHours, semester,
+                academicYear, departmentId, courseActive, courseCreatedAt, capacity, enrolledCount),
+                instructorId, role, createdAt);
+    }
+}
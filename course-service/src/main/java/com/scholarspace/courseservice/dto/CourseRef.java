@@ -0,0 +1,40 @@
+package com.scholarspace.courseservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * The course columns embedded in listing responses. It serialises to the same fields as the
+ * {@code Course} entity, aliases included, so callers that used to receive the entity see no
+ * difference; only the prerequisites, which the entity never serialised, are missing.
+ */
+public record CourseRef(
+        Long id,
+        String code,
+        String title,
+        String description,
+        Integer creditHours,
+        String semester,
+        String academicYear,
+        Long departmentId,
+        @JsonProperty("isActive") boolean isActive,
+        LocalDateTime createdAt,
+        Integer capacity,
+        int enrolledCount) {
+
+    @JsonProperty("courseId")
+    public Long courseId() {
+        return id;
+    }
+
+    @JsonProperty("courseCode")
+    public String courseCode() {
+        return code;
+    }
+
+    @JsonProperty("courseName")
+    public String courseName() {
+        return title;
+    }
+}
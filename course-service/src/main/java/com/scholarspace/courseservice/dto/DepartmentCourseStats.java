@@ -0,0 +1,19 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Course and enrollment counts of one department. {@code enrollmentCount} counts ACTIVE
+ * enrollments, {@code pendingEnrollmentCount} PENDING ones, and {@code studentCount} the distinct
+ * students holding at least one ACTIVE enrollment.
+ */
+public record DepartmentCourseStats(
+        Long departmentId,
+        long courseCount,
+        long activeCourseCount,
+        long enrollmentCount,
+        long pendingEnrollmentCount,
+        long studentCount) {
+
+    public static DepartmentCourseStats empty(Long departmentId) {
+        return new DepartmentCourseStats(departmentId, 0, 0, 0, 0, 0);
+    }
+}
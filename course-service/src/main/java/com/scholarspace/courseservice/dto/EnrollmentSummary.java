@@ -0,0 +1,26 @@
+package com.scholarspace.courseservice.dto;
+
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+
+public record EnrollmentSummary(
+        Long enrollmentId,
+        CourseRef course,
+        Long studentId,
+        LocalDateTime enrollmentDate,
+        EnrollmentStatus status,
+        String grade,
+        LocalDateTime createdAt) {
+
+    // Flat constructor used by JPQL constructor expressions
+    public EnrollmentSummary(Long enrollmentId, Long courseId, String courseCode, String courseTitle, String courseDescription,
+                             Integer creditHours, String semester, String academicYear, Long departmentId,
+                             boolean courseActive, LocalDateTime courseCreatedAt, Integer capacity, int enrolledCount,
+                             Long studentId, LocalDateTime enrollmentDate, EnrollmentStatus status,
+                             String grade, LocalDateTime createdAt) {
+        this(enrollmentId, new CourseRef(courseId, courseCode, courseTitle, courseDescription, creditHours, semester,
+                academicYear, departmentId, courseActive, courseCreatedAt, capacity, enrolledCount),
+                studentId, enrollmentDate, status, grade, createdAt);
+    }
+}
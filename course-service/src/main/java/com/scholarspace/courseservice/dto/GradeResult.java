@@ -0,0 +1,33 @@
+package com.scholarspace.courseservice.dto;
+
+public record GradeResult(Long submissionId, Outcome outcome, Long version, String message) {
+
+    public enum Outcome {
+        UPDATED,
+        CONFLICT,
+        NOT_FOUND,
+        FORBIDDEN,
+        INVALID
+    }
+
+    public static GradeResult updated(Long submissionId, long version) {
+        return new GradeResult(submissionId, Outcome.UPDATED, version, null);
+    }
+
+    public static GradeResult conflict(Long submissionId, Long currentVersion) {
+        return new GradeResult(submissionId, Outcome.CONFLICT, currentVersion,
+                "Submission was changed by someone else; reload and grade again");
+    }
+
+    public static GradeResult notFound(Long submissionId) {
+        return new GradeResult(submissionId, Outcome.NOT_FOUND, null, "Submission not found");
+    }
+
+    public static GradeResult forbidden(Long submissionId) {
+        return new GradeResult(submissionId, Outcome.FORBIDDEN, null, "Not assigned to this submission's course");
+    }
+
+    public static GradeResult invalid(Long submissionId, String message) {
+        return new GradeResult(submissionId, Outcome.INVALID, null, message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * One row of a bulk grading request. {@code version} is the submission version the grader last saw;
+ * when omitted the row is checked against the version read at the start of the batch instead.
+ */
+public record GradeUpdate(Long submissionId, Double grade, String feedback, Long version) {
+}
@@ -0,0 +1,24 @@
+package com.scholarspace.courseservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whole-course gradebook: one column per graded assignment and one row per student. Percentages
+ * are 0-100; {@code total} is the weighted average over the categories the student has grades in.
+ */
+public record GradebookMatrix(
+        Long courseId,
+        List<Category> categories,
+        List<Column> assignments,
+        List<Row> students) {
+
+    public record Category(String name, double weight) {
+    }
+
+    public record Column(Long contentId, String title, String category, double maxPoints) {
+    }
+
+    public record Row(Long studentId, Map<Long, Double> grades, Map<String, Double> categoryPercent, Double total) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * A submission together with the assignment attributes the gradebook needs, read in one query so
+ * grading never loads the content or course entities.
+ */
+public record GradingTarget(
+        Long submissionId,
+        long version,
+        Long studentId,
+        Long courseId,
+        Long contentId,
+        String assignmentTitle,
+        String category,
+        Double maxPoints,
+        Double grade,
+        Long gradedBy) {
+
+    public GradingTarget withGrade(Double grade, long version, Long gradedBy) {
+        return new GradingTarget(submissionId, version, studentId, courseId, contentId,
+                assignmentTitle, category, maxPoints, grade, gradedBy);
+    }
+}
@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.dto;
+
+/**
+ * Course and enrollment counts summed over the departments of an institution. {@code studentCount}
+ * is counted once per student across the whole institution, so it is not the sum of the
+ * departments' student counts.
+ */
+public record InstitutionCourseStats(
+        Long institutionId,
+        int departmentCount,
+        long courseCount,
+        long activeCourseCount,
+        long enrollmentCount,
+        long pendingEnrollmentCount,
+        long studentCount) {
+}
@@ -0,0 +1,20 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The parts of a lesson that decide whether it clashes with another: who, where and when. Rooms
+ * are named per school, so {@code schoolId} scopes the location.
+ */
+public record LessonSlot(
+        Long lessonId,
+        Long classSubjectId,
+        Long classId,
+        Long schoolId,
+        Long teacherId,
+        String location,
+        LocalDate lessonDate,
+        LocalTime startTime,
+        LocalTime endTime) {
+}
@@ -0,0 +1,18 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record ScheduleConflict(
+        ResourceType resourceType,
+        String resource,
+        LocalDate date,
+        Long lessonId,
+        Long conflictingLessonId,
+        LocalTime conflictingStart,
+        LocalTime conflictingEnd) {
+
+    public enum ResourceType {
+        TEACHER, ROOM, CLASS
+    }
+}
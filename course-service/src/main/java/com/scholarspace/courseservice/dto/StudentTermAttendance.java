@@ -0,0 +1,14 @@
+package com.scholarspace.courseservice.dto;
+
+import java.util.List;
+
+public record StudentTermAttendance(
+        Long studentId,
+        String academicYear,
+        String semester,
+        int present,
+        int absent,
+        int excused,
+        Double rate,
+        List<AttendanceStats> courses) {
+}
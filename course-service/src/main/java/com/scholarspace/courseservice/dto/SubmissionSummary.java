@@ -0,0 +1,25 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDateTime;
+
+public record SubmissionSummary(
+        Long submissionId,
+        AssignmentRef assignment,
+        Long studentId,
+        LocalDateTime submissionDate,
+        String filePath,
+        Double grade,
+        String feedback,
+        Long gradedBy,
+        LocalDateTime gradedAt,
+        long version) {
+
+    // Flat constructor used by JPQL constructor expressions
+    public SubmissionSummary(Long submissionId, Long contentId, String assignmentTitle, LocalDateTime dueDate,
+                             Long courseId, Long studentId, LocalDateTime submissionDate, String filePath,
+                             Double grade, String feedback, Long gradedBy, LocalDateTime gradedAt,
+                             long version) {
+        this(submissionId, new AssignmentRef(contentId, assignmentTitle, dueDate, courseId), studentId,
+                submissionDate, filePath, grade, feedback, gradedBy, gradedAt, version);
+    }
+}
@@ -0,0 +1,14 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record TermValidationReport(
+        LocalDate from,
+        LocalDate to,
+        int schoolsChecked,
+        long lessonsChecked,
+        Map<Long, List<ScheduleConflict>> conflictsBySchool,
+        long elapsedMs) {
+}
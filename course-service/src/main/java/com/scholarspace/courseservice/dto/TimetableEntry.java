@@ -0,0 +1,17 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+public record TimetableEntry(
+        Long classSubjectId,
+        Long classId,
+        String className,
+        String subjectName,
+        Long teacherId,
+        DayOfWeek day,
+        int period,
+        LocalTime startTime,
+        LocalTime endTime,
+        String room) {
+}
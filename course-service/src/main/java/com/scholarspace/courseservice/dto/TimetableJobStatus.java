@@ -0,0 +1,23 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDateTime;
+
+public record TimetableJobStatus(
+        String jobId,
+        Long schoolId,
+        String academicYear,
+        State state,
+        LocalDateTime startedAt,
+        long elapsedMs,
+        long timeBudgetMs,
+        long iterations,
+        int periodsToPlace,
+        Integer hardViolations,
+        Integer softPenalty,
+        int lessonsCreated,
+        String message) {
+
+    public enum State {
+        SOLVING, WRITING, COMPLETED, FAILED, CANCELLED
+    }
+}
@@ -0,0 +1,12 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+
+public record TimetableRequest(
+        Long schoolId,
+        String academicYear,
+        LocalDate termStart,
+        LocalDate termEnd,
+        Long timeBudgetMs,
+        Boolean dryRun) {
+}
@@ -0,0 +1,9 @@
+package com.scholarspace.courseservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of an instructor's ungraded queue. {@code nextCursor} is null on the last page.
+ */
+public record UngradedPage(List<SubmissionSummary> items, String nextCursor) {
+}
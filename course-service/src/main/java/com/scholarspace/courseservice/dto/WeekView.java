@@ -0,0 +1,24 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A class's or teacher's lessons for one Monday-to-Sunday week, ordered by date and start time.
+ * The ETag changes whenever the entries do.
+ */
+public record WeekView(
+        Owner owner,
+        Long ownerId,
+        LocalDate weekStart,
+        LocalDate weekEnd,
+        String etag,
+        LocalDateTime builtAt,
+        List<WeekViewEntry> entries) {
+
+    public enum Owner {
+        CLASS,
+        TEACHER
+    }
+}
@@ -0,0 +1,34 @@
+package com.scholarspace.courseservice.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** One lesson of a week view, with the class, form and subject names already resolved. */
+public record WeekViewEntry(
+        Long lessonId,
+        LocalDate lessonDate,
+        DayOfWeek day,
+        LocalTime startTime,
+        LocalTime endTime,
+        Long classSubjectId,
+        Long classId,
+        String className,
+        String formName,
+        Long subjectId,
+        String subjectName,
+        String subjectCode,
+        Long teacherId,
+        String location,
+        String lessonTitle,
+        String status) {
+
+    /** Used by the JPQL constructor expression, which cannot compute the day of week. */
+    public WeekViewEntry(Long lessonId, LocalDate lessonDate, LocalTime startTime, LocalTime endTime,
+                         Long classSubjectId, Long classId, String className, String formName,
+                         Long subjectId, String subjectName, String subjectCode, Long teacherId,
+                         String location, String lessonTitle, String status) {
+        this(lessonId, lessonDate, lessonDate.getDayOfWeek(), startTime, endTime, classSubjectId, classId, className,
+                formName, subjectId, subjectName, subjectCode, teacherId, location, lessonTitle, status);
+    }
+}
@@ -5,7 +5,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance_records")
+@Table(name = "attendance_records", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_attendance_course_student_session", columnNames = {"course_id", "student_id", "session_date"})
+}, indexes = {
+    @Index(name = "idx_attendance_course_session", columnList = "course_id, session_date")
+})
 public class AttendanceRecord {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
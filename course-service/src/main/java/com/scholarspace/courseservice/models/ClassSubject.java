@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "class_subjects")
+@Table(name = "class_subjects", indexes = {
+        @Index(name = "idx_class_subjects_class", columnList = "class_id"),
+        @Index(name = "idx_class_subjects_teacher", columnList = "teacher_id")
+})
 public class ClassSubject {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_courses_department", columnList = "department_id")
+})
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +53,13 @@ public class Course {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // Seat counters are only changed by conditional bulk updates, never by saving the entity
+    @Column(name = "capacity", updatable = false)
+    private Integer capacity; // null = unlimited
+    
+    @Column(name = "enrolled_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int enrolledCount;
+    
     public Course() {
         this.createdAt = LocalDateTime.now();
     }
@@ -111,6 +120,22 @@ public class Course {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    public int getEnrolledCount() { return enrolledCount; }
+
     public List<Course> getPrerequisites() { return prerequisites; }
     public void setPrerequisites(List<Course> prerequisites) { this.prerequisites = prerequisites; }
+
+    // Plain copy of the column values for the catalogue cache; the lazy prerequisites are left out
+    public Course detachedCopy() {
+        Course copy = new Course(code, title, description, creditHours, semester, academicYear, departmentId);
+        copy.id = id;
+        copy.isActive = isActive;
+        copy.createdAt = createdAt;
+        copy.capacity = capacity;
+        copy.enrolledCount = enrolledCount;
+        return copy;
+    }
 }
\ No newline at end of file
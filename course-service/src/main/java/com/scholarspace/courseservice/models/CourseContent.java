@@ -1,10 +1,13 @@
 package com.scholarspace.courseservice.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "course_contents")
+@Table(name = "course_contents", indexes = {
+    @Index(name = "idx_course_contents_course", columnList = "course_id")
+})
 public class CourseContent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +33,27 @@ public class CourseContent {
     @Column(name = "file_type")
     private String fileType;
     
+    // Gradebook placement for assignments; weights per category are configured per course
+    @Column(name = "grade_category", length = 50)
+    private String gradeCategory;
+    
+    @Column(name = "max_points")
+    private Double maxPoints;
+    
+    // Populated asynchronously by the content processing pipeline
+    @Column(name = "detected_file_type")
+    private String detectedFileType;
+    
+    @Column(name = "page_count")
+    private Integer pageCount;
+    
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+    
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String extractedText;
+    
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
     
@@ -81,12 +105,30 @@ public class CourseContent {
     public String getFileType() { return fileType; }
     public void setFileType(String fileType) { this.fileType = fileType; }
 
+    public String getDetectedFileType() { return detectedFileType; }
+    public void setDetectedFileType(String detectedFileType) { this.detectedFileType = detectedFileType; }
+
+    public Integer getPageCount() { return pageCount; }
+    public void setPageCount(Integer pageCount) { this.pageCount = pageCount; }
+
+    public String getThumbnailPath() { return thumbnailPath; }
+    public void setThumbnailPath(String thumbnailPath) { this.thumbnailPath = thumbnailPath; }
+
+    public String getExtractedText() { return extractedText; }
+    public void setExtractedText(String extractedText) { this.extractedText = extractedText; }
+
     public LocalDateTime getPublishedAt() { return publishedAt; }
     public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
 
     public LocalDateTime getDueDate() { return dueDate; }
     public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
 
+    public String getGradeCategory() { return gradeCategory; }
+    public void setGradeCategory(String gradeCategory) { this.gradeCategory = gradeCategory; }
+
+    public Double getMaxPoints() { return maxPoints; }
+    public void setMaxPoints(Double maxPoints) { this.maxPoints = maxPoints; }
+
     public Long getCreatedBy() { return createdBy; }
     public void setCreatedBy(Long createdBy) { this.createdBy = createdBy; }
 
@@ -4,5 +4,13 @@ public enum EnrollmentStatus {
     PENDING,
     ACTIVE,
     DROPPED,
-    COMPLETED
+    COMPLETED;
+
+    /**
+     * Whether an enrollment in this status counts against the course capacity. Completing the
+     * course gives the seat back, so capacity counts current students only.
+     */
+    public boolean holdsSeat() {
+        return this == PENDING || this == ACTIVE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.scholarspace.courseservice.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "grade_category_weights", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_grade_category_weights_course_category", columnNames = {"course_id", "category"})
+})
+public class GradeCategoryWeight {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    @Column(nullable = false)
+    private Double weight;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public GradeCategoryWeight() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public GradeCategoryWeight(Long courseId, String category, Double weight) {
+        this.courseId = courseId;
+        this.category = category;
+        this.weight = weight;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Double getWeight() { return weight; }
+    public void setWeight(Double weight) { this.weight = weight; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
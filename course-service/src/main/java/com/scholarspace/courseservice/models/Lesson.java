@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "lessons")
+@Table(name = "lessons", indexes = {
+        @Index(name = "idx_lessons_date", columnList = "lesson_date"),
+        @Index(name = "idx_lessons_class_subject_date", columnList = "class_subject_id, lesson_date")
+})
 public class Lesson {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,8 @@
+package com.scholarspace.courseservice.models;
+
+public enum ProcessingStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -37,6 +37,11 @@ public class Submission {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // Bumped on every grade change; bulk grading compares it to detect concurrent edits
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+    
     public Submission() {
         this.submissionDate = LocalDateTime.now();
         this.createdAt = LocalDateTime.now();
@@ -80,4 +85,7 @@ public class Submission {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
\ No newline at end of file
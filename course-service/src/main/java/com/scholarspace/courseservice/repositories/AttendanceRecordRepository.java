@@ -0,0 +1,21 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.AttendanceRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AttendanceRecordRepository extends JpaRepository<AttendanceRecord, Long>, AttendanceRecordRepositoryCustom {
+    
+    // Scalar rows only: avoids materialising the eager course association per record
+    @Query("SELECT a.studentId, a.sessionDate, a.status FROM AttendanceRecord a WHERE a.course.id = :courseId")
+    List<Object[]> findMarksByCourseId(@Param("courseId") Long courseId);
+    
+    @Query("SELECT a.studentId, a.status FROM AttendanceRecord a WHERE a.course.id = :courseId AND a.sessionDate = :sessionDate")
+    List<Object[]> findSessionMarks(@Param("courseId") Long courseId, @Param("sessionDate") LocalDate sessionDate);
+}
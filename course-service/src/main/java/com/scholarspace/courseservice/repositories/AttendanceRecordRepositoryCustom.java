@@ -0,0 +1,17 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface AttendanceRecordRepositoryCustom {
+
+    /**
+     * Replaces the whole register of one class session: existing rows for the course and date are
+     * deleted and the new marks written as a single batched insert.
+     *
+     * @return number of rows inserted
+     */
+    int replaceSession(Long courseId, LocalDate sessionDate, Map<Long, AttendanceStatus> marks, Long recordedBy);
+}
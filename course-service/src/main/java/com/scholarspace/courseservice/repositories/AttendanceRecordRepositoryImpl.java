@@ -0,0 +1,40 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class AttendanceRecordRepositoryImpl implements AttendanceRecordRepositoryCustom {
+
+    private static final String DELETE_SESSION_SQL =
+            "DELETE FROM attendance_records WHERE course_id = ? AND session_date = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO attendance_records (course_id, student_id, session_date, status, recorded_by, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int replaceSession(Long courseId, LocalDate sessionDate, Map<Long, AttendanceStatus> marks, Long recordedBy) {
+        Date date = Date.valueOf(sessionDate);
+        jdbcTemplate.update(DELETE_SESSION_SQL, courseId, date);
+        if (marks.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(marks.size());
+        marks.forEach((studentId, status) -> rows.add(new Object[]{courseId, studentId, date, status.name(), recordedBy, now}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.ClassSubjectDemand;
+import com.scholarspace.courseservice.models.ClassSubject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClassSubjectRepository extends JpaRepository<ClassSubject, Long> {
+    
+    List<ClassSubject> findByClassId(Long classId);
+    
+    List<ClassSubject> findByTeacherId(Long teacherId);
+    
+    @Query("SELECT f.schoolId FROM SchoolClass c, Form f WHERE f.formId = c.formId AND c.classId = :classId")
+    Optional<Long> findSchoolIdByClassId(@Param("classId") Long classId);
+    
+    @Query("SELECT new com.scholarspace.courseservice.dto.ClassSubjectDemand(" +
+            "cs.classSubjectId, c.classId, c.className, s.subjectName, cs.teacherId, cs.roomPreference, c.roomNumber, o.weeklyPeriods) " +
+            "FROM ClassSubject cs, SchoolClass c, Form f, SubjectFormOffering o, Subject s " +
+            "WHERE c.classId = cs.classId AND f.formId = c.formId AND o.offeringId = cs.subjectOfferingId AND s.subjectId = o.subjectId " +
+            "AND f.schoolId = :schoolId AND f.academicYear = :academicYear " +
+            "AND COALESCE(c.isActive, true) = true AND COALESCE(f.isActive, true) = true AND COALESCE(o.isActive, true) = true " +
+            "ORDER BY c.classId, cs.classSubjectId")
+    List<ClassSubjectDemand> findTimetableDemands(@Param("schoolId") Long schoolId, @Param("academicYear") String academicYear);
+}
@@ -0,0 +1,46 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.ContentProcessingJob;
+import com.scholarspace.courseservice.models.ProcessingStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContentProcessingJobRepository extends JpaRepository<ContentProcessingJob, Long> {
+    
+    List<ContentProcessingJob> findByContentId(Long contentId);
+    
+    long countByStatus(ProcessingStatus status);
+    
+    @Query("SELECT j.jobId FROM ContentProcessingJob j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<Long> findDueJobIds(@Param("status") ProcessingStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Conditionally moves a job between states. Returns 1 only for the caller that won the
+     * transition, so several workers (or service instances) can poll the same table safely.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentProcessingJob j SET j.status = :to, j.updatedAt = :now WHERE j.jobId = :jobId AND j.status = :from")
+    int transition(@Param("jobId") Long jobId, @Param("from") ProcessingStatus from,
+                   @Param("to") ProcessingStatus to, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentProcessingJob j SET j.status = :to, j.updatedAt = :now WHERE j.status = :from")
+    int transitionAll(@Param("from") ProcessingStatus from, @Param("to") ProcessingStatus to,
+                      @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ContentProcessingJob j WHERE j.contentId = :contentId")
+    void deleteByContentId(@Param("contentId") Long contentId);
+}
@@ -1,9 +1,14 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.CourseContentSummary;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.ContentType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,4 +22,30 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
     List<CourseContent> findByCreatedBy(Long createdBy);
     
     List<CourseContent> findByCourse_IdOrderByCreatedAtDesc(Long courseId);
+    
+    // Listing projection: the course is joined in the same select and the extracted text column is skipped
+    String SUMMARY_SELECT = "SELECT new com.scholarspace.courseservice.dto.CourseContentSummary(" +
+            "c.contentId, co.id, co.code, co.title, co.description, co.creditHours, co.semester, co.academicYear, " +
+            "co.departmentId, co.isActive, co.createdAt, co.capacity, co.enrolledCount, " +
+            "c.title, c.description, c.contentType, c.filePath, c.fileType, c.gradeCategory, c.maxPoints, " +
+            "c.detectedFileType, c.pageCount, c.thumbnailPath, c.publishedAt, c.dueDate, c.createdBy, c.createdAt) " +
+            "FROM CourseContent c JOIN c.course co ";
+    
+    @Query(SUMMARY_SELECT + "WHERE c.course.id = :courseId ORDER BY c.createdAt DESC")
+    List<CourseContentSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.course.id = :courseId AND c.contentType = :contentType ORDER BY c.createdAt DESC")
+    List<CourseContentSummary> findSummariesByCourseIdAndContentType(@Param("courseId") Long courseId,
+                                                                     @Param("contentType") ContentType contentType);
+    
+    // Only touches the processing columns so a concurrent edit of title/description is not overwritten
+    @Modifying
+    @Transactional
+    @Query("UPDATE CourseContent c SET c.detectedFileType = :detectedFileType, c.pageCount = :pageCount, " +
+           "c.thumbnailPath = :thumbnailPath, c.extractedText = :extractedText WHERE c.contentId = :contentId")
+    int updateProcessingResults(@Param("contentId") Long contentId,
+                                @Param("detectedFileType") String detectedFileType,
+                                @Param("pageCount") Integer pageCount,
+                                @Param("thumbnailPath") String thumbnailPath,
+                                @Param("extractedText") String extractedText);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.CourseInstructorSummary;
 import com.scholarspace.courseservice.models.CourseInstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,20 @@ public interface CourseInstructorRepository extends JpaRepository<CourseInstruct
     Optional<CourseInstructor> findByCourse_IdAndInstructorId(Long courseId, Long instructorId);
     
     void deleteByCourse_IdAndInstructorId(Long courseId, Long instructorId);
+    
+    @Query("SELECT ci.instructorId, ci.course.id FROM CourseInstructor ci")
+    List<Object[]> findAllAssignmentPairs();
+    
+    // Listing projections: one joined select instead of a secondary select per distinct course
+    String SUMMARY_SELECT = "SELECT new com.scholarspace.courseservice.dto.CourseInstructorSummary(" +
+            "ci.id, c.id, c.code, c.title, c.description, c.creditHours, c.semester, c.academicYear, " +
+            "c.departmentId, c.isActive, c.createdAt, c.capacity, c.enrolledCount, " +
+            "ci.instructorId, ci.role, ci.createdAt) " +
+            "FROM CourseInstructor ci JOIN ci.course c ";
+    
+    @Query(SUMMARY_SELECT + "WHERE ci.instructorId = :instructorId ORDER BY c.code")
+    List<CourseInstructorSummary> findSummariesByInstructorId(@Param("instructorId") Long instructorId);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :courseId ORDER BY ci.createdAt")
+    List<CourseInstructorSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +21,37 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     
     List<Course> findByDepartmentId(Long departmentId);
     
+    /** Per department: department id, course count, active course count. */
+    @Query("SELECT c.departmentId, COUNT(c), SUM(CASE WHEN c.isActive = true THEN 1 ELSE 0 END) " +
+           "FROM Course c WHERE c.departmentId IN :departmentIds GROUP BY c.departmentId")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+    
+    @Query(value = "SELECT course_id, prerequisite_id FROM course_prerequisites", nativeQuery = true)
+    List<Object[]> findAllPrerequisiteEdges();
+    
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM course_prerequisites WHERE prerequisite_id = :courseId", nativeQuery = true)
     void removeAsPrerequisite(@Param("courseId") Long courseId);
+    
+    // Seat accounting: the WHERE clause makes check-and-increment one atomic row update, so
+    // concurrent sign-ups can never take more seats than the capacity
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + 1 " +
+            "WHERE c.id = :courseId AND (c.capacity IS NULL OR c.enrolledCount < c.capacity)")
+    int reserveSeat(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount - 1 WHERE c.id = :courseId AND c.enrolledCount > 0")
+    int releaseSeat(@Param("courseId") Long courseId);
+    
+    @Query(value = "SELECT course_id FROM courses WHERE course_id = :courseId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForUpdate(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query(value = "UPDATE courses SET capacity = :capacity, enrolled_count = " +
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = :courseId AND e.status IN (:statuses)) " +
+            "WHERE course_id = :courseId", nativeQuery = true)
+    int setCapacityAndRecount(@Param("courseId") Long courseId, @Param("capacity") Integer capacity,
+                              @Param("statuses") Collection<String> statuses);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.EnrollmentSummary;
 import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.models.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,67 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByStatus(EnrollmentStatus status);
     
     Optional<Enrollment> findByCourse_IdAndStudentId(Long courseId, Long studentId);
+    
+    // Compare-and-set on status, so two concurrent transitions of one enrollment cannot both apply
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to WHERE e.enrollmentId = :enrollmentId AND e.status = :from")
+    int transitionStatus(@Param("enrollmentId") Long enrollmentId, @Param("from") EnrollmentStatus from, @Param("to") EnrollmentStatus to);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.studentId = :studentId AND e.status = :status")
+    List<Long> findCourseIdsByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT e.studentId, e.course.id FROM Enrollment e WHERE e.studentId IN :studentIds AND e.status = :status")
+    List<Object[]> findStudentCourseIdPairs(@Param("studentIds") Collection<Long> studentIds, @Param("status") EnrollmentStatus status);
+    
+    // Stats counts use enum literals so the CASE expressions in the select list carry no bind parameters
+    String ACTIVE = "com.scholarspace.courseservice.models.EnrollmentStatus.ACTIVE";
+    String PENDING = "com.scholarspace.courseservice.models.EnrollmentStatus.PENDING";
+    
+    /** Per department: department id, active enrollments, pending enrollments, distinct active students. */
+    @Query("SELECT c.departmentId, " +
+           "SUM(CASE WHEN e.status = " + ACTIVE + " THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = " + PENDING + " THEN 1 ELSE 0 END), " +
+           "COUNT(DISTINCT CASE WHEN e.status = " + ACTIVE + " THEN e.studentId END) " +
+           "FROM Enrollment e JOIN e.course c " +
+           "WHERE c.departmentId IN :departmentIds AND e.status IN (" + ACTIVE + ", " + PENDING + ") " +
+           "GROUP BY c.departmentId")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+    
+    @Query("SELECT COUNT(DISTINCT e.studentId) FROM Enrollment e JOIN e.course c " +
+           "WHERE c.departmentId IN :departmentIds AND e.status = " + ACTIVE)
+    long countActiveStudentsByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+    
+    // Listing projections: one joined select instead of a secondary select per distinct course
+    String SUMMARY_SELECT = "SELECT new com.scholarspace.courseservice.dto.EnrollmentSummary(" +
+            "e.enrollmentId, c.id, c.code, c.title, c.description, c.creditHours, c.semester, c.academicYear, " +
+            "c.departmentId, c.isActive, c.createdAt, c.capacity, c.enrolledCount, " +
+            "e.studentId, e.enrollmentDate, e.status, e.grade, e.createdAt) " +
+            "FROM Enrollment e JOIN e.course c ";
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :courseId ORDER BY e.enrollmentDate")
+    List<EnrollmentSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :courseId AND e.status = :status ORDER BY e.enrollmentDate")
+    List<EnrollmentSummary> findSummariesByCourseIdAndStatus(@Param("courseId") Long courseId, @Param("status") EnrollmentStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.studentId = :studentId ORDER BY e.enrollmentDate")
+    List<EnrollmentSummary> findSummariesByStudentId(@Param("studentId") Long studentId);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.studentId = :studentId AND e.status = :status ORDER BY e.enrollmentDate")
+    List<EnrollmentSummary> findSummariesByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") EnrollmentStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.status = :status ORDER BY e.enrollmentDate")
+    List<EnrollmentSummary> findSummariesByStatus(@Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT e.studentId FROM Enrollment e WHERE e.course.id = :courseId AND e.status = :status")
+    List<Long> findStudentIdsByCourseIdAndStatus(@Param("courseId") Long courseId, @Param("status") EnrollmentStatus status);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.studentId = :studentId AND e.status IN :statuses " +
+           "AND e.course.academicYear = :academicYear AND e.course.semester = :semester")
+    List<Long> findTermCourseIds(@Param("studentId") Long studentId,
+                                 @Param("academicYear") String academicYear,
+                                 @Param("semester") String semester,
+                                 @Param("statuses") Collection<EnrollmentStatus> statuses);
+    
+    boolean existsByCourse_IdAndStudentIdAndStatus(Long courseId, Long studentId, EnrollmentStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.GradeCategoryWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeCategoryWeightRepository extends JpaRepository<GradeCategoryWeight, Long> {
+    
+    List<GradeCategoryWeight> findByCourseId(Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM GradeCategoryWeight w WHERE w.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,62 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.WeekViewEntry;
+import com.scholarspace.courseservice.models.Lesson;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LessonRepository extends JpaRepository<Lesson, Long>, LessonRepositoryCustom {
+    
+    List<Lesson> findByClassSubjectIdAndLessonDateBetweenOrderByLessonDateAscStartTimeAsc(Long classSubjectId, LocalDate from, LocalDate to);
+    
+    long countByClassSubjectIdInAndLessonDateBetweenAndStatusNot(Collection<Long> classSubjectIds, LocalDate from, LocalDate to, String status);
+    
+    // Cancelled lessons free their teacher, room and class, so they never take part in conflict checks
+    String SLOT_SELECT = "SELECT new com.scholarspace.courseservice.dto.LessonSlot(" +
+            "l.lessonId, l.classSubjectId, cs.classId, f.schoolId, cs.teacherId, l.location, l.lessonDate, l.startTime, l.endTime) " +
+            "FROM Lesson l JOIN ClassSubject cs ON cs.classSubjectId = l.classSubjectId " +
+            "LEFT JOIN SchoolClass c ON c.classId = cs.classId LEFT JOIN Form f ON f.formId = c.formId " +
+            "WHERE l.status <> 'CANCELLED' ";
+    
+    @Query(SLOT_SELECT + "AND l.lessonDate = :date")
+    List<LessonSlot> findSlotsByDate(@Param("date") LocalDate date);
+    
+    @Query(SLOT_SELECT + "AND l.lessonDate BETWEEN :from AND :to AND cs.classId IN " +
+            "(SELECT c.classId FROM SchoolClass c, Form f WHERE f.formId = c.formId AND f.schoolId = :schoolId)")
+    List<LessonSlot> findSlotsBySchoolIdAndDateBetween(@Param("schoolId") Long schoolId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT DISTINCT f.schoolId FROM Lesson l, ClassSubject cs, SchoolClass c, Form f " +
+            "WHERE cs.classSubjectId = l.classSubjectId AND c.classId = cs.classId AND f.formId = c.formId " +
+            "AND l.lessonDate BETWEEN :from AND :to")
+    List<Long> findSchoolIdsWithLessonsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    List<Lesson> findByClassSubjectIdAndStatusNot(Long classSubjectId, String status);
+    
+    // Week views keep cancelled lessons so the timetable can show them struck through
+    String WEEK_ENTRY_SELECT = "SELECT new com.scholarspace.courseservice.dto.WeekViewEntry(" +
+            "l.lessonId, l.lessonDate, l.startTime, l.endTime, cs.classSubjectId, c.classId, c.className, f.formName, " +
+            "s.subjectId, s.subjectName, s.subjectCode, cs.teacherId, l.location, l.lessonTitle, l.status) " +
+            "FROM Lesson l, ClassSubject cs, SchoolClass c, Form f, SubjectFormOffering o, Subject s " +
+            "WHERE cs.classSubjectId = l.classSubjectId AND c.classId = cs.classId AND f.formId = c.formId " +
+            "AND o.offeringId = cs.subjectOfferingId AND s.subjectId = o.subjectId ";
+    
+    @Query(WEEK_ENTRY_SELECT + "AND cs.classId = :classId AND l.lessonDate BETWEEN :from AND :to " +
+            "ORDER BY l.lessonDate, l.startTime, l.lessonId")
+    List<WeekViewEntry> findWeekEntriesByClassId(@Param("classId") Long classId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query(WEEK_ENTRY_SELECT + "AND cs.teacherId = :teacherId AND l.lessonDate BETWEEN :from AND :to " +
+            "ORDER BY l.lessonDate, l.startTime, l.lessonId")
+    List<WeekViewEntry> findWeekEntriesByTeacherId(@Param("teacherId") Long teacherId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query(WEEK_ENTRY_SELECT + "AND l.lessonId = :lessonId")
+    Optional<WeekViewEntry> findWeekEntryByLessonId(@Param("lessonId") Long lessonId);
+}
@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.Lesson;
+
+import java.util.List;
+
+public interface LessonRepositoryCustom {
+
+    /**
+     * Inserts generated lessons as one batched statement, skipping the per-entity persist and
+     * identity round trip. Ids are not populated on the given objects.
+     *
+     * @return number of rows inserted
+     */
+    int insertLessons(List<Lesson> lessons);
+}
@@ -0,0 +1,38 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.models.Lesson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class LessonRepositoryImpl implements LessonRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO lessons (class_subject_id, lesson_title, lesson_date, start_time, end_time, location, " +
+            "status, attendance_taken, created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertLessons(List<Lesson> lessons) {
+        if (lessons.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(lessons.size());
+        for (Lesson lesson : lessons) {
+            rows.add(new Object[]{lesson.getClassSubjectId(), lesson.getLessonTitle(), Date.valueOf(lesson.getLessonDate()),
+                    Time.valueOf(lesson.getStartTime()), Time.valueOf(lesson.getEndTime()), lesson.getLocation(),
+                    lesson.getStatus(), lesson.getAttendanceTaken(), lesson.getCreatedBy(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return rows.size();
+    }
+}
@@ -1,14 +1,21 @@
 package com.scholarspace.courseservice.repositories;
 
+import com.scholarspace.courseservice.dto.GradingTarget;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
 import com.scholarspace.courseservice.models.Submission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, SubmissionRepositoryCustom {
     
     List<Submission> findByAssignment_ContentId(Long contentId);
     
@@ -19,4 +26,51 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findByAssignment_Course_Id(Long courseId);
     
     List<Submission> findByGradedByIsNull();
+    
+    String GRADING_TARGET_SELECT = "SELECT new com.scholarspace.courseservice.dto.GradingTarget(" +
+            "s.submissionId, s.version, s.studentId, a.course.id, a.contentId, a.title, a.gradeCategory, a.maxPoints, s.grade, s.gradedBy) " +
+            "FROM Submission s JOIN s.assignment a ";
+    
+    @Query(GRADING_TARGET_SELECT + "WHERE s.submissionId IN :ids")
+    List<GradingTarget> findGradingTargetsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(GRADING_TARGET_SELECT + "WHERE a.course.id = :courseId AND s.grade IS NOT NULL")
+    List<GradingTarget> findGradedTargetsByCourseId(@Param("courseId") Long courseId);
+    
+    // Listing projections: the assignment is joined once and its course id read from the FK column,
+    // so neither the content row nor its course is loaded per submission
+    String SUMMARY_SELECT = "SELECT new com.scholarspace.courseservice.dto.SubmissionSummary(" +
+            "s.submissionId, a.contentId, a.title, a.dueDate, a.course.id, s.studentId, s.submissionDate, " +
+            "s.filePath, s.grade, s.feedback, s.gradedBy, s.gradedAt, s.version) " +
+            "FROM Submission s JOIN s.assignment a ";
+    
+    @Query(SUMMARY_SELECT + "WHERE a.contentId = :contentId ORDER BY s.submissionDate")
+    List<SubmissionSummary> findSummariesByContentId(@Param("contentId") Long contentId);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.studentId = :studentId ORDER BY s.submissionDate")
+    List<SubmissionSummary> findSummariesByStudentId(@Param("studentId") Long studentId);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.course.id = :courseId ORDER BY s.submissionDate")
+    List<SubmissionSummary> findSummariesByCourseId(@Param("courseId") Long courseId);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.gradedBy IS NULL ORDER BY s.submissionDate")
+    List<SubmissionSummary> findUngradedSummaries();
+    
+    // Ungraded queue: keyset pages over (submissionDate, submissionId), served by the partial
+    // indexes on graded_by IS NULL created by SubmissionIndexInitializer
+    @Query(SUMMARY_SELECT + "WHERE s.gradedBy IS NULL AND a.course.id IN :courseIds " +
+           "ORDER BY s.submissionDate, s.submissionId")
+    List<SubmissionSummary> findUngradedSummariesByCourseIds(@Param("courseIds") Collection<Long> courseIds, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.gradedBy IS NULL AND a.course.id IN :courseIds " +
+           "AND (s.submissionDate > :afterDate OR (s.submissionDate = :afterDate AND s.submissionId > :afterId)) " +
+           "ORDER BY s.submissionDate, s.submissionId")
+    List<SubmissionSummary> findUngradedSummariesByCourseIdsAfter(@Param("courseIds") Collection<Long> courseIds,
+                                                                  @Param("afterDate") LocalDateTime afterDate,
+                                                                  @Param("afterId") Long afterId,
+                                                                  Pageable pageable);
+    
+    @Query("SELECT a.course.id, COUNT(s) FROM Submission s JOIN s.assignment a " +
+           "WHERE s.gradedBy IS NULL AND a.course.id IN :courseIds GROUP BY a.course.id")
+    List<Object[]> countUngradedByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
\ No newline at end of file
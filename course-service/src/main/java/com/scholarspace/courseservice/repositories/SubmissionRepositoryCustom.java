@@ -0,0 +1,16 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.GradeUpdate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SubmissionRepositoryCustom {
+
+    /**
+     * Applies the grades as one JDBC batch. Each row only updates if its version still equals
+     * {@link GradeUpdate#version()}, so the returned count for a row is 0 when it was changed
+     * concurrently.
+     */
+    int[] applyGrades(List<GradeUpdate> grades, Long gradedBy, LocalDateTime gradedAt);
+}
@@ -0,0 +1,47 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.GradeUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class SubmissionRepositoryImpl implements SubmissionRepositoryCustom {
+
+    private static final String GRADE_SQL =
+            "UPDATE submissions SET grade = ?, feedback = ?, graded_by = ?, graded_at = ?, version = version + 1 " +
+            "WHERE submission_id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] applyGrades(List<GradeUpdate> grades, Long gradedBy, LocalDateTime gradedAt) {
+        if (grades.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp timestamp = Timestamp.valueOf(gradedAt);
+        return jdbcTemplate.batchUpdate(GRADE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                GradeUpdate grade = grades.get(i);
+                ps.setDouble(1, grade.grade());
+                ps.setString(2, grade.feedback());
+                ps.setLong(3, gradedBy);
+                ps.setTimestamp(4, timestamp);
+                ps.setLong(5, grade.submissionId());
+                ps.setLong(6, grade.version());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return grades.size();
+            }
+        });
+    }
+}
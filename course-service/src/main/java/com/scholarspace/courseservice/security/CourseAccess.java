@@ -0,0 +1,36 @@
+package com.scholarspace.courseservice.security;
+
+import com.scholarspace.courseservice.services.InstructorAssignmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership checks that URL rules cannot express: which course an instructor teaches and which
+ * student a record belongs to.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseAccess {
+
+    private final InstructorAssignmentService instructorAssignmentService;
+
+    /** Admins and instructors assigned to the course. */
+    public boolean canManageCourse(Authentication authentication, Long courseId) {
+        return CurrentUser.hasRole(authentication, "ADMIN")
+                || CurrentUser.hasRole(authentication, "INSTRUCTOR")
+                && instructorAssignmentService.isInstructorAssignedToCourse(CurrentUser.id(authentication), courseId);
+    }
+
+    /** The student themself, or whoever manages the course. */
+    public boolean canReadStudentInCourse(Authentication authentication, Long courseId, Long studentId) {
+        return CurrentUser.hasRole(authentication, "STUDENT") && CurrentUser.isSelf(authentication, studentId)
+                || canManageCourse(authentication, courseId);
+    }
+
+    /** Records spanning several courses: the student themself, instructors and admins. */
+    public boolean canReadStudent(Authentication authentication, Long studentId) {
+        return CurrentUser.hasRole(authentication, "ADMIN") || CurrentUser.hasRole(authentication, "INSTRUCTOR")
+                || CurrentUser.isSelf(authentication, studentId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.scholarspace.courseservice.security;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Reads the caller from the {@link Authentication} set up by {@link JwtFilter}: the numeric user id
+ * travels in the details, the role as a {@code ROLE_*} authority.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /** The caller's user id, or {@code null} when the token carried none. */
+    public static Long id(Authentication authentication) {
+        return authentication != null && authentication.getDetails() instanceof Long userId ? userId : null;
+    }
+
+    /** Like {@link #id} but for operations that cannot run without one. */
+    public static Long requireId(Authentication authentication) {
+        Long userId = id(authentication);
+        if (userId == null) {
+            throw new IllegalStateException("Token carries no user id");
+        }
+        return userId;
+    }
+
+    public static boolean hasRole(Authentication authentication, String role) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + role));
+    }
+
+    public static boolean isSelf(Authentication authentication, Long userId) {
+        return userId != null && userId.equals(id(authentication));
+    }
+}
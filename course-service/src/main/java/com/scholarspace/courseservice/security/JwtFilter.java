@@ -46,6 +46,8 @@ public class JwtFilter extends OncePerRequestFilter {
                         
                         UsernamePasswordAuthenticationToken authToken = 
                                 new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        // Expose the numeric user id for services that filter by ownership
+                        authToken.setDetails(jwtService.extractUserId(token));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                         
                         log.debug("Authentication successful for user: {} with role: {}", username, role);
@@ -0,0 +1,165 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.AttendanceSessionRequest;
+import com.scholarspace.courseservice.dto.AttendanceStats;
+import com.scholarspace.courseservice.dto.StudentTermAttendance;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.AttendanceRecordRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Takes attendance one class session at a time and answers rate and streak questions from
+ * per-course {@link CourseAttendanceLedger}s held in memory, loaded from the records table once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceService {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final InstructorAssignmentService instructorAssignmentService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.attendance.max-courses:2000}")
+    private int maxCourses;
+
+    private Cache<Long, CourseAttendanceLedger> ledgers;
+
+    @PostConstruct
+    void init() {
+        ledgers = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ledgers, "attendance.ledgers");
+    }
+
+    /**
+     * Records the full register of a session, replacing any earlier submission for the same date.
+     * The whole request is validated as sets before anything is written.
+     */
+    @Transactional
+    public int recordSession(Long courseId, LocalDate sessionDate, AttendanceSessionRequest request, Long recordedBy) {
+        if (sessionDate.isAfter(LocalDate.now())) {
+            throw new RuntimeException("Attendance cannot be recorded for a future session");
+        }
+        if (!instructorAssignmentService.isInstructorAssignedToCourse(recordedBy, courseId)) {
+            throw new RuntimeException("Instructor is not assigned to this course");
+        }
+
+        Map<Long, AttendanceStatus> marks = new HashMap<>();
+        Set<Long> duplicates = new TreeSet<>();
+        addMarks(marks, duplicates, request.present(), AttendanceStatus.PRESENT);
+        addMarks(marks, duplicates, request.absent(), AttendanceStatus.ABSENT);
+        addMarks(marks, duplicates, request.excused(), AttendanceStatus.EXCUSED);
+        if (!duplicates.isEmpty()) {
+            throw new RuntimeException("Students listed more than once: " + duplicates);
+        }
+        if (marks.isEmpty()) {
+            throw new RuntimeException("Attendance register is empty");
+        }
+
+        Set<Long> enrolled = new HashSet<>(enrollmentRepository.findStudentIdsByCourseIdAndStatus(courseId, EnrollmentStatus.ACTIVE));
+        Set<Long> notEnrolled = new TreeSet<>(marks.keySet());
+        notEnrolled.removeAll(enrolled);
+        if (!notEnrolled.isEmpty()) {
+            throw new RuntimeException("Students not actively enrolled in this course: " + notEnrolled);
+        }
+
+        int written = attendanceRecordRepository.replaceSession(courseId, sessionDate, marks, recordedBy);
+        TransactionHooks.afterCommit(() -> ledgers.asMap().computeIfPresent(courseId, (id, ledger) -> {
+            ledger.replaceSession(sessionDate, marks);
+            return ledger;
+        }));
+        log.info("Recorded attendance for course {} on {}: {} students", courseId, sessionDate, written);
+        return written;
+    }
+
+    private void addMarks(Map<Long, AttendanceStatus> marks, Set<Long> duplicates, List<Long> studentIds, AttendanceStatus status) {
+        if (studentIds == null) {
+            return;
+        }
+        for (Long studentId : studentIds) {
+            if (studentId == null) {
+                throw new RuntimeException("Student id must not be null");
+            }
+            if (marks.putIfAbsent(studentId, status) != null) {
+                duplicates.add(studentId);
+            }
+        }
+    }
+
+    public Map<AttendanceStatus, List<Long>> getSession(Long courseId, LocalDate sessionDate) {
+        Map<AttendanceStatus, List<Long>> register = new EnumMap<>(AttendanceStatus.class);
+        for (AttendanceStatus status : AttendanceStatus.values()) {
+            register.put(status, new ArrayList<>());
+        }
+        for (Object[] row : attendanceRecordRepository.findSessionMarks(courseId, sessionDate)) {
+            register.get((AttendanceStatus) row[1]).add((Long) row[0]);
+        }
+        return register;
+    }
+
+    public List<AttendanceStats> getCourseSummary(Long courseId) {
+        return ledger(courseId).allStats();
+    }
+
+    public AttendanceStats getStudentStats(Long courseId, Long studentId) {
+        return ledger(courseId).stats(studentId);
+    }
+
+    public StudentTermAttendance getStudentTermAttendance(Long studentId, String academicYear, String semester) {
+        List<Long> courseIds = enrollmentRepository.findTermCourseIds(studentId, academicYear, semester,
+                List.of(EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED));
+
+        List<AttendanceStats> courses = new ArrayList<>(courseIds.size());
+        int present = 0;
+        int absent = 0;
+        int excused = 0;
+        for (Long courseId : courseIds) {
+            AttendanceStats stats = ledger(courseId).stats(studentId);
+            courses.add(stats);
+            present += stats.present();
+            absent += stats.absent();
+            excused += stats.excused();
+        }
+        Double rate = present + absent == 0 ? null : Math.round(present * 10000.0 / (present + absent)) / 100.0;
+        return new StudentTermAttendance(studentId, academicYear, semester, present, absent, excused, rate, courses);
+    }
+
+    private CourseAttendanceLedger ledger(Long courseId) {
+        return ledgers.get(courseId, this::load);
+    }
+
+    private CourseAttendanceLedger load(Long courseId) {
+        CourseAttendanceLedger ledger = new CourseAttendanceLedger(courseId);
+        List<Object[]> rows = attendanceRecordRepository.findMarksByCourseId(courseId);
+        for (Object[] row : rows) {
+            ledger.mark((Long) row[0], (LocalDate) row[1], (AttendanceStatus) row[2]);
+        }
+        log.debug("Loaded attendance ledger for course {} from {} records", courseId, rows.size());
+        return ledger;
+    }
+}
@@ -0,0 +1,248 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.config.ContentProcessingProperties;
+import com.scholarspace.courseservice.models.ContentProcessingJob;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.ProcessingStatus;
+import com.scholarspace.courseservice.repositories.ContentProcessingJobRepository;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.services.processing.ContentProcessingContext;
+import com.scholarspace.courseservice.services.processing.ContentProcessingStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs uploaded course content through the registered {@link ContentProcessingStage}s off the
+ * request thread. Work is driven by the {@code content_processing_jobs} table: uploads only insert
+ * a PENDING row, and a poller claims due rows no faster than the bounded worker queue drains them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentProcessingService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ContentProcessingJobRepository jobRepository;
+    private final CourseContentRepository courseContentRepository;
+    private final SearchIndexService searchIndexService;
+    private final List<ContentProcessingStage> stages;
+    private final ContentProcessingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "content-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("content.processing.queue.size", executor, e -> e.getQueue().size())
+                .description("Claimed jobs waiting for a processing worker")
+                .register(meterRegistry);
+        Gauge.builder("content.processing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs currently being processed")
+                .register(meterRegistry);
+
+        if (properties.isEnabled()) {
+            // Jobs left RUNNING by a previous process that died mid-run are picked up again
+            int recovered = jobRepository.transitionAll(ProcessingStatus.RUNNING, ProcessingStatus.PENDING, LocalDateTime.now());
+            if (recovered > 0) {
+                log.info("Re-queued {} content processing jobs interrupted by a previous shutdown", recovered);
+            }
+        }
+        log.info("Content processing pipeline started with {} workers and stages {}",
+                properties.getWorkers(), stages.stream().map(ContentProcessingStage::getName).toList());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Records a processing job for freshly uploaded content. Only an insert happens on the
+     * caller's thread; the actual work is picked up by the next poll.
+     */
+    public void enqueue(CourseContent content) {
+        if (content.getFilePath() == null) {
+            return;
+        }
+        jobRepository.save(new ContentProcessingJob(content.getContentId()));
+    }
+
+    public void discardJobs(Long contentId) {
+        jobRepository.deleteByContentId(contentId);
+    }
+
+    public List<ContentProcessingJob> getJobsForContent(Long contentId) {
+        return jobRepository.findByContentId(contentId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.processing.poll-interval-ms:2000}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        // Back-pressure: never claim more rows than the worker queue can hold right now
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Long> dueJobIds = jobRepository.findDueJobIds(
+                ProcessingStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, capacity));
+
+        for (Long jobId : dueJobIds) {
+            if (jobRepository.transition(jobId, ProcessingStatus.PENDING, ProcessingStatus.RUNNING, LocalDateTime.now()) == 0) {
+                continue; // claimed by another instance
+            }
+            try {
+                executor.execute(() -> runJob(jobId));
+            } catch (RejectedExecutionException e) {
+                jobRepository.transition(jobId, ProcessingStatus.RUNNING, ProcessingStatus.PENDING, LocalDateTime.now());
+                break;
+            }
+        }
+    }
+
+    void runJob(Long jobId) {
+        ContentProcessingJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        CourseContent content = courseContentRepository.findById(job.getContentId()).orElse(null);
+        if (content == null || content.getFilePath() == null) {
+            // Content was deleted (or its file removed) after the job was queued
+            jobRepository.delete(job);
+            return;
+        }
+
+        Path file = Paths.get(content.getFilePath());
+        ContentProcessingContext context = new ContentProcessingContext(content, file);
+        String currentStage = null;
+
+        try {
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalStateException("Uploaded file not found: " + file);
+            }
+
+            for (ContentProcessingStage stage : stages) {
+                if (!stage.supports(context)) {
+                    continue;
+                }
+                currentStage = stage.getName();
+                runStage(stage, context);
+            }
+
+            courseContentRepository.updateProcessingResults(content.getContentId(),
+                    context.getDetectedFileType(), context.getPageCount(),
+                    context.getThumbnailPath(), context.getExtractedText());
+
+            content.setDetectedFileType(context.getDetectedFileType());
+            content.setPageCount(context.getPageCount());
+            content.setThumbnailPath(context.getThumbnailPath());
+            content.setExtractedText(context.getExtractedText());
+            searchIndexService.indexContent(content);
+
+            job.setStatus(ProcessingStatus.COMPLETED);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setLastStage(null);
+            job.setLastError(null);
+            jobRepository.save(job);
+            jobCounter("completed").increment();
+        } catch (Exception e) {
+            handleFailure(job, currentStage, e);
+        }
+    }
+
+    private void runStage(ContentProcessingStage stage, ContentProcessingContext context) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            stage.process(context);
+        } catch (Exception e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("content.processing.stage")
+                    .description("Time spent in each content processing stage")
+                    .tag("stage", stage.getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private void handleFailure(ContentProcessingJob job, String stage, Exception e) {
+        int attempts = job.getAttempts() + 1;
+        job.setAttempts(attempts);
+        job.setLastStage(stage);
+        job.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+
+        if (attempts >= properties.getMaxAttempts()) {
+            job.setStatus(ProcessingStatus.FAILED);
+            jobCounter("failed").increment();
+            log.error("Content processing job {} for content {} failed permanently in stage {}",
+                    job.getJobId(), job.getContentId(), stage, e);
+        } else {
+            job.setStatus(ProcessingStatus.PENDING);
+            job.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMillis(attempts) * 1_000_000L));
+            jobCounter("retried").increment();
+            log.warn("Content processing job {} failed in stage {} (attempt {}), retrying: {}",
+                    job.getJobId(), stage, attempts, e.getMessage());
+        }
+        jobRepository.save(job);
+    }
+
+    long backoffMillis(int attempts) {
+        long delay = properties.getInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(delay, properties.getMaxBackoffMs());
+    }
+
+    private Counter jobCounter(String outcome) {
+        return Counter.builder("content.processing.jobs")
+                .description("Content processing jobs by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,128 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceStats;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact attendance store for one course. Each student holds one bitmap per status, indexed by
+ * day offset from the course's first session, so a term of daily sessions is a few dozen bytes per
+ * student and rate or streak questions are answered with bit operations instead of row scans.
+ */
+public class CourseAttendanceLedger {
+
+    private final Long courseId;
+    private long baseDay = Long.MIN_VALUE; // epoch day of bit 0; set by the first mark
+    private final Map<Long, Marks> students = new HashMap<>();
+
+    private static final class Marks {
+        BitSet present = new BitSet();
+        BitSet absent = new BitSet();
+        BitSet excused = new BitSet();
+
+        void clear(int day) {
+            present.clear(day);
+            absent.clear(day);
+            excused.clear(day);
+        }
+
+        void set(int day, AttendanceStatus status) {
+            clear(day);
+            switch (status) {
+                case PRESENT -> present.set(day);
+                case ABSENT -> absent.set(day);
+                case EXCUSED -> excused.set(day);
+            }
+        }
+
+        boolean isEmpty() {
+            return present.isEmpty() && absent.isEmpty() && excused.isEmpty();
+        }
+
+        void shift(int by) {
+            present = shifted(present, by);
+            absent = shifted(absent, by);
+            excused = shifted(excused, by);
+        }
+
+        private static BitSet shifted(BitSet bits, int by) {
+            BitSet result = new BitSet(bits.length() + by);
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.set(i + by);
+            }
+            return result;
+        }
+    }
+
+    public CourseAttendanceLedger(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public synchronized void mark(Long studentId, LocalDate sessionDate, AttendanceStatus status) {
+        int day = dayIndex(sessionDate);
+        students.computeIfAbsent(studentId, id -> new Marks()).set(day, status);
+    }
+
+    /** Replaces the register of one session, clearing students who are no longer on it. */
+    public synchronized void replaceSession(LocalDate sessionDate, Map<Long, AttendanceStatus> marks) {
+        int day = dayIndex(sessionDate);
+        students.values().forEach(m -> m.clear(day));
+        marks.forEach((studentId, status) -> students.computeIfAbsent(studentId, id -> new Marks()).set(day, status));
+        students.values().removeIf(Marks::isEmpty);
+    }
+
+    public synchronized AttendanceStats stats(Long studentId) {
+        Marks marks = students.get(studentId);
+        return marks == null ? new AttendanceStats(courseId, studentId, 0, 0, 0, null, 0, 0) : toStats(studentId, marks);
+    }
+
+    public synchronized List<AttendanceStats> allStats() {
+        List<AttendanceStats> stats = new ArrayList<>(students.size());
+        new TreeMap<>(students).forEach((studentId, marks) -> stats.add(toStats(studentId, marks)));
+        return stats;
+    }
+
+    private int dayIndex(LocalDate sessionDate) {
+        long epochDay = sessionDate.toEpochDay();
+        if (baseDay == Long.MIN_VALUE) {
+            baseDay = epochDay;
+        } else if (epochDay < baseDay) {
+            // Backfilled session before the first one seen: move every bitmap up
+            int by = (int) (baseDay - epochDay);
+            students.values().forEach(m -> m.shift(by));
+            baseDay = epochDay;
+        }
+        return (int) (epochDay - baseDay);
+    }
+
+    private AttendanceStats toStats(Long studentId, Marks marks) {
+        int present = marks.present.cardinality();
+        int absent = marks.absent.cardinality();
+        Double rate = present + absent == 0 ? null : Math.round(present * 10000.0 / (present + absent)) / 100.0;
+
+        // Excused sessions neither extend nor break a streak, so walk present|absent only
+        BitSet counted = (BitSet) marks.present.clone();
+        counted.or(marks.absent);
+
+        int current = 0;
+        for (int i = counted.previousSetBit(counted.length() - 1); i >= 0 && marks.present.get(i); i = counted.previousSetBit(i - 1)) {
+            current++;
+        }
+
+        int longest = 0;
+        int run = 0;
+        for (int i = counted.nextSetBit(0); i >= 0; i = counted.nextSetBit(i + 1)) {
+            run = marks.present.get(i) ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+
+        return new AttendanceStats(courseId, studentId, present, absent, marks.excused.cardinality(), rate, current, longest);
+    }
+}
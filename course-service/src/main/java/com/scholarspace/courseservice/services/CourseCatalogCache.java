@@ -0,0 +1,154 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.scholarspace.courseservice.config.CourseCacheProperties;
+import com.scholarspace.courseservice.models.Course;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through Caffeine caches for the course catalogue. Entries are invalidated precisely by
+ * {@link CourseService} writes: the course itself, any code or department entry that contained
+ * it, and the two catalogue-wide lists. The caches hold detached copies of the loaded entities
+ * and every read hands out fresh copies, so no caller can change what another one sees and no
+ * persistence context is kept alive by the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCatalogCache {
+
+    static final String LIST_ALL = "all";
+    static final String LIST_ACTIVE = "active";
+
+    private final CourseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Long, Course> byId;
+    private Cache<String, Course> byCode;
+    private Cache<Long, List<Course>> byDepartment;
+    private Cache<String, List<Course>> lists;
+
+    @PostConstruct
+    void init() {
+        byId = register("courses.byId", build());
+        byCode = register("courses.byCode", build());
+        byDepartment = register("courses.byDepartment", build());
+        lists = register("courses.lists", build());
+    }
+
+    private <K, V> Cache<K, V> build() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMinutes(properties.getExpireAfterWriteMinutes()))
+                .recordStats()
+                .build();
+    }
+
+    private <K, V> Cache<K, V> register(String name, Cache<K, V> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    public Optional<Course> getById(Long id, Function<Long, Optional<Course>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).map(Course::detachedCopy).orElse(null)))
+                .map(Course::detachedCopy);
+    }
+
+    public Optional<Course> getByCode(String code, Function<String, Optional<Course>> loader) {
+        return Optional.ofNullable(byCode.get(code, key -> loader.apply(key).map(Course::detachedCopy).orElse(null)))
+                .map(Course::detachedCopy);
+    }
+
+    public List<Course> getByDepartment(Long departmentId, Function<Long, List<Course>> loader) {
+        return copies(byDepartment.get(departmentId, key -> copies(loader.apply(key))));
+    }
+
+    public List<Course> getAll(Supplier<List<Course>> loader) {
+        return copies(lists.get(LIST_ALL, key -> copies(loader.get())));
+    }
+
+    public List<Course> getActive(Supplier<List<Course>> loader) {
+        return copies(lists.get(LIST_ACTIVE, key -> copies(loader.get())));
+    }
+
+    private static List<Course> copies(List<Course> courses) {
+        return courses.stream().map(Course::detachedCopy).toList();
+    }
+
+    /**
+     * Drops every entry a change to this course can affect. {@code course} may be {@code null}
+     * for deletes, in which case only entries already holding the id are removed.
+     */
+    public void evict(Long courseId, Course course) {
+        byId.invalidate(courseId);
+        byCode.asMap().values().removeIf(cached -> courseId.equals(cached.getId()));
+        byDepartment.asMap().values().removeIf(cached -> cached.stream().anyMatch(c -> courseId.equals(c.getId())));
+        if (course != null) {
+            if (course.getCode() != null) {
+                byCode.invalidate(course.getCode());
+            }
+            if (course.getDepartmentId() != null) {
+                byDepartment.invalidate(course.getDepartmentId());
+            }
+        }
+        lists.invalidateAll();
+    }
+
+    /** Populates every cache from a single full catalogue read. */
+    public void warm(List<Course> loaded) {
+        List<Course> courses = copies(loaded);
+        lists.put(LIST_ALL, courses);
+        lists.put(LIST_ACTIVE, courses.stream().filter(Course::isActive).toList());
+        for (Course course : courses) {
+            byId.put(course.getId(), course);
+            if (course.getCode() != null) {
+                byCode.put(course.getCode(), course);
+            }
+        }
+        courses.stream()
+                .filter(c -> c.getDepartmentId() != null)
+                .collect(Collectors.groupingBy(Course::getDepartmentId))
+                .forEach((departmentId, departmentCourses) -> byDepartment.put(departmentId, List.copyOf(departmentCourses)));
+    }
+
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        caches.put("courses.byId", describe(byId));
+        caches.put("courses.byCode", describe(byCode));
+        caches.put("courses.byDepartment", describe(byDepartment));
+        caches.put("courses.lists", describe(lists));
+        return caches;
+    }
+
+    private Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictionCount", stats.evictionCount());
+        return description;
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byCode.invalidateAll();
+        byDepartment.invalidateAll();
+        lists.invalidateAll();
+    }
+}
@@ -1,5 +1,6 @@
 package com.scholarspace.courseservice.services;
 
+import com.scholarspace.courseservice.dto.CourseContentSummary;
 import com.scholarspace.courseservice.models.Course;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.ContentType;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -28,13 +30,19 @@ public class CourseContentService {
     private final CourseContentRepository courseContentRepository;
     private final CourseRepository courseRepository;
     private final InstructorAssignmentService instructorAssignmentService;
+    private final ContentProcessingService contentProcessingService;
+    private final SearchIndexService searchIndexService;
+    private final GradebookService gradebookService;
+    private final UngradedQueueService ungradedQueueService;
 
     @Value("${app.upload.dir}")
     private String uploadDir;
 
+    @Transactional
     public CourseContent createCourseContent(Long courseId, String title, String description, 
                                            ContentType contentType, Long instructorId, 
-                                           LocalDateTime dueDate, MultipartFile file) {
+                                           LocalDateTime dueDate, String gradeCategory, Double maxPoints,
+                                           MultipartFile file) {
         
         // Validate instructor has access to course
         if (!instructorAssignmentService.isInstructorAssignedToCourse(instructorId, courseId)) {
@@ -51,6 +59,8 @@ public class CourseContentService {
         content.setContentType(contentType);
         content.setCreatedBy(instructorId);
         content.setDueDate(dueDate);
+        content.setGradeCategory(gradeCategory == null ? null : CourseGradebook.normalizeCategory(gradeCategory));
+        content.setMaxPoints(validateMaxPoints(maxPoints));
         content.setPublishedAt(LocalDateTime.now());
         
         // Handle file upload if provided
@@ -58,9 +68,24 @@ public class CourseContentService {
             String filePath = saveFile(file, courseId);
             content.setFilePath(filePath);
             content.setFileType(file.getContentType());
+            TransactionHooks.afterRollback(() -> deleteFile(filePath, "file"));
         }
         
-        return courseContentRepository.save(content);
+        CourseContent saved = courseContentRepository.save(content);
+        
+        // Text extraction, thumbnails etc. run asynchronously off the upload request; the job row
+        // commits with the content, so neither exists without the other
+        contentProcessingService.enqueue(saved);
+        TransactionHooks.afterCommit(() -> searchIndexService.indexContent(saved));
+        
+        return saved;
+    }
+
+    private Double validateMaxPoints(Double maxPoints) {
+        if (maxPoints != null && (maxPoints.isNaN() || maxPoints <= 0)) {
+            throw new RuntimeException("Max points must be a positive number");
+        }
+        return maxPoints;
     }
 
     private String saveFile(MultipartFile file, Long courseId) {
@@ -86,21 +111,22 @@ public class CourseContentService {
         }
     }
 
-    public List<CourseContent> getCourseContentsByCourse(Long courseId) {
-        return courseContentRepository.findByCourse_IdOrderByCreatedAtDesc(courseId);
+    public List<CourseContentSummary> getCourseContentsByCourse(Long courseId) {
+        return courseContentRepository.findSummariesByCourseId(courseId);
     }
 
-    public List<CourseContent> getCourseContentsByType(Long courseId, ContentType contentType) {
-        return courseContentRepository.findByCourse_IdAndContentType(courseId, contentType);
+    public List<CourseContentSummary> getCourseContentsByType(Long courseId, ContentType contentType) {
+        return courseContentRepository.findSummariesByCourseIdAndContentType(courseId, contentType);
     }
 
     public Optional<CourseContent> getCourseContentById(Long contentId) {
         return courseContentRepository.findById(contentId);
     }
 
+    @Transactional
     public CourseContent updateCourseContent(Long contentId, String title, String description, 
                                            ContentType contentType, LocalDateTime dueDate, 
-                                           Long instructorId) {
+                                           String gradeCategory, Double maxPoints, Long instructorId) {
         
         CourseContent content = courseContentRepository.findById(contentId)
                 .orElseThrow(() -> new RuntimeException("Course content not found"));
@@ -115,9 +141,26 @@ public class CourseContentService {
         if (contentType != null) content.setContentType(contentType);
         if (dueDate != null) content.setDueDate(dueDate);
         
-        return courseContentRepository.save(content);
+        // Category or scale changes re-bucket existing grades, so the course gradebook is rebuilt lazily
+        boolean gradebookChanged = false;
+        if (gradeCategory != null) {
+            content.setGradeCategory(CourseGradebook.normalizeCategory(gradeCategory));
+            gradebookChanged = true;
+        }
+        if (maxPoints != null) {
+            content.setMaxPoints(validateMaxPoints(maxPoints));
+            gradebookChanged = true;
+        }
+        
+        CourseContent saved = courseContentRepository.save(content);
+        TransactionHooks.afterCommit(() -> searchIndexService.indexContent(saved));
+        if (gradebookChanged || title != null) {
+            gradebookService.evictCourse(saved.getCourse().getId());
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteCourseContent(Long contentId, Long instructorId) {
         CourseContent content = courseContentRepository.findById(contentId)
                 .orElseThrow(() -> new RuntimeException("Course content not found"));
@@ -127,15 +170,29 @@ public class CourseContentService {
             throw new RuntimeException("Instructor is not assigned to this course");
         }
         
-        // Delete file if exists
-        if (content.getFilePath() != null) {
-            try {
-                Files.deleteIfExists(Paths.get(content.getFilePath()));
-            } catch (IOException e) {
-                log.warn("Failed to delete file: {}", content.getFilePath(), e);
-            }
-        }
-        
+        contentProcessingService.discardJobs(contentId);
         courseContentRepository.delete(content);
+        
+        // Files and the index entry only go once the row is gone for good
+        String filePath = content.getFilePath();
+        String thumbnailPath = content.getThumbnailPath();
+        TransactionHooks.afterCommit(() -> {
+            deleteFile(filePath, "file");
+            deleteFile(thumbnailPath, "thumbnail");
+            searchIndexService.removeContent(contentId);
+        });
+        gradebookService.evictCourse(content.getCourse().getId());
+        ungradedQueueService.evictCourse(content.getCourse().getId());
+    }
+
+    private static void deleteFile(String path, String kind) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", kind, path, e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.GradebookMatrix;
+import com.scholarspace.courseservice.dto.GradingTarget;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory gradebook for one course. Every student keeps running points/maximum sums per
+ * category, adjusted by the delta of each grade change, so a weighted total costs one pass over
+ * the course's categories and never a pass over submissions.
+ *
+ * <p>Weighting: when the course has no configured weights every category counts equally;
+ * otherwise categories without a configured weight are left out of the total.
+ */
+public class CourseGradebook {
+
+    public static final String DEFAULT_CATEGORY = "GENERAL";
+    public static final double DEFAULT_MAX_POINTS = 100.0;
+
+    private final Long courseId;
+    private final Map<String, Double> weights = new HashMap<>();
+    private final Map<Long, Entry> bySubmission = new HashMap<>();
+    private final Map<Long, GradebookMatrix.Column> columns = new HashMap<>();
+    private final Map<Long, Student> students = new HashMap<>();
+
+    private record Entry(Long studentId, Long contentId, String category, double points, double maxPoints, long version) {
+    }
+
+    private static final class Student {
+        final Map<Long, Double> grades = new HashMap<>();
+        final Map<String, double[]> categorySums = new HashMap<>(); // {points, maxPoints}
+    }
+
+    public CourseGradebook(Long courseId, Map<String, Double> weights) {
+        this.courseId = courseId;
+        setWeights(weights);
+    }
+
+    public static String normalizeCategory(String category) {
+        return category == null || category.isBlank() ? DEFAULT_CATEGORY : category.trim().toUpperCase();
+    }
+
+    public synchronized void setWeights(Map<String, Double> weights) {
+        this.weights.clear();
+        weights.forEach((category, weight) -> this.weights.put(normalizeCategory(category), weight));
+    }
+
+    /**
+     * Records a grade for a submission, replacing whatever the submission contributed before.
+     * Grades reach the gradebook after their transactions commit, not necessarily in commit order,
+     * so a target whose version is not newer than the recorded one is ignored.
+     */
+    public synchronized void record(GradingTarget target) {
+        Entry current = bySubmission.get(target.submissionId());
+        if (current != null && target.version() <= current.version()) {
+            return;
+        }
+        remove(target.submissionId());
+        if (target.grade() == null) {
+            return;
+        }
+
+        String category = normalizeCategory(target.category());
+        double maxPoints = target.maxPoints() == null || target.maxPoints() <= 0 ? DEFAULT_MAX_POINTS : target.maxPoints();
+        Entry entry = new Entry(target.studentId(), target.contentId(), category, target.grade(), maxPoints, target.version());
+        bySubmission.put(target.submissionId(), entry);
+        columns.put(target.contentId(), new GradebookMatrix.Column(target.contentId(), target.assignmentTitle(), category, maxPoints));
+
+        Student student = students.computeIfAbsent(entry.studentId(), id -> new Student());
+        student.grades.put(entry.contentId(), entry.points());
+        double[] sums = student.categorySums.computeIfAbsent(category, c -> new double[2]);
+        sums[0] += entry.points();
+        sums[1] += entry.maxPoints();
+    }
+
+    public synchronized void remove(Long submissionId) {
+        Entry previous = bySubmission.remove(submissionId);
+        if (previous == null) {
+            return;
+        }
+        Student student = students.get(previous.studentId());
+        student.grades.remove(previous.contentId());
+        double[] sums = student.categorySums.get(previous.category());
+        sums[0] -= previous.points();
+        sums[1] -= previous.maxPoints();
+        if (sums[1] <= 0) {
+            student.categorySums.remove(previous.category());
+        }
+        if (student.grades.isEmpty()) {
+            students.remove(previous.studentId());
+        }
+    }
+
+    public synchronized GradebookMatrix.Row getRow(Long studentId) {
+        Student student = students.get(studentId);
+        return student == null ? new GradebookMatrix.Row(studentId, Map.of(), Map.of(), null) : toRow(studentId, student);
+    }
+
+    public synchronized GradebookMatrix matrix() {
+        TreeSet<String> categoryNames = new TreeSet<>(weights.keySet());
+        columns.values().forEach(column -> categoryNames.add(column.category()));
+        List<GradebookMatrix.Category> categories = new ArrayList<>(categoryNames.size());
+        for (String name : categoryNames) {
+            categories.add(new GradebookMatrix.Category(name, effectiveWeight(name)));
+        }
+
+        List<GradebookMatrix.Column> assignments = new ArrayList<>(columns.values());
+        assignments.sort(Comparator.comparing(GradebookMatrix.Column::contentId));
+
+        List<GradebookMatrix.Row> rows = new ArrayList<>(students.size());
+        new TreeMap<>(students).forEach((studentId, student) -> rows.add(toRow(studentId, student)));
+
+        return new GradebookMatrix(courseId, categories, assignments, rows);
+    }
+
+    public synchronized int size() {
+        return bySubmission.size();
+    }
+
+    private GradebookMatrix.Row toRow(Long studentId, Student student) {
+        Map<String, Double> categoryPercent = new LinkedHashMap<>();
+        double weighted = 0;
+        double totalWeight = 0;
+        for (Map.Entry<String, double[]> e : new TreeMap<>(student.categorySums).entrySet()) {
+            double percent = e.getValue()[0] / e.getValue()[1] * 100;
+            categoryPercent.put(e.getKey(), round(percent));
+            double weight = effectiveWeight(e.getKey());
+            weighted += weight * percent;
+            totalWeight += weight;
+        }
+        Double total = totalWeight > 0 ? round(weighted / totalWeight) : null;
+        return new GradebookMatrix.Row(studentId, Map.copyOf(student.grades), categoryPercent, total);
+    }
+
+    private double effectiveWeight(String category) {
+        return weights.isEmpty() ? 1.0 : weights.getOrDefault(category, 0.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
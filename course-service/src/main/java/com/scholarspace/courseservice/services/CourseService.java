@@ -1,14 +1,23 @@
 package com.scholarspace.courseservice.services;
 
 import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.proto.DepartmentRef;
 import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.services.events.DomainEventTypes;
+import com.scholarspace.courseservice.services.events.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,6 +27,11 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final RestTemplate restTemplate;
+    private final SearchIndexService searchIndexService;
+    private final CourseCatalogCache courseCatalogCache;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
 
     public Course createCourse(String courseCode, String title, String description,
                               Integer creditHours, String semester, String academicYear,
@@ -42,13 +56,28 @@ public class CourseService {
         course.setActive(true);
         course.setCreatedAt(LocalDateTime.now());
         
-        return courseRepository.save(course);
+        // The CourseCreated event commits with the row; the remote validation above stays outside
+        Course saved = transactionTemplate.execute(status -> {
+            Course created = courseRepository.save(course);
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("courseId", created.getId());
+            payload.put("courseCode", created.getCourseCode());
+            payload.put("title", created.getTitle());
+            payload.put("departmentId", created.getDepartmentId());
+            payload.put("semester", created.getSemester());
+            payload.put("academicYear", created.getAcademicYear());
+            outboxService.record(DomainEventTypes.COURSE_CREATED, "Course", created.getId(), payload);
+            return created;
+        });
+        courseCatalogCache.evict(saved.getId(), saved);
+        searchIndexService.indexCourse(saved);
+        return saved;
     }
 
     private void validateDepartment(Long departmentId) {
         try {
             String url = "http://institution-service/api/departments/" + departmentId;
-            restTemplate.getForObject(url, Object.class);
+            restTemplate.getForObject(url, DepartmentRef.class);
             log.info("Department validation successful for ID: {}", departmentId);
         } catch (Exception e) {
             log.warn("Department validation failed for ID: {} - {}", departmentId, e.getMessage());
@@ -57,50 +86,95 @@ public class CourseService {
         }
     }
 
+    // Reads are served from CourseCatalogCache as detached copies; changes to them are never
+    // saved, so callers that need to modify a course must load it from the repository instead.
     public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+        return courseCatalogCache.getById(id, courseRepository::findById);
     }
 
     public Optional<Course> getCourseByCode(String courseCode) {
-        return courseRepository.findByCode(courseCode);
+        return courseCatalogCache.getByCode(courseCode, courseRepository::findByCode);
     }
 
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return courseCatalogCache.getAll(courseRepository::findAll);
     }
 
     public List<Course> getActiveCourses() {
-        return courseRepository.findByIsActiveTrue();
+        return courseCatalogCache.getActive(courseRepository::findByIsActiveTrue);
     }
 
     public List<Course> getCoursesByDepartment(Long departmentId) {
-        return courseRepository.findByDepartmentId(departmentId);
+        return courseCatalogCache.getByDepartment(departmentId, courseRepository::findByDepartmentId);
     }
 
     public Course updateCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        courseCatalogCache.evict(saved.getId(), saved);
+        searchIndexService.indexCourse(saved);
+        return saved;
     }
 
     public void activateCourse(Long courseId) {
         courseRepository.findById(courseId).ifPresent(course -> {
             course.setActive(true);
-            courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            courseCatalogCache.evict(courseId, saved);
+            searchIndexService.indexCourse(saved);
         });
     }
 
     public void deactivateCourse(Long courseId) {
         courseRepository.findById(courseId).ifPresent(course -> {
             course.setActive(false);
-            courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            courseCatalogCache.evict(courseId, saved);
+            searchIndexService.indexCourse(saved);
         });
     }
 
+    // The course row is locked before the recount, so no sign-up can commit between counting the
+    // seat-holding enrollments and storing the new limit. Lowering the capacity below the current
+    // count keeps existing enrollments and only blocks new ones.
+    @Transactional
+    public Course setCapacity(Long courseId, Integer capacity) {
+        if (capacity != null && capacity < 0) {
+            throw new RuntimeException("Capacity cannot be negative");
+        }
+        courseRepository.lockForUpdate(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        
+        List<String> seatHolding = Arrays.stream(EnrollmentStatus.values())
+                .filter(EnrollmentStatus::holdsSeat)
+                .map(Enum::name)
+                .toList();
+        courseRepository.setCapacityAndRecount(courseId, capacity, seatHolding);
+        TransactionHooks.afterCommit(() -> courseCatalogCache.evict(courseId, null));
+        return getCourseWithSeats(courseId);
+    }
+
+    // Seat counts change with every enrollment, so they are read from the database rather than
+    // from the catalogue cache, whose copies may lag
+    @Transactional(readOnly = true)
+    public Course getCourseWithSeats(Long courseId) {
+        return courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+    }
+
+    public void warmCache() {
+        courseCatalogCache.warm(courseRepository.findAll());
+    }
+
     public void deleteCourse(Long courseId) {
         if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Course not found");
         }
         
         // For now, simple deletion - in production, check for enrollments first
+        courseRepository.removeAsPrerequisite(courseId);
         courseRepository.deleteById(courseId);
+        prerequisiteGraphService.removeCourse(courseId);
+        courseCatalogCache.evict(courseId, null);
+        searchIndexService.removeCourse(courseId);
     }
 }
\ No newline at end of file
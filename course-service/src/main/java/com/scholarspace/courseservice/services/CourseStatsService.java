@@ -0,0 +1,129 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.DepartmentCourseStats;
+import com.scholarspace.courseservice.dto.InstitutionCourseStats;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Course and enrollment counts per department and per institution, answered by grouped COUNT
+ * queries and cached briefly. Courses only know their department, so institution stats are
+ * computed over the department ids the caller (institution-service) supplies.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseStatsService {
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.course-stats.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.course-stats.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.course-stats.max-departments:500}")
+    private int maxDepartments;
+
+    private Cache<Long, DepartmentCourseStats> byDepartment;
+    private Cache<InstitutionKey, InstitutionCourseStats> byInstitution;
+
+    private record InstitutionKey(Long institutionId, List<Long> departmentIds) {
+    }
+
+    @PostConstruct
+    void init() {
+        // No write hooks: counts may lag by up to the TTL, which dashboards tolerate
+        byDepartment = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        byInstitution = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byDepartment, "course.stats.departments");
+        CaffeineCacheMetrics.monitor(meterRegistry, byInstitution, "course.stats.institutions");
+    }
+
+    public DepartmentCourseStats getDepartmentStats(Long departmentId) {
+        return byDepartment.get(departmentId, id -> load(Set.of(id)).get(id));
+    }
+
+    /** Stats of several departments in the order given; only the uncached ones are queried, together. */
+    public List<DepartmentCourseStats> getDepartmentStats(Collection<Long> departmentIds) {
+        List<Long> ids = normalize(departmentIds);
+        Map<Long, DepartmentCourseStats> stats = byDepartment.getAll(ids, this::load);
+        return ids.stream().map(stats::get).toList();
+    }
+
+    public InstitutionCourseStats getInstitutionStats(Long institutionId, Collection<Long> departmentIds) {
+        List<Long> ids = normalize(departmentIds);
+        return byInstitution.get(new InstitutionKey(institutionId, ids), key -> {
+            long courses = 0, activeCourses = 0, enrollments = 0, pending = 0;
+            for (DepartmentCourseStats department : getDepartmentStats(ids)) {
+                courses += department.courseCount();
+                activeCourses += department.activeCourseCount();
+                enrollments += department.enrollmentCount();
+                pending += department.pendingEnrollmentCount();
+            }
+            // A student enrolled in two departments is one student of the institution
+            long students = ids.isEmpty() ? 0 : enrollmentRepository.countActiveStudentsByDepartmentIds(ids);
+            return new InstitutionCourseStats(institutionId, ids.size(), courses, activeCourses, enrollments, pending, students);
+        });
+    }
+
+    private Map<Long, DepartmentCourseStats> load(Set<? extends Long> departmentIds) {
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Long id : departmentIds) {
+            counts.put(id, new long[5]);
+        }
+        for (Object[] row : courseRepository.countByDepartmentIds(List.copyOf(departmentIds))) {
+            long[] c = counts.get((Long) row[0]);
+            c[0] = toLong(row[1]);
+            c[1] = toLong(row[2]);
+        }
+        for (Object[] row : enrollmentRepository.countByDepartmentIds(List.copyOf(departmentIds))) {
+            long[] c = counts.get((Long) row[0]);
+            c[2] = toLong(row[1]);
+            c[3] = toLong(row[2]);
+            c[4] = toLong(row[3]);
+        }
+
+        Map<Long, DepartmentCourseStats> stats = new HashMap<>();
+        counts.forEach((id, c) -> stats.put(id, new DepartmentCourseStats(id, c[0], c[1], c[2], c[3], c[4])));
+        return stats;
+    }
+
+    private List<Long> normalize(Collection<Long> departmentIds) {
+        List<Long> ids = departmentIds.stream().filter(id -> id != null).distinct().sorted().toList();
+        if (ids.size() > maxDepartments) {
+            throw new IllegalArgumentException("At most " + maxDepartments + " departments per request");
+        }
+        return ids;
+    }
+
+    // SUM over no rows is NULL, and drivers differ on Long vs BigInteger/BigDecimal for aggregates
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,157 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.ScheduleConflict;
+import com.scholarspace.courseservice.dto.ScheduleConflict.ResourceType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Every non-cancelled lesson of one day, indexed by one {@link IntervalTree} per teacher, per room
+ * and per class. A lesson clashes when any of its three trees already holds an overlapping lesson.
+ * Rooms are keyed by school as well as name, since two schools may both have a "Lab 1".
+ */
+final class DaySchedule {
+
+    // scope is the school for rooms; teachers and classes are the same across schools
+    private record Resource(ResourceType type, Long scope, String id) {
+    }
+
+    private final LocalDate date;
+    private final Map<Resource, IntervalTree> trees = new HashMap<>();
+    private final Map<Long, LessonSlot> lessons = new HashMap<>();
+
+    DaySchedule(LocalDate date) {
+        this.date = date;
+    }
+
+    static DaySchedule of(LocalDate date, Collection<LessonSlot> slots) {
+        DaySchedule schedule = new DaySchedule(date);
+        slots.forEach(schedule::put);
+        return schedule;
+    }
+
+    /**
+     * Places the lesson unless it clashes; returns the clashes, empty when it was placed. A lesson
+     * already on the schedule is moved, so the same call serves creates and updates.
+     */
+    synchronized List<ScheduleConflict> reserve(LessonSlot slot) {
+        LessonSlot previous = remove(slot.lessonId());
+        List<ScheduleConflict> conflicts = conflicts(slot);
+        if (conflicts.isEmpty()) {
+            put(slot);
+        } else if (previous != null) {
+            put(previous);
+        }
+        return conflicts;
+    }
+
+    /** The clashes the lesson would have, without placing it. */
+    synchronized List<ScheduleConflict> check(LessonSlot slot) {
+        LessonSlot previous = remove(slot.lessonId());
+        try {
+            return conflicts(slot);
+        } finally {
+            if (previous != null) {
+                put(previous);
+            }
+        }
+    }
+
+    synchronized void put(LessonSlot slot) {
+        remove(slot.lessonId());
+        lessons.put(slot.lessonId(), slot);
+        forEachResource(slot, resource -> trees.computeIfAbsent(resource, r -> new IntervalTree())
+                .insert(minutes(slot.startTime()), minutes(slot.endTime()), slot.lessonId()));
+    }
+
+    synchronized LessonSlot remove(Long lessonId) {
+        LessonSlot slot = lessons.remove(lessonId);
+        if (slot != null) {
+            forEachResource(slot, resource -> {
+                IntervalTree tree = trees.get(resource);
+                tree.remove(minutes(slot.startTime()), slot.lessonId());
+                if (tree.size() == 0) {
+                    trees.remove(resource);
+                }
+            });
+        }
+        return slot;
+    }
+
+    synchronized int size() {
+        return lessons.size();
+    }
+
+    private List<ScheduleConflict> conflicts(LessonSlot slot) {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        forEachResource(slot, resource -> {
+            IntervalTree tree = trees.get(resource);
+            IntervalTree.Interval clash = tree == null ? null : tree.firstOverlap(minutes(slot.startTime()), minutes(slot.endTime()));
+            if (clash != null) {
+                conflicts.add(new ScheduleConflict(resource.type(), resource.id(), date, slot.lessonId(), clash.id(),
+                        LocalTime.ofSecondOfDay(clash.start() * 60L), LocalTime.ofSecondOfDay(clash.end() * 60L)));
+            }
+        });
+        return conflicts;
+    }
+
+    /**
+     * Every clash among the given lessons of one day, each pair reported once against the earlier
+     * lesson. Used by the term validation, where stored data may already overlap.
+     */
+    static List<ScheduleConflict> findConflicts(LocalDate date, List<LessonSlot> slots) {
+        List<LessonSlot> ordered = new ArrayList<>(slots);
+        ordered.sort(Comparator.comparing(LessonSlot::startTime).thenComparing(LessonSlot::lessonId));
+
+        DaySchedule schedule = new DaySchedule(date);
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (LessonSlot slot : ordered) {
+            schedule.forEachResource(slot, resource -> {
+                IntervalTree tree = schedule.trees.get(resource);
+                if (tree != null) {
+                    for (IntervalTree.Interval clash : tree.overlaps(minutes(slot.startTime()), minutes(slot.endTime()))) {
+                        conflicts.add(new ScheduleConflict(resource.type(), resource.id(), date, slot.lessonId(), clash.id(),
+                                LocalTime.ofSecondOfDay(clash.start() * 60L), LocalTime.ofSecondOfDay(clash.end() * 60L)));
+                    }
+                }
+            });
+            schedule.put(slot);
+        }
+        return conflicts;
+    }
+
+    private void forEachResource(LessonSlot slot, Consumer<Resource> action) {
+        if (slot.teacherId() != null) {
+            action.accept(new Resource(ResourceType.TEACHER, null, slot.teacherId().toString()));
+        }
+        String room = normalizeRoom(slot.location());
+        if (room != null) {
+            action.accept(new Resource(ResourceType.ROOM, slot.schoolId(), room));
+        }
+        if (slot.classId() != null) {
+            action.accept(new Resource(ResourceType.CLASS, null, slot.classId().toString()));
+        }
+    }
+
+    // "Lab 1", " lab  1 " and "LAB\t1" are the same room
+    static String normalizeRoom(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return location.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
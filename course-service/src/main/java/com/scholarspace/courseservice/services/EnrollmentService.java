@@ -1,16 +1,25 @@
 package com.scholarspace.courseservice.services;
 
+import com.scholarspace.courseservice.dto.EnrollmentSummary;
 import com.scholarspace.courseservice.models.Course;
 import com.scholarspace.courseservice.models.Enrollment;
 import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.proto.UserRef;
+import com.scholarspace.courseservice.proto.UserRole;
 import com.scholarspace.courseservice.repositories.CourseRepository;
 import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.scholarspace.courseservice.services.events.DomainEventTypes;
+import com.scholarspace.courseservice.services.events.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,38 +32,67 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final RestTemplate restTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
 
     public Enrollment requestEnrollment(Long studentId, Long courseId) {
-        // Validate student exists and has STUDENT role
+        // Validate student exists and has STUDENT role; kept outside the transaction so the
+        // remote call never holds the course row lock
         validateStudent(studentId);
         
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        
-        // Check if student is already enrolled
-        Optional<Enrollment> existingEnrollment = 
+        try {
+            return transactionTemplate.execute(status -> reserveAndEnroll(studentId, courseId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same student won the unique (course, student) insert and
+            // our seat was rolled back with the failed insert; the retry returns the winner's row
+            log.debug("Concurrent enrollment request for student {} in course {}, retrying", studentId, courseId);
+            return transactionTemplate.execute(status -> reserveAndEnroll(studentId, courseId));
+        }
+    }
+
+    private Enrollment reserveAndEnroll(Long studentId, Long courseId) {
+        Optional<Enrollment> existingEnrollment =
                 enrollmentRepository.findByCourse_IdAndStudentId(courseId, studentId);
         
         if (existingEnrollment.isPresent()) {
+            // A repeated request for a live enrollment is answered with that enrollment, so
+            // client retries neither fail nor take a second seat
+            if (isLive(existingEnrollment.get())) {
+                return existingEnrollment.get();
+            }
             throw new RuntimeException("Student is already enrolled in this course");
         }
         
-        Enrollment enrollment = new Enrollment(course, studentId);
-        return enrollmentRepository.save(enrollment);
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        
+        if (courseRepository.reserveSeat(courseId) == 0) {
+            // The reservation waited on the course row, so a concurrent request for this same
+            // student may have taken the last seat meanwhile; that counts as success
+            return enrollmentRepository.findByCourse_IdAndStudentId(courseId, studentId)
+                    .filter(EnrollmentService::isLive)
+                    .orElseThrow(() -> new RuntimeException("Course is full"));
+        }
+        
+        Enrollment enrollment = enrollmentRepository.saveAndFlush(new Enrollment(course, studentId));
+        recordStatusChange(enrollment, null, enrollment.getStatus());
+        return enrollment;
+    }
+
+    private static boolean isLive(Enrollment enrollment) {
+        return enrollment.getStatus() == EnrollmentStatus.PENDING || enrollment.getStatus() == EnrollmentStatus.ACTIVE;
     }
 
     private void validateStudent(Long studentId) {
         try {
             String url = "http://user-service/api/users/" + studentId;
-            @SuppressWarnings("unchecked")
-            Map<String, Object> user = restTemplate.getForObject(url, Map.class);
+            UserRef user = restTemplate.getForObject(url, UserRef.class);
             
             if (user == null) {
                 throw new RuntimeException("Student not found");
             }
             
-            String role = (String) user.get("role");
-            if (!"STUDENT".equals(role)) {
+            if (user.getRole() != UserRole.STUDENT) {
                 throw new RuntimeException("User is not a student");
             }
         } catch (Exception e) {
@@ -67,48 +105,102 @@ public class EnrollmentService {
         return enrollmentRepository.findById(id);
     }
 
-    public List<Enrollment> getEnrollmentsByCourse(Long courseId) {
-        return enrollmentRepository.findByCourse_Id(courseId);
+    public List<EnrollmentSummary> getEnrollmentsByCourse(Long courseId) {
+        return enrollmentRepository.findSummariesByCourseId(courseId);
+    }
+
+    public List<EnrollmentSummary> getEnrollmentsByStudent(Long studentId) {
+        return enrollmentRepository.findSummariesByStudentId(studentId);
     }
 
-    public List<Enrollment> getEnrollmentsByStudent(Long studentId) {
-        return enrollmentRepository.findByStudentId(studentId);
+    public List<EnrollmentSummary> getActiveEnrollmentsByCourse(Long courseId) {
+        return enrollmentRepository.findSummariesByCourseIdAndStatus(courseId, EnrollmentStatus.ACTIVE);
     }
 
-    public List<Enrollment> getActiveEnrollmentsByCourse(Long courseId) {
-        return enrollmentRepository.findByCourse_IdAndStatus(courseId, EnrollmentStatus.ACTIVE);
+    public List<EnrollmentSummary> getActiveEnrollmentsByStudent(Long studentId) {
+        return enrollmentRepository.findSummariesByStudentIdAndStatus(studentId, EnrollmentStatus.ACTIVE);
     }
 
-    public List<Enrollment> getActiveEnrollmentsByStudent(Long studentId) {
-        return enrollmentRepository.findByStudentIdAndStatus(studentId, EnrollmentStatus.ACTIVE);
+    public boolean isActivelyEnrolled(Long studentId, Long courseId) {
+        return enrollmentRepository.existsByCourse_IdAndStudentIdAndStatus(courseId, studentId, EnrollmentStatus.ACTIVE);
     }
 
-    public List<Enrollment> getEnrollmentsByStatus(EnrollmentStatus status) {
-        return enrollmentRepository.findByStatus(status);
+    public List<Long> getActiveCourseIdsByStudent(Long studentId) {
+        return enrollmentRepository.findCourseIdsByStudentIdAndStatus(studentId, EnrollmentStatus.ACTIVE);
     }
 
+    public List<EnrollmentSummary> getEnrollmentsByStatus(EnrollmentStatus status) {
+        return enrollmentRepository.findSummariesByStatus(status);
+    }
+
+    @Transactional
     public Enrollment updateEnrollmentStatus(Long enrollmentId, EnrollmentStatus status) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
         
-        enrollment.setStatus(status);
-        return enrollmentRepository.save(enrollment);
+        transition(enrollment, status);
+        return enrollment;
     }
 
+    @Transactional
     public void dropEnrollment(Long enrollmentId) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
         
-        enrollment.setStatus(EnrollmentStatus.DROPPED);
-        enrollmentRepository.save(enrollment);
+        transition(enrollment, EnrollmentStatus.DROPPED);
+    }
+
+    /**
+     * Drops the student's pending enrollment requests, freeing their seats. Called when the
+     * account is deactivated or stops being a student; active enrollments are left to admins.
+     */
+    @Transactional
+    public int dropPendingEnrollments(Long studentId) {
+        List<Enrollment> pending = enrollmentRepository.findByStudentIdAndStatus(studentId, EnrollmentStatus.PENDING);
+        for (Enrollment enrollment : pending) {
+            transition(enrollment, EnrollmentStatus.DROPPED);
+        }
+        return pending.size();
     }
 
+    @Transactional
     public void completeEnrollment(Long enrollmentId, String grade) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
         
-        enrollment.setStatus(EnrollmentStatus.COMPLETED);
+        transition(enrollment, EnrollmentStatus.COMPLETED);
         enrollment.setGrade(grade);
-        enrollmentRepository.save(enrollment);
     }
-}
\ No newline at end of file
+
+    // The status change is a compare-and-set on the old status, so of two concurrent transitions
+    // only one adjusts the seat count; a full course rolls the status change back
+    private void transition(Enrollment enrollment, EnrollmentStatus status) {
+        EnrollmentStatus from = enrollment.getStatus();
+        if (from == status) {
+            return;
+        }
+        if (enrollmentRepository.transitionStatus(enrollment.getEnrollmentId(), from, status) == 0) {
+            throw new RuntimeException("Enrollment was changed concurrently, please retry");
+        }
+        
+        Long courseId = enrollment.getCourse().getId();
+        if (!from.holdsSeat() && status.holdsSeat() && courseRepository.reserveSeat(courseId) == 0) {
+            throw new RuntimeException("Course is full");
+        }
+        if (from.holdsSeat() && !status.holdsSeat()) {
+            courseRepository.releaseSeat(courseId);
+        }
+        enrollment.setStatus(status);
+        recordStatusChange(enrollment, from, status);
+    }
+
+    private void recordStatusChange(Enrollment enrollment, EnrollmentStatus from, EnrollmentStatus to) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("enrollmentId", enrollment.getEnrollmentId());
+        payload.put("courseId", enrollment.getCourse().getId());
+        payload.put("studentId", enrollment.getStudentId());
+        payload.put("previousStatus", from != null ? from.name() : null);
+        payload.put("status", to.name());
+        outboxService.record(DomainEventTypes.ENROLLMENT_STATUS_CHANGED, "Enrollment", enrollment.getEnrollmentId(), payload);
+    }
+}
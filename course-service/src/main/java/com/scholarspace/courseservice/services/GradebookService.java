@@ -0,0 +1,123 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.GradebookMatrix;
+import com.scholarspace.courseservice.dto.GradingTarget;
+import com.scholarspace.courseservice.models.GradeCategoryWeight;
+import com.scholarspace.courseservice.repositories.GradeCategoryWeightRepository;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a {@link CourseGradebook} in memory per recently used course. A gradebook is built from
+ * the database once, on first read; after that grading feeds it deltas, so serving the matrix
+ * never touches the submissions table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradebookService {
+
+    private final SubmissionRepository submissionRepository;
+    private final GradeCategoryWeightRepository weightRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.gradebook.max-courses:500}")
+    private int maxCourses;
+
+    private Cache<Long, CourseGradebook> gradebooks;
+
+    @PostConstruct
+    void init() {
+        gradebooks = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, gradebooks, "gradebooks");
+    }
+
+    public GradebookMatrix getGradebook(Long courseId) {
+        return gradebook(courseId).matrix();
+    }
+
+    public GradebookMatrix.Row getStudentGrades(Long courseId, Long studentId) {
+        return gradebook(courseId).getRow(studentId);
+    }
+
+    public Map<String, Double> getWeights(Long courseId) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (GradeCategoryWeight weight : weightRepository.findByCourseId(courseId)) {
+            weights.put(weight.getCategory(), weight.getWeight());
+        }
+        return weights;
+    }
+
+    /** Replaces the category weights of a course. Totals pick them up immediately; no rebuild is needed. */
+    @Transactional
+    public Map<String, Double> setWeights(Long courseId, Map<String, Double> weights) {
+        Map<String, Double> normalized = new LinkedHashMap<>();
+        weights.forEach((category, weight) -> {
+            if (weight == null || weight.isNaN() || weight < 0) {
+                throw new RuntimeException("Weight for category " + category + " must be a non-negative number");
+            }
+            normalized.put(CourseGradebook.normalizeCategory(category), weight);
+        });
+
+        weightRepository.deleteByCourseId(courseId);
+        normalized.forEach((category, weight) -> weightRepository.save(new GradeCategoryWeight(courseId, category, weight)));
+
+        TransactionHooks.afterCommit(() -> gradebooks.asMap().computeIfPresent(courseId, (id, gradebook) -> {
+            gradebook.setWeights(normalized);
+            return gradebook;
+        }));
+        return normalized;
+    }
+
+    /**
+     * Applies committed grade changes to the gradebooks that are currently loaded. Unloaded courses
+     * are skipped; they read the committed rows when first requested.
+     */
+    public void recordGrades(List<GradingTarget> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            for (GradingTarget target : targets) {
+                // computeIfPresent waits for an in-flight load of the same course, so no grade slips between
+                gradebooks.asMap().computeIfPresent(target.courseId(), (id, gradebook) -> {
+                    gradebook.record(target);
+                    return gradebook;
+                });
+            }
+        });
+    }
+
+    /** Drops a course's gradebook after a change that alters assignment columns, such as a new category. */
+    public void evictCourse(Long courseId) {
+        TransactionHooks.afterCommit(() -> gradebooks.invalidate(courseId));
+    }
+
+    private CourseGradebook gradebook(Long courseId) {
+        return gradebooks.get(courseId, this::load);
+    }
+
+    private CourseGradebook load(Long courseId) {
+        CourseGradebook gradebook = new CourseGradebook(courseId, getWeights(courseId));
+        List<GradingTarget> graded = submissionRepository.findGradedTargetsByCourseId(courseId);
+        graded.forEach(gradebook::record);
+        log.debug("Loaded gradebook for course {} with {} graded submissions", courseId, graded.size());
+        return gradebook;
+    }
+}
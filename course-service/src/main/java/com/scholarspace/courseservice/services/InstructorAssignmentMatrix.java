@@ -0,0 +1,121 @@
+package com.scholarspace.courseservice.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable instructor id to course id mapping. Each instructor's courses are a sorted
+ * {@code long[]}, so a membership check is a hash lookup plus a binary search with no boxing.
+ * Changes copy only the affected instructor's row.
+ */
+public final class InstructorAssignmentMatrix {
+
+    private static final long[] NONE = new long[0];
+    private static final InstructorAssignmentMatrix EMPTY = new InstructorAssignmentMatrix(Map.of(), 0);
+
+    private final Map<Long, long[]> coursesByInstructor;
+    private final int assignments;
+
+    private InstructorAssignmentMatrix(Map<Long, long[]> coursesByInstructor, int assignments) {
+        this.coursesByInstructor = coursesByInstructor;
+        this.assignments = assignments;
+    }
+
+    public static InstructorAssignmentMatrix empty() {
+        return EMPTY;
+    }
+
+    /** Builds from (instructorId, courseId) pairs; duplicates are ignored. */
+    public static InstructorAssignmentMatrix build(List<long[]> pairs) {
+        Map<Long, long[]> rows = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (long[] pair : pairs) {
+            long[] row = rows.get(pair[0]);
+            int size = sizes.getOrDefault(pair[0], 0);
+            if (row == null) {
+                row = new long[4];
+            } else if (size == row.length) {
+                row = Arrays.copyOf(row, size * 2);
+            }
+            row[size] = pair[1];
+            rows.put(pair[0], row);
+            sizes.put(pair[0], size + 1);
+        }
+
+        int total = 0;
+        for (Map.Entry<Long, long[]> entry : rows.entrySet()) {
+            long[] row = Arrays.copyOf(entry.getValue(), sizes.get(entry.getKey()));
+            Arrays.sort(row);
+            row = distinct(row);
+            entry.setValue(row);
+            total += row.length;
+        }
+        return new InstructorAssignmentMatrix(rows, total);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    public boolean contains(long instructorId, long courseId) {
+        long[] row = coursesByInstructor.get(instructorId);
+        return row != null && Arrays.binarySearch(row, courseId) >= 0;
+    }
+
+    /** The instructor's course ids in ascending order. The returned array must not be modified. */
+    public long[] courses(long instructorId) {
+        return coursesByInstructor.getOrDefault(instructorId, NONE);
+    }
+
+    public InstructorAssignmentMatrix with(long instructorId, long courseId) {
+        long[] row = courses(instructorId);
+        int position = Arrays.binarySearch(row, courseId);
+        if (position >= 0) {
+            return this;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[row.length + 1];
+        System.arraycopy(row, 0, updated, 0, insertAt);
+        updated[insertAt] = courseId;
+        System.arraycopy(row, insertAt, updated, insertAt + 1, row.length - insertAt);
+        return replaceRow(instructorId, updated, assignments + 1);
+    }
+
+    public InstructorAssignmentMatrix without(long instructorId, long courseId) {
+        long[] row = courses(instructorId);
+        int position = Arrays.binarySearch(row, courseId);
+        if (position < 0) {
+            return this;
+        }
+        long[] updated = new long[row.length - 1];
+        System.arraycopy(row, 0, updated, 0, position);
+        System.arraycopy(row, position + 1, updated, position, row.length - position - 1);
+        return replaceRow(instructorId, updated, assignments - 1);
+    }
+
+    private InstructorAssignmentMatrix replaceRow(long instructorId, long[] row, int total) {
+        Map<Long, long[]> rows = new HashMap<>(coursesByInstructor);
+        if (row.length == 0) {
+            rows.remove(instructorId);
+        } else {
+            rows.put(instructorId, row);
+        }
+        return new InstructorAssignmentMatrix(rows, total);
+    }
+
+    public int instructorCount() {
+        return coursesByInstructor.size();
+    }
+
+    public int assignmentCount() {
+        return assignments;
+    }
+}
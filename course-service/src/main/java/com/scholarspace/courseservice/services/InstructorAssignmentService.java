@@ -1,18 +1,23 @@
 package com.scholarspace.courseservice.services;
 
+import com.scholarspace.courseservice.dto.CourseInstructorSummary;
 import com.scholarspace.courseservice.models.Course;
 import com.scholarspace.courseservice.models.CourseInstructor;
 import com.scholarspace.courseservice.models.InstructorRole;
+import com.scholarspace.courseservice.proto.UserRef;
+import com.scholarspace.courseservice.proto.UserRole;
 import com.scholarspace.courseservice.repositories.CourseInstructorRepository;
 import com.scholarspace.courseservice.repositories.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,6 +29,34 @@ public class InstructorAssignmentService {
     private final CourseRepository courseRepository;
     private final RestTemplate restTemplate;
 
+    // Authorization checks read the current snapshot; writes and reloads swap it under the lock
+    private final Object matrixLock = new Object();
+    private volatile InstructorAssignmentMatrix matrix;
+
+    /** Reloads from the database at startup and periodically, to pick up other instances' writes. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.instructor-assignments.refresh-interval-ms:60000}")
+    public void reloadMatrix() {
+        synchronized (matrixLock) {
+            // Holding the lock across the query makes commits that land meanwhile apply after it
+            List<long[]> pairs = new ArrayList<>();
+            for (Object[] row : courseInstructorRepository.findAllAssignmentPairs()) {
+                pairs.add(new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()});
+            }
+            matrix = InstructorAssignmentMatrix.build(pairs);
+        }
+        log.debug("Instructor assignment matrix loaded with {} assignments for {} instructors",
+                matrix.assignmentCount(), matrix.instructorCount());
+    }
+
+    private InstructorAssignmentMatrix matrix() {
+        InstructorAssignmentMatrix current = matrix;
+        if (current == null) {
+            reloadMatrix();
+            current = matrix;
+        }
+        return current;
+    }
+
     @Transactional
     public CourseInstructor assignInstructorToCourse(Long courseId, Long instructorId, InstructorRole role) {
         // Validate course exists and is active
@@ -44,40 +77,38 @@ public class InstructorAssignmentService {
         }
 
         CourseInstructor assignment = new CourseInstructor(course, instructorId, role);
-        return courseInstructorRepository.save(assignment);
+        CourseInstructor saved = courseInstructorRepository.save(assignment);
+        TransactionHooks.afterCommit(() -> {
+            synchronized (matrixLock) {
+                matrix = matrix().with(instructorId, courseId);
+            }
+        });
+        return saved;
     }
 
     private void validateInstructorAndDepartment(Long instructorId, Long courseDepartmentId) {
         try {
             String url = "http://user-service/api/users/" + instructorId;
-            @SuppressWarnings("unchecked")
-            Map<String, Object> user = restTemplate.getForObject(url, Map.class);
+            UserRef user = restTemplate.getForObject(url, UserRef.class);
             
             if (user == null) {
                 throw new RuntimeException("Instructor not found");
             }
             
-            String role = (String) user.get("role");
-            if (!"INSTRUCTOR".equals(role)) {
+            if (user.getRole() != UserRole.INSTRUCTOR) {
                 throw new RuntimeException("User is not an instructor");
             }
             
-            Boolean isActive = (Boolean) user.get("isActive");
-            if (isActive == null || !isActive) {
+            if (!user.getActive()) {
                 throw new RuntimeException("Cannot assign inactive instructor to course");
             }
             
             // Validate department matching
-            Object deptIdObj = user.get("departmentId");
-            Long instructorDepartmentId = null;
-            if (deptIdObj instanceof Number) {
-                instructorDepartmentId = ((Number) deptIdObj).longValue();
-            }
-            
-            if (instructorDepartmentId == null) {
+            if (!user.hasDepartmentId()) {
                 throw new RuntimeException("Instructor must be assigned to a department before being assigned to courses");
             }
             
+            Long instructorDepartmentId = user.getDepartmentId();
             if (!instructorDepartmentId.equals(courseDepartmentId)) {
                 throw new RuntimeException("Instructor can only be assigned to courses in their department");
             }
@@ -94,17 +125,26 @@ public class InstructorAssignmentService {
                 .orElseThrow(() -> new RuntimeException("Instructor assignment not found"));
         
         courseInstructorRepository.delete(assignment);
+        TransactionHooks.afterCommit(() -> {
+            synchronized (matrixLock) {
+                matrix = matrix().without(instructorId, courseId);
+            }
+        });
+    }
+
+    public List<CourseInstructorSummary> getCoursesByInstructor(Long instructorId) {
+        return courseInstructorRepository.findSummariesByInstructorId(instructorId);
     }
 
-    public List<CourseInstructor> getCoursesByInstructor(Long instructorId) {
-        return courseInstructorRepository.findByInstructorId(instructorId);
+    public List<Long> getCourseIdsByInstructor(Long instructorId) {
+        return Arrays.stream(matrix().courses(instructorId)).boxed().toList();
     }
 
-    public List<CourseInstructor> getInstructorsByCourse(Long courseId) {
-        return courseInstructorRepository.findByCourse_Id(courseId);
+    public List<CourseInstructorSummary> getInstructorsByCourse(Long courseId) {
+        return courseInstructorRepository.findSummariesByCourseId(courseId);
     }
 
     public boolean isInstructorAssignedToCourse(Long instructorId, Long courseId) {
-        return courseInstructorRepository.findByCourse_IdAndInstructorId(courseId, instructorId).isPresent();
+        return instructorId != null && courseId != null && matrix().contains(instructorId, courseId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.scholarspace.courseservice.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Half-open {@code [start, end)} intervals tagged with an id, in an AVL tree ordered by start and
+ * augmented with the largest end of each subtree. Inserts, removals and the "does anything overlap"
+ * question are O(log n); listing every overlap is O(log n + k). Not thread-safe.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        final int start;
+        final int end;
+        final long id;
+        int maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(int start, int end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    /** An interval found by a query. */
+    record Interval(int start, int end, long id) {
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(int start, int end, long id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start");
+        }
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    /** Removes the interval with this start and id; returns false if there was none. */
+    boolean remove(int start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /** Any one interval overlapping {@code [start, end)}, or null. */
+    Interval firstOverlap(int start, int end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return new Interval(node.start, node.end, node.id);
+            }
+            // If the left subtree reaches past our start but holds no overlap, everything there starts
+            // at or after our end, and so does everything on the right: one path is enough
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /** Every interval overlapping {@code [start, end)}, ordered by start. */
+    List<Interval> overlaps(int start, int end) {
+        List<Interval> found = new ArrayList<>();
+        collect(root, start, end, found);
+        return found;
+    }
+
+    private void collect(Node node, int start, int end, List<Interval> found) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, found);
+        if (node.start < end && start < node.end) {
+            found.add(new Interval(node.start, node.end, node.id));
+        }
+        if (node.start < end) {
+            collect(node.right, start, end, found);
+        }
+    }
+
+    private static int compare(int start, long id, Node node) {
+        int byStart = Integer.compare(start, node.start);
+        return byStart != 0 ? byStart : Long.compare(id, node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, int start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.left = node.left;
+            replacement.right = removeMin(node.right);
+            node = replacement;
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
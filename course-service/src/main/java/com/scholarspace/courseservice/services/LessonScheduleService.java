@@ -0,0 +1,215 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.ScheduleConflict;
+import com.scholarspace.courseservice.dto.TermValidationReport;
+import com.scholarspace.courseservice.repositories.LessonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Guards teachers, rooms and classes against double booking. Each recently used day is held as a
+ * {@link DaySchedule} of interval trees, so a create or update is checked in O(log n) against
+ * every lesson of that day without a query.
+ *
+ * <p>Writes reserve their slot inside the transaction, under the day's lock, so two concurrent
+ * bookings of the same teacher or room cannot both pass the check. A rollback hands the slot back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LessonScheduleService {
+
+    private final LessonRepository lessonRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.scheduling.max-days:400}")
+    private int maxDays;
+
+    @Value("${app.scheduling.validate-threads:4}")
+    private int validateThreads;
+
+    private Cache<LocalDate, DaySchedule> days;
+
+    // Ids for slots booked before their lessons are stored; negative so they never meet a real one
+    private final AtomicLong placeholderIds = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterAccess(Duration.ofHours(6))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "lesson.schedule.days");
+    }
+
+    /** Raised when a lesson would double-book a teacher, room or class. */
+    public static class ScheduleConflictException extends RuntimeException {
+        private final List<ScheduleConflict> conflicts;
+
+        public ScheduleConflictException(List<ScheduleConflict> conflicts) {
+            super("Lesson clashes with " + conflicts.size() + " existing booking(s)");
+            this.conflicts = conflicts;
+        }
+
+        public List<ScheduleConflict> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /** The clashes a lesson would have, without booking it. */
+    public List<ScheduleConflict> check(LessonSlot slot) {
+        return day(slot.lessonDate()).check(slot);
+    }
+
+    /**
+     * Books a saved lesson's slot, moving it from {@code previous} when the lesson is being
+     * rescheduled. Must run inside the transaction that saved the lesson.
+     */
+    public void reserve(LessonSlot slot, LessonSlot previous) {
+        boolean movedDay = previous != null && !previous.lessonDate().equals(slot.lessonDate());
+        DaySchedule oldDay = movedDay ? days.getIfPresent(previous.lessonDate()) : null;
+        if (oldDay != null) {
+            oldDay.remove(previous.lessonId());
+        }
+
+        List<ScheduleConflict> conflicts = day(slot.lessonDate()).reserve(slot);
+        if (!conflicts.isEmpty()) {
+            if (oldDay != null) {
+                oldDay.put(previous);
+            }
+            throw new ScheduleConflictException(conflicts);
+        }
+
+        TransactionHooks.afterRollback(() -> {
+            release(slot);
+            if (previous != null) {
+                restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Books a batch of slots that have no lesson ids yet, such as a generated term, all or nothing.
+     * Each slot is held under a temporary negative id until the transaction ends, so lessons booked
+     * concurrently cannot slip in: a rollback frees them, and a commit evicts the days so they
+     * reload with the stored ids. Must run inside the transaction that inserts the lessons.
+     */
+    public void reserveAll(List<LessonSlot> slots, LocalDate from, LocalDate to) {
+        List<LessonSlot> held = new ArrayList<>(slots.size());
+        for (LessonSlot slot : slots) {
+            LessonSlot placeholder = new LessonSlot(placeholderIds.decrementAndGet(), slot.classSubjectId(), slot.classId(),
+                    slot.schoolId(), slot.teacherId(), slot.location(), slot.lessonDate(), slot.startTime(), slot.endTime());
+            List<ScheduleConflict> conflicts = day(placeholder.lessonDate()).reserve(placeholder);
+            if (!conflicts.isEmpty()) {
+                held.forEach(this::release);
+                // The placeholder id means nothing to the caller
+                throw new ScheduleConflictException(conflicts.stream()
+                        .map(c -> new ScheduleConflict(c.resourceType(), c.resource(), c.date(), null,
+                                c.conflictingLessonId(), c.conflictingStart(), c.conflictingEnd()))
+                        .toList());
+            }
+            held.add(placeholder);
+        }
+        TransactionHooks.afterRollback(() -> held.forEach(this::release));
+        evictDaysAfterCommit(from, to);
+    }
+
+    /** Frees a lesson's slot once its cancellation or deletion commits. */
+    public void releaseAfterCommit(LessonSlot slot) {
+        TransactionHooks.afterCommit(() -> release(slot));
+    }
+
+    /** Drops cached days in the range once a bulk write commits; they reload on next use. */
+    public void evictDaysAfterCommit(LocalDate from, LocalDate to) {
+        TransactionHooks.afterCommit(() -> days.asMap().keySet().removeIf(date -> !date.isBefore(from) && !date.isAfter(to)));
+    }
+
+    private void release(LessonSlot slot) {
+        DaySchedule day = days.getIfPresent(slot.lessonDate());
+        if (day != null) {
+            day.remove(slot.lessonId());
+        }
+    }
+
+    private void restore(LessonSlot slot) {
+        DaySchedule day = days.getIfPresent(slot.lessonDate());
+        if (day != null) {
+            day.put(slot);
+        }
+    }
+
+    /**
+     * Checks every lesson between {@code from} and {@code to} for clashes, one school per task on a
+     * pool of {@code app.scheduling.validate-threads} workers. Unlike the write path this reports
+     * clashes already stored, such as rows entered before the checks existed.
+     */
+    public TermValidationReport validateTerm(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Term end must not be before its start");
+        }
+        long started = System.currentTimeMillis();
+        List<Long> schoolIds = lessonRepository.findSchoolIdsWithLessonsBetween(from, to);
+        AtomicLong lessonsChecked = new AtomicLong();
+        Map<Long, List<ScheduleConflict>> conflictsBySchool = new TreeMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(validateThreads, schoolIds.size())));
+        try {
+            Map<Long, Future<List<ScheduleConflict>>> tasks = new TreeMap<>();
+            for (Long schoolId : schoolIds) {
+                tasks.put(schoolId, pool.submit(() -> validateSchool(schoolId, from, to, lessonsChecked)));
+            }
+            for (Map.Entry<Long, Future<List<ScheduleConflict>>> task : tasks.entrySet()) {
+                List<ScheduleConflict> conflicts = task.getValue().get();
+                if (!conflicts.isEmpty()) {
+                    conflictsBySchool.put(task.getKey(), conflicts);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Term validation failed", e);
+            throw new RuntimeException("Term validation failed: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Validated {} lessons across {} schools from {} to {} in {} ms: {} schools with clashes",
+                lessonsChecked.get(), schoolIds.size(), from, to, elapsed, conflictsBySchool.size());
+        return new TermValidationReport(from, to, schoolIds.size(), lessonsChecked.get(), conflictsBySchool, elapsed);
+    }
+
+    private List<ScheduleConflict> validateSchool(Long schoolId, LocalDate from, LocalDate to, AtomicLong lessonsChecked) {
+        List<LessonSlot> slots = lessonRepository.findSlotsBySchoolIdAndDateBetween(schoolId, from, to);
+        lessonsChecked.addAndGet(slots.size());
+
+        Map<LocalDate, List<LessonSlot>> byDay = slots.stream()
+                .collect(Collectors.groupingBy(LessonSlot::lessonDate, TreeMap::new, Collectors.toList()));
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        byDay.forEach((date, daySlots) -> conflicts.addAll(DaySchedule.findConflicts(date, daySlots)));
+        return conflicts;
+    }
+
+    private DaySchedule day(LocalDate date) {
+        return days.get(date, d -> DaySchedule.of(d, lessonRepository.findSlotsByDate(d)));
+    }
+}
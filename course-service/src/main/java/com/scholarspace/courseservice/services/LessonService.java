@@ -0,0 +1,256 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.ScheduleConflict;
+import com.scholarspace.courseservice.models.ClassSubject;
+import com.scholarspace.courseservice.models.Lesson;
+import com.scholarspace.courseservice.repositories.ClassSubjectRepository;
+import com.scholarspace.courseservice.repositories.LessonRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LessonService {
+
+    private static final String CANCELLED = "CANCELLED";
+
+    private final LessonRepository lessonRepository;
+    private final ClassSubjectRepository classSubjectRepository;
+    private final LessonScheduleService lessonScheduleService;
+    private final WeekViewService weekViewService;
+
+    public Optional<Lesson> getLessonById(Long lessonId) {
+        return lessonRepository.findById(lessonId);
+    }
+
+    public List<Lesson> getLessonsByClassSubject(Long classSubjectId, LocalDate from, LocalDate to) {
+        return lessonRepository.findByClassSubjectIdAndLessonDateBetweenOrderByLessonDateAscStartTimeAsc(classSubjectId, from, to);
+    }
+
+    /** The clashes the lesson would have if it were saved as given. */
+    public List<ScheduleConflict> checkConflicts(Lesson lesson) {
+        validateTimes(lesson);
+        return lessonScheduleService.check(slotOf(lesson, findClassSubject(lesson.getClassSubjectId())));
+    }
+
+    @Transactional
+    public Lesson createLesson(Lesson lesson, Long createdBy) {
+        validateTimes(lesson);
+        ClassSubject classSubject = findClassSubject(lesson.getClassSubjectId());
+
+        lesson.setLessonId(null);
+        lesson.setCreatedBy(createdBy);
+        Lesson saved = lessonRepository.save(lesson);
+        LessonSlot slot = slotOf(saved, classSubject);
+        if (!CANCELLED.equals(saved.getStatus())) {
+            lessonScheduleService.reserve(slot, null);
+        }
+        weekViewService.lessonChangedAfterCommit(saved.getLessonId(), null, slot);
+        log.info("Created lesson {} for class subject {} on {}", saved.getLessonId(), saved.getClassSubjectId(), saved.getLessonDate());
+        return saved;
+    }
+
+    @Transactional
+    public Lesson updateLesson(Long lessonId, Lesson details) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
+        ClassSubject previousClassSubject = findClassSubject(lesson.getClassSubjectId());
+        LessonSlot before = slotOf(lesson, previousClassSubject);
+        LessonSlot previous = CANCELLED.equals(lesson.getStatus()) ? null : before;
+
+        if (details.getClassSubjectId() != null) {
+            lesson.setClassSubjectId(details.getClassSubjectId());
+        }
+        if (details.getLessonTitle() != null) {
+            lesson.setLessonTitle(details.getLessonTitle());
+        }
+        if (details.getLessonDate() != null) {
+            lesson.setLessonDate(details.getLessonDate());
+        }
+        if (details.getStartTime() != null) {
+            lesson.setStartTime(details.getStartTime());
+        }
+        if (details.getEndTime() != null) {
+            lesson.setEndTime(details.getEndTime());
+        }
+        if (details.getLocation() != null) {
+            lesson.setLocation(details.getLocation());
+        }
+        if (details.getStatus() != null) {
+            lesson.setStatus(details.getStatus());
+        }
+        lesson.setLessonNumber(details.getLessonNumber());
+        lesson.setTopic(details.getTopic());
+        lesson.setLearningObjectives(details.getLearningObjectives());
+        lesson.setLessonPlan(details.getLessonPlan());
+        lesson.setHomeworkDescription(details.getHomeworkDescription());
+        lesson.setHomeworkDueDate(details.getHomeworkDueDate());
+        validateTimes(lesson);
+
+        ClassSubject classSubject = lesson.getClassSubjectId().equals(previousClassSubject.getClassSubjectId())
+                ? previousClassSubject : findClassSubject(lesson.getClassSubjectId());
+        Lesson saved = lessonRepository.save(lesson);
+        LessonSlot slot = slotOf(saved, classSubject);
+        if (CANCELLED.equals(saved.getStatus())) {
+            if (previous != null) {
+                lessonScheduleService.releaseAfterCommit(previous);
+            }
+        } else {
+            lessonScheduleService.reserve(slot, previous);
+        }
+        weekViewService.lessonChangedAfterCommit(lessonId, before, slot);
+        return saved;
+    }
+
+    @Transactional
+    public Lesson cancelLesson(Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
+        if (!CANCELLED.equals(lesson.getStatus())) {
+            LessonSlot slot = slotOf(lesson, findClassSubject(lesson.getClassSubjectId()));
+            lesson.setStatus(CANCELLED);
+            lesson = lessonRepository.save(lesson);
+            lessonScheduleService.releaseAfterCommit(slot);
+            weekViewService.lessonChangedAfterCommit(lessonId, slot, slot);
+        }
+        return lesson;
+    }
+
+    @Transactional
+    public void deleteLesson(Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
+        LessonSlot slot = slotOf(lesson, findClassSubject(lesson.getClassSubjectId()));
+        lessonRepository.delete(lesson);
+        lessonScheduleService.releaseAfterCommit(slot);
+        weekViewService.lessonChangedAfterCommit(lessonId, slot, null);
+    }
+
+    /**
+     * Writes a generated term of lessons in one batch. Refuses if any of the class subjects
+     * already has lessons in the range, so a timetable is never laid over another, and books every
+     * slot against the rest of the schedule first, so a lesson of another class, a teacher's other
+     * commitment or a taken room rejects the whole term with a {@link LessonScheduleService.ScheduleConflictException}.
+     */
+    @Transactional
+    public int createGeneratedLessons(List<Lesson> lessons, Collection<Long> classSubjectIds, LocalDate from, LocalDate to) {
+        long existing = lessonRepository.countByClassSubjectIdInAndLessonDateBetweenAndStatusNot(classSubjectIds, from, to, CANCELLED);
+        if (existing > 0) {
+            throw new RuntimeException("The term already has " + existing + " lessons for these classes");
+        }
+        Map<Long, ClassSubject> classSubjects = classSubjectRepository.findAllById(classSubjectIds).stream()
+                .collect(Collectors.toMap(ClassSubject::getClassSubjectId, Function.identity()));
+        Map<Long, Long> schoolIds = new HashMap<>();
+        List<LessonSlot> slots = new ArrayList<>(lessons.size());
+        for (Lesson lesson : lessons) {
+            ClassSubject classSubject = classSubjects.get(lesson.getClassSubjectId());
+            if (classSubject == null) {
+                throw new RuntimeException("Class subject not found with id: " + lesson.getClassSubjectId());
+            }
+            Long schoolId = schoolIds.computeIfAbsent(classSubject.getClassSubjectId(), id -> schoolIdOf(classSubject));
+            slots.add(toSlot(lesson, classSubject, schoolId));
+        }
+        lessonScheduleService.reserveAll(slots, from, to);
+        int created = lessonRepository.insertLessons(lessons);
+        weekViewService.lessonsChangedAfterCommit(from, to);
+        log.info("Created {} generated lessons from {} to {}", created, from, to);
+        return created;
+    }
+
+    /**
+     * Changes a class subject's teacher and room preference. Every upcoming lesson is rebooked
+     * under the new teacher, so a reassignment that would double-book them is refused as a whole.
+     */
+    @Transactional
+    public ClassSubject updateClassSubject(Long classSubjectId, Long teacherId, String roomPreference) {
+        ClassSubject classSubject = findClassSubject(classSubjectId);
+        Long previousTeacherId = classSubject.getTeacherId();
+        if (roomPreference != null) {
+            classSubject.setRoomPreference(roomPreference);
+        }
+        if (teacherId == null || teacherId.equals(previousTeacherId)) {
+            return classSubjectRepository.save(classSubject);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate pastFrom = null;
+        LocalDate pastTo = null;
+        List<LessonSlot[]> moves = new ArrayList<>();
+        Long schoolId = schoolIdOf(classSubject);
+        for (Lesson lesson : lessonRepository.findByClassSubjectIdAndStatusNot(classSubjectId, CANCELLED)) {
+            if (lesson.getLessonDate().isBefore(today)) {
+                pastFrom = pastFrom == null || lesson.getLessonDate().isBefore(pastFrom) ? lesson.getLessonDate() : pastFrom;
+                pastTo = pastTo == null || lesson.getLessonDate().isAfter(pastTo) ? lesson.getLessonDate() : pastTo;
+            } else {
+                LessonSlot previous = toSlot(lesson, classSubject, schoolId);
+                moves.add(new LessonSlot[]{previous, new LessonSlot(previous.lessonId(), previous.classSubjectId(),
+                        previous.classId(), previous.schoolId(), teacherId, previous.location(), previous.lessonDate(), previous.startTime(), previous.endTime())});
+            }
+        }
+        // A clash part way through throws; the rollback hands back the slots already moved
+        for (LessonSlot[] move : moves) {
+            lessonScheduleService.reserve(move[1], move[0]);
+        }
+        // Past lessons are not rechecked, but cached days must not keep the old teacher
+        if (pastFrom != null) {
+            lessonScheduleService.evictDaysAfterCommit(pastFrom, pastTo);
+        }
+
+        classSubject.setTeacherId(teacherId);
+        ClassSubject saved = classSubjectRepository.save(classSubject);
+        weekViewService.classSubjectChangedAfterCommit(saved.getClassId(), previousTeacherId, teacherId);
+        log.info("Reassigned class subject {} from teacher {} to {}, {} upcoming lessons rebooked",
+                classSubjectId, previousTeacherId, teacherId, moves.size());
+        return saved;
+    }
+
+    public long countActiveLessons(Collection<Long> classSubjectIds, LocalDate from, LocalDate to) {
+        return lessonRepository.countByClassSubjectIdInAndLessonDateBetweenAndStatusNot(classSubjectIds, from, to, CANCELLED);
+    }
+
+    private ClassSubject findClassSubject(Long classSubjectId) {
+        if (classSubjectId == null) {
+            throw new RuntimeException("Class subject is required");
+        }
+        return classSubjectRepository.findById(classSubjectId)
+                .orElseThrow(() -> new RuntimeException("Class subject not found with id: " + classSubjectId));
+    }
+
+    private static void validateTimes(Lesson lesson) {
+        if (lesson.getLessonDate() == null || lesson.getStartTime() == null || lesson.getEndTime() == null) {
+            throw new RuntimeException("Lesson date, start time and end time are required");
+        }
+        // Conflicts are tracked at minute resolution
+        if (lesson.getEndTime().withSecond(0).withNano(0).compareTo(lesson.getStartTime().withSecond(0).withNano(0)) <= 0) {
+            throw new RuntimeException("Lesson must end at least a minute after it starts");
+        }
+    }
+
+    private LessonSlot slotOf(Lesson lesson, ClassSubject classSubject) {
+        return toSlot(lesson, classSubject, schoolIdOf(classSubject));
+    }
+
+    private Long schoolIdOf(ClassSubject classSubject) {
+        return classSubject.getClassId() == null ? null
+                : classSubjectRepository.findSchoolIdByClassId(classSubject.getClassId()).orElse(null);
+    }
+
+    static LessonSlot toSlot(Lesson lesson, ClassSubject classSubject, Long schoolId) {
+        return new LessonSlot(lesson.getLessonId(), classSubject.getClassSubjectId(), classSubject.getClassId(), schoolId,
+                classSubject.getTeacherId(), lesson.getLocation(), lesson.getLessonDate(), lesson.getStartTime(), lesson.getEndTime());
+    }
+}
@@ -0,0 +1,209 @@
+package com.scholarspace.courseservice.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the course prerequisite DAG with the transitive closure of every course
+ * precomputed as a {@link BitSet} over a dense course index. Changes produce a new snapshot, so
+ * readers never lock.
+ */
+public final class PrerequisiteGraph {
+
+    private static final PrerequisiteGraph EMPTY = build(Map.of());
+
+    private final Map<Long, Set<Long>> edges;
+    private final Map<Long, Integer> index;
+    private final long[] courseIds;
+    private final BitSet[] closure;
+
+    private PrerequisiteGraph(Map<Long, Set<Long>> edges, Map<Long, Integer> index, long[] courseIds, BitSet[] closure) {
+        this.edges = edges;
+        this.index = index;
+        this.courseIds = courseIds;
+        this.closure = closure;
+    }
+
+    public static PrerequisiteGraph empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from course id to direct prerequisite ids. Closures are computed in
+     * topological order; courses caught in a pre-existing cycle fall back to a graph walk so a
+     * bad row in the database never prevents startup.
+     */
+    public static PrerequisiteGraph build(Map<Long, Set<Long>> directPrerequisites) {
+        Map<Long, Set<Long>> edges = new HashMap<>();
+        directPrerequisites.forEach((course, prerequisites) -> {
+            if (prerequisites != null && !prerequisites.isEmpty()) {
+                edges.put(course, Set.copyOf(prerequisites));
+            }
+        });
+
+        Map<Long, Integer> index = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        edges.forEach((course, prerequisites) -> {
+            register(course, index, ids);
+            prerequisites.forEach(p -> register(p, index, ids));
+        });
+
+        int n = ids.size();
+        long[] courseIds = new long[n];
+        int[][] direct = new int[n][];
+        for (int i = 0; i < n; i++) {
+            courseIds[i] = ids.get(i);
+            Set<Long> prerequisites = edges.getOrDefault(ids.get(i), Set.of());
+            direct[i] = prerequisites.stream().mapToInt(index::get).toArray();
+        }
+
+        // Kahn's algorithm over "prerequisite before dependant"
+        int[] pending = new int[n];
+        List<List<Integer>> dependants = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) dependants.add(new ArrayList<>());
+        for (int i = 0; i < n; i++) {
+            pending[i] = direct[i].length;
+            for (int p : direct[i]) dependants.get(p).add(i);
+        }
+
+        BitSet[] closure = new BitSet[n];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) if (pending[i] == 0) ready.add(i);
+
+        while (!ready.isEmpty()) {
+            int course = ready.poll();
+            BitSet all = new BitSet(n);
+            for (int p : direct[course]) {
+                all.set(p);
+                all.or(closure[p]);
+            }
+            closure[course] = all;
+            for (int dependant : dependants.get(course)) {
+                if (--pending[dependant] == 0) ready.add(dependant);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (closure[i] == null) {
+                closure[i] = walk(i, direct, n);
+            }
+        }
+
+        return new PrerequisiteGraph(Collections.unmodifiableMap(edges), index, courseIds, closure);
+    }
+
+    private static void register(Long courseId, Map<Long, Integer> index, List<Long> ids) {
+        if (!index.containsKey(courseId)) {
+            index.put(courseId, ids.size());
+            ids.add(courseId);
+        }
+    }
+
+    private static BitSet walk(int start, int[][] direct, int n) {
+        BitSet seen = new BitSet(n);
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            for (int p : direct[stack.pop()]) {
+                if (!seen.get(p)) {
+                    seen.set(p);
+                    stack.push(p);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Returns a new snapshot with the direct prerequisites of {@code courseId} replaced.
+     *
+     * @throws IllegalArgumentException if the change would introduce a cycle
+     */
+    public PrerequisiteGraph withPrerequisites(Long courseId, Set<Long> prerequisites) {
+        for (Long prerequisite : prerequisites) {
+            if (prerequisite.equals(courseId)) {
+                throw new IllegalArgumentException("A course cannot be its own prerequisite");
+            }
+            if (requires(prerequisite, courseId)) {
+                throw new IllegalArgumentException("Course " + prerequisite + " already requires course " + courseId
+                        + "; adding it as a prerequisite would create a cycle");
+            }
+        }
+        Map<Long, Set<Long>> updated = new HashMap<>(edges);
+        updated.put(courseId, prerequisites);
+        return build(updated);
+    }
+
+    public PrerequisiteGraph withoutCourse(Long courseId) {
+        if (!index.containsKey(courseId)) {
+            return this;
+        }
+        Map<Long, Set<Long>> updated = new HashMap<>();
+        edges.forEach((course, prerequisites) -> {
+            if (!course.equals(courseId)) {
+                Set<Long> remaining = new HashSet<>(prerequisites);
+                remaining.remove(courseId);
+                updated.put(course, remaining);
+            }
+        });
+        return build(updated);
+    }
+
+    /** True if {@code prerequisiteId} is anywhere in the prerequisite chain of {@code courseId}. */
+    public boolean requires(Long courseId, Long prerequisiteId) {
+        Integer course = index.get(courseId);
+        Integer prerequisite = index.get(prerequisiteId);
+        return course != null && prerequisite != null && closure[course].get(prerequisite);
+    }
+
+    public Set<Long> getDirectPrerequisites(Long courseId) {
+        return edges.getOrDefault(courseId, Set.of());
+    }
+
+    public Set<Long> getAllPrerequisites(Long courseId) {
+        Integer course = index.get(courseId);
+        return course == null ? Set.of() : toIds(closure[course]);
+    }
+
+    /** Encodes a set of course ids over this snapshot's index; ids outside the graph are dropped. */
+    public BitSet encode(Collection<Long> courses) {
+        BitSet bits = new BitSet(courseIds.length);
+        for (Long courseId : courses) {
+            Integer i = index.get(courseId);
+            if (i != null) bits.set(i);
+        }
+        return bits;
+    }
+
+    /** Prerequisites in the full closure of {@code courseId} that are not in {@code completed}. */
+    public Set<Long> missingPrerequisites(Long courseId, BitSet completed) {
+        Integer course = index.get(courseId);
+        if (course == null) {
+            return Set.of();
+        }
+        BitSet missing = (BitSet) closure[course].clone();
+        missing.andNot(completed);
+        return toIds(missing);
+    }
+
+    public int size() {
+        return courseIds.length;
+    }
+
+    private Set<Long> toIds(BitSet bits) {
+        Set<Long> ids = new HashSet<>(bits.cardinality() * 2);
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            ids.add(courseIds[i]);
+        }
+        return ids;
+    }
+}
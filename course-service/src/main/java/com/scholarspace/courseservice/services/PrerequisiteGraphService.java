@@ -0,0 +1,134 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the prerequisite graph in memory so chain and eligibility questions never walk the
+ * lazy {@code Course.prerequisites} association. Writes are serialised and validated against the
+ * current snapshot before they are persisted; reads use whichever snapshot is current.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrerequisiteGraphService {
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final Object writeLock = new Object();
+    private volatile PrerequisiteGraph graph = PrerequisiteGraph.empty();
+
+    /**
+     * Reloads from the join table at startup and periodically, to pick up other instances' writes.
+     * The edges are read under the write lock so a local write cannot land between the read and
+     * the swap and be overwritten by the older snapshot.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.prerequisites.refresh-interval-ms:300000}")
+    public void reload() {
+        synchronized (writeLock) {
+            Map<Long, Set<Long>> edges = new HashMap<>();
+            for (Object[] row : courseRepository.findAllPrerequisiteEdges()) {
+                Long courseId = ((Number) row[0]).longValue();
+                Long prerequisiteId = ((Number) row[1]).longValue();
+                edges.computeIfAbsent(courseId, k -> new HashSet<>()).add(prerequisiteId);
+            }
+            graph = PrerequisiteGraph.build(edges);
+        }
+        log.debug("Prerequisite graph loaded with {} courses", graph.size());
+    }
+
+    public Set<Long> getDirectPrerequisites(Long courseId) {
+        return graph.getDirectPrerequisites(courseId);
+    }
+
+    public Set<Long> getAllPrerequisites(Long courseId) {
+        return graph.getAllPrerequisites(courseId);
+    }
+
+    public Course setPrerequisites(Long courseId, Set<Long> prerequisiteIds) {
+        synchronized (writeLock) {
+            Course course = courseRepository.findById(courseId)
+                    .orElseThrow(() -> new RuntimeException("Course not found"));
+
+            List<Course> prerequisites = courseRepository.findAllById(prerequisiteIds);
+            if (prerequisites.size() != prerequisiteIds.size()) {
+                throw new RuntimeException("One or more prerequisite courses not found");
+            }
+
+            PrerequisiteGraph updated;
+            try {
+                updated = graph.withPrerequisites(courseId, prerequisiteIds);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException(e.getMessage());
+            }
+
+            course.setPrerequisites(new ArrayList<>(prerequisites));
+            Course saved = courseRepository.save(course);
+            graph = updated;
+            return saved;
+        }
+    }
+
+    public void removeCourse(Long courseId) {
+        synchronized (writeLock) {
+            graph = graph.withoutCourse(courseId);
+        }
+    }
+
+    /**
+     * Checks one course against many students with a single enrollment query. Each result lists
+     * the prerequisites from the course's full closure that the student has not completed.
+     */
+    public Map<Long, Set<Long>> getMissingPrerequisites(Long courseId, Collection<Long> studentIds) {
+        PrerequisiteGraph snapshot = graph;
+        Map<Long, Set<Long>> missing = new LinkedHashMap<>();
+        if (studentIds.isEmpty()) {
+            return missing;
+        }
+        if (snapshot.getAllPrerequisites(courseId).isEmpty()) {
+            studentIds.forEach(studentId -> missing.put(studentId, Set.of()));
+            return missing;
+        }
+
+        Map<Long, List<Long>> completedByStudent = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findStudentCourseIdPairs(studentIds, EnrollmentStatus.COMPLETED)) {
+            completedByStudent.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        for (Long studentId : studentIds) {
+            BitSet completed = snapshot.encode(completedByStudent.getOrDefault(studentId, List.of()));
+            missing.put(studentId, snapshot.missingPrerequisites(courseId, completed));
+        }
+        return missing;
+    }
+
+    /** Checks many courses for one student, e.g. to mark which catalogue entries are open to them. */
+    public Map<Long, Set<Long>> getMissingPrerequisitesForStudent(Long studentId, Collection<Long> courseIds) {
+        PrerequisiteGraph snapshot = graph;
+        BitSet completed = snapshot.encode(
+                enrollmentRepository.findCourseIdsByStudentIdAndStatus(studentId, EnrollmentStatus.COMPLETED));
+
+        Map<Long, Set<Long>> missing = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            missing.put(courseId, snapshot.missingPrerequisites(courseId, completed));
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,408 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.config.SearchProperties;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Embedded Lucene index over courses and course contents. Writes go through a single shared
+ * {@link IndexWriter} and become searchable via near-real-time refresh; commits to disk happen
+ * periodically and on shutdown. A full reindex is built in a separate index and swapped in at the
+ * end, so searches keep seeing the old index until the new one is complete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+
+    static final String TYPE_COURSE = "course";
+    static final String TYPE_CONTENT = "content";
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_COURSE_ID = "courseId";
+    private static final String FIELD_ACTIVE = "active";
+    private static final String FIELD_CODE = "code";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_BODY = "body";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            FIELD_CODE, 4.0f,
+            FIELD_TITLE, 2.0f,
+            FIELD_DESCRIPTION, 1.0f,
+            FIELD_BODY, 0.5f
+    );
+
+    private final CourseRepository courseRepository;
+    private final CourseContentRepository courseContentRepository;
+    private final SearchProperties properties;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    // Incremental writes hold the read lock; swapping in a rebuilt index takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Incremental writes made while a reindex runs, replayed onto the rebuilt index before the swap
+    private final List<IndexOperation> missedByReindex = new ArrayList<>();
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(properties.getIndexDir()));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Search index opened at {} with {} documents", properties.getIndexDir(), writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    public void indexCourse(Course course) {
+        write(target -> target.updateDocument(keyTerm(TYPE_COURSE, course.getId()), toDocument(course)));
+    }
+
+    public void removeCourse(Long courseId) {
+        write(target -> {
+            target.deleteDocuments(keyTerm(TYPE_COURSE, courseId));
+            target.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_TYPE, TYPE_CONTENT)), BooleanClause.Occur.FILTER)
+                    .add(LongPoint.newExactQuery(FIELD_COURSE_ID, courseId), BooleanClause.Occur.FILTER)
+                    .build());
+        });
+    }
+
+    public void indexContent(CourseContent content) {
+        write(target -> target.updateDocument(keyTerm(TYPE_CONTENT, content.getContentId()), toDocument(content)));
+    }
+
+    public void removeContent(Long contentId) {
+        write(target -> target.deleteDocuments(keyTerm(TYPE_CONTENT, contentId)));
+    }
+
+    /**
+     * Runs a free-text query. {@code visibleCourseIds} restricts course contents to the given
+     * courses ({@code null} means unrestricted); inactive courses are only returned when
+     * {@code includeInactive} is set.
+     */
+    public List<Map<String, Object>> search(String text, String type, Set<Long> visibleCourseIds,
+                                            boolean includeInactive, int limit) {
+        Query textQuery = new SimpleQueryParser(analyzer, FIELD_WEIGHTS).parse(text);
+        if (textQuery == null) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (type != null) {
+            query.add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+        query.add(visibilityFilter(visibleCourseIds, includeInactive), BooleanClause.Occur.FILTER);
+
+        int max = Math.min(Math.max(limit, 1), properties.getMaxResults());
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query.build(), max);
+            StoredFields storedFields = searcher.storedFields();
+
+            List<Map<String, Object>> results = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = storedFields.document(scoreDoc.doc);
+                Map<String, Object> result = new HashMap<>();
+                result.put("type", doc.get(FIELD_TYPE));
+                result.put("id", doc.getField(FIELD_ID).numericValue().longValue());
+                result.put("courseId", doc.getField(FIELD_COURSE_ID).numericValue().longValue());
+                result.put("title", doc.get(FIELD_TITLE));
+                result.put("description", doc.get(FIELD_DESCRIPTION));
+                if (doc.get(FIELD_CODE) != null) {
+                    result.put("code", doc.get(FIELD_CODE));
+                }
+                result.put("score", scoreDoc.score);
+                results.add(result);
+            }
+            return results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release index searcher", e);
+                }
+            }
+        }
+    }
+
+    private Query visibilityFilter(Set<Long> visibleCourseIds, boolean includeInactive) {
+        // Courses are catalogue entries: visible to everyone while active
+        BooleanQuery.Builder courses = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, TYPE_COURSE)), BooleanClause.Occur.FILTER);
+        if (!includeInactive) {
+            courses.add(new TermQuery(new Term(FIELD_ACTIVE, "true")), BooleanClause.Occur.FILTER);
+        }
+
+        // Course contents: only for courses the caller teaches or is enrolled in
+        Query contents;
+        if (visibleCourseIds == null) {
+            contents = new TermQuery(new Term(FIELD_TYPE, TYPE_CONTENT));
+        } else if (visibleCourseIds.isEmpty()) {
+            contents = new MatchNoDocsQuery();
+        } else {
+            contents = new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_TYPE, TYPE_CONTENT)), BooleanClause.Occur.FILTER)
+                    .add(LongPoint.newSetQuery(FIELD_COURSE_ID, visibleCourseIds), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        return new BooleanQuery.Builder()
+                .add(courses.build(), BooleanClause.Occur.SHOULD)
+                .add(contents, BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+    }
+
+    /**
+     * Rebuilds the index from the database, loading pages of courses and contents on a pool of
+     * {@code app.search.reindex-threads} workers into a separate index. Incremental writes keep
+     * going to the live index meanwhile and are replayed onto the new one, which then replaces the
+     * live index in one step. Returns the number of documents written.
+     */
+    public long reindexAll() {
+        if (!reindexing.compareAndSet(false, true)) {
+            throw new RuntimeException("Reindex already in progress");
+        }
+        long started = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(properties.getReindexThreads());
+        Path rebuildPath = null;
+        try {
+            rebuildPath = Files.createTempDirectory("search-reindex");
+            AtomicLong indexed = new AtomicLong();
+            try (FSDirectory rebuildDirectory = FSDirectory.open(rebuildPath);
+                 IndexWriter rebuild = new IndexWriter(rebuildDirectory, new IndexWriterConfig(analyzer)
+                         .setOpenMode(IndexWriterConfig.OpenMode.CREATE))) {
+                List<Future<?>> tasks = new ArrayList<>();
+                int pageSize = properties.getReindexPageSize();
+                int coursePages = pageCount(courseRepository.count(), pageSize);
+                for (int page = 0; page < coursePages; page++) {
+                    tasks.add(submitPage(pool, rebuild, PageRequest.of(page, pageSize, Sort.by("id")),
+                            courseRepository::findAll, this::toDocument, indexed));
+                }
+                int contentPages = pageCount(courseContentRepository.count(), pageSize);
+                for (int page = 0; page < contentPages; page++) {
+                    tasks.add(submitPage(pool, rebuild, PageRequest.of(page, pageSize, Sort.by("contentId")),
+                            courseContentRepository::findAll, this::toDocument, indexed));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+
+                // Replayed after the pages, so a change made during the rebuild wins over a page read before it
+                replayMissedWrites(rebuild);
+                swapLock.writeLock().lock();
+                try {
+                    replayMissedWrites(rebuild);
+                    // Commits it and releases its lock, which addIndexes needs
+                    rebuild.close();
+                    writer.deleteAll();
+                    writer.addIndexes(rebuildDirectory);
+                    writer.commit();
+                    searcherManager.maybeRefresh();
+                    reindexing.set(false);
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            }
+            log.info("Reindexed {} documents in {} ms", indexed.get(), System.currentTimeMillis() - started);
+            return indexed.get();
+        } catch (Exception e) {
+            log.error("Reindex failed", e);
+            throw new RuntimeException("Reindex failed: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            synchronized (missedByReindex) {
+                missedByReindex.clear();
+            }
+            reindexing.set(false);
+            if (rebuildPath != null) {
+                try {
+                    IOUtils.rm(rebuildPath);
+                } catch (IOException e) {
+                    log.warn("Failed to delete reindex directory {}", rebuildPath, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads and indexes one page. Pages must be ordered by primary key: without an ORDER BY the
+     * database may return rows in a different order for each page and skip or repeat some.
+     */
+    private <T> Future<?> submitPage(ExecutorService pool, IndexWriter target, PageRequest pageRequest,
+                                     Function<PageRequest, Page<T>> loader,
+                                     Function<T, Document> mapper, AtomicLong indexed) {
+        return pool.submit(() -> {
+            List<Document> docs = loader.apply(pageRequest).map(mapper).getContent();
+            target.addDocuments(docs);
+            indexed.addAndGet(docs.size());
+            return null;
+        });
+    }
+
+    private void replayMissedWrites(IndexWriter target) throws IOException {
+        List<IndexOperation> missed;
+        synchronized (missedByReindex) {
+            missed = new ArrayList<>(missedByReindex);
+            missedByReindex.clear();
+        }
+        for (IndexOperation operation : missed) {
+            operation.run(target);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commitIfChanged() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("Search index commit failed", e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Document toDocument(Course course) {
+        Document doc = baseDocument(TYPE_COURSE, course.getId(), course.getId());
+        doc.add(new StringField(FIELD_ACTIVE, Boolean.toString(course.isActive()), Field.Store.NO));
+        addText(doc, FIELD_CODE, course.getCode(), Field.Store.YES);
+        addText(doc, FIELD_TITLE, course.getTitle(), Field.Store.YES);
+        addText(doc, FIELD_DESCRIPTION, course.getDescription(), Field.Store.YES);
+        return doc;
+    }
+
+    private Document toDocument(CourseContent content) {
+        Document doc = baseDocument(TYPE_CONTENT, content.getContentId(), content.getCourse().getId());
+        addText(doc, FIELD_TITLE, content.getTitle(), Field.Store.YES);
+        addText(doc, FIELD_DESCRIPTION, content.getDescription(), Field.Store.YES);
+        addText(doc, FIELD_BODY, content.getExtractedText(), Field.Store.NO);
+        return doc;
+    }
+
+    private Document baseDocument(String type, Long id, Long courseId) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, type + ":" + id, Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        doc.add(new StoredField(FIELD_ID, id));
+        doc.add(new LongPoint(FIELD_COURSE_ID, courseId));
+        doc.add(new StoredField(FIELD_COURSE_ID, courseId));
+        return doc;
+    }
+
+    private void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+
+    private Term keyTerm(String type, Long id) {
+        return new Term(FIELD_KEY, type + ":" + id);
+    }
+
+    private static int pageCount(long total, int pageSize) {
+        return (int) ((total + pageSize - 1) / pageSize);
+    }
+
+    private void write(IndexOperation operation) {
+        swapLock.readLock().lock();
+        try {
+            operation.run(writer);
+            if (reindexing.get()) {
+                synchronized (missedByReindex) {
+                    missedByReindex.add(operation);
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            // The database is the source of truth; a failed index write is repaired by the next reindex
+            log.error("Search index update failed", e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run(IndexWriter target) throws IOException;
+    }
+}
@@ -1,5 +1,9 @@
 package com.scholarspace.courseservice.services;
 
+import com.scholarspace.courseservice.dto.GradeResult;
+import com.scholarspace.courseservice.dto.GradeUpdate;
+import com.scholarspace.courseservice.dto.GradingTarget;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
 import com.scholarspace.courseservice.models.CourseContent;
 import com.scholarspace.courseservice.models.Submission;
 import com.scholarspace.courseservice.repositories.CourseContentRepository;
@@ -7,7 +11,9 @@ import com.scholarspace.courseservice.repositories.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -15,8 +21,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -24,9 +35,14 @@ import java.util.UUID;
 @Slf4j
 public class SubmissionService {
 
+    private static final int MAX_BULK_GRADES = 1000;
+
     private final SubmissionRepository submissionRepository;
     private final CourseContentRepository courseContentRepository;
     private final EnrollmentService enrollmentService;
+    private final GradebookService gradebookService;
+    private final UngradedQueueService ungradedQueueService;
+    private final InstructorAssignmentService instructorAssignmentService;
 
     @Value("${app.upload.dir}")
     private String uploadDir;
@@ -36,13 +52,7 @@ public class SubmissionService {
                 .orElseThrow(() -> new RuntimeException("Assignment not found"));
 
         // Validate student is enrolled in the course
-        List<com.scholarspace.courseservice.models.Enrollment> enrollments = 
-                enrollmentService.getActiveEnrollmentsByStudent(studentId);
-        
-        boolean isEnrolled = enrollments.stream()
-                .anyMatch(e -> e.getCourse().getId().equals(assignment.getCourse().getId()));
-        
-        if (!isEnrolled) {
+        if (!enrollmentService.isActivelyEnrolled(studentId, assignment.getCourse().getId())) {
             throw new RuntimeException("Student is not enrolled in this course");
         }
 
@@ -59,7 +69,9 @@ public class SubmissionService {
         }
 
         Submission submission = new Submission(assignment, studentId, filePath);
-        return submissionRepository.save(submission);
+        Submission saved = submissionRepository.save(submission);
+        ungradedQueueService.submissionCreated(assignment.getCourse().getId());
+        return saved;
     }
 
     private String saveSubmissionFile(MultipartFile file, Long courseId, Long studentId) {
@@ -83,35 +95,148 @@ public class SubmissionService {
         }
     }
 
-    public List<Submission> getSubmissionsByAssignment(Long contentId) {
-        return submissionRepository.findByAssignment_ContentId(contentId);
+    public List<SubmissionSummary> getSubmissionsByAssignment(Long contentId) {
+        return submissionRepository.findSummariesByContentId(contentId);
     }
 
-    public List<Submission> getSubmissionsByStudent(Long studentId) {
-        return submissionRepository.findByStudentId(studentId);
+    public List<SubmissionSummary> getSubmissionsByStudent(Long studentId) {
+        return submissionRepository.findSummariesByStudentId(studentId);
     }
 
-    public List<Submission> getSubmissionsByCourse(Long courseId) {
-        return submissionRepository.findByAssignment_Course_Id(courseId);
+    public List<SubmissionSummary> getSubmissionsByCourse(Long courseId) {
+        return submissionRepository.findSummariesByCourseId(courseId);
     }
 
     public Submission gradeSubmission(Long submissionId, Double grade, String feedback, Long instructorId) {
         Submission submission = submissionRepository.findById(submissionId)
                 .orElseThrow(() -> new RuntimeException("Submission not found"));
+        if (!instructorAssignmentService.isInstructorAssignedToCourse(instructorId,
+                submission.getAssignment().getCourse().getId())) {
+            throw new AccessDeniedException("Instructor is not assigned to this submission's course");
+        }
+        String invalid = gradeProblem(grade, submission.getAssignment().getMaxPoints());
+        if (invalid != null) {
+            throw new RuntimeException(invalid);
+        }
 
+        boolean wasUngraded = submission.getGradedBy() == null;
         submission.setGrade(grade);
         submission.setFeedback(feedback);
         submission.setGradedBy(instructorId);
         submission.setGradedAt(LocalDateTime.now());
 
-        return submissionRepository.save(submission);
+        Submission saved = submissionRepository.save(submission);
+        CourseContent assignment = saved.getAssignment();
+        Long courseId = assignment.getCourse().getId();
+        gradebookService.recordGrades(List.of(new GradingTarget(saved.getSubmissionId(), saved.getVersion(),
+                saved.getStudentId(), courseId, assignment.getContentId(), assignment.getTitle(),
+                assignment.getGradeCategory(), assignment.getMaxPoints(), saved.getGrade(), instructorId)));
+        if (wasUngraded) {
+            ungradedQueueService.submissionsGraded(Map.of(courseId, 1));
+        }
+        return saved;
+    }
+
+    /**
+     * Grades many submissions in one round of statements: a single select reads the current
+     * versions and gradebook attributes, then all accepted rows are written as one batched
+     * conditional update. Rows that were changed concurrently come back as conflicts without
+     * affecting the rest of the batch, as do rows in courses the instructor is not assigned to.
+     */
+    @Transactional
+    public List<GradeResult> gradeSubmissions(List<GradeUpdate> grades, Long instructorId) {
+        if (grades == null || grades.isEmpty()) {
+            throw new RuntimeException("No grades provided");
+        }
+        if (grades.size() > MAX_BULK_GRADES) {
+            throw new RuntimeException("At most " + MAX_BULK_GRADES + " grades can be submitted at once");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (GradeUpdate grade : grades) {
+            if (grade.submissionId() != null) {
+                ids.add(grade.submissionId());
+            }
+        }
+        Map<Long, GradingTarget> targets = new HashMap<>();
+        for (GradingTarget target : submissionRepository.findGradingTargetsByIdIn(ids)) {
+            targets.put(target.submissionId(), target);
+        }
+
+        GradeResult[] results = new GradeResult[grades.size()];
+        List<GradeUpdate> batch = new ArrayList<>();
+        List<Integer> batchPositions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < grades.size(); i++) {
+            GradeUpdate grade = grades.get(i);
+            Long submissionId = grade.submissionId();
+            if (submissionId == null) {
+                results[i] = GradeResult.invalid(null, "submissionId is required");
+            } else if (!seen.add(submissionId)) {
+                results[i] = GradeResult.invalid(submissionId, "Submission appears more than once in the request");
+            } else if (!targets.containsKey(submissionId)) {
+                results[i] = GradeResult.notFound(submissionId);
+            } else {
+                GradingTarget target = targets.get(submissionId);
+                String invalid = gradeProblem(grade.grade(), target.maxPoints());
+                if (invalid != null) {
+                    results[i] = GradeResult.invalid(submissionId, invalid);
+                } else if (!instructorAssignmentService.isInstructorAssignedToCourse(instructorId, target.courseId())) {
+                    results[i] = GradeResult.forbidden(submissionId);
+                } else if (grade.version() != null && grade.version() != target.version()) {
+                    results[i] = GradeResult.conflict(submissionId, target.version());
+                } else {
+                    batch.add(new GradeUpdate(submissionId, grade.grade(), grade.feedback(), target.version()));
+                    batchPositions.add(i);
+                }
+            }
+        }
+
+        int[] counts = submissionRepository.applyGrades(batch, instructorId, LocalDateTime.now());
+        List<GradingTarget> graded = new ArrayList<>(counts.length);
+        Map<Long, Integer> newlyGradedPerCourse = new HashMap<>();
+        for (int j = 0; j < counts.length; j++) {
+            GradeUpdate applied = batch.get(j);
+            if (counts[j] == 0) {
+                results[batchPositions.get(j)] = GradeResult.conflict(applied.submissionId(), null);
+            } else {
+                long version = applied.version() + 1;
+                results[batchPositions.get(j)] = GradeResult.updated(applied.submissionId(), version);
+                GradingTarget target = targets.get(applied.submissionId());
+                if (target.gradedBy() == null) {
+                    newlyGradedPerCourse.merge(target.courseId(), 1, Integer::sum);
+                }
+                graded.add(target.withGrade(applied.grade(), version, instructorId));
+            }
+        }
+        gradebookService.recordGrades(graded);
+        ungradedQueueService.submissionsGraded(newlyGradedPerCourse);
+
+        log.info("Bulk grading by instructor {}: {} of {} submissions updated", instructorId, graded.size(), grades.size());
+        return List.of(results);
     }
 
     public Optional<Submission> getSubmissionById(Long submissionId) {
         return submissionRepository.findById(submissionId);
     }
 
-    public List<Submission> getUngradedSubmissions() {
-        return submissionRepository.findByGradedByIsNull();
+    public List<SubmissionSummary> getUngradedSubmissions() {
+        return submissionRepository.findUngradedSummaries();
+    }
+
+    /**
+     * Why a grade cannot be stored for an assignment, or {@code null} if it can. Both grading paths
+     * use this so neither lets a negative, non-finite or over-maximum grade into the gradebook.
+     */
+    static String gradeProblem(Double grade, Double maxPoints) {
+        if (grade == null || !Double.isFinite(grade) || grade < 0) {
+            return "Grade must be a non-negative number";
+        }
+        double max = maxPoints == null || maxPoints <= 0 ? CourseGradebook.DEFAULT_MAX_POINTS : maxPoints;
+        if (grade > max) {
+            return "Grade must not exceed the assignment's " + max + " points";
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
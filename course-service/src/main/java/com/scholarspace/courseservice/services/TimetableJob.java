@@ -0,0 +1,100 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.TimetableEntry;
+import com.scholarspace.courseservice.dto.TimetableJobStatus;
+import com.scholarspace.courseservice.dto.TimetableJobStatus.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Progress of one timetable generation, updated by its solver runs and read by status polls. */
+final class TimetableJob {
+
+    private final String id;
+    private final Long schoolId;
+    private final String academicYear;
+    private final long timeBudgetMs;
+    private final int periodsToPlace;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray runIterations;
+
+    private volatile State state = State.SOLVING;
+    private volatile boolean cancelRequested;
+    private volatile long finishedNanos;
+    private volatile String message;
+    private volatile int lessonsCreated;
+    private volatile List<TimetableEntry> entries = List.of();
+    private Integer bestHard;
+    private Integer bestSoft;
+
+    TimetableJob(String id, Long schoolId, String academicYear, long timeBudgetMs, int periodsToPlace, int runs) {
+        this.id = id;
+        this.schoolId = schoolId;
+        this.academicYear = academicYear;
+        this.timeBudgetMs = timeBudgetMs;
+        this.periodsToPlace = periodsToPlace;
+        this.runIterations = new AtomicLongArray(runs);
+    }
+
+    String id() {
+        return id;
+    }
+
+    Long schoolId() {
+        return schoolId;
+    }
+
+    long timeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    /** Called by solver run {@code run}; keeps the best scores seen across all runs. */
+    synchronized void progress(int run, long iterations, int hard, int soft) {
+        runIterations.set(run, iterations);
+        if (bestHard == null || (long) hard * TimetableSolver.HARD_WEIGHT + soft < (long) bestHard * TimetableSolver.HARD_WEIGHT + bestSoft) {
+            bestHard = hard;
+            bestSoft = soft;
+        }
+    }
+
+    void writing(List<TimetableEntry> entries) {
+        this.entries = entries;
+        state = State.WRITING;
+    }
+
+    void finish(State state, String message, List<TimetableEntry> entries, int lessonsCreated) {
+        this.message = message;
+        this.entries = entries;
+        this.lessonsCreated = lessonsCreated;
+        this.finishedNanos = System.nanoTime();
+        this.state = state;
+    }
+
+    List<TimetableEntry> entries() {
+        return entries;
+    }
+
+    synchronized TimetableJobStatus status() {
+        long iterations = 0;
+        for (int i = 0; i < runIterations.length(); i++) {
+            iterations += runIterations.get(i);
+        }
+        long end = isFinished() ? finishedNanos : System.nanoTime();
+        return new TimetableJobStatus(id, schoolId, academicYear, state, startedAt, (end - startNanos) / 1_000_000,
+                timeBudgetMs, iterations, periodsToPlace, bestHard, bestSoft, lessonsCreated, message);
+    }
+}
@@ -0,0 +1,277 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.config.TimetableProperties;
+import com.scholarspace.courseservice.dto.ClassSubjectDemand;
+import com.scholarspace.courseservice.dto.TimetableEntry;
+import com.scholarspace.courseservice.dto.TimetableJobStatus;
+import com.scholarspace.courseservice.dto.TimetableJobStatus.State;
+import com.scholarspace.courseservice.dto.TimetableRequest;
+import com.scholarspace.courseservice.models.Lesson;
+import com.scholarspace.courseservice.repositories.ClassSubjectRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a school's weekly timetable from its class subjects and writes it out as a term of
+ * {@link Lesson} rows. Generation runs in the background: each job races
+ * {@code app.timetable.solver-threads} independently seeded {@link TimetableSolver} runs against
+ * its time budget and keeps the best, stopping early once any run is clash-free with no penalty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimetableService {
+
+    private static final int MAX_QUEUED_JOBS = 8;
+
+    private final ClassSubjectRepository classSubjectRepository;
+    private final LessonService lessonService;
+    private final TimetableProperties properties;
+
+    private List<LocalTime> periodStarts;
+    private ThreadPoolExecutor jobRunner;
+    private ExecutorService solverPool;
+    private final Set<Long> schoolsInProgress = ConcurrentHashMap.newKeySet();
+    private Cache<String, TimetableJob> jobs;
+
+    @PostConstruct
+    void init() {
+        periodStarts = properties.getPeriodStarts().stream().map(LocalTime::parse).sorted().toList();
+        for (int i = 1; i < periodStarts.size(); i++) {
+            if (periodStarts.get(i - 1).plusMinutes(properties.getPeriodMinutes()).isAfter(periodStarts.get(i))) {
+                throw new IllegalStateException("Timetable periods overlap at " + periodStarts.get(i));
+            }
+        }
+        if (periodStarts.isEmpty() || properties.getDays().isEmpty()) {
+            throw new IllegalStateException("Timetable needs at least one day and one period");
+        }
+
+        jobRunner = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), daemonThreads("timetable-job-"), new ThreadPoolExecutor.AbortPolicy());
+        solverPool = Executors.newFixedThreadPool(properties.getSolverThreads(), daemonThreads("timetable-solver-"));
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(24))
+                .maximumSize(200)
+                .build();
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.asMap().values().forEach(TimetableJob::requestCancel);
+        jobRunner.shutdownNow();
+        solverPool.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Validates the request, then queues generation and returns at once; poll {@link #getStatus}
+     * for progress. One job per school may run at a time.
+     */
+    public TimetableJobStatus start(TimetableRequest request, Long createdBy) {
+        if (request.schoolId() == null || request.academicYear() == null || request.academicYear().isBlank()) {
+            throw new RuntimeException("School and academic year are required");
+        }
+        if (request.termStart() == null || request.termEnd() == null || request.termEnd().isBefore(request.termStart())) {
+            throw new RuntimeException("A term start and an end on or after it are required");
+        }
+        long budget = request.timeBudgetMs() == null ? properties.getDefaultTimeBudgetMs()
+                : Math.max(1, Math.min(request.timeBudgetMs(), properties.getMaxTimeBudgetMs()));
+
+        List<ClassSubjectDemand> demands = classSubjectRepository.findTimetableDemands(request.schoolId(), request.academicYear()).stream()
+                .filter(d -> d.weeklyPeriods() != null && d.weeklyPeriods() > 0)
+                .toList();
+        if (demands.isEmpty()) {
+            throw new RuntimeException("No active class subjects with weekly periods for school " + request.schoolId() + " in " + request.academicYear());
+        }
+        TimetableSolver solver = new TimetableSolver(demands.stream().map(d -> new TimetableSolver.Demand(
+                d.classSubjectId(), d.classId(), d.teacherId(), d.roomPreference(), d.classRoom(), d.weeklyPeriods())).toList(),
+                properties.getDays().size(), periodStarts.size());
+        List<String> problems = solver.capacityProblems();
+        if (!problems.isEmpty()) {
+            throw new RuntimeException("No clash-free timetable is possible: " + String.join("; ", problems));
+        }
+
+        List<Long> classSubjectIds = demands.stream().map(ClassSubjectDemand::classSubjectId).toList();
+        boolean dryRun = Boolean.TRUE.equals(request.dryRun());
+        if (!dryRun) {
+            long existing = lessonService.countActiveLessons(classSubjectIds, request.termStart(), request.termEnd());
+            if (existing > 0) {
+                throw new RuntimeException("The term already has " + existing + " lessons for these classes");
+            }
+        }
+        if (!schoolsInProgress.add(request.schoolId())) {
+            throw new RuntimeException("A timetable is already being generated for school " + request.schoolId());
+        }
+
+        int runs = Math.max(1, properties.getSolverThreads());
+        TimetableJob job = new TimetableJob(UUID.randomUUID().toString(), request.schoolId(), request.academicYear(),
+                budget, solver.unitCount(), runs);
+        jobs.put(job.id(), job);
+        try {
+            jobRunner.execute(() -> run(job, solver, runs, demands, request, dryRun, createdBy));
+        } catch (RejectedExecutionException e) {
+            schoolsInProgress.remove(request.schoolId());
+            jobs.invalidate(job.id());
+            throw new RuntimeException("Too many timetable jobs queued, try again later");
+        }
+        log.info("Queued timetable job {} for school {} ({} periods, {} ms budget)", job.id(), request.schoolId(), solver.unitCount(), budget);
+        return job.status();
+    }
+
+    public Optional<TimetableJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(TimetableJob::status);
+    }
+
+    public Optional<List<TimetableEntry>> getEntries(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(TimetableJob::entries);
+    }
+
+    public Optional<TimetableJobStatus> cancel(String jobId) {
+        TimetableJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.requestCancel();
+        return Optional.of(job.status());
+    }
+
+    private void run(TimetableJob job, TimetableSolver solver, int runs, List<ClassSubjectDemand> demands,
+                     TimetableRequest request, boolean dryRun, Long createdBy) {
+        try {
+            TimetableSolver.Result best = solve(job, solver, runs);
+            List<TimetableEntry> entries = toEntries(best, demands);
+            if (job.isCancelRequested()) {
+                job.finish(State.CANCELLED, "Cancelled", entries, 0);
+                return;
+            }
+            if (best.hardViolations() > 0) {
+                job.finish(State.FAILED, "No clash-free timetable found within the time budget; best attempt has "
+                        + best.hardViolations() + " clashes", entries, 0);
+                return;
+            }
+            if (dryRun) {
+                job.finish(State.COMPLETED, "Dry run: nothing written", entries, 0);
+                return;
+            }
+
+            job.writing(entries);
+            List<Lesson> lessons = toLessons(entries, request.termStart(), request.termEnd(), createdBy);
+            int created = lessonService.createGeneratedLessons(lessons,
+                    demands.stream().map(ClassSubjectDemand::classSubjectId).toList(), request.termStart(), request.termEnd());
+            job.finish(State.COMPLETED, null, entries, created);
+            log.info("Timetable job {} wrote {} lessons for school {}", job.id(), created, job.schoolId());
+        } catch (Exception e) {
+            log.error("Timetable job {} failed", job.id(), e);
+            job.finish(State.FAILED, e.getMessage(), job.entries(), 0);
+        } finally {
+            schoolsInProgress.remove(job.schoolId());
+        }
+    }
+
+    private TimetableSolver.Result solve(TimetableJob job, TimetableSolver solver, int runs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(job.timeBudgetMs());
+        AtomicBoolean solved = new AtomicBoolean();
+        long seed = ThreadLocalRandom.current().nextLong();
+
+        ExecutorCompletionService<TimetableSolver.Result> completion = new ExecutorCompletionService<>(solverPool);
+        for (int i = 0; i < runs; i++) {
+            int run = i;
+            completion.submit(() -> solver.solve(seed + run, deadline,
+                    () -> solved.get() || job.isCancelRequested() || Thread.currentThread().isInterrupted(),
+                    (iterations, hard, soft) -> job.progress(run, iterations, hard, soft)));
+        }
+
+        TimetableSolver.Result best = null;
+        for (int i = 0; i < runs; i++) {
+            try {
+                TimetableSolver.Result result = completion.take().get();
+                if (result.cost() == 0) {
+                    solved.set(true); // let the other runs stop at their next check
+                }
+                if (best == null || result.cost() < best.cost()) {
+                    best = result;
+                }
+            } catch (ExecutionException e) {
+                log.warn("Timetable solver run failed for job {}", job.id(), e.getCause());
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("All solver runs failed");
+        }
+        return best;
+    }
+
+    private List<TimetableEntry> toEntries(TimetableSolver.Result result, List<ClassSubjectDemand> demands) {
+        Map<Long, ClassSubjectDemand> byId = demands.stream()
+                .collect(Collectors.toMap(ClassSubjectDemand::classSubjectId, Function.identity()));
+        List<TimetableEntry> entries = new ArrayList<>(result.placements().size());
+        for (TimetableSolver.Placement placement : result.placements()) {
+            ClassSubjectDemand demand = byId.get(placement.classSubjectId());
+            LocalTime start = periodStarts.get(placement.period());
+            entries.add(new TimetableEntry(demand.classSubjectId(), demand.classId(), demand.className(), demand.subjectName(),
+                    demand.teacherId(), properties.getDays().get(placement.day()), placement.period(),
+                    start, start.plusMinutes(properties.getPeriodMinutes()), placement.room()));
+        }
+        entries.sort(Comparator.comparing(TimetableEntry::classId).thenComparing(TimetableEntry::day).thenComparing(TimetableEntry::period));
+        return entries;
+    }
+
+    private static List<Lesson> toLessons(List<TimetableEntry> entries, LocalDate termStart, LocalDate termEnd, Long createdBy) {
+        Map<DayOfWeek, List<TimetableEntry>> byDay = entries.stream().collect(Collectors.groupingBy(TimetableEntry::day));
+        List<Lesson> lessons = new ArrayList<>();
+        for (LocalDate date = termStart; !date.isAfter(termEnd); date = date.plusDays(1)) {
+            for (TimetableEntry entry : byDay.getOrDefault(date.getDayOfWeek(), List.of())) {
+                Lesson lesson = new Lesson();
+                lesson.setClassSubjectId(entry.classSubjectId());
+                lesson.setLessonTitle(entry.subjectName() + " - " + entry.className());
+                lesson.setLessonDate(date);
+                lesson.setStartTime(entry.startTime());
+                lesson.setEndTime(entry.endTime());
+                lesson.setLocation(entry.room());
+                lesson.setCreatedBy(createdBy);
+                lessons.add(lesson);
+            }
+        }
+        return lessons;
+    }
+}
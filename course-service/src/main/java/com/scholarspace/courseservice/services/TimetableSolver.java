@@ -0,0 +1,409 @@
+package com.scholarspace.courseservice.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Places the weekly periods of class subjects on a days-by-periods grid. Hard constraints: a
+ * teacher, a room or a class is in at most one place per period. Soft constraints: a subject's
+ * periods are spread over the week, and a subject's preferred room is used over the class's own.
+ *
+ * <p>A run starts from a greedy placement and improves it by simulated annealing, moving single
+ * periods and swapping periods within a class, until it is clash-free with no soft penalty, the
+ * deadline passes or it is asked to stop. The problem is immutable, so several runs with different
+ * seeds can share one solver across threads.
+ */
+public final class TimetableSolver {
+
+    static final int HARD_WEIGHT = 1000;
+    static final int SPREAD_PENALTY = 3;
+    static final int ROOM_PENALTY = 1;
+
+    /** One class subject with the number of periods it needs each week. */
+    public record Demand(Long classSubjectId, Long classId, Long teacherId, String preferredRoom, String classRoom, int weeklyPeriods) {
+    }
+
+    /** One period of a class subject: day and period are zero-based grid positions. */
+    public record Placement(Long classSubjectId, int day, int period, String room) {
+    }
+
+    public record Result(List<Placement> placements, int hardViolations, int softPenalty, long iterations) {
+        public long cost() {
+            return (long) hardViolations * HARD_WEIGHT + softPenalty;
+        }
+    }
+
+    public interface ProgressListener {
+        void onProgress(long iterations, int hardViolations, int softPenalty);
+    }
+
+    private final List<Demand> demands;
+    private final int days;
+    private final int periodsPerDay;
+    private final int slots;
+
+    // Per demand: dense teacher/class indexes (-1 = none), room options (preferred first) and daily allowance
+    private final int[] teacherOf;
+    private final int[] classOf;
+    private final int[][] roomOptions;
+    private final boolean[] hasPreference;
+    private final int[] dailyAllowance;
+    private final String[] rooms;
+    private final int teacherCount;
+    private final int classCount;
+
+    // Per unit (one weekly period): owning demand
+    private final int[] unitDemand;
+    private final int[][] unitsByClass;
+
+    public TimetableSolver(List<Demand> demands, int days, int periodsPerDay) {
+        if (days < 1 || periodsPerDay < 1) {
+            throw new IllegalArgumentException("Grid must have at least one day and one period");
+        }
+        this.demands = List.copyOf(demands);
+        this.days = days;
+        this.periodsPerDay = periodsPerDay;
+        this.slots = days * periodsPerDay;
+
+        Map<Long, Integer> teachers = new HashMap<>();
+        Map<Long, Integer> classes = new HashMap<>();
+        Map<String, Integer> roomIndex = new HashMap<>();
+        List<String> roomNames = new ArrayList<>();
+        int n = this.demands.size();
+        teacherOf = new int[n];
+        classOf = new int[n];
+        roomOptions = new int[n][];
+        hasPreference = new boolean[n];
+        dailyAllowance = new int[n];
+
+        int units = 0;
+        for (int d = 0; d < n; d++) {
+            Demand demand = this.demands.get(d);
+            teacherOf[d] = demand.teacherId() == null ? -1 : teachers.computeIfAbsent(demand.teacherId(), id -> teachers.size());
+            classOf[d] = classes.computeIfAbsent(demand.classId(), id -> classes.size());
+
+            List<Integer> options = new ArrayList<>(2);
+            for (String room : new String[]{demand.preferredRoom(), demand.classRoom()}) {
+                String key = DaySchedule.normalizeRoom(room);
+                if (key != null) {
+                    // Rooms are matched case- and space-insensitively; the first spelling seen is kept
+                    int index = roomIndex.computeIfAbsent(key, r -> {
+                        roomNames.add(room.trim());
+                        return roomNames.size() - 1;
+                    });
+                    if (!options.contains(index)) {
+                        options.add(index);
+                    }
+                }
+            }
+            roomOptions[d] = options.stream().mapToInt(Integer::intValue).toArray();
+            hasPreference[d] = DaySchedule.normalizeRoom(demand.preferredRoom()) != null;
+            dailyAllowance[d] = Math.max(1, (demand.weeklyPeriods() + days - 1) / days);
+            units += Math.max(0, demand.weeklyPeriods());
+        }
+        rooms = roomNames.toArray(new String[0]);
+        teacherCount = teachers.size();
+        classCount = classes.size();
+
+        unitDemand = new int[units];
+        int[] classUnitCounts = new int[classCount];
+        int u = 0;
+        for (int d = 0; d < n; d++) {
+            for (int p = 0; p < this.demands.get(d).weeklyPeriods(); p++) {
+                unitDemand[u++] = d;
+                classUnitCounts[classOf[d]]++;
+            }
+        }
+        unitsByClass = new int[classCount][];
+        int[] filled = new int[classCount];
+        for (int c = 0; c < classCount; c++) {
+            unitsByClass[c] = new int[classUnitCounts[c]];
+        }
+        for (int unit = 0; unit < units; unit++) {
+            int c = classOf[unitDemand[unit]];
+            unitsByClass[c][filled[c]++] = unit;
+        }
+    }
+
+    public int unitCount() {
+        return unitDemand.length;
+    }
+
+    /**
+     * Reasons no clash-free timetable can exist, such as a class or teacher needing more periods
+     * than the week has. Empty does not guarantee a solution, only that none is ruled out upfront.
+     */
+    public List<String> capacityProblems() {
+        List<String> problems = new ArrayList<>();
+        Map<Long, Integer> classLoad = new HashMap<>();
+        Map<Long, Integer> teacherLoad = new HashMap<>();
+        for (Demand demand : demands) {
+            classLoad.merge(demand.classId(), demand.weeklyPeriods(), Integer::sum);
+            if (demand.teacherId() != null) {
+                teacherLoad.merge(demand.teacherId(), demand.weeklyPeriods(), Integer::sum);
+            }
+        }
+        classLoad.forEach((classId, load) -> {
+            if (load > slots) {
+                problems.add("Class " + classId + " needs " + load + " periods but the week has " + slots);
+            }
+        });
+        teacherLoad.forEach((teacherId, load) -> {
+            if (load > slots) {
+                problems.add("Teacher " + teacherId + " needs " + load + " periods but the week has " + slots);
+            }
+        });
+        return problems;
+    }
+
+    public Result solve(long seed, long deadlineNanos, BooleanSupplier stopRequested, ProgressListener listener) {
+        State state = new State(new Random(seed));
+        state.greedyStart();
+
+        int[] bestSlot = state.unitSlot.clone();
+        int[] bestRoom = state.unitRoom.clone();
+        long bestCost = state.cost();
+        int bestHard = state.hard;
+        int bestSoft = state.soft;
+
+        long startNanos = System.nanoTime();
+        long span = Math.max(1, deadlineNanos - startNanos);
+        double temperature = 2.0;
+        long iterations = 0;
+        Random random = state.random;
+        int units = unitDemand.length;
+
+        while (bestCost > 0 && units > 0) {
+            if ((iterations & 1023) == 0) {
+                long now = System.nanoTime();
+                if (now >= deadlineNanos || stopRequested.getAsBoolean()) {
+                    break;
+                }
+                // Cool linearly over the budget; the floor keeps an occasional sideways move possible
+                temperature = 0.05 + 2.0 * (deadlineNanos - now) / span;
+                if ((iterations & 65535) == 0 && listener != null) {
+                    listener.onProgress(iterations, bestHard, bestSoft);
+                }
+            }
+            iterations++;
+
+            long before = state.cost();
+            int unit = state.pickUnit();
+            if (random.nextBoolean()) {
+                int[] classmates = unitsByClass[classOf[unitDemand[unit]]];
+                int other = classmates[random.nextInt(classmates.length)];
+                if (other == unit || state.unitSlot[other] == state.unitSlot[unit]) {
+                    continue;
+                }
+                state.swap(unit, other);
+                if (!accept(state.cost() - before, temperature, random)) {
+                    state.swap(unit, other);
+                }
+            } else {
+                int oldSlot = state.unitSlot[unit];
+                int oldRoom = state.unitRoom[unit];
+                int[] options = roomOptions[unitDemand[unit]];
+                int newRoom = options.length == 0 ? -1 : options[random.nextInt(options.length)];
+                state.move(unit, random.nextInt(slots), newRoom);
+                if (!accept(state.cost() - before, temperature, random)) {
+                    state.move(unit, oldSlot, oldRoom);
+                }
+            }
+
+            if (state.cost() < bestCost) {
+                bestCost = state.cost();
+                bestHard = state.hard;
+                bestSoft = state.soft;
+                System.arraycopy(state.unitSlot, 0, bestSlot, 0, units);
+                System.arraycopy(state.unitRoom, 0, bestRoom, 0, units);
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(iterations, bestHard, bestSoft);
+        }
+
+        List<Placement> placements = new ArrayList<>(units);
+        for (int unit = 0; unit < units; unit++) {
+            placements.add(new Placement(demands.get(unitDemand[unit]).classSubjectId(),
+                    bestSlot[unit] / periodsPerDay, bestSlot[unit] % periodsPerDay,
+                    bestRoom[unit] < 0 ? null : rooms[bestRoom[unit]]));
+        }
+        return new Result(placements, bestHard, bestSoft, iterations);
+    }
+
+    private static boolean accept(long delta, double temperature, Random random) {
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    /** One run's mutable assignment with incrementally maintained loads and penalties. */
+    private final class State {
+        final Random random;
+        final int[] unitSlot = new int[unitDemand.length];
+        final int[] unitRoom = new int[unitDemand.length];
+        final int[] teacherLoad = new int[teacherCount * slots];
+        final int[] classLoad = new int[classCount * slots];
+        final int[] roomLoad = new int[rooms.length * slots];
+        final int[] demandDayCount = new int[demands.size() * days];
+        int hard;
+        int soft;
+
+        State(Random random) {
+            this.random = random;
+        }
+
+        long cost() {
+            return (long) hard * HARD_WEIGHT + soft;
+        }
+
+        void greedyStart() {
+            // Most constrained first: units of the busiest teachers and classes get the first pick
+            int[] teacherDemand = new int[teacherCount];
+            int[] classDemand = new int[classCount];
+            for (int demand : unitDemand) {
+                if (teacherOf[demand] >= 0) {
+                    teacherDemand[teacherOf[demand]]++;
+                }
+                classDemand[classOf[demand]]++;
+            }
+            Integer[] order = new Integer[unitDemand.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(weight(b, teacherDemand, classDemand), weight(a, teacherDemand, classDemand)));
+
+            for (int unit : order) {
+                int demand = unitDemand[unit];
+                int[] options = roomOptions[demand];
+                long bestDelta = Long.MAX_VALUE;
+                int bestSlot = 0;
+                int bestRoom = options.length == 0 ? -1 : options[0];
+                int ties = 0;
+                for (int slot = 0; slot < slots; slot++) {
+                    for (int o = 0; o < Math.max(1, options.length); o++) {
+                        int room = options.length == 0 ? -1 : options[o];
+                        long delta = placementDelta(demand, slot, room);
+                        if (delta < bestDelta) {
+                            bestDelta = delta;
+                            bestSlot = slot;
+                            bestRoom = room;
+                            ties = 1;
+                        } else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+                            bestSlot = slot;
+                            bestRoom = room;
+                        }
+                    }
+                }
+                unitSlot[unit] = bestSlot;
+                unitRoom[unit] = bestRoom;
+                add(unit);
+            }
+        }
+
+        private int weight(int unit, int[] teacherDemand, int[] classDemand) {
+            int demand = unitDemand[unit];
+            return (teacherOf[demand] >= 0 ? teacherDemand[teacherOf[demand]] : 0) + classDemand[classOf[demand]];
+        }
+
+        /** Cost change of adding one more period of {@code demand} at {@code slot} in {@code room}. */
+        private long placementDelta(int demand, int slot, int room) {
+            int clashes = 0;
+            if (teacherOf[demand] >= 0 && teacherLoad[teacherOf[demand] * slots + slot] > 0) {
+                clashes++;
+            }
+            if (classLoad[classOf[demand] * slots + slot] > 0) {
+                clashes++;
+            }
+            if (room >= 0 && roomLoad[room * slots + slot] > 0) {
+                clashes++;
+            }
+            int penalty = demandDayCount[demand * days + slot / periodsPerDay] >= dailyAllowance[demand] ? SPREAD_PENALTY : 0;
+            if (hasPreference[demand] && room != roomOptions[demand][0]) {
+                penalty += ROOM_PENALTY;
+            }
+            return (long) clashes * HARD_WEIGHT + penalty;
+        }
+
+        int pickUnit() {
+            // Mostly repair clashes; a few tries at finding a clashing unit keeps this O(1)
+            if (hard > 0) {
+                for (int attempt = 0; attempt < 8; attempt++) {
+                    int unit = random.nextInt(unitDemand.length);
+                    if (clashing(unit)) {
+                        return unit;
+                    }
+                }
+            }
+            return random.nextInt(unitDemand.length);
+        }
+
+        private boolean clashing(int unit) {
+            int demand = unitDemand[unit];
+            int slot = unitSlot[unit];
+            return (teacherOf[demand] >= 0 && teacherLoad[teacherOf[demand] * slots + slot] > 1)
+                    || classLoad[classOf[demand] * slots + slot] > 1
+                    || (unitRoom[unit] >= 0 && roomLoad[unitRoom[unit] * slots + slot] > 1);
+        }
+
+        void move(int unit, int slot, int room) {
+            remove(unit);
+            unitSlot[unit] = slot;
+            unitRoom[unit] = room;
+            add(unit);
+        }
+
+        void swap(int a, int b) {
+            remove(a);
+            remove(b);
+            int slot = unitSlot[a];
+            unitSlot[a] = unitSlot[b];
+            unitSlot[b] = slot;
+            add(a);
+            add(b);
+        }
+
+        private void add(int unit) {
+            int demand = unitDemand[unit];
+            int slot = unitSlot[unit];
+            if (teacherOf[demand] >= 0 && teacherLoad[teacherOf[demand] * slots + slot]++ > 0) {
+                hard++;
+            }
+            if (classLoad[classOf[demand] * slots + slot]++ > 0) {
+                hard++;
+            }
+            if (unitRoom[unit] >= 0 && roomLoad[unitRoom[unit] * slots + slot]++ > 0) {
+                hard++;
+            }
+            if (demandDayCount[demand * days + slot / periodsPerDay]++ >= dailyAllowance[demand]) {
+                soft += SPREAD_PENALTY;
+            }
+            if (hasPreference[demand] && unitRoom[unit] != roomOptions[demand][0]) {
+                soft += ROOM_PENALTY;
+            }
+        }
+
+        private void remove(int unit) {
+            int demand = unitDemand[unit];
+            int slot = unitSlot[unit];
+            if (teacherOf[demand] >= 0 && --teacherLoad[teacherOf[demand] * slots + slot] > 0) {
+                hard--;
+            }
+            if (--classLoad[classOf[demand] * slots + slot] > 0) {
+                hard--;
+            }
+            if (unitRoom[unit] >= 0 && --roomLoad[unitRoom[unit] * slots + slot] > 0) {
+                hard--;
+            }
+            if (--demandDayCount[demand * days + slot / periodsPerDay] >= dailyAllowance[demand]) {
+                soft -= SPREAD_PENALTY;
+            }
+            if (hasPreference[demand] && unitRoom[unit] != roomOptions[demand][0]) {
+                soft -= ROOM_PENALTY;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
+import com.scholarspace.courseservice.dto.UngradedPage;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instructor view of ungraded submissions, limited to the instructor's assigned courses.
+ * Pages are keyset-paginated by submission date so deep pages cost the same as the first one.
+ *
+ * <p>Per-course counters back the dashboard badge. They are loaded with one grouped count and then
+ * adjusted as submissions arrive and get graded; entries expire periodically so any drift from
+ * writes made outside this service heals on its own.
+ */
+@Service
+@RequiredArgsConstructor
+public class UngradedQueueService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final SubmissionRepository submissionRepository;
+    private final InstructorAssignmentService instructorAssignmentService;
+
+    private Cache<Long, AtomicInteger> counters;
+
+    @PostConstruct
+    void init() {
+        counters = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public UngradedPage getQueue(Long instructorId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Long> courseIds = instructorAssignmentService.getCourseIdsByInstructor(instructorId);
+        if (courseIds.isEmpty()) {
+            return new UngradedPage(List.of(), null);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<SubmissionSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = submissionRepository.findUngradedSummariesByCourseIds(courseIds, page);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            rows = submissionRepository.findUngradedSummariesByCourseIdsAfter(courseIds, after.submissionDate(), after.submissionId(), page);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new UngradedPage(rows, null);
+        }
+        List<SubmissionSummary> items = new ArrayList<>(rows.subList(0, pageSize));
+        SubmissionSummary last = items.get(items.size() - 1);
+        return new UngradedPage(items, encodeCursor(last.submissionDate(), last.submissionId()));
+    }
+
+    /** Ungraded submission count per assigned course, including courses with nothing to grade. */
+    public Map<Long, Integer> getCounts(Long instructorId) {
+        List<Long> courseIds = instructorAssignmentService.getCourseIdsByInstructor(instructorId);
+        Map<Long, AtomicInteger> loaded = counters.getAll(courseIds, missing -> {
+            Map<Long, AtomicInteger> counts = new HashMap<>();
+            missing.forEach(courseId -> counts.put(courseId, new AtomicInteger()));
+            for (Object[] row : submissionRepository.countUngradedByCourseIds(new ArrayList<>(missing))) {
+                counts.get((Long) row[0]).set(((Long) row[1]).intValue());
+            }
+            return counts;
+        });
+
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        courseIds.forEach(courseId -> counts.put(courseId, Math.max(0, loaded.get(courseId).get())));
+        return counts;
+    }
+
+    public void submissionCreated(Long courseId) {
+        TransactionHooks.afterCommit(() -> adjust(courseId, 1));
+    }
+
+    public void submissionsGraded(Map<Long, Integer> gradedPerCourse) {
+        if (gradedPerCourse.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> gradedPerCourse.forEach((courseId, count) -> adjust(courseId, -count)));
+    }
+
+    public void evictCourse(Long courseId) {
+        TransactionHooks.afterCommit(() -> counters.invalidate(courseId));
+    }
+
+    private void adjust(Long courseId, int delta) {
+        // Mutating in place (rather than replacing the entry) keeps the expiry clock running
+        AtomicInteger counter = counters.getIfPresent(courseId);
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    private record Cursor(LocalDateTime submissionDate, Long submissionId) {
+    }
+
+    static String encodeCursor(LocalDateTime submissionDate, Long submissionId) {
+        String raw = submissionDate + "|" + submissionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.scholarspace.courseservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.WeekView;
+import com.scholarspace.courseservice.dto.WeekView.Owner;
+import com.scholarspace.courseservice.dto.WeekViewEntry;
+import com.scholarspace.courseservice.repositories.LessonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Serves denormalized week views per class and per teacher. A view is built with one query that
+ * resolves the class, form and subject names, then kept in memory; lesson writes patch the cached
+ * views they touch once they commit, so a view is rebuilt from the database only when first read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WeekViewService {
+
+    private static final Comparator<WeekViewEntry> ORDER = Comparator.comparing(WeekViewEntry::lessonDate)
+            .thenComparing(WeekViewEntry::startTime)
+            .thenComparing(WeekViewEntry::lessonId);
+
+    private final LessonRepository lessonRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.week-views.max-views:5000}")
+    private int maxViews;
+
+    @Value("${app.week-views.expire-after-write-minutes:360}")
+    private long expireAfterWriteMinutes;
+
+    private Cache<WeekKey, WeekView> views;
+
+    private record WeekKey(Owner owner, Long ownerId, LocalDate weekStart) {
+    }
+
+    @PostConstruct
+    void init() {
+        // Class, form and subject renames have no hook here, so views also age out
+        views = Caffeine.newBuilder()
+                .maximumSize(maxViews)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "week.views");
+    }
+
+    public WeekView getClassWeek(Long classId, LocalDate date) {
+        return views.get(new WeekKey(Owner.CLASS, classId, weekStart(date)), this::build);
+    }
+
+    public WeekView getTeacherWeek(Long teacherId, LocalDate date) {
+        return views.get(new WeekKey(Owner.TEACHER, teacherId, weekStart(date)), this::build);
+    }
+
+    /**
+     * Patches the cached views of a lesson's class and teacher once the write commits.
+     * {@code before} is the lesson as it was (null for a new lesson) and {@code after} as it
+     * is now (null once deleted); when the lesson moved, both the old and new weeks are patched.
+     */
+    public void lessonChangedAfterCommit(Long lessonId, LessonSlot before, LessonSlot after) {
+        TransactionHooks.afterCommit(() -> patch(lessonId, before, after));
+    }
+
+    /** Drops cached views overlapping a bulk write once it commits; they rebuild on next read. */
+    public void lessonsChangedAfterCommit(LocalDate from, LocalDate to) {
+        LocalDate firstWeek = weekStart(from);
+        TransactionHooks.afterCommit(() -> views.asMap().keySet()
+                .removeIf(key -> !key.weekStart().isBefore(firstWeek) && !key.weekStart().isAfter(to)));
+    }
+
+    /** Drops every cached view of the class and of both teachers once a teacher reassignment commits. */
+    public void classSubjectChangedAfterCommit(Long classId, Long previousTeacherId, Long teacherId) {
+        TransactionHooks.afterCommit(() -> views.asMap().keySet().removeIf(key ->
+                key.owner() == Owner.CLASS ? key.ownerId().equals(classId)
+                        : key.ownerId().equals(previousTeacherId) || key.ownerId().equals(teacherId)));
+    }
+
+    void patch(Long lessonId, LessonSlot before, LessonSlot after) {
+        Set<WeekKey> keys = new LinkedHashSet<>();
+        keys.addAll(keysOf(before));
+        keys.addAll(keysOf(after));
+        keys.removeIf(key -> views.getIfPresent(key) == null);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        // Re-read the one row so the entry carries current names; a view being built concurrently
+        // is patched after its load finishes, and replacing by lesson id makes that harmless
+        Optional<WeekViewEntry> entry = after == null ? Optional.empty() : lessonRepository.findWeekEntryByLessonId(lessonId);
+        for (WeekKey key : keys) {
+            views.asMap().computeIfPresent(key, (k, view) -> {
+                List<WeekViewEntry> entries = new ArrayList<>(view.entries().size() + 1);
+                for (WeekViewEntry existing : view.entries()) {
+                    if (!existing.lessonId().equals(lessonId)) {
+                        entries.add(existing);
+                    }
+                }
+                entry.filter(e -> belongsTo(k, e)).ifPresent(entries::add);
+                entries.sort(ORDER);
+                return view(k, entries);
+            });
+        }
+    }
+
+    private WeekView build(WeekKey key) {
+        LocalDate weekEnd = key.weekStart().plusDays(6);
+        List<WeekViewEntry> entries = key.owner() == Owner.CLASS
+                ? lessonRepository.findWeekEntriesByClassId(key.ownerId(), key.weekStart(), weekEnd)
+                : lessonRepository.findWeekEntriesByTeacherId(key.ownerId(), key.weekStart(), weekEnd);
+        return view(key, entries);
+    }
+
+    private static WeekView view(WeekKey key, List<WeekViewEntry> entries) {
+        return new WeekView(key.owner(), key.ownerId(), key.weekStart(), key.weekStart().plusDays(6),
+                etag(key, entries), LocalDateTime.now(), List.copyOf(entries));
+    }
+
+    // Derived from the content rather than a counter, so ETags survive restarts and evictions
+    private static String etag(WeekKey key, List<WeekViewEntry> entries) {
+        CRC32 crc = new CRC32();
+        crc.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        for (WeekViewEntry entry : entries) {
+            crc.update(entry.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + entries.size() + "\"";
+    }
+
+    private static List<WeekKey> keysOf(LessonSlot slot) {
+        if (slot == null) {
+            return List.of();
+        }
+        LocalDate week = weekStart(slot.lessonDate());
+        List<WeekKey> keys = new ArrayList<>(2);
+        keys.add(new WeekKey(Owner.CLASS, slot.classId(), week));
+        if (slot.teacherId() != null) {
+            keys.add(new WeekKey(Owner.TEACHER, slot.teacherId(), week));
+        }
+        return keys;
+    }
+
+    private static boolean belongsTo(WeekKey key, WeekViewEntry entry) {
+        Long ownerId = key.owner() == Owner.CLASS ? entry.classId() : entry.teacherId();
+        return key.ownerId().equals(ownerId) && key.weekStart().equals(weekStart(entry.lessonDate()));
+    }
+
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
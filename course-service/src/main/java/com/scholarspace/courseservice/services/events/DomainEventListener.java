@@ -0,0 +1,15 @@
+package com.scholarspace.courseservice.services.events;
+
+import java.util.Set;
+
+/**
+ * Consumes domain events, from this service's own outbox or from another service's relay.
+ * Listeners are Spring beans; a listener that throws fails the batch, which is then redelivered,
+ * so implementations must be idempotent.
+ */
+public interface DomainEventListener {
+
+    Set<String> getEventTypes();
+
+    void onEvent(DomainEvent event);
+}
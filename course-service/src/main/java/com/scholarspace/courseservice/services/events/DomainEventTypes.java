@@ -0,0 +1,19 @@
+package com.scholarspace.courseservice.services.events;
+
+/** Event type names shared by every service's outbox; the payload fields are listed per type. */
+public final class DomainEventTypes {
+
+    /** user-service: userId, role */
+    public static final String USER_DEACTIVATED = "UserDeactivated";
+    /** user-service: userId, previousRole, role */
+    public static final String ROLE_CHANGED = "RoleChanged";
+    /** course-service: courseId, courseCode, title, departmentId, semester, academicYear */
+    public static final String COURSE_CREATED = "CourseCreated";
+    /** course-service: enrollmentId, courseId, studentId, previousStatus (null when requested), status */
+    public static final String ENROLLMENT_STATUS_CHANGED = "EnrollmentStatusChanged";
+    /** institution-service: departmentId, institutionId, code */
+    public static final String DEPARTMENT_DELETED = "DepartmentDeleted";
+
+    private DomainEventTypes() {
+    }
+}
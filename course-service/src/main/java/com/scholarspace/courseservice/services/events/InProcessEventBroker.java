@@ -0,0 +1,24 @@
+package com.scholarspace.courseservice.services.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stand-in broker that delivers batches to this service's own listeners synchronously. Used for
+ * local runs and tests, and wherever no other service subscribes to this outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.broker", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InProcessEventBroker implements EventPublisher {
+
+    private final DomainEventDispatcher dispatcher;
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        dispatcher.dispatch(events);
+    }
+}
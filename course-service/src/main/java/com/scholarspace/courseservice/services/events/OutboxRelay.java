@@ -0,0 +1,148 @@
+package com.scholarspace.courseservice.services.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.config.OutboxProperties;
+import com.scholarspace.courseservice.models.OutboxEvent;
+import com.scholarspace.courseservice.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes committed outbox rows in batches. Rows go out in id order and a failed batch is
+ * backed off as a whole, so a subscriber never sees an event before the ones committed ahead of
+ * it. Delivery is at least once: a crash between publishing and stamping the rows, or a second
+ * instance polling the same table, resends a batch, and subscribers deduplicate by event id.
+ *
+ * <p>After a failure the event at the head goes out on its own until it succeeds, so one bad event
+ * cannot hold the rest of its batch hostage. If it fails {@code app.outbox.max-attempts} times it is
+ * parked with {@code failed_at} and the relay moves on; that event is then out of order, and
+ * clearing {@code failed_at} requeues it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.application.name:course-service}")
+    private String source;
+
+    private Counter publishedCounter;
+    private Counter failedBatchCounter;
+    private Counter parkedCounter;
+
+    @PostConstruct
+    void init() {
+        publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events accepted by every subscriber")
+                .register(meterRegistry);
+        failedBatchCounter = Counter.builder("outbox.batches.failed")
+                .description("Outbox batches that failed to publish and were backed off")
+                .register(meterRegistry);
+        parkedCounter = Counter.builder("outbox.events.parked")
+                .description("Outbox events given up on after too many failed attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Keep draining while events go out; a lone retried event returns a short batch
+        while (relayBatch() > 0) {
+        }
+    }
+
+    /** Publishes the next batch of due events and returns how many went out. */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = new ArrayList<>();
+        for (OutboxEvent event : outboxEventRepository.findPending(PageRequest.of(0, properties.getBatchSize()))) {
+            // Stop at the first backed-off event rather than overtaking it
+            if (event.getNextAttemptAt().isAfter(now)) {
+                break;
+            }
+            // An event that failed before is retried alone, so a poison event is found and parked
+            if (event.getAttempts() > 0) {
+                if (batch.isEmpty()) {
+                    batch.add(event);
+                }
+                break;
+            }
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getOutboxId).toList();
+        try {
+            eventPublisher.publish(batch.stream().map(this::toDomainEvent).toList());
+        } catch (RuntimeException e) {
+            int attempts = batch.stream().mapToInt(OutboxEvent::getAttempts).max().orElse(0);
+            if (batch.size() == 1 && attempts + 1 >= properties.getMaxAttempts()) {
+                outboxEventRepository.markParked(ids.get(0), LocalDateTime.now(), truncate(e));
+                parkedCounter.increment();
+                log.error("Parking outbox event {} ({}) after {} failed attempts: {}",
+                        batch.get(0).getEventId(), batch.get(0).getEventType(), attempts + 1, e.getMessage());
+                return 0;
+            }
+            long backoffMs = Math.min(properties.getMaxBackoffMs(),
+                    properties.getInitialBackoffMs() * (1L << Math.min(attempts, 20)));
+            outboxEventRepository.markFailed(ids, LocalDateTime.now().plusNanos(backoffMs * 1_000_000), truncate(e));
+            failedBatchCounter.increment();
+            log.warn("Publishing {} outbox events failed (attempt {}), retrying in {} ms: {}",
+                    ids.size(), attempts + 1, backoffMs, e.getMessage());
+            return 0;
+        }
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        publishedCounter.increment(ids.size());
+        return ids.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(properties.getRetentionHours()));
+        if (purged > 0) {
+            log.debug("Purged {} published outbox events", purged);
+        }
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        try {
+            return new DomainEvent(event.getEventId(), event.getEventType(), source, event.getAggregateType(),
+                    event.getAggregateId(), event.getCreatedAt(), objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable payload in outbox event " + event.getEventId(), e);
+        }
+    }
+
+    private static String truncate(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,42 @@
+package com.scholarspace.courseservice.services.events;
+
+import com.scholarspace.courseservice.services.EnrollmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Reacts to user-service account changes: a student who is deactivated or moved to another role
+ * loses their pending enrollment requests, so the seats they held go back to the course.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAccountEventListener implements DomainEventListener {
+
+    private final EnrollmentService enrollmentService;
+
+    @Override
+    public Set<String> getEventTypes() {
+        return Set.of(DomainEventTypes.USER_DEACTIVATED, DomainEventTypes.ROLE_CHANGED);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        Object userId = event.payload().get("userId");
+        if (userId == null) {
+            return;
+        }
+        boolean wasStudent = DomainEventTypes.USER_DEACTIVATED.equals(event.eventType())
+                || ("STUDENT".equals(event.payload().get("previousRole")) && !"STUDENT".equals(event.payload().get("role")));
+        if (!wasStudent) {
+            return;
+        }
+        int dropped = enrollmentService.dropPendingEnrollments(Long.valueOf(userId.toString()));
+        if (dropped > 0) {
+            log.info("Dropped {} pending enrollments of user {} after {}", dropped, userId, event.eventType());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.scholarspace.courseservice.services.processing;
+
+import com.scholarspace.courseservice.models.CourseContent;
+
+import java.nio.file.Path;
+
+/**
+ * Mutable state shared by the stages of one processing run. Results are written back to
+ * the content row in a single update once every stage has succeeded.
+ */
+public class ContentProcessingContext {
+
+    private final CourseContent content;
+    private final Path file;
+
+    private String detectedFileType;
+    private Integer pageCount;
+    private String thumbnailPath;
+    private String extractedText;
+
+    public ContentProcessingContext(CourseContent content, Path file) {
+        this.content = content;
+        this.file = file;
+        this.detectedFileType = content.getDetectedFileType();
+        this.pageCount = content.getPageCount();
+        this.thumbnailPath = content.getThumbnailPath();
+        this.extractedText = content.getExtractedText();
+    }
+
+    /** The detected type when verification has run, otherwise the type declared at upload. */
+    public String getEffectiveFileType() {
+        return detectedFileType != null ? detectedFileType : content.getFileType();
+    }
+
+    public boolean isPdf() {
+        return "application/pdf".equals(getEffectiveFileType());
+    }
+
+    public boolean isImage() {
+        String type = getEffectiveFileType();
+        return type != null && type.startsWith("image/");
+    }
+
+    public boolean isText() {
+        String type = getEffectiveFileType();
+        return type != null && type.startsWith("text/");
+    }
+
+    public CourseContent getContent() { return content; }
+    public Path getFile() { return file; }
+
+    public String getDetectedFileType() { return detectedFileType; }
+    public void setDetectedFileType(String detectedFileType) { this.detectedFileType = detectedFileType; }
+
+    public Integer getPageCount() { return pageCount; }
+    public void setPageCount(Integer pageCount) { this.pageCount = pageCount; }
+
+    public String getThumbnailPath() { return thumbnailPath; }
+    public void setThumbnailPath(String thumbnailPath) { this.thumbnailPath = thumbnailPath; }
+
+    public String getExtractedText() { return extractedText; }
+    public void setExtractedText(String extractedText) { this.extractedText = extractedText; }
+}
@@ -0,0 +1,15 @@
+package com.scholarspace.courseservice.services.processing;
+
+/**
+ * A single step of the post-upload processing pipeline. Stages are Spring beans and run
+ * in {@link org.springframework.core.annotation.Order} sequence; a stage that throws causes
+ * the whole job to be retried with backoff, so implementations must be idempotent.
+ */
+public interface ContentProcessingStage {
+
+    String getName();
+
+    boolean supports(ContentProcessingContext context);
+
+    void process(ContentProcessingContext context) throws Exception;
+}
@@ -0,0 +1,83 @@
+package com.scholarspace.courseservice.services.processing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * Sniffs the leading bytes of the stored file instead of trusting the client-supplied
+ * Content-Type, so later stages pick the right parser.
+ */
+@Component
+@Order(1)
+@Slf4j
+public class FileTypeVerificationStage implements ContentProcessingStage {
+
+    private static final int SNIFF_LENGTH = 512;
+
+    @Override
+    public String getName() {
+        return "file-type";
+    }
+
+    @Override
+    public boolean supports(ContentProcessingContext context) {
+        return true;
+    }
+
+    @Override
+    public void process(ContentProcessingContext context) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(context.getFile())) {
+            head = in.readNBytes(SNIFF_LENGTH);
+        }
+
+        String declared = context.getContent().getFileType();
+        String detected = detect(head, declared);
+        context.setDetectedFileType(detected);
+
+        if (declared != null && !declared.equalsIgnoreCase(detected)) {
+            log.warn("Content {} declared as {} but detected as {}",
+                    context.getContent().getContentId(), declared, detected);
+        }
+    }
+
+    static String detect(byte[] head, String declared) {
+        if (startsWith(head, 0x25, 0x50, 0x44, 0x46)) return "application/pdf";
+        if (startsWith(head, 0x89, 0x50, 0x4E, 0x47)) return "image/png";
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(head, 0x47, 0x49, 0x46, 0x38)) return "image/gif";
+        if (startsWith(head, 0x50, 0x4B, 0x03, 0x04)) {
+            // Office Open XML documents are zip containers; keep the declared subtype when it is one
+            return declared != null && declared.startsWith("application/vnd.openxmlformats")
+                    ? declared : "application/zip";
+        }
+        if (startsWith(head, 0xD0, 0xCF, 0x11, 0xE0)) {
+            return declared != null && declared.startsWith("application/") ? declared : "application/x-ole-storage";
+        }
+        if (looksLikeText(head)) return "text/plain";
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] head, int... signature) {
+        if (head.length < signature.length) return false;
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[i] & 0xFF) != signature[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean looksLikeText(byte[] head) {
+        if (head.length == 0) return false;
+        for (byte value : head) {
+            int b = value & 0xFF;
+            // Control characters other than tab, newline, form feed, carriage return and escape mean binary
+            if (b < 0x09 || (b > 0x0D && b < 0x20 && b != 0x1B)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.scholarspace.courseservice.services.processing;
+
+import com.scholarspace.courseservice.config.ContentProcessingProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Extracts searchable text and the page count from PDFs and plain-text uploads.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class TextExtractionStage implements ContentProcessingStage {
+
+    private final ContentProcessingProperties properties;
+
+    @Override
+    public String getName() {
+        return "text-extraction";
+    }
+
+    @Override
+    public boolean supports(ContentProcessingContext context) {
+        return context.isPdf() || context.isText();
+    }
+
+    @Override
+    public void process(ContentProcessingContext context) throws IOException {
+        if (context.isPdf()) {
+            try (PDDocument document = Loader.loadPDF(context.getFile().toFile())) {
+                context.setPageCount(document.getNumberOfPages());
+                context.setExtractedText(truncate(new PDFTextStripper().getText(document)));
+            }
+        } else {
+            char[] buffer = new char[properties.getMaxExtractedChars()];
+            int read = 0;
+            try (Reader reader = Files.newBufferedReader(context.getFile(), StandardCharsets.UTF_8)) {
+                int n;
+                while (read < buffer.length && (n = reader.read(buffer, read, buffer.length - read)) != -1) {
+                    read += n;
+                }
+            }
+            context.setExtractedText(new String(buffer, 0, read));
+        }
+    }
+
+    private String truncate(String text) {
+        if (text == null) return null;
+        int max = properties.getMaxExtractedChars();
+        return text.length() > max ? text.substring(0, max) : text;
+    }
+}
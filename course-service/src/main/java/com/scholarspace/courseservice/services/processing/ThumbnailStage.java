@@ -0,0 +1,76 @@
+package com.scholarspace.courseservice.services.processing;
+
+import com.scholarspace.courseservice.config.ContentProcessingProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes a PNG preview next to the uploaded file for images and the first page of PDFs.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class ThumbnailStage implements ContentProcessingStage {
+
+    private static final float PDF_RENDER_DPI = 48f;
+
+    private final ContentProcessingProperties properties;
+
+    @Override
+    public String getName() {
+        return "thumbnail";
+    }
+
+    @Override
+    public boolean supports(ContentProcessingContext context) {
+        return context.isImage() || context.isPdf();
+    }
+
+    @Override
+    public void process(ContentProcessingContext context) throws IOException {
+        BufferedImage source;
+        if (context.isPdf()) {
+            try (PDDocument document = Loader.loadPDF(context.getFile().toFile())) {
+                if (document.getNumberOfPages() == 0) return;
+                source = new PDFRenderer(document).renderImageWithDPI(0, PDF_RENDER_DPI);
+            }
+        } else {
+            source = ImageIO.read(context.getFile().toFile());
+            if (source == null) {
+                throw new IOException("Unsupported image format: " + context.getEffectiveFileType());
+            }
+        }
+
+        Path target = context.getFile().resolveSibling(context.getFile().getFileName() + ".thumb.png");
+        ImageIO.write(scale(source), "png", target.toFile());
+        context.setThumbnailPath(target.toString());
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        int max = properties.getThumbnailSize();
+        double ratio = Math.min(1.0, (double) max / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+}
@@ -0,0 +1,185 @@
+package com.scholarspace.courseservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.proto.DepartmentRef;
+import com.scholarspace.courseservice.proto.UserRef;
+import com.scholarspace.courseservice.proto.UserRole;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufTransportTests {
+
+	private static final UserRef USER = UserRef.newBuilder()
+			.setUserId(1042)
+			.setName("Jane Student")
+			.setEmail("jane.student@scholarspace.edu")
+			.setRole(UserRole.STUDENT)
+			.setActive(true)
+			.setDepartmentId(12)
+			.build();
+
+	private static final DepartmentRef DEPARTMENT = DepartmentRef.newBuilder()
+			.setDepartmentId(12)
+			.setName("Computer Science")
+			.setCode("CS")
+			.setInstitutionId(3)
+			.build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicReference<String> lastAccept = new AtomicReference<>();
+
+	private HttpServer server;
+	private CloseableHttpClient httpClient;
+	private RestTemplate restTemplate;
+	private String url;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/api/users/1042", exchange -> {
+			String accept = exchange.getRequestHeaders().getFirst("Accept");
+			lastAccept.set(accept);
+			boolean protobuf = ProtobufConfig.acceptsProtobuf(accept);
+			byte[] body = protobuf ? USER.toByteArray() : objectMapper.writeValueAsBytes(userJson());
+			exchange.getResponseHeaders().add("Content-Type", protobuf ? "application/x-protobuf" : "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+		url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/users/1042";
+
+		HttpClientProperties properties = new HttpClientProperties();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RestTemplateConfig config = new RestTemplateConfig();
+		httpClient = config.httpClient(config.httpClientConnectionManager(properties, meterRegistry), properties);
+		restTemplate = config.restTemplate(httpClient, properties, meterRegistry, ObservationRegistry.NOOP);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		httpClient.close();
+		server.stop(0);
+	}
+
+	@Test
+	void typedReadsNegotiateProtobufAndMapReadsStayJson() {
+		UserRef user = restTemplate.getForObject(url, UserRef.class);
+		assertTrue(lastAccept.get().contains("application/x-protobuf"), lastAccept.get());
+		assertEquals(USER, user);
+		assertEquals(12, user.getDepartmentId());
+
+		Map<?, ?> json = restTemplate.getForObject(url, Map.class);
+		assertFalse(ProtobufConfig.acceptsProtobuf(lastAccept.get()), lastAccept.get());
+		assertEquals("STUDENT", json.get("role"));
+
+		// Browsers and other external clients never get binary by accident
+		assertFalse(ProtobufConfig.acceptsProtobuf("*/*"));
+		assertFalse(ProtobufConfig.acceptsProtobuf("application/*"));
+		assertFalse(ProtobufConfig.acceptsProtobuf("application/x-protobuf;q=0"));
+		assertFalse(ProtobufConfig.acceptsProtobuf("not a media type"));
+		assertTrue(ProtobufConfig.acceptsProtobuf("application/json;q=0.5, application/x-protobuf"));
+	}
+
+	/**
+	 * Compares the JSON the callers used to parse into a {@code Map} with the generated messages
+	 * that replace it: the binary form must be well under half the size and decode to the same value.
+	 */
+	@Test
+	void protobufPayloadsAreSmallerAndRoundTrip() throws Exception {
+		byte[] userJson = objectMapper.writeValueAsBytes(userJson());
+		byte[] departmentJson = objectMapper.writeValueAsBytes(departmentJson());
+		byte[] userProto = USER.toByteArray();
+		byte[] departmentProto = DEPARTMENT.toByteArray();
+
+		assertTrue(userProto.length * 2 < userJson.length, userProto.length + " vs " + userJson.length);
+		assertTrue(departmentProto.length * 2 < departmentJson.length, departmentProto.length + " vs " + departmentJson.length);
+		assertEquals(USER, UserRef.parseFrom(userProto));
+		assertEquals(DEPARTMENT, DepartmentRef.parseFrom(departmentProto));
+		assertEquals(12, ((Number) objectMapper.readValue(userJson, Map.class).get("departmentId")).longValue());
+	}
+
+	/**
+	 * Times a fixed number of encode/decode round trips each way after a warm-up pass. Protobuf is
+	 * typically several times faster; the assertion only catches it becoming slower than JSON, so
+	 * a noisy machine does not fail the build.
+	 */
+	@Test
+	void protobufRoundTripIsNotSlowerThanJson() throws Exception {
+		int iterations = 20_000;
+		long sink = 0;
+		long jsonNs = 0;
+		long protoNs = 0;
+		for (int round = 0; round < 2; round++) {
+			// The first round only warms up the JIT
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				byte[] bytes = objectMapper.writeValueAsBytes(userJson());
+				sink += ((Number) objectMapper.readValue(bytes, Map.class).get("departmentId")).longValue();
+			}
+			jsonNs = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				byte[] bytes = USER.toBuilder().build().toByteArray();
+				sink += UserRef.parseFrom(bytes).getDepartmentId();
+			}
+			protoNs = System.nanoTime() - start;
+		}
+
+		assertEquals(4L * iterations * 12, sink);
+		assertTrue(protoNs <= jsonNs, "protobuf " + protoNs / iterations + " ns/op vs json " + jsonNs / iterations + " ns/op");
+	}
+
+	// The shape user-service returns for GET /api/users/{id}
+	private static Map<String, Object> userJson() {
+		Map<String, Object> user = new LinkedHashMap<>();
+		user.put("userId", 1042);
+		user.put("name", "Jane Student");
+		user.put("email", "jane.student@scholarspace.edu");
+		user.put("role", "STUDENT");
+		user.put("phone", null);
+		user.put("dateOfBirth", null);
+		user.put("address", null);
+		user.put("emergencyContact", null);
+		user.put("createdAt", "2026-09-01T08:15:30.123456");
+		user.put("lastLogin", "2026-10-17T19:02:11.654321");
+		user.put("isFirstLogin", false);
+		user.put("departmentId", 12);
+		user.put("isActive", true);
+		return user;
+	}
+
+	// The shape institution-service returns for GET /api/departments/{id}
+	private static Map<String, Object> departmentJson() {
+		Map<String, Object> institution = new LinkedHashMap<>();
+		institution.put("institutionId", 3);
+		institution.put("name", "ScholarSpace University");
+		institution.put("location", "Cambridge, MA");
+		institution.put("createdAt", "2024-01-15T10:30:00");
+		Map<String, Object> department = new LinkedHashMap<>();
+		department.put("departmentId", 12);
+		department.put("name", "Computer Science");
+		department.put("code", "CS");
+		department.put("description", "Department of Computer Science and Engineering");
+		department.put("headOfDepartment", null);
+		department.put("email", "cs@scholarspace.edu");
+		department.put("officeLocation", "Building 4");
+		department.put("institution", institution);
+		department.put("createdAt", "2024-01-15T10:30:00");
+		return department;
+	}
+}
@@ -0,0 +1,246 @@
+package com.scholarspace.courseservice.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientRestTemplateTests {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private volatile int failFirst;
+	private volatile int status = 503;
+	private volatile long delayMs;
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private CloseableHttpClient httpClient;
+	private SimpleMeterRegistry meterRegistry;
+	private HttpClientProperties properties;
+	private RestTemplate restTemplate;
+	private String url;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/ping", exchange -> {
+			int call = calls.incrementAndGet();
+			try {
+				Thread.sleep(delayMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(call <= failFirst ? status : 200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		serverExecutor = Executors.newFixedThreadPool(4);
+		server.setExecutor(serverExecutor);
+		server.start();
+		url = "http://127.0.0.1:" + server.getAddress().getPort() + "/ping";
+
+		properties = new HttpClientProperties();
+		properties.setRetryBackoffMs(5);
+		meterRegistry = new SimpleMeterRegistry();
+		RestTemplateConfig config = new RestTemplateConfig();
+		httpClient = config.httpClient(config.httpClientConnectionManager(properties, meterRegistry), properties);
+		restTemplate = config.restTemplate(httpClient, properties, meterRegistry, ObservationRegistry.NOOP);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		httpClient.close();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void retriesUnavailableGetsWithinTheBudget() {
+		failFirst = 2;
+		assertEquals("{\"ok\":true}", restTemplate.getForObject(url, String.class));
+		assertEquals(3, calls.get());
+		assertEquals(2.0, meterRegistry.get("http.client.target.retries").tag("target", "127.0.0.1").counter().count());
+		assertEquals(1, meterRegistry.get("http.client.target.requests").tag("outcome", "SUCCESS").timer().count());
+
+		// Writes are never retried, and a plain 500 is not retried either
+		calls.set(0);
+		failFirst = 1;
+		assertThrows(HttpServerErrorException.class, () -> restTemplate.postForObject(url, "{}", String.class));
+		assertEquals(1, calls.get());
+		calls.set(0);
+		status = 500;
+		assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(url, String.class));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void perTargetDeadlineCutsSlowCalls() {
+		HttpClientProperties.Target slow = new HttpClientProperties.Target();
+		slow.setReadTimeoutMs(100L);
+		slow.setDeadlineMs(250L);
+		properties.getTargets().put("127.0.0.1", slow);
+		delayMs = 1000;
+
+		long start = System.nanoTime();
+		assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class));
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(elapsedMs < 900, "took " + elapsedMs + " ms");
+		// Timed-out GETs are retried while the deadline allows
+		assertTrue(meterRegistry.get("http.client.target.retries").counter().count() >= 1);
+	}
+
+	@Test
+	void breakerOpensFailsFastAndRecoversThroughOneProbe() throws Exception {
+		properties.setGetRetries(0);
+		properties.setBreakerWindow(4);
+		properties.setBreakerMinimumCalls(4);
+		properties.setBreakerOpenMs(200);
+		failFirst = 4;
+		for (int i = 0; i < 4; i++) {
+			assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(url, String.class));
+		}
+
+		assertThrows(ResilientRestTemplate.CircuitOpenException.class, () -> restTemplate.getForObject(url, String.class));
+		assertEquals(4, calls.get());
+		assertEquals(1.0, meterRegistry.get("http.client.target.breaker.state").gauge().value());
+
+		Thread.sleep(250);
+		assertEquals("{\"ok\":true}", restTemplate.getForObject(url, String.class));
+		assertEquals(0.0, meterRegistry.get("http.client.target.breaker.state").gauge().value());
+	}
+
+	@Test
+	void exhaustedDeadlineNeitherCallsNorClosesTheBreaker() throws Exception {
+		properties.setGetRetries(0);
+		properties.setBreakerWindow(2);
+		properties.setBreakerMinimumCalls(2);
+		properties.setBreakerOpenMs(100);
+		failFirst = 2;
+		for (int i = 0; i < 2; i++) {
+			assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(url, String.class));
+		}
+		assertEquals(1.0, meterRegistry.get("http.client.target.breaker.state").gauge().value());
+		Thread.sleep(150);
+
+		// No time left: fails locally, and the half-open probe is still there for a real call
+		HttpClientProperties.Target noTime = new HttpClientProperties.Target();
+		noTime.setDeadlineMs(0L);
+		properties.getTargets().put("127.0.0.1", noTime);
+		assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class));
+		assertEquals(2, calls.get());
+		assertEquals(1, meterRegistry.get("http.client.target.requests").tag("outcome", "DEADLINE").timer().count());
+		assertEquals(1.0, meterRegistry.get("http.client.target.breaker.state").gauge().value());
+
+		properties.getTargets().clear();
+		assertEquals("{\"ok\":true}", restTemplate.getForObject(url, String.class));
+		assertEquals(0.0, meterRegistry.get("http.client.target.breaker.state").gauge().value());
+	}
+
+	@Test
+	void noInstanceToCallCountsAsAFailure() {
+		properties.setBreakerWindow(3);
+		properties.setBreakerMinimumCalls(3);
+		// Stands in for the load-balancer interceptor finding nothing registered for the service
+		restTemplate.getInterceptors().add((request, body, execution) -> {
+			throw new IllegalStateException("No instances available for " + request.getURI().getHost());
+		});
+
+		for (int i = 0; i < 3; i++) {
+			assertThrows(IllegalStateException.class, () -> restTemplate.getForObject(url, String.class));
+		}
+		assertThrows(ResilientRestTemplate.CircuitOpenException.class, () -> restTemplate.getForObject(url, String.class));
+		assertEquals(0, calls.get());
+		assertEquals(3, meterRegistry.get("http.client.target.requests").tag("outcome", "UNAVAILABLE").timer().count());
+	}
+
+	@Test
+	void onlyTheProbeDecidesAHalfOpenBreaker() throws Exception {
+		TargetCircuitBreaker breaker = new TargetCircuitBreaker(2, 2, 50, 50);
+		TargetCircuitBreaker.Permit slow = breaker.tryAcquire();
+		breaker.record(breaker.tryAcquire(), false);
+		breaker.record(breaker.tryAcquire(), false);
+		assertEquals(TargetCircuitBreaker.State.OPEN, breaker.state());
+		Thread.sleep(80);
+
+		TargetCircuitBreaker.Permit probe = breaker.tryAcquire();
+		assertEquals(TargetCircuitBreaker.Permit.PROBE, probe);
+		assertEquals(TargetCircuitBreaker.Permit.REJECTED, breaker.tryAcquire());
+
+		// A call let in while the breaker was closed finishes now and must not close it
+		breaker.record(slow, true);
+		assertEquals(TargetCircuitBreaker.State.HALF_OPEN, breaker.state());
+
+		breaker.record(probe, false);
+		assertEquals(TargetCircuitBreaker.State.OPEN, breaker.state());
+	}
+
+	@Test
+	void identicalConcurrentGetsShareOneCall() throws Exception {
+		delayMs = 300;
+		int callers = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(callers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Map<?, ?>>> results = new ArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return restTemplate.getForObject(url, Map.class);
+			}));
+		}
+		start.countDown();
+		List<Map<?, ?>> bodies = new ArrayList<>();
+		for (Future<Map<?, ?>> result : results) {
+			bodies.add(result.get(5, TimeUnit.SECONDS));
+		}
+		pool.shutdown();
+
+		assertEquals(1, calls.get());
+		assertEquals(callers - 1.0, meterRegistry.get("http.client.target.coalesced").tag("source", "in_flight").counter().count());
+		// Every caller decoded its own copy of the shared response
+		assertEquals(Map.of("ok", true), bodies.get(0));
+		assertNotSame(bodies.get(0), bodies.get(1));
+
+		// Once the call is over, the next GET goes out again
+		delayMs = 0;
+		restTemplate.getForObject(url, Map.class);
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void notFoundIsRememberedUntilAWrite() {
+		status = 404;
+		failFirst = 100;
+		assertThrows(HttpClientErrorException.NotFound.class, () -> restTemplate.getForObject(url, Map.class));
+		assertThrows(HttpClientErrorException.NotFound.class, () -> restTemplate.getForObject(url, Map.class));
+		assertEquals(1, calls.get());
+		assertEquals(1.0, meterRegistry.get("http.client.target.coalesced").tag("source", "not_found_cache").counter().count());
+
+		assertThrows(HttpClientErrorException.NotFound.class, () -> restTemplate.postForObject(url, "{}", String.class));
+		failFirst = 0;
+		assertEquals(Map.of("ok", true), restTemplate.getForObject(url, Map.class));
+		assertEquals(3, calls.get());
+	}
+}
@@ -0,0 +1,97 @@
+package com.scholarspace.courseservice.config;
+
+import com.scholarspace.courseservice.controllers.CourseController;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.security.CourseAccess;
+import com.scholarspace.courseservice.security.JwtFilter;
+import com.scholarspace.courseservice.services.CourseService;
+import com.scholarspace.courseservice.services.CourseStatsService;
+import com.scholarspace.courseservice.services.JwtService;
+import com.scholarspace.courseservice.services.PrerequisiteGraphService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The institution stats endpoints are called by institution-service on behalf of an admin. This
+ * runs them through the real filter chain to check the forwarded token is what lets them through.
+ */
+@WebMvcTest(controllers = CourseController.class, properties = {
+		"spring.cloud.config.enabled=false",
+		"app.jwt.secret=" + StatsSecurityChainTests.SECRET
+})
+@Import({SecurityConfig.class, JwtFilter.class, JwtService.class, JwtProperties.class})
+class StatsSecurityChainTests {
+
+	static final String SECRET = "test_secret_key_that_is_at_least_32_characters_long";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private CourseRepository courseRepository;
+
+	@MockitoBean
+	private CourseService courseService;
+
+	@MockitoBean
+	private PrerequisiteGraphService prerequisiteGraphService;
+
+	@MockitoBean
+	private CourseStatsService courseStatsService;
+
+	@MockitoBean
+	private CourseAccess courseAccess;
+
+	@Test
+	void departmentStatsNeedTheForwardedToken() throws Exception {
+		String url = "/api/courses/institution/1/departments/stats?departmentIds=10,11";
+
+		mockMvc.perform(get(url)).andExpect(status().isForbidden());
+		mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void institutionStatsNeedTheForwardedToken() throws Exception {
+		String url = "/api/courses/institution/1/stats?departmentIds=10,11";
+
+		mockMvc.perform(get(url)).andExpect(status().isForbidden());
+		mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void slowTracesAreAdminOnly() throws Exception {
+		String url = "/actuator/slowtraces/abc123";
+
+		mockMvc.perform(get(url)).andExpect(status().isForbidden());
+		mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token("STUDENT")))
+				.andExpect(status().isForbidden());
+		// Past the filter chain; the endpoint itself is not part of this slice
+		mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN")))
+				.andExpect(status().isNotFound());
+	}
+
+	private static String token(String role) {
+		return Jwts.builder()
+				.setSubject("admin@example.com")
+				.claim("role", role)
+				.claim("userId", 1L)
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+}
@@ -0,0 +1,189 @@
+package com.scholarspace.courseservice.repositories;
+
+import com.scholarspace.courseservice.dto.CourseContentSummary;
+import com.scholarspace.courseservice.dto.CourseInstructorSummary;
+import com.scholarspace.courseservice.dto.EnrollmentSummary;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.CourseInstructor;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.models.InstructorRole;
+import com.scholarspace.courseservice.models.Submission;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the listing endpoints against N+1 selects: each listing must be served by exactly one
+ * statement no matter how many distinct courses or assignments the rows point at.
+ */
+@DataJpaTest(properties = {
+		"spring.cloud.config.enabled=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ListingQueryStatementCountTests {
+
+	private static final int COURSES = 5;
+	private static final long STUDENT = 100L;
+	private static final long INSTRUCTOR = 200L;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private SubmissionRepository submissionRepository;
+
+	@Autowired
+	private CourseContentRepository courseContentRepository;
+
+	@Autowired
+	private CourseInstructorRepository courseInstructorRepository;
+
+	private Statistics statistics;
+	private Course firstCourse;
+	private CourseContent firstAssignment;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < COURSES; i++) {
+			Course course = entityManager.persist(new Course("CS10" + i, "Course " + i, null, 3, "Fall", "2026", 1L));
+			CourseContent assignment = entityManager.persist(new CourseContent(course, "Assignment " + i, null,
+					ContentType.ASSIGNMENT, null, null, INSTRUCTOR));
+			entityManager.persist(new CourseContent(course, "Notes " + i, null, ContentType.LECTURE, null, null, INSTRUCTOR));
+
+			Enrollment enrollment = new Enrollment(course, STUDENT);
+			enrollment.setStatus(EnrollmentStatus.ACTIVE);
+			entityManager.persist(enrollment);
+			entityManager.persist(new Enrollment(course, STUDENT + 1));
+
+			entityManager.persist(new Submission(assignment, STUDENT, null));
+			entityManager.persist(new Submission(assignment, STUDENT + 1, null));
+			entityManager.persist(new CourseInstructor(course, INSTRUCTOR, InstructorRole.PRIMARY));
+
+			if (i == 0) {
+				firstCourse = course;
+				firstAssignment = assignment;
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private <T> List<T> countingStatements(int expected, Supplier<List<T>> query) {
+		statistics.clear();
+		List<T> result = query.get();
+		assertEquals(expected, statistics.getPrepareStatementCount(), "prepared statements");
+		return result;
+	}
+
+	@Test
+	void enrollmentListingsUseSingleStatement() {
+		List<EnrollmentSummary> byStudent = countingStatements(1, () -> enrollmentRepository.findSummariesByStudentId(STUDENT));
+		assertEquals(COURSES, byStudent.size());
+		assertTrue(byStudent.stream().allMatch(e -> e.course().code().startsWith("CS10")));
+
+		assertEquals(COURSES, countingStatements(1,
+				() -> enrollmentRepository.findSummariesByStudentIdAndStatus(STUDENT, EnrollmentStatus.ACTIVE)).size());
+		assertEquals(2, countingStatements(1,
+				() -> enrollmentRepository.findSummariesByCourseId(firstCourse.getId())).size());
+		assertEquals(1, countingStatements(1,
+				() -> enrollmentRepository.findSummariesByCourseIdAndStatus(firstCourse.getId(), EnrollmentStatus.ACTIVE)).size());
+		assertEquals(COURSES, countingStatements(1,
+				() -> enrollmentRepository.findSummariesByStatus(EnrollmentStatus.PENDING)).size());
+	}
+
+	@Test
+	void entityFinderIssuesSelectPerCourse() {
+		// The eager @ManyToOne on Enrollment.course is why the listings moved to projections
+		statistics.clear();
+		enrollmentRepository.findByStudentId(STUDENT);
+		assertEquals(1 + COURSES, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void submissionListingsUseSingleStatement() {
+		List<SubmissionSummary> byStudent = countingStatements(1, () -> submissionRepository.findSummariesByStudentId(STUDENT));
+		assertEquals(COURSES, byStudent.size());
+		assertTrue(byStudent.stream().allMatch(s -> s.assignment().courseId() != null));
+
+		assertEquals(2, countingStatements(1,
+				() -> submissionRepository.findSummariesByContentId(firstAssignment.getContentId())).size());
+		assertEquals(2, countingStatements(1,
+				() -> submissionRepository.findSummariesByCourseId(firstCourse.getId())).size());
+		assertEquals(2 * COURSES, countingStatements(1, submissionRepository::findUngradedSummaries).size());
+	}
+
+	@Test
+	void contentListingsUseSingleStatement() {
+		List<CourseContentSummary> contents = countingStatements(1,
+				() -> courseContentRepository.findSummariesByCourseId(firstCourse.getId()));
+		assertEquals(2, contents.size());
+		assertEquals(firstCourse.getId(), contents.get(0).courseId());
+
+		assertEquals(1, countingStatements(1,
+				() -> courseContentRepository.findSummariesByCourseIdAndContentType(firstCourse.getId(), ContentType.ASSIGNMENT)).size());
+	}
+
+	@Test
+	void listingsSerialiseTheCourseFieldsTheEntityDid() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		Course course = entityManager.find(Course.class, firstCourse.getId());
+		Set<String> entityFields = fieldNames(objectMapper.valueToTree(course));
+		entityFields.remove("prerequisites");
+
+		JsonNode enrollment = objectMapper.valueToTree(enrollmentRepository.findSummariesByCourseId(course.getId()).get(0));
+		assertEquals(entityFields, fieldNames(enrollment.get("course")));
+		assertTrue(enrollment.get("course").get("isActive").asBoolean());
+		assertEquals(1L, enrollment.get("course").get("departmentId").asLong());
+		assertEquals(course.getId(), enrollment.get("course").get("courseId").asLong());
+
+		JsonNode content = objectMapper.valueToTree(courseContentRepository.findSummariesByCourseId(course.getId()).get(0));
+		assertEquals(entityFields, fieldNames(content.get("course")));
+		assertEquals("CS100", content.get("course").get("code").asText());
+
+		JsonNode instructor = objectMapper.valueToTree(courseInstructorRepository.findSummariesByCourseId(course.getId()).get(0));
+		assertEquals(entityFields, fieldNames(instructor.get("course")));
+	}
+
+	@Test
+	void instructorListingsUseSingleStatement() {
+		List<CourseInstructorSummary> courses = countingStatements(1,
+				() -> courseInstructorRepository.findSummariesByInstructorId(INSTRUCTOR));
+		assertEquals(COURSES, courses.size());
+		assertEquals("CS100", courses.get(0).course().code());
+
+		assertEquals(1, countingStatements(1,
+				() -> courseInstructorRepository.findSummariesByCourseId(firstCourse.getId())).size());
+	}
+
+	private static Set<String> fieldNames(JsonNode node) {
+		Set<String> names = new TreeSet<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
@@ -0,0 +1,96 @@
+package com.scholarspace.courseservice.security;
+
+import com.scholarspace.courseservice.controllers.CourseController;
+import com.scholarspace.courseservice.controllers.GradebookController;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.services.CourseService;
+import com.scholarspace.courseservice.services.CourseStatsService;
+import com.scholarspace.courseservice.services.GradebookService;
+import com.scholarspace.courseservice.services.InstructorAssignmentService;
+import com.scholarspace.courseservice.services.PrerequisiteGraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseAccessTests {
+
+	private static final long COURSE = 1L;
+	private static final long STUDENT = 10L;
+	private static final long ASSIGNED_INSTRUCTOR = 7L;
+	private static final long OTHER_INSTRUCTOR = 8L;
+
+	private final GradebookController controller;
+	private final CourseController courseController;
+
+	CourseAccessTests() {
+		InstructorAssignmentService assignments = mock(InstructorAssignmentService.class);
+		when(assignments.isInstructorAssignedToCourse(ASSIGNED_INSTRUCTOR, COURSE)).thenReturn(true);
+		CourseAccess courseAccess = new CourseAccess(assignments);
+		controller = new GradebookController(mock(GradebookService.class), courseAccess);
+		courseController = new CourseController(mock(CourseRepository.class), mock(CourseService.class),
+				mock(PrerequisiteGraphService.class), mock(CourseStatsService.class), courseAccess);
+	}
+
+	@Test
+	void studentReadsOnlyTheirOwnGradebookRow() {
+		assertEquals(HttpStatus.OK, studentRow(user(STUDENT, "STUDENT"), STUDENT));
+		assertEquals(HttpStatus.FORBIDDEN, studentRow(user(STUDENT, "STUDENT"), STUDENT + 1));
+		assertEquals(HttpStatus.FORBIDDEN, controller.getGradebook(COURSE, user(STUDENT, "STUDENT")).getStatusCode());
+	}
+
+	@Test
+	void onlyInstructorsOfTheCourseAndAdminsReadOtherRows() {
+		assertEquals(HttpStatus.OK, studentRow(user(ASSIGNED_INSTRUCTOR, "INSTRUCTOR"), STUDENT));
+		assertEquals(HttpStatus.FORBIDDEN, studentRow(user(OTHER_INSTRUCTOR, "INSTRUCTOR"), STUDENT));
+		assertEquals(HttpStatus.OK, studentRow(user(99L, "ADMIN"), STUDENT));
+		assertEquals(HttpStatus.FORBIDDEN, controller.getGradebook(COURSE, user(OTHER_INSTRUCTOR, "INSTRUCTOR")).getStatusCode());
+	}
+
+	@Test
+	void studentChecksOnlyTheirOwnEligibility() {
+		Authentication student = user(STUDENT, "STUDENT");
+		assertEquals(HttpStatus.OK, HttpStatus.valueOf(courseController
+				.checkStudentEligibility(STUDENT, List.of(COURSE), student).getStatusCode().value()));
+		assertEquals(HttpStatus.FORBIDDEN, HttpStatus.valueOf(courseController
+				.checkStudentEligibility(STUDENT + 1, List.of(COURSE), student).getStatusCode().value()));
+
+		assertEquals(HttpStatus.OK, courseEligibility(student, List.of(STUDENT)));
+		assertEquals(HttpStatus.FORBIDDEN, courseEligibility(student, List.of(STUDENT, STUDENT + 1)));
+		assertEquals(HttpStatus.OK, courseEligibility(user(ASSIGNED_INSTRUCTOR, "INSTRUCTOR"), List.of(STUDENT, STUDENT + 1)));
+		assertEquals(HttpStatus.FORBIDDEN, courseEligibility(user(OTHER_INSTRUCTOR, "INSTRUCTOR"), List.of(STUDENT)));
+	}
+
+	@Test
+	void tokenWithoutUserIdIsNobody() {
+		UsernamePasswordAuthenticationToken anonymous = new UsernamePasswordAuthenticationToken("student", null,
+				List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+		assertNull(CurrentUser.id(anonymous));
+		assertEquals(HttpStatus.FORBIDDEN, studentRow(anonymous, STUDENT));
+		assertThrows(IllegalStateException.class, () -> CurrentUser.requireId(anonymous));
+	}
+
+	private HttpStatus studentRow(Authentication authentication, long studentId) {
+		return HttpStatus.valueOf(controller.getStudentGrades(COURSE, studentId, authentication).getStatusCode().value());
+	}
+
+	private HttpStatus courseEligibility(Authentication authentication, List<Number> studentIds) {
+		return HttpStatus.valueOf(courseController
+				.checkEligibility(COURSE, Map.of("studentIds", studentIds), authentication).getStatusCode().value());
+	}
+
+	private static Authentication user(long userId, String role) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+				"user" + userId, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+		authentication.setDetails(userId);
+		return authentication;
+	}
+}
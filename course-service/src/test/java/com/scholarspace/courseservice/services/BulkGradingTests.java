@@ -0,0 +1,167 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.GradeResult;
+import com.scholarspace.courseservice.dto.GradeUpdate;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.Submission;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class BulkGradingTests {
+
+	private static final long INSTRUCTOR = 7L;
+	private static final long CO_INSTRUCTOR = 8L;
+	private static final long UNASSIGNED_INSTRUCTOR = 9L;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SubmissionRepository submissionRepository;
+
+	@Autowired
+	private CourseContentRepository courseContentRepository;
+
+	private SubmissionService submissionService;
+	private Submission first;
+	private Submission second;
+
+	@BeforeEach
+	void setUp() {
+		InstructorAssignmentService assignments = mock(InstructorAssignmentService.class);
+		when(assignments.isInstructorAssignedToCourse(eq(INSTRUCTOR), anyLong())).thenReturn(true);
+		when(assignments.isInstructorAssignedToCourse(eq(CO_INSTRUCTOR), anyLong())).thenReturn(true);
+		submissionService = new SubmissionService(submissionRepository, courseContentRepository, null,
+				mock(GradebookService.class), mock(UngradedQueueService.class), assignments);
+
+		Course course = entityManager.persist(new Course("MA101", "Algebra", null, 3, "Fall", "2026", 1L));
+		CourseContent assignment = entityManager.persist(new CourseContent(course, "Homework 1", null,
+				ContentType.ASSIGNMENT, null, null, INSTRUCTOR));
+		first = entityManager.persist(new Submission(assignment, 1L, null));
+		second = entityManager.persist(new Submission(assignment, 2L, null));
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void appliesGradesAndBumpsVersions() {
+		List<GradeResult> results = submissionService.gradeSubmissions(List.of(
+				new GradeUpdate(first.getSubmissionId(), 85.0, "Good", 0L),
+				new GradeUpdate(second.getSubmissionId(), 70.0, null, null)
+		), INSTRUCTOR);
+
+		assertTrue(results.stream().allMatch(r -> r.outcome() == GradeResult.Outcome.UPDATED));
+		assertEquals(1L, results.get(0).version());
+
+		entityManager.clear();
+		Submission graded = submissionRepository.findById(first.getSubmissionId()).orElseThrow();
+		assertEquals(85.0, graded.getGrade());
+		assertEquals("Good", graded.getFeedback());
+		assertEquals(INSTRUCTOR, graded.getGradedBy());
+		assertEquals(1L, graded.getVersion());
+	}
+
+	@Test
+	void reportsStaleVersionsPerRow() {
+		submissionService.gradeSubmissions(List.of(new GradeUpdate(first.getSubmissionId(), 50.0, null, 0L)), CO_INSTRUCTOR);
+
+		List<GradeResult> results = submissionService.gradeSubmissions(List.of(
+				new GradeUpdate(first.getSubmissionId(), 90.0, "Overwrite", 0L),
+				new GradeUpdate(second.getSubmissionId(), 60.0, null, 0L)
+		), INSTRUCTOR);
+
+		assertEquals(GradeResult.Outcome.CONFLICT, results.get(0).outcome());
+		assertEquals(1L, results.get(0).version());
+		assertEquals(GradeResult.Outcome.UPDATED, results.get(1).outcome());
+
+		entityManager.clear();
+		assertEquals(50.0, submissionRepository.findById(first.getSubmissionId()).orElseThrow().getGrade());
+	}
+
+	@Test
+	void reportsMissingInvalidAndDuplicateRows() {
+		List<GradeResult> results = submissionService.gradeSubmissions(List.of(
+				new GradeUpdate(999L, 80.0, null, null),
+				new GradeUpdate(first.getSubmissionId(), -1.0, null, null),
+				new GradeUpdate(second.getSubmissionId(), 75.0, null, null),
+				new GradeUpdate(second.getSubmissionId(), 76.0, null, null)
+		), INSTRUCTOR);
+
+		assertEquals(GradeResult.Outcome.NOT_FOUND, results.get(0).outcome());
+		assertEquals(GradeResult.Outcome.INVALID, results.get(1).outcome());
+		assertEquals(GradeResult.Outcome.UPDATED, results.get(2).outcome());
+		assertEquals(GradeResult.Outcome.INVALID, results.get(3).outcome());
+	}
+
+	@Test
+	void onlyInstructorsAssignedToTheCourseMayGrade() {
+		List<GradeResult> results = submissionService.gradeSubmissions(List.of(
+				new GradeUpdate(first.getSubmissionId(), 100.0, null, null),
+				new GradeUpdate(999L, 100.0, null, null)
+		), UNASSIGNED_INSTRUCTOR);
+
+		assertEquals(GradeResult.Outcome.FORBIDDEN, results.get(0).outcome());
+		assertEquals(GradeResult.Outcome.NOT_FOUND, results.get(1).outcome());
+		assertThrows(AccessDeniedException.class, () ->
+				submissionService.gradeSubmission(second.getSubmissionId(), 100.0, null, UNASSIGNED_INSTRUCTOR));
+
+		entityManager.clear();
+		assertNull(submissionRepository.findById(first.getSubmissionId()).orElseThrow().getGrade());
+		assertNull(submissionRepository.findById(second.getSubmissionId()).orElseThrow().getGradedBy());
+	}
+
+	@Test
+	void bothPathsRejectGradesOutsideTheAssignmentsRange() {
+		Course course = entityManager.persist(new Course("MA102", "Geometry", null, 3, "Fall", "2026", 1L));
+		CourseContent quiz = new CourseContent(course, "Quiz 1", null, ContentType.ASSIGNMENT, null, null, INSTRUCTOR);
+		quiz.setMaxPoints(20.0);
+		entityManager.persist(quiz);
+		Submission answer = entityManager.persist(new Submission(quiz, 1L, null));
+		entityManager.flush();
+		entityManager.clear();
+
+		List<GradeResult> results = submissionService.gradeSubmissions(List.of(
+				new GradeUpdate(answer.getSubmissionId(), 25.0, null, null),
+				new GradeUpdate(first.getSubmissionId(), Double.NaN, null, null),
+				new GradeUpdate(second.getSubmissionId(), 100.0, null, null)
+		), INSTRUCTOR);
+		assertEquals(GradeResult.Outcome.INVALID, results.get(0).outcome());
+		assertEquals(GradeResult.Outcome.INVALID, results.get(1).outcome());
+		// Without a maximum the gradebook's default of 100 points applies
+		assertEquals(GradeResult.Outcome.UPDATED, results.get(2).outcome());
+
+		for (Double grade : new Double[]{25.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY}) {
+			assertThrows(RuntimeException.class, () ->
+					submissionService.gradeSubmission(answer.getSubmissionId(), grade, null, INSTRUCTOR));
+		}
+		assertEquals(20.0, submissionService.gradeSubmission(answer.getSubmissionId(), 20.0, null, INSTRUCTOR).getGrade());
+	}
+
+	@Test
+	void batchSkipsRowsChangedSinceTheVersionWasRead() {
+		int[] counts = submissionRepository.applyGrades(List.of(
+				new GradeUpdate(first.getSubmissionId(), 40.0, null, 3L),
+				new GradeUpdate(second.getSubmissionId(), 40.0, null, 0L)
+		), INSTRUCTOR, LocalDateTime.now());
+
+		assertArrayEquals(new int[]{0, 1}, counts);
+	}
+}
@@ -0,0 +1,363 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.config.ContentProcessingProperties;
+import com.scholarspace.courseservice.models.ContentProcessingJob;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.ProcessingStatus;
+import com.scholarspace.courseservice.repositories.ContentProcessingJobRepository;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.services.processing.ContentProcessingContext;
+import com.scholarspace.courseservice.services.processing.ContentProcessingStage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the pipeline the way production does, through committed job rows and the poller, with
+ * test stages in place of the real file handling.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentProcessingTests {
+
+	@TempDir
+	Path uploads;
+
+	@Autowired
+	private ContentProcessingJobRepository jobRepository;
+
+	@Autowired
+	private CourseContentRepository courseContentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final SearchIndexService searchIndexService = mock(SearchIndexService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicInteger failuresLeft = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private volatile boolean blocking;
+
+	private ContentProcessingProperties properties;
+	private ContentProcessingService service;
+	private Course course;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ContentProcessingProperties();
+		properties.setWorkers(1);
+		properties.setQueueCapacity(1);
+		properties.setMaxAttempts(2);
+		properties.setInitialBackoffMs(60000);
+		course = courseRepository.save(new Course("CS101", "Programming", null, 3, "Fall", "2026", 1L));
+		service = newService();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		release.countDown();
+		service.stop();
+		jobRepository.deleteAll();
+		courseContentRepository.deleteAll();
+		courseRepository.deleteAll();
+	}
+
+	@Test
+	void uploadQueuesAJobThatThePollerRunsToCompletion() throws Exception {
+		CourseContent content = upload("notes.txt");
+		service.enqueue(new CourseContent(course, "Link only", null, ContentType.RESOURCE, null, null, 1L));
+
+		ContentProcessingJob queued = single(content);
+		assertEquals(ProcessingStatus.PENDING, queued.getStatus());
+		assertEquals(1, jobRepository.count());
+		assertTrue(ran.isEmpty());
+
+		service.poll();
+		ContentProcessingJob done = await(content, ProcessingStatus.COMPLETED);
+
+		assertEquals(1, done.getAttempts());
+		assertNotNull(done.getCompletedAt());
+		assertNull(done.getLastError());
+		assertEquals(List.of("detect", "extract"), ran);
+		CourseContent processed = courseContentRepository.findById(content.getContentId()).orElseThrow();
+		assertEquals("text/plain", processed.getDetectedFileType());
+		assertEquals("text of notes.txt", processed.getExtractedText());
+		verify(searchIndexService).indexContent(any(CourseContent.class));
+		assertEquals(1.0, meterRegistry.counter("content.processing.jobs", "outcome", "completed").count());
+	}
+
+	@Test
+	void failingStageIsRetriedAfterBackoffThenMarkedFailed() throws Exception {
+		failuresLeft.set(2);
+		CourseContent content = upload("notes.txt");
+
+		service.poll();
+		ContentProcessingJob retrying = await(content, job -> job.getAttempts() == 1);
+		assertEquals(ProcessingStatus.PENDING, retrying.getStatus());
+		assertEquals("extract", retrying.getLastStage());
+		assertEquals("IllegalStateException: extractor crashed", retrying.getLastError());
+		assertTrue(retrying.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+
+		// Not due yet, so the next poll leaves it alone
+		service.poll();
+		Thread.sleep(100);
+		assertEquals(1, single(content).getAttempts());
+
+		makeDue(retrying);
+		service.poll();
+		ContentProcessingJob failed = await(content, ProcessingStatus.FAILED);
+		assertEquals(2, failed.getAttempts());
+		assertEquals("extract", failed.getLastStage());
+		assertNull(courseContentRepository.findById(content.getContentId()).orElseThrow().getExtractedText());
+		verify(searchIndexService, never()).indexContent(any(CourseContent.class));
+		assertEquals(1.0, meterRegistry.counter("content.processing.jobs", "outcome", "retried").count());
+		assertEquals(1.0, meterRegistry.counter("content.processing.jobs", "outcome", "failed").count());
+	}
+
+	@Test
+	void transientFailureSucceedsOnRetryAndClearsTheError() throws Exception {
+		failuresLeft.set(1);
+		CourseContent content = upload("notes.txt");
+
+		service.poll();
+		makeDue(await(content, job -> job.getAttempts() == 1));
+		service.poll();
+		ContentProcessingJob done = await(content, ProcessingStatus.COMPLETED);
+
+		assertEquals(2, done.getAttempts());
+		assertNull(done.getLastStage());
+		assertNull(done.getLastError());
+	}
+
+	@Test
+	void missingFileIsRetriedWithoutEnteringAStage() throws Exception {
+		CourseContent content = courseContentRepository.save(new CourseContent(course, "Gone", null,
+				ContentType.LECTURE, uploads.resolve("deleted.pdf").toString(), "application/pdf", 1L));
+		service.enqueue(content);
+
+		service.poll();
+		ContentProcessingJob retrying = await(content, job -> job.getAttempts() == 1);
+		assertNull(retrying.getLastStage());
+		assertTrue(retrying.getLastError().contains("Uploaded file not found"), retrying.getLastError());
+		assertTrue(ran.isEmpty());
+	}
+
+	@Test
+	void pollerNeverClaimsMoreThanTheWorkerQueueHolds() throws Exception {
+		blocking = true;
+		List<CourseContent> contents = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			contents.add(upload("file" + i + ".txt"));
+		}
+
+		// One job goes straight to the idle worker and blocks, the next fills the queue
+		service.poll();
+		await(() -> ran.contains("detect"));
+		service.poll();
+		service.poll();
+		assertEquals(2, jobRepository.countByStatus(ProcessingStatus.RUNNING));
+		assertEquals(2, jobRepository.countByStatus(ProcessingStatus.PENDING));
+
+		release.countDown();
+		await(() -> jobRepository.countByStatus(ProcessingStatus.RUNNING) == 0);
+		service.poll();
+		await(() -> jobRepository.countByStatus(ProcessingStatus.COMPLETED) == 3);
+		service.poll();
+		for (CourseContent content : contents) {
+			await(content, ProcessingStatus.COMPLETED);
+		}
+	}
+
+	@Test
+	void jobsLeftRunningByACrashAreRequeuedOnStart() throws Exception {
+		CourseContent content = upload("notes.txt");
+		ContentProcessingJob job = single(content);
+		jobRepository.transition(job.getJobId(), ProcessingStatus.PENDING, ProcessingStatus.RUNNING, LocalDateTime.now());
+
+		service.stop();
+		service = newService();
+		assertEquals(ProcessingStatus.PENDING, single(content).getStatus());
+
+		service.poll();
+		await(content, ProcessingStatus.COMPLETED);
+	}
+
+	@Test
+	void uploadOnlyQueuesAndIndexesOnceItCommits() throws Exception {
+		InstructorAssignmentService assignments = mock(InstructorAssignmentService.class);
+		when(assignments.isInstructorAssignedToCourse(1L, course.getId())).thenReturn(true);
+		CourseContentService contents = new CourseContentService(courseContentRepository, courseRepository, assignments,
+				service, searchIndexService, mock(GradebookService.class), mock(UngradedQueueService.class));
+		ReflectionTestUtils.setField(contents, "uploadDir", uploads.toString());
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		MockMultipartFile file = new MockMultipartFile("file", "notes.txt", "text/plain", "notes".getBytes());
+
+		// A failure later in the caller's transaction takes the row, the job and the stored file with it
+		assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+			contents.createCourseContent(course.getId(), "Notes", null, ContentType.LECTURE, 1L, null, null, null, file);
+			throw new IllegalStateException("caller failed");
+		}));
+		assertEquals(0, courseContentRepository.count());
+		assertEquals(0, jobRepository.count());
+		verify(searchIndexService, never()).indexContent(any(CourseContent.class));
+		try (var stored = Files.walk(uploads)) {
+			assertTrue(stored.noneMatch(Files::isRegularFile));
+		}
+
+		CourseContent saved = transaction.execute(status -> contents.createCourseContent(course.getId(), "Notes", null,
+				ContentType.LECTURE, 1L, null, null, null, file));
+		assertEquals(ProcessingStatus.PENDING, single(saved).getStatus());
+		verify(searchIndexService).indexContent(saved);
+	}
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		properties.setInitialBackoffMs(1000);
+		properties.setMaxBackoffMs(5000);
+		assertEquals(1000, service.backoffMillis(1));
+		assertEquals(2000, service.backoffMillis(2));
+		assertEquals(4000, service.backoffMillis(3));
+		assertEquals(5000, service.backoffMillis(4));
+		assertEquals(5000, service.backoffMillis(60));
+	}
+
+	private ContentProcessingService newService() {
+		ContentProcessingService created = new ContentProcessingService(jobRepository, courseContentRepository,
+				searchIndexService, List.of(new DetectStage(), new ThumbnailOnlyForImagesStage(), new ExtractStage()),
+				properties, meterRegistry);
+		created.start();
+		return created;
+	}
+
+	private CourseContent upload(String name) throws Exception {
+		Path file = Files.writeString(uploads.resolve(name), "contents of " + name);
+		CourseContent content = courseContentRepository.save(new CourseContent(course, name, null,
+				ContentType.LECTURE, file.toString(), "application/octet-stream", 1L));
+		service.enqueue(content);
+		return content;
+	}
+
+	private ContentProcessingJob single(CourseContent content) {
+		List<ContentProcessingJob> jobs = jobRepository.findByContentId(content.getContentId());
+		assertEquals(1, jobs.size());
+		return jobs.get(0);
+	}
+
+	private void makeDue(ContentProcessingJob job) {
+		job.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		jobRepository.save(job);
+	}
+
+	private ContentProcessingJob await(CourseContent content, ProcessingStatus status) throws Exception {
+		return await(content, job -> job.getStatus() == status);
+	}
+
+	private ContentProcessingJob await(CourseContent content, Predicate<ContentProcessingJob> condition)
+			throws Exception {
+		await(() -> condition.test(single(content)));
+		return single(content);
+	}
+
+	private static void await(BooleanSupplier condition) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the pipeline");
+			Thread.sleep(20);
+		}
+	}
+
+	private class DetectStage implements ContentProcessingStage {
+		@Override
+		public String getName() {
+			return "detect";
+		}
+
+		@Override
+		public boolean supports(ContentProcessingContext context) {
+			return true;
+		}
+
+		@Override
+		public void process(ContentProcessingContext context) throws Exception {
+			ran.add(getName());
+			if (blocking) {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			context.setDetectedFileType("text/plain");
+		}
+	}
+
+	private class ThumbnailOnlyForImagesStage implements ContentProcessingStage {
+		@Override
+		public String getName() {
+			return "thumbnail";
+		}
+
+		@Override
+		public boolean supports(ContentProcessingContext context) {
+			return context.isImage();
+		}
+
+		@Override
+		public void process(ContentProcessingContext context) {
+			ran.add(getName());
+		}
+	}
+
+	private class ExtractStage implements ContentProcessingStage {
+		@Override
+		public String getName() {
+			return "extract";
+		}
+
+		@Override
+		public boolean supports(ContentProcessingContext context) {
+			return context.isText();
+		}
+
+		@Override
+		public void process(ContentProcessingContext context) {
+			if (failuresLeft.getAndDecrement() > 0) {
+				throw new IllegalStateException("extractor crashed");
+			}
+			ran.add(getName());
+			context.setExtractedText("text of " + context.getContent().getTitle());
+		}
+	}
+}
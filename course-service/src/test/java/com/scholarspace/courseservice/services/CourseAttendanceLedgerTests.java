@@ -0,0 +1,75 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.AttendanceStats;
+import com.scholarspace.courseservice.models.AttendanceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static com.scholarspace.courseservice.models.AttendanceStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseAttendanceLedgerTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+	private final CourseAttendanceLedger ledger = new CourseAttendanceLedger(7L);
+
+	private void mark(long studentId, int day, AttendanceStatus status) {
+		ledger.mark(studentId, MONDAY.plusDays(day), status);
+	}
+
+	@Test
+	void ratesAndStreaksIgnoreExcusedSessions() {
+		mark(1, 0, PRESENT);
+		mark(1, 1, PRESENT);
+		mark(1, 2, PRESENT);
+		mark(1, 3, ABSENT);
+		mark(1, 4, PRESENT);
+		mark(1, 7, EXCUSED);
+		mark(1, 8, PRESENT);
+
+		AttendanceStats stats = ledger.stats(1L);
+		assertEquals(5, stats.present());
+		assertEquals(1, stats.absent());
+		assertEquals(1, stats.excused());
+		assertEquals(83.33, stats.rate());
+		assertEquals(2, stats.currentStreak());
+		assertEquals(3, stats.longestStreak());
+	}
+
+	@Test
+	void unknownStudentHasNoRate() {
+		AttendanceStats stats = ledger.stats(99L);
+		assertEquals(0, stats.present());
+		assertNull(stats.rate());
+	}
+
+	@Test
+	void backfilledEarlierSessionKeepsLaterMarks() {
+		mark(1, 10, PRESENT);
+		mark(1, 11, ABSENT);
+		mark(1, 2, PRESENT);
+
+		AttendanceStats stats = ledger.stats(1L);
+		assertEquals(2, stats.present());
+		assertEquals(1, stats.absent());
+		assertEquals(0, stats.currentStreak());
+		assertEquals(2, stats.longestStreak());
+	}
+
+	@Test
+	void replacingSessionDropsStudentsNoLongerListed() {
+		mark(1, 0, PRESENT);
+		mark(2, 0, ABSENT);
+
+		ledger.replaceSession(MONDAY, Map.of(1L, ABSENT, 3L, PRESENT));
+
+		assertEquals(1, ledger.stats(1L).absent());
+		assertEquals(0, ledger.stats(1L).present());
+		assertEquals(1, ledger.stats(3L).present());
+		assertEquals(2, ledger.allStats().size());
+		assertEquals(1L, ledger.allStats().get(0).studentId());
+	}
+}
@@ -0,0 +1,136 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.config.CourseCacheProperties;
+import com.scholarspace.courseservice.models.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCatalogCacheTests {
+
+	private final Map<Long, Course> database = new HashMap<>();
+	private final AtomicInteger loads = new AtomicInteger();
+	private final CourseCacheProperties properties = new CourseCacheProperties();
+
+	private CourseCatalogCache cache;
+
+	@BeforeEach
+	void setUp() {
+		database.put(1L, course(1L, "CS101", 10L));
+		database.put(2L, course(2L, "CS102", 10L));
+		cache = newCache();
+	}
+
+	@Test
+	void hitsAreServedWithoutTheLoaderAndAsPrivateCopies() {
+		Course first = byId(1L).orElseThrow();
+		Course second = byId(1L).orElseThrow();
+
+		assertEquals(1, loads.get());
+		assertEquals(1L, cache.describe().get("courses.byId").get("hitCount"));
+		assertNotSame(first, second);
+		assertNotSame(database.get(1L), first);
+
+		// A caller changing its copy changes nothing for the next reader
+		first.setTitle("Changed by a caller");
+		first.setActive(false);
+		assertEquals("Title CS101", byId(1L).orElseThrow().getTitle());
+		assertTrue(byId(1L).orElseThrow().isActive());
+
+		List<Course> department = department(10L);
+		department.get(0).setCode("XX999");
+		assertEquals(List.of("CS101", "CS102"), department(10L).stream().map(Course::getCode).toList());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void evictDropsEveryEntryThatHeldTheCourse() {
+		byId(1L);
+		cache.getByCode("CS101", this::loadByCode);
+		department(10L);
+		cache.getAll(this::loadAll);
+		assertEquals(4, loads.get());
+
+		// The course moves to another code and department
+		Course moved = course(1L, "CS201", 20L);
+		database.put(1L, moved);
+		cache.evict(1L, moved);
+
+		assertEquals("CS201", byId(1L).orElseThrow().getCode());
+		assertTrue(cache.getByCode("CS101", this::loadByCode).isEmpty());
+		assertEquals(List.of("CS102"), department(10L).stream().map(Course::getCode).toList());
+		assertEquals(List.of("CS201", "CS102"), cache.getAll(this::loadAll).stream().map(Course::getCode).toList());
+		assertEquals(8, loads.get());
+	}
+
+	@Test
+	void changesNotPassedThroughEvictStayStaleUntilExpiry() {
+		byId(1L);
+		database.get(1L).setTitle("Renamed behind the cache");
+		assertEquals("Title CS101", byId(1L).orElseThrow().getTitle());
+
+		cache.evict(1L, null);
+		assertEquals("Renamed behind the cache", byId(1L).orElseThrow().getTitle());
+
+		// The expiry is the safety net for writes that bypass CourseService
+		properties.setExpireAfterWriteMinutes(0);
+		cache = newCache();
+		byId(2L);
+		database.get(2L).setTitle("Renamed again");
+		assertEquals("Renamed again", byId(2L).orElseThrow().getTitle());
+	}
+
+	@Test
+	void warmFillsEveryCacheFromOneRead() {
+		cache.warm(List.copyOf(database.values()));
+
+		assertEquals("CS101", byId(1L).orElseThrow().getCode());
+		assertEquals(2, department(10L).size());
+		assertEquals(2, cache.getActive(this::loadAll).size());
+		assertEquals(0, loads.get());
+	}
+
+	private CourseCatalogCache newCache() {
+		CourseCatalogCache created = new CourseCatalogCache(properties, new SimpleMeterRegistry());
+		created.init();
+		return created;
+	}
+
+	private Optional<Course> byId(Long id) {
+		return cache.getById(id, key -> {
+			loads.incrementAndGet();
+			return Optional.ofNullable(database.get(key));
+		});
+	}
+
+	private Optional<Course> loadByCode(String code) {
+		loads.incrementAndGet();
+		return database.values().stream().filter(c -> code.equals(c.getCode())).findFirst();
+	}
+
+	private List<Course> department(Long departmentId) {
+		return cache.getByDepartment(departmentId, key -> {
+			loads.incrementAndGet();
+			return database.values().stream().filter(c -> key.equals(c.getDepartmentId())).toList();
+		});
+	}
+
+	private List<Course> loadAll() {
+		loads.incrementAndGet();
+		return List.copyOf(database.values());
+	}
+
+	private static Course course(Long id, String code, Long departmentId) {
+		Course course = new Course(code, "Title " + code, null, 3, "Fall", "2026", departmentId);
+		course.setId(id);
+		return course;
+	}
+}
@@ -0,0 +1,99 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.GradebookMatrix;
+import com.scholarspace.courseservice.dto.GradingTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseGradebookTests {
+
+	private static final long COURSE = 1L;
+
+	private static GradingTarget grade(long submissionId, long studentId, long contentId, String category,
+									   Double maxPoints, Double grade) {
+		return grade(submissionId, 0L, studentId, contentId, category, maxPoints, grade);
+	}
+
+	private static GradingTarget grade(long submissionId, long version, long studentId, long contentId, String category,
+									   Double maxPoints, Double grade) {
+		return new GradingTarget(submissionId, version, studentId, COURSE, contentId, "Item " + contentId, category, maxPoints, grade, null);
+	}
+
+	@Test
+	void computesWeightedTotalFromCategoryPercentages() {
+		CourseGradebook gradebook = new CourseGradebook(COURSE, Map.of("homework", 40.0, "EXAM", 60.0));
+		gradebook.record(grade(1, 10, 100, "HOMEWORK", 10.0, 8.0));
+		gradebook.record(grade(2, 10, 101, "HOMEWORK", 10.0, 6.0));
+		gradebook.record(grade(3, 10, 200, "EXAM", 50.0, 45.0));
+
+		GradebookMatrix.Row row = gradebook.getRow(10L);
+		assertEquals(70.0, row.categoryPercent().get("HOMEWORK"));
+		assertEquals(90.0, row.categoryPercent().get("EXAM"));
+		assertEquals(82.0, row.total()); // 0.4 * 70 + 0.6 * 90
+	}
+
+	@Test
+	void regradeReplacesPreviousContribution() {
+		CourseGradebook gradebook = new CourseGradebook(COURSE, Map.of());
+		gradebook.record(grade(1, 1, 10, 100, null, null, 50.0));
+		gradebook.record(grade(1, 2, 10, 100, null, null, 80.0));
+
+		GradebookMatrix.Row row = gradebook.getRow(10L);
+		assertEquals(80.0, row.total());
+		assertEquals(Map.of(100L, 80.0), row.grades());
+		assertEquals(1, gradebook.size());
+
+		gradebook.record(grade(1, 3, 10, 100, null, null, null));
+		assertNull(gradebook.getRow(10L).total());
+		assertEquals(0, gradebook.size());
+	}
+
+	@Test
+	void regradeArrivingAfterANewerOneIsIgnored() {
+		CourseGradebook gradebook = new CourseGradebook(COURSE, Map.of());
+		gradebook.record(grade(1, 1, 10, 100, null, null, 50.0));
+
+		// Version 3 committed after version 2, but its after-commit hook ran first
+		gradebook.record(grade(1, 3, 10, 100, null, null, 90.0));
+		gradebook.record(grade(1, 2, 10, 100, null, null, 70.0));
+		assertEquals(Map.of(100L, 90.0), gradebook.getRow(10L).grades());
+		assertEquals(90.0, gradebook.getRow(10L).total());
+
+		// Replaying the same version, as a load racing a hook does, changes nothing
+		gradebook.record(grade(1, 3, 10, 100, null, null, 90.0));
+		assertEquals(1, gradebook.size());
+	}
+
+	@Test
+	void unweightedCategoriesAreExcludedOnceWeightsExist() {
+		CourseGradebook gradebook = new CourseGradebook(COURSE, Map.of());
+		gradebook.record(grade(1, 10, 100, "QUIZ", 10.0, 5.0));
+		gradebook.record(grade(2, 10, 200, "EXAM", 10.0, 10.0));
+		assertEquals(75.0, gradebook.getRow(10L).total());
+
+		gradebook.setWeights(Map.of("EXAM", 1.0));
+		assertEquals(100.0, gradebook.getRow(10L).total());
+	}
+
+	@Test
+	void matrixListsEveryStudentAndAssignment() {
+		CourseGradebook gradebook = new CourseGradebook(COURSE, Map.of("EXAM", 100.0));
+		gradebook.record(grade(1, 11, 200, "EXAM", 20.0, 10.0));
+		gradebook.record(grade(2, 10, 200, "EXAM", 20.0, 20.0));
+		gradebook.record(grade(3, 10, 100, "HOMEWORK", 10.0, 10.0));
+
+		GradebookMatrix matrix = gradebook.matrix();
+		assertEquals(COURSE, matrix.courseId());
+		assertEquals(2, matrix.assignments().size());
+		assertEquals(100L, matrix.assignments().get(0).contentId());
+		assertEquals(2, matrix.students().size());
+		assertEquals(10L, matrix.students().get(0).studentId());
+		assertEquals(100.0, matrix.students().get(0).total());
+		assertEquals(50.0, matrix.students().get(1).total());
+		assertEquals(0.0, matrix.categories().stream()
+				.filter(c -> c.name().equals("HOMEWORK")).findFirst().orElseThrow().weight());
+	}
+}
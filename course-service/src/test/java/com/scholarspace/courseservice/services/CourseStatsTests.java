@@ -0,0 +1,96 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.DepartmentCourseStats;
+import com.scholarspace.courseservice.dto.InstitutionCourseStats;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class CourseStatsTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	private CourseStatsService courseStatsService;
+
+	@BeforeEach
+	void setUp() {
+		Course physics = course("PH101", 1L, true);
+		Course optics = course("PH201", 1L, false);
+		Course poetry = course("EN101", 2L, true);
+		course("HI101", 3L, true);
+
+		// Student 10 is active in both departments, 11 only in physics, 12 is pending, 13 dropped out
+		enroll(physics, 10L, EnrollmentStatus.ACTIVE);
+		enroll(optics, 10L, EnrollmentStatus.ACTIVE);
+		enroll(physics, 11L, EnrollmentStatus.ACTIVE);
+		enroll(optics, 12L, EnrollmentStatus.PENDING);
+		enroll(physics, 13L, EnrollmentStatus.DROPPED);
+		enroll(poetry, 10L, EnrollmentStatus.ACTIVE);
+		entityManager.flush();
+		entityManager.clear();
+
+		courseStatsService = new CourseStatsService(courseRepository, enrollmentRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(courseStatsService, "ttlSeconds", 30L);
+		ReflectionTestUtils.setField(courseStatsService, "maxEntries", 100L);
+		ReflectionTestUtils.setField(courseStatsService, "maxDepartments", 3);
+		courseStatsService.init();
+	}
+
+	@Test
+	void countsPerDepartmentWithGroupedQueries() {
+		DepartmentCourseStats science = courseStatsService.getDepartmentStats(1L);
+		assertEquals(new DepartmentCourseStats(1L, 2, 1, 3, 1, 2), science);
+		// Served from the cache until the TTL runs out
+		assertSame(science, courseStatsService.getDepartmentStats(1L));
+
+		List<DepartmentCourseStats> batch = courseStatsService.getDepartmentStats(List.of(3L, 2L, 99L, 2L));
+		assertEquals(List.of(2L, 3L, 99L), batch.stream().map(DepartmentCourseStats::departmentId).toList());
+		assertEquals(new DepartmentCourseStats(2L, 1, 1, 1, 0, 1), batch.get(0));
+		assertEquals(new DepartmentCourseStats(3L, 1, 1, 0, 0, 0), batch.get(1));
+		assertEquals(DepartmentCourseStats.empty(99L), batch.get(2));
+
+		assertThrows(IllegalArgumentException.class, () -> courseStatsService.getDepartmentStats(List.of(1L, 2L, 3L, 4L)));
+	}
+
+	@Test
+	void institutionCountsEachStudentOnce() {
+		InstitutionCourseStats stats = courseStatsService.getInstitutionStats(7L, List.of(1L, 2L, 3L));
+		assertEquals(new InstitutionCourseStats(7L, 3, 4, 3, 4, 1, 2), stats);
+		assertSame(stats, courseStatsService.getInstitutionStats(7L, List.of(3L, 2L, 1L)));
+
+		assertEquals(new InstitutionCourseStats(8L, 0, 0, 0, 0, 0, 0), courseStatsService.getInstitutionStats(8L, List.of()));
+	}
+
+	private Course course(String code, Long departmentId, boolean active) {
+		Course course = new Course(code, code, null, 3, "Fall", "2026", departmentId);
+		course.setActive(active);
+		return entityManager.persist(course);
+	}
+
+	private void enroll(Course course, Long studentId, EnrollmentStatus status) {
+		Enrollment enrollment = new Enrollment(course, studentId);
+		enrollment.setStatus(status);
+		entityManager.persist(enrollment);
+	}
+}
@@ -0,0 +1,185 @@
+package com.scholarspace.courseservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.proto.UserRef;
+import com.scholarspace.courseservice.proto.UserRole;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.scholarspace.courseservice.repositories.OutboxEventRepository;
+import com.scholarspace.courseservice.services.events.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hammers one course from many threads with real commits: the seat count must never pass the
+ * capacity, every student holds at most one enrollment, and repeated requests return the same row.
+ */
+@DataJpaTest(properties = {
+		"spring.cloud.config.enabled=false",
+		// A short lock timeout turns a stuck row lock into a quick failure instead of a long stall
+		"spring.test.database.replace=none",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.url=jdbc:h2:mem:seat-contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=1000",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EnrollmentSeatContentionTests {
+
+	// Small enough to run in every build; three students per seat still keeps the threads contending
+	private static final int CAPACITY = 20;
+	private static final int STUDENTS = 60;
+	private static final int THREADS = 8;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private EnrollmentService enrollmentService;
+	private Long courseId;
+
+	@BeforeEach
+	void setUp() {
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.getForObject(anyString(), eq(UserRef.class))).thenReturn(UserRef.newBuilder().setRole(UserRole.STUDENT).build());
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		enrollmentService = new EnrollmentService(enrollmentRepository, courseRepository, restTemplate, transactionTemplate,
+				new OutboxService(outboxEventRepository, new ObjectMapper()));
+
+		courseId = courseRepository.save(new Course("PH101", "Mechanics", null, 3, "Fall", "2026", 1L)).getId();
+		transactionTemplate.executeWithoutResult(status ->
+				courseRepository.setCapacityAndRecount(courseId, CAPACITY, List.of("PENDING", "ACTIVE")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		outboxEventRepository.deleteAll();
+	}
+
+	@Test
+	void neverOverbooksUnderContention() throws Exception {
+		// Every student asks twice, from different threads at the same time, like a client retry
+		List<Long> requests = new ArrayList<>();
+		for (long student = 1; student <= STUDENTS; student++) {
+			requests.add(student);
+			requests.add(student);
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		Map<Long, Set<Long>> enrollmentIdsByStudent = new ConcurrentHashMap<>();
+		AtomicInteger full = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (Long student : requests) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					Enrollment enrollment = enrollmentService.requestEnrollment(student, courseId);
+					enrollmentIdsByStudent.computeIfAbsent(student, s -> ConcurrentHashMap.newKeySet()).add(enrollment.getEnrollmentId());
+				} catch (RuntimeException e) {
+					assertEquals("Course is full", e.getMessage());
+					full.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		List<Enrollment> stored = enrollmentRepository.findAll();
+		assertEquals(CAPACITY, stored.size());
+		assertEquals(CAPACITY, courseRepository.findById(courseId).orElseThrow().getEnrolledCount());
+		assertEquals(CAPACITY, enrollmentIdsByStudent.size());
+		assertEquals(requests.size() - 2 * CAPACITY, full.get());
+		// Only the committed enrollments left an EnrollmentStatusChanged event behind
+		assertEquals(CAPACITY, outboxEventRepository.count());
+
+		Set<Long> students = new HashSet<>();
+		for (Enrollment enrollment : stored) {
+			assertTrue(students.add(enrollment.getStudentId()));
+			// Both requests of a student that got in saw the same enrollment
+			assertEquals(Set.of(enrollment.getEnrollmentId()), enrollmentIdsByStudent.get(enrollment.getStudentId()));
+		}
+	}
+
+	@Test
+	void droppingFreesTheSeatAndReactivatingNeedsOne() {
+		transactionTemplate.executeWithoutResult(status ->
+				courseRepository.setCapacityAndRecount(courseId, 1, List.of("PENDING", "ACTIVE")));
+
+		Enrollment first = enrollmentService.requestEnrollment(1L, courseId);
+		assertEquals(first.getEnrollmentId(), enrollmentService.requestEnrollment(1L, courseId).getEnrollmentId());
+		RuntimeException fullError = assertThrows(RuntimeException.class, () -> enrollmentService.requestEnrollment(2L, courseId));
+		assertEquals("Course is full", fullError.getMessage());
+
+		transactionTemplate.executeWithoutResult(status -> enrollmentService.dropEnrollment(first.getEnrollmentId()));
+		assertEquals(0, courseRepository.findById(courseId).orElseThrow().getEnrolledCount());
+		Enrollment second = enrollmentService.requestEnrollment(2L, courseId);
+
+		// The dropped student cannot take the seat back while it is held, and the status stays DROPPED
+		assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status ->
+				enrollmentService.updateEnrollmentStatus(first.getEnrollmentId(), EnrollmentStatus.ACTIVE)));
+		assertEquals(EnrollmentStatus.DROPPED, enrollmentRepository.findById(first.getEnrollmentId()).orElseThrow().getStatus());
+
+		transactionTemplate.executeWithoutResult(status ->
+				enrollmentService.updateEnrollmentStatus(second.getEnrollmentId(), EnrollmentStatus.ACTIVE));
+		assertEquals(1, courseRepository.findById(courseId).orElseThrow().getEnrolledCount());
+	}
+
+	@Test
+	void completingTheCourseGivesTheSeatBack() {
+		transactionTemplate.executeWithoutResult(status ->
+				courseRepository.setCapacityAndRecount(courseId, 1, List.of("PENDING", "ACTIVE")));
+
+		Enrollment first = enrollmentService.requestEnrollment(1L, courseId);
+		transactionTemplate.executeWithoutResult(status -> enrollmentService.completeEnrollment(first.getEnrollmentId(), "A"));
+		assertEquals(0, courseRepository.findById(courseId).orElseThrow().getEnrolledCount());
+
+		enrollmentService.requestEnrollment(2L, courseId);
+		assertEquals(1, courseRepository.findById(courseId).orElseThrow().getEnrolledCount());
+	}
+}
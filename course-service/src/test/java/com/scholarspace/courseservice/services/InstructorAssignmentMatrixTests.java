@@ -0,0 +1,38 @@
+package com.scholarspace.courseservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstructorAssignmentMatrixTests {
+
+	private final InstructorAssignmentMatrix matrix = InstructorAssignmentMatrix.build(List.of(
+			new long[]{1, 30}, new long[]{1, 10}, new long[]{1, 20}, new long[]{1, 10},
+			new long[]{1, 50}, new long[]{1, 40}, new long[]{2, 10}
+	));
+
+	@Test
+	void buildsSortedDistinctRows() {
+		assertArrayEquals(new long[]{10, 20, 30, 40, 50}, matrix.courses(1));
+		assertArrayEquals(new long[]{10}, matrix.courses(2));
+		assertArrayEquals(new long[0], matrix.courses(3));
+		assertEquals(6, matrix.assignmentCount());
+		assertTrue(matrix.contains(1, 40));
+		assertFalse(matrix.contains(2, 40));
+	}
+
+	@Test
+	void changesProduceNewSnapshots() {
+		InstructorAssignmentMatrix added = matrix.with(2, 5).with(2, 15);
+		assertArrayEquals(new long[]{5, 10, 15}, added.courses(2));
+		assertSame(added, added.with(2, 10));
+		assertFalse(matrix.contains(2, 5));
+
+		InstructorAssignmentMatrix removed = added.without(2, 10).without(2, 5).without(2, 15);
+		assertEquals(1, removed.instructorCount());
+		assertEquals(5, removed.assignmentCount());
+		assertSame(removed, removed.without(2, 10));
+	}
+}
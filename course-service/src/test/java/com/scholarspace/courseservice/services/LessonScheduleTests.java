@@ -0,0 +1,164 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.ScheduleConflict;
+import com.scholarspace.courseservice.dto.ScheduleConflict.ResourceType;
+import com.scholarspace.courseservice.repositories.LessonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LessonScheduleTests {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 9, 1);
+
+	private static final Long SCHOOL = 1L;
+
+	private static LessonSlot slot(long lessonId, long classId, Long teacherId, String room, String start, String end) {
+		return slot(lessonId, classId, SCHOOL, teacherId, room, start, end);
+	}
+
+	private static LessonSlot slot(long lessonId, long classId, Long schoolId, Long teacherId, String room, String start, String end) {
+		return new LessonSlot(lessonId, lessonId, classId, schoolId, teacherId, room, DAY, LocalTime.parse(start), LocalTime.parse(end));
+	}
+
+	@Test
+	void intervalTreeMatchesBruteForce() {
+		Random random = new Random(42);
+		IntervalTree tree = new IntervalTree();
+		List<int[]> intervals = new ArrayList<>();
+		for (int id = 0; id < 500; id++) {
+			int start = random.nextInt(1000);
+			int[] interval = {start, start + 1 + random.nextInt(60), id};
+			intervals.add(interval);
+			tree.insert(interval[0], interval[1], id);
+		}
+		for (int i = 0; i < 200; i++) {
+			int[] removed = intervals.remove(random.nextInt(intervals.size()));
+			assertTrue(tree.remove(removed[0], removed[2]));
+		}
+		assertEquals(300, tree.size());
+
+		for (int q = 0; q < 300; q++) {
+			int start = random.nextInt(1100);
+			int end = start + 1 + random.nextInt(30);
+			Set<Long> expected = new HashSet<>();
+			for (int[] interval : intervals) {
+				if (interval[0] < end && start < interval[1]) {
+					expected.add((long) interval[2]);
+				}
+			}
+			Set<Long> actual = new HashSet<>();
+			tree.overlaps(start, end).forEach(found -> actual.add(found.id()));
+			assertEquals(expected, actual);
+			assertEquals(!expected.isEmpty(), tree.firstOverlap(start, end) != null);
+		}
+	}
+
+	@Test
+	void reserveRejectsTeacherRoomAndClassClashes() {
+		DaySchedule schedule = new DaySchedule(DAY);
+		assertTrue(schedule.reserve(slot(1, 10, 100L, "Lab 1", "09:00", "09:40")).isEmpty());
+
+		// Back-to-back is fine: intervals are half-open
+		assertTrue(schedule.reserve(slot(2, 10, 100L, "lab 1", "09:40", "10:20")).isEmpty());
+
+		List<ScheduleConflict> conflicts = schedule.reserve(slot(3, 10, 100L, " LAB 1 ", "09:30", "09:50"));
+		assertEquals(Set.of(ResourceType.TEACHER, ResourceType.ROOM, ResourceType.CLASS),
+				Set.copyOf(conflicts.stream().map(ScheduleConflict::resourceType).toList()));
+		assertEquals(2, schedule.size());
+
+		List<ScheduleConflict> roomOnly = schedule.reserve(slot(4, 11, 101L, "Lab 1", "10:00", "10:30"));
+		assertEquals(1, roomOnly.size());
+		assertEquals("LAB 1", roomOnly.get(0).resource());
+		assertEquals(2L, roomOnly.get(0).conflictingLessonId());
+
+		// Internal whitespace does not make it a different room
+		List<ScheduleConflict> spaced = schedule.check(slot(5, 12, 102L, "lab  \t1", "10:00", "10:30"));
+		assertEquals(1, spaced.size());
+		assertEquals("LAB 1", spaced.get(0).resource());
+	}
+
+	@Test
+	void roomsWithTheSameNameInDifferentSchoolsDoNotClash() {
+		DaySchedule schedule = new DaySchedule(DAY);
+		assertTrue(schedule.reserve(slot(1, 10, 1L, 100L, "Lab 1", "09:00", "10:00")).isEmpty());
+		assertTrue(schedule.reserve(slot(2, 20, 2L, 200L, "LAB 1", "09:00", "10:00")).isEmpty());
+
+		List<ScheduleConflict> sameSchool = schedule.check(slot(3, 21, 2L, 201L, "lab 1", "09:30", "10:30"));
+		assertEquals(1, sameSchool.size());
+		assertEquals(2L, sameSchool.get(0).conflictingLessonId());
+
+		// A teacher working at both schools is still one person
+		assertEquals(ResourceType.TEACHER, schedule.check(slot(4, 11, 1L, 200L, "Hall", "09:30", "10:30")).get(0).resourceType());
+		assertTrue(DaySchedule.findConflicts(DAY, List.of(slot(1, 10, 1L, 100L, "Lab 1", "09:00", "10:00"),
+				slot(2, 20, 2L, 200L, "Lab 1", "09:00", "10:00"))).isEmpty());
+	}
+
+	@Test
+	void rescheduleIgnoresTheLessonItselfAndKeepsItOnClash() {
+		DaySchedule schedule = new DaySchedule(DAY);
+		schedule.reserve(slot(1, 10, 100L, "A", "09:00", "10:00"));
+		schedule.reserve(slot(2, 11, 101L, "B", "11:00", "12:00"));
+
+		assertTrue(schedule.reserve(slot(1, 10, 100L, "A", "09:30", "10:30")).isEmpty());
+		assertFalse(schedule.reserve(slot(1, 10, 100L, "B", "11:30", "12:30")).isEmpty());
+
+		// The failed move left lesson 1 where it was
+		assertEquals(1, schedule.check(slot(5, 12, 100L, "C", "10:00", "10:15")).size());
+		assertTrue(schedule.check(slot(5, 12, 100L, "C", "09:00", "09:30")).isEmpty());
+	}
+
+	@Test
+	void findConflictsReportsEachStoredPairOnce() {
+		List<ScheduleConflict> conflicts = DaySchedule.findConflicts(DAY, List.of(
+				slot(3, 12, 100L, null, "09:30", "10:00"),
+				slot(1, 10, 100L, "A", "09:00", "10:00"),
+				slot(2, 11, 101L, "A", "09:45", "10:15"),
+				slot(4, 13, 102L, null, "09:00", "10:00")));
+
+		assertEquals(2, conflicts.size());
+		assertTrue(conflicts.contains(new ScheduleConflict(ResourceType.TEACHER, "100", DAY, 3L, 1L,
+				LocalTime.of(9, 0), LocalTime.of(10, 0))));
+		assertTrue(conflicts.contains(new ScheduleConflict(ResourceType.ROOM, "A", DAY, 2L, 1L,
+				LocalTime.of(9, 0), LocalTime.of(10, 0))));
+	}
+
+	@Test
+	void reserveAllRejectsTheWholeBatchOnAnyClashWithStoredLessons() {
+		LessonRepository lessonRepository = mock(LessonRepository.class);
+		when(lessonRepository.findSlotsByDate(any())).thenAnswer(invocation -> DAY.equals(invocation.getArgument(0))
+				? List.of(slot(1, 10, 100L, "Lab 1", "09:00", "10:00"))
+				: List.of());
+		LessonScheduleService service = new LessonScheduleService(lessonRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "maxDays", 10);
+		service.init();
+
+		LessonSlot nextDay = new LessonSlot(null, 20L, 11L, SCHOOL, 100L, "Lab 1", DAY.plusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0));
+		LessonSlot clash = new LessonSlot(null, 21L, 12L, SCHOOL, 101L, "lab 1", DAY, LocalTime.of(9, 30), LocalTime.of(10, 30));
+
+		LessonScheduleService.ScheduleConflictException e = assertThrows(LessonScheduleService.ScheduleConflictException.class,
+				() -> service.reserveAll(List.of(nextDay, clash), DAY, DAY.plusDays(1)));
+		assertEquals(1, e.getConflicts().size());
+		assertEquals(ResourceType.ROOM, e.getConflicts().get(0).resourceType());
+		assertEquals(1L, e.getConflicts().get(0).conflictingLessonId());
+		assertNull(e.getConflicts().get(0).lessonId());
+
+		// The slot booked before the clash was handed back
+		assertTrue(service.check(nextDay).isEmpty());
+		service.reserveAll(List.of(nextDay), DAY.plusDays(1), DAY.plusDays(1));
+	}
+}
@@ -0,0 +1,57 @@
+package com.scholarspace.courseservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteGraphTests {
+
+	// 4 requires 3, 3 requires 1 and 2, 2 requires 1
+	private final PrerequisiteGraph graph = PrerequisiteGraph.build(Map.of(
+			4L, Set.of(3L),
+			3L, Set.of(1L, 2L),
+			2L, Set.of(1L)
+	));
+
+	@Test
+	void computesTransitiveClosure() {
+		assertEquals(Set.of(1L, 2L, 3L), graph.getAllPrerequisites(4L));
+		assertEquals(Set.of(3L), graph.getDirectPrerequisites(4L));
+		assertEquals(Set.of(), graph.getAllPrerequisites(1L));
+		assertEquals(Set.of(), graph.getAllPrerequisites(99L));
+		assertTrue(graph.requires(4L, 1L));
+		assertFalse(graph.requires(1L, 4L));
+	}
+
+	@Test
+	void rejectsCycles() {
+		assertThrows(IllegalArgumentException.class, () -> graph.withPrerequisites(1L, Set.of(4L)));
+		assertThrows(IllegalArgumentException.class, () -> graph.withPrerequisites(2L, Set.of(2L)));
+
+		PrerequisiteGraph updated = graph.withPrerequisites(1L, Set.of(5L));
+		assertEquals(Set.of(1L, 2L, 3L, 5L), updated.getAllPrerequisites(4L));
+	}
+
+	@Test
+	void reportsMissingPrerequisitesAgainstFullClosure() {
+		assertEquals(Set.of(2L, 3L), graph.missingPrerequisites(4L, graph.encode(List.of(1L, 7L))));
+		assertEquals(Set.of(), graph.missingPrerequisites(4L, graph.encode(List.of(1L, 2L, 3L))));
+	}
+
+	@Test
+	void removesCourseFromGraph() {
+		PrerequisiteGraph updated = graph.withoutCourse(3L);
+		assertEquals(Set.of(), updated.getAllPrerequisites(4L));
+		assertEquals(Set.of(1L), updated.getAllPrerequisites(2L));
+	}
+
+	@Test
+	void toleratesExistingCyclesWhenLoading() {
+		PrerequisiteGraph cyclic = PrerequisiteGraph.build(Map.of(1L, Set.of(2L), 2L, Set.of(1L)));
+		assertEquals(Set.of(1L, 2L), cyclic.getAllPrerequisites(1L));
+	}
+}
@@ -0,0 +1,189 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.config.SearchProperties;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.repositories.CourseContentRepository;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchIndexTests {
+
+	@TempDir
+	Path indexDir;
+
+	private final CourseRepository courseRepository = mock(CourseRepository.class);
+	private final CourseContentRepository courseContentRepository = mock(CourseContentRepository.class);
+	private final List<Sort> requestedSorts = Collections.synchronizedList(new ArrayList<>());
+
+	private SearchIndexService searchIndex;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		SearchProperties properties = new SearchProperties();
+		properties.setIndexDir(indexDir.toString());
+		properties.setReindexPageSize(2);
+		properties.setReindexThreads(3);
+		searchIndex = new SearchIndexService(courseRepository, courseContentRepository, properties);
+		searchIndex.open();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		searchIndex.close();
+	}
+
+	@Test
+	void reindexLoadsEveryRowOnceInPrimaryKeyOrder() {
+		List<Course> courses = LongStream.rangeClosed(1, 5)
+				.mapToObj(id -> course(id, "CS10" + id, "Course " + id, true)).toList();
+		List<CourseContent> contents = List.of(content(11L, courses.get(0), "Week one notes", "recursion and induction"),
+				content(12L, courses.get(1), "Lab sheet", "pointers"));
+		stubPages(courses, contents);
+
+		assertEquals(7, searchIndex.reindexAll());
+
+		assertEquals(4, requestedSorts.size());
+		assertEquals(3, requestedSorts.stream().filter(Sort.by("id")::equals).count());
+		assertEquals(1, requestedSorts.stream().filter(Sort.by("contentId")::equals).count());
+		assertEquals(5, searchIndex.search("course", SearchIndexService.TYPE_COURSE, null, false, 50).size());
+
+		// Running it again rebuilds rather than duplicates
+		assertEquals(7, searchIndex.reindexAll());
+		assertEquals(5, searchIndex.search("course", SearchIndexService.TYPE_COURSE, null, false, 50).size());
+	}
+
+	@Test
+	void queriesRankCodeOverTitleAndRespectVisibility() {
+		Course algorithms = course(1L, "ALGO", "Data structures", true);
+		Course structures = course(2L, "DS201", "Algo club archive", true);
+		Course retired = course(3L, "ALGO2", "Retired algo course", false);
+		stubPages(List.of(algorithms, structures, retired),
+				List.of(content(21L, algorithms, "Sorting", "quicksort partition"),
+						content(22L, structures, "Trees", "quicksort on trees")));
+		searchIndex.reindexAll();
+
+		List<Map<String, Object>> ranked = searchIndex.search("algo", SearchIndexService.TYPE_COURSE, null, false, 10);
+		assertEquals(List.of(1L, 2L), ranked.stream().map(result -> result.get("id")).toList());
+		assertEquals("ALGO", ranked.get(0).get("code"));
+		assertEquals(3, searchIndex.search("algo", SearchIndexService.TYPE_COURSE, null, true, 10).size());
+
+		// Contents only show up for courses the caller can see
+		assertEquals(List.of(21L), ids(searchIndex.search("quicksort", null, Set.of(1L), false, 10)));
+		assertEquals(List.of(), ids(searchIndex.search("quicksort", null, Set.of(), false, 10)));
+		assertEquals(2, searchIndex.search("quicksort", SearchIndexService.TYPE_CONTENT, null, false, 10).size());
+
+		searchIndex.removeCourse(1L);
+		assertEquals(List.of(22L), ids(searchIndex.search("quicksort", null, null, false, 10)));
+		assertEquals(List.of(2L), ids(searchIndex.search("algo", SearchIndexService.TYPE_COURSE, null, false, 10)));
+	}
+
+	@Test
+	void incrementalWritesAreSearchableWithoutACommit() {
+		Course course = course(1L, "BIO100", "Cell biology", true);
+		searchIndex.indexCourse(course);
+		searchIndex.indexContent(content(31L, course, "Mitochondria", "powerhouse of the cell"));
+		assertEquals(List.of(31L), ids(searchIndex.search("powerhouse", null, null, false, 10)));
+
+		course.setTitle("Molecular biology");
+		searchIndex.indexCourse(course);
+		assertEquals(List.of(), ids(searchIndex.search("cell", SearchIndexService.TYPE_COURSE, null, false, 10)));
+		assertEquals(List.of(1L), ids(searchIndex.search("molecular", null, null, false, 10)));
+
+		searchIndex.removeContent(31L);
+		assertEquals(List.of(), ids(searchIndex.search("powerhouse", null, null, false, 10)));
+	}
+
+	@Test
+	void searchesSeeTheOldIndexDuringAReindexAndWritesMadeMeanwhileSurvive() throws Exception {
+		List<Course> courses = List.of(course(1L, "CHEM1", "Chemistry", true), course(2L, "CHEM2", "Chemistry lab", true));
+		stubPages(courses, List.of());
+		searchIndex.reindexAll();
+
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(courseRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+			loading.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return page(courses, invocation.getArgument(0));
+		});
+		ExecutorService reindex = Executors.newSingleThreadExecutor();
+		try {
+			Future<Long> rebuilt = reindex.submit(searchIndex::reindexAll);
+			assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+			assertEquals(List.of(1L, 2L), ids(searchIndex.search("chemistry", null, null, false, 10)));
+			// Deleted while the page still holding it is being loaded
+			searchIndex.removeCourse(2L);
+			assertEquals(List.of(1L), ids(searchIndex.search("chemistry", null, null, false, 10)));
+
+			release.countDown();
+			assertEquals(2, rebuilt.get(5, TimeUnit.SECONDS));
+			assertEquals(List.of(1L), ids(searchIndex.search("chemistry", null, null, false, 10)));
+		} finally {
+			release.countDown();
+			reindex.shutdownNow();
+		}
+	}
+
+	private void stubPages(List<Course> courses, List<CourseContent> contents) {
+		when(courseRepository.count()).thenReturn((long) courses.size());
+		when(courseContentRepository.count()).thenReturn((long) contents.size());
+		when(courseRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> page(courses, invocation.getArgument(0)));
+		when(courseContentRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> page(contents, invocation.getArgument(0)));
+	}
+
+	private <T> Page<T> page(List<T> rows, Pageable pageable) {
+		requestedSorts.add(pageable.getSort());
+		int from = (int) Math.min(pageable.getOffset(), rows.size());
+		int to = Math.min(from + pageable.getPageSize(), rows.size());
+		return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+	}
+
+	private static List<Object> ids(List<Map<String, Object>> results) {
+		return results.stream().map(result -> result.get("id")).toList();
+	}
+
+	private static Course course(Long id, String code, String title, boolean active) {
+		Course course = new Course();
+		course.setId(id);
+		course.setCode(code);
+		course.setTitle(title);
+		course.setActive(active);
+		return course;
+	}
+
+	private static CourseContent content(Long id, Course course, String title, String text) {
+		CourseContent content = new CourseContent();
+		content.setContentId(id);
+		content.setCourse(course);
+		content.setTitle(title);
+		content.setExtractedText(text);
+		return content;
+	}
+}
@@ -0,0 +1,83 @@
+package com.scholarspace.courseservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableSolverTests {
+
+	private static final int DAYS = 5;
+	private static final int PERIODS = 8;
+
+	/** Six classes with 35 periods each; teachers cover several classes and two subjects want the one lab. */
+	private static List<TimetableSolver.Demand> school() {
+		List<TimetableSolver.Demand> demands = new ArrayList<>();
+		long id = 1;
+		int[] weekly = {6, 6, 5, 4, 4, 4, 3, 3};
+		for (long classId = 1; classId <= 6; classId++) {
+			for (int subject = 0; subject < weekly.length; subject++) {
+				long teacherId = 100 + subject * 2 + (classId <= 3 ? 0 : 1);
+				String preferred = subject == 3 || subject == 4 ? (classId % 2 == 0 ? "Lab" : "lab 2") : null;
+				demands.add(new TimetableSolver.Demand(id++, classId, teacherId, preferred, "Room " + classId, weekly[subject]));
+			}
+		}
+		return demands;
+	}
+
+	@Test
+	void findsClashFreeTimetable() {
+		List<TimetableSolver.Demand> demands = school();
+		TimetableSolver solver = new TimetableSolver(demands, DAYS, PERIODS);
+		assertTrue(solver.capacityProblems().isEmpty());
+
+		AtomicLong reported = new AtomicLong();
+		TimetableSolver.Result result = solver.solve(7, System.nanoTime() + TimeUnit.SECONDS.toNanos(10), () -> false,
+				(iterations, hard, soft) -> reported.set(iterations));
+
+		assertEquals(0, result.hardViolations());
+		assertEquals(result.iterations(), reported.get());
+		assertEquals(6 * 35, result.placements().size());
+
+		Map<Long, TimetableSolver.Demand> byId = new HashMap<>();
+		demands.forEach(d -> byId.put(d.classSubjectId(), d));
+		Set<String> taken = new HashSet<>();
+		for (TimetableSolver.Placement placement : result.placements()) {
+			TimetableSolver.Demand demand = byId.get(placement.classSubjectId());
+			String slot = placement.day() + "/" + placement.period();
+			assertTrue(taken.add("class " + demand.classId() + " " + slot));
+			assertTrue(taken.add("teacher " + demand.teacherId() + " " + slot));
+			assertTrue(taken.add("room " + placement.room().toUpperCase() + " " + slot));
+			assertTrue(placement.room().equals(demand.classRoom()) || placement.room().equalsIgnoreCase(demand.preferredRoom()));
+		}
+	}
+
+	@Test
+	void stopsWhenAsked() {
+		TimetableSolver solver = new TimetableSolver(school(), DAYS, PERIODS);
+		TimetableSolver.Result result = solver.solve(1, System.nanoTime() + TimeUnit.MINUTES.toNanos(1), () -> true, null);
+		assertEquals(6 * 35, result.placements().size());
+		assertTrue(result.iterations() <= 1);
+	}
+
+	@Test
+	void reportsImpossibleLoads() {
+		List<TimetableSolver.Demand> demands = List.of(
+				new TimetableSolver.Demand(1L, 1L, 9L, null, "A", 30),
+				new TimetableSolver.Demand(2L, 1L, 8L, null, "A", 12),
+				new TimetableSolver.Demand(3L, 2L, 9L, null, "B", 12));
+
+		List<String> problems = new TimetableSolver(demands, DAYS, PERIODS).capacityProblems();
+		assertEquals(2, problems.size());
+		assertTrue(problems.contains("Class 1 needs 42 periods but the week has 40"));
+		assertTrue(problems.contains("Teacher 9 needs 42 periods but the week has 40"));
+	}
+}
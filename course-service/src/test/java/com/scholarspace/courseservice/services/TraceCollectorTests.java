@@ -0,0 +1,113 @@
+package com.scholarspace.courseservice.services;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import com.scholarspace.courseservice.config.TracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceCollectorTests {
+
+	private static final long T0 = 1_790_000_000_000_000L;
+
+	@TempDir
+	Path exportDir;
+
+	private TracingProperties properties;
+	private TraceCollector collector;
+	private Tracing tracing;
+	private Path exportFile;
+
+	@BeforeEach
+	void setUp() {
+		exportFile = exportDir.resolve("course-service.jsonl");
+		properties = new TracingProperties();
+		properties.setExportFile(exportFile.toString());
+		collector = new TraceCollector(properties, new SimpleMeterRegistry());
+		collector.init();
+		tracing = Tracing.newBuilder().localServiceName("course-service").addSpanHandler(collector).build();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		tracing.close();
+		collector.destroy();
+	}
+
+	@Test
+	void ranksTracesAndSplitsTheirTimeByHop() throws Exception {
+		Tracer tracer = tracing.tracer();
+		Span server = tracer.newTrace().kind(Span.Kind.SERVER).name("http post /api/enrollments").start(T0);
+		Span userLookup = tracer.newChild(server.context()).kind(Span.Kind.CLIENT).name("http get")
+				.remoteServiceName("user-service").start(T0 + 1_000);
+		userLookup.finish(T0 + 31_000);
+		Span query = tracer.newChild(server.context()).name("query").start(T0 + 32_000);
+		query.finish(T0 + 42_000);
+		server.finish(T0 + 50_000);
+
+		Span fast = tracer.newTrace().kind(Span.Kind.SERVER).name("http get /api/courses").start(T0);
+		fast.finish(T0 + 5_000);
+
+		List<TraceCollector.TraceSummary> slowest = collector.slowest(10);
+		assertEquals(2, slowest.size());
+		TraceCollector.TraceSummary slow = slowest.get(0);
+		assertEquals(server.context().traceIdString(), slow.traceId());
+		assertEquals("course-service http post /api/enrollments", slow.root());
+		assertEquals(50.0, slow.durationMs());
+		assertEquals(3, slow.spanCount());
+		// The 50 ms request spent 30 ms waiting on user-service and 10 ms in JDBC
+		assertEquals(Map.of("course-service -> user-service", 30.0, "course-service", 10.0, "course-service query", 10.0),
+				slow.selfMsByHop());
+		assertEquals(List.of(slow), collector.slowest(1));
+
+		List<TraceCollector.SpanRecord> spans = collector.spans(slow.traceId()).orElseThrow();
+		assertEquals(List.of("course-service", "course-service -> user-service", "course-service query"),
+				spans.stream().map(TraceCollector.SpanRecord::hop).toList());
+		assertEquals("50.000", spans.get(0).tags().get("hop.duration.ms"));
+		assertEquals("10.000", spans.get(0).tags().get("hop.self.ms"));
+		assertTrue(collector.spans("unknown").isEmpty());
+
+		// Spans reach the export file from the writer thread
+		long deadline = System.currentTimeMillis() + 5000;
+		while ((!Files.exists(exportFile) || Files.readAllLines(exportFile).size() < 4) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		List<String> lines = Files.readAllLines(exportFile);
+		assertEquals(4, lines.size());
+		assertTrue(lines.stream().allMatch(line -> line.contains("\"traceId\":\"")), lines.get(0));
+	}
+
+	@Test
+	void exportRollsOverInsteadOfGrowingWithoutBound() throws Exception {
+		properties.setExportMaxBytes(1000);
+		Path rolled = exportDir.resolve("course-service.jsonl.1");
+		Tracer tracer = tracing.tracer();
+
+		for (int i = 0; i < 10; i++) {
+			tracer.newTrace().kind(Span.Kind.SERVER).name("http get /api/courses/" + i).start(T0).finish(T0 + 1_000);
+			// One span per write, so every write is a chance to roll over
+			long deadline = System.currentTimeMillis() + 5000;
+			while ((!Files.exists(exportFile) || !Files.readString(exportFile).contains("/api/courses/" + i + "\""))
+					&& System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+		}
+
+		assertTrue(Files.exists(rolled));
+		assertTrue(Files.size(exportFile) <= 1000, "current file is " + Files.size(exportFile) + " bytes");
+		assertTrue(Files.size(rolled) <= 1000, "rolled file is " + Files.size(rolled) + " bytes");
+		assertTrue(Files.readString(exportFile).contains("/api/courses/9\""));
+		assertFalse(Files.readString(rolled).contains("/api/courses/0\""));
+	}
+}
@@ -0,0 +1,147 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.controllers.SubmissionController;
+import com.scholarspace.courseservice.dto.SubmissionSummary;
+import com.scholarspace.courseservice.dto.UngradedPage;
+import com.scholarspace.courseservice.models.ContentType;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.CourseContent;
+import com.scholarspace.courseservice.models.Submission;
+import com.scholarspace.courseservice.repositories.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class UngradedQueueTests {
+
+	private static final long INSTRUCTOR = 7L;
+	private static final long OTHER_INSTRUCTOR = 8L;
+	private static final LocalDateTime START = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SubmissionRepository submissionRepository;
+
+	private UngradedQueueService queueService;
+	private Course assigned;
+	private Course other;
+
+	@BeforeEach
+	void setUp() {
+		assigned = entityManager.persist(new Course("PH101", "Physics", null, 3, "Fall", "2026", 1L));
+		Course second = entityManager.persist(new Course("PH102", "Physics II", null, 3, "Fall", "2026", 1L));
+		other = entityManager.persist(new Course("BI101", "Biology", null, 3, "Fall", "2026", 1L));
+
+		CourseContent first = assignment(assigned);
+		CourseContent secondAssignment = assignment(second);
+		CourseContent unrelated = assignment(other);
+
+		// Seven ungraded submissions across the assigned courses, two sharing a timestamp
+		for (int i = 0; i < 6; i++) {
+			submission(i % 2 == 0 ? first : secondAssignment, 100L + i, START.plusHours(i), null);
+		}
+		submission(first, 200L, START.plusHours(5), null);
+		submission(first, 201L, START, 9L);
+		submission(unrelated, 202L, START, null);
+		entityManager.flush();
+		entityManager.clear();
+
+		InstructorAssignmentService assignments = mock(InstructorAssignmentService.class);
+		when(assignments.getCourseIdsByInstructor(INSTRUCTOR)).thenReturn(List.of(assigned.getId(), second.getId()));
+		when(assignments.getCourseIdsByInstructor(OTHER_INSTRUCTOR)).thenReturn(List.of(other.getId()));
+		queueService = new UngradedQueueService(submissionRepository, assignments);
+		queueService.init();
+	}
+
+	private CourseContent assignment(Course course) {
+		return entityManager.persist(new CourseContent(course, "Lab", null, ContentType.ASSIGNMENT, null, null, INSTRUCTOR));
+	}
+
+	private void submission(CourseContent assignment, long studentId, LocalDateTime submittedAt, Long gradedBy) {
+		Submission submission = new Submission(assignment, studentId, null);
+		submission.setSubmissionDate(submittedAt);
+		submission.setGradedBy(gradedBy);
+		entityManager.persist(submission);
+	}
+
+	@Test
+	void pagesThroughQueueInSubmissionOrderWithoutGapsOrRepeats() {
+		List<SubmissionSummary> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			UngradedPage page = queueService.getQueue(INSTRUCTOR, cursor, 3);
+			seen.addAll(page.items());
+			cursor = page.nextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(3, pages);
+		assertEquals(7, seen.size());
+		assertEquals(7, seen.stream().map(SubmissionSummary::submissionId).distinct().count());
+		for (int i = 1; i < seen.size(); i++) {
+			assertFalse(seen.get(i).submissionDate().isBefore(seen.get(i - 1).submissionDate()));
+		}
+		assertTrue(seen.stream().allMatch(s -> s.gradedBy() == null && !s.assignment().courseId().equals(other.getId())));
+	}
+
+	@Test
+	void countsAreLoadedOnceThenAdjusted() {
+		Map<Long, Integer> counts = queueService.getCounts(INSTRUCTOR);
+		assertEquals(4, counts.get(assigned.getId()));
+
+		// Deltas wait for commit; off the test's transactional thread they apply immediately
+		CompletableFuture.runAsync(() -> {
+			queueService.submissionCreated(assigned.getId());
+			queueService.submissionsGraded(Map.of(assigned.getId(), 2));
+		}).join();
+		assertEquals(3, queueService.getCounts(INSTRUCTOR).get(assigned.getId()));
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThrows(RuntimeException.class, () -> queueService.getQueue(INSTRUCTOR, "not-a-cursor", 3));
+	}
+
+	@Test
+	void controllerServesEachInstructorTheirOwnQueue() {
+		SubmissionController controller = new SubmissionController(mock(SubmissionService.class), queueService);
+
+		UngradedPage mine = (UngradedPage) controller.getUngradedQueue(null, 50, instructor(INSTRUCTOR)).getBody();
+		UngradedPage theirs = (UngradedPage) controller.getUngradedQueue(null, 50, instructor(OTHER_INSTRUCTOR)).getBody();
+
+		assertEquals(7, mine.items().size());
+		assertEquals(1, theirs.items().size());
+		assertEquals(202L, theirs.items().get(0).studentId());
+		assertTrue(mine.items().stream().noneMatch(s -> s.assignment().courseId().equals(other.getId())));
+
+		ResponseEntity<Map<Long, Integer>> counts = controller.getUngradedCounts(instructor(OTHER_INSTRUCTOR));
+		assertEquals(Map.of(other.getId(), 1), counts.getBody());
+	}
+
+	private static Authentication instructor(long userId) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+				"instructor" + userId, null, List.of(new SimpleGrantedAuthority("ROLE_INSTRUCTOR")));
+		authentication.setDetails(userId);
+		return authentication;
+	}
+}
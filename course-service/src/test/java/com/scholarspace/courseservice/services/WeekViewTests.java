@@ -0,0 +1,189 @@
+package com.scholarspace.courseservice.services;
+
+import com.scholarspace.courseservice.dto.LessonSlot;
+import com.scholarspace.courseservice.dto.WeekView;
+import com.scholarspace.courseservice.dto.WeekViewEntry;
+import com.scholarspace.courseservice.models.ClassSubject;
+import com.scholarspace.courseservice.models.Form;
+import com.scholarspace.courseservice.models.Lesson;
+import com.scholarspace.courseservice.models.SchoolClass;
+import com.scholarspace.courseservice.models.Subject;
+import com.scholarspace.courseservice.models.SubjectFormOffering;
+import com.scholarspace.courseservice.repositories.LessonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class WeekViewTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2026, 9, 7);
+	private static final long MATHS_TEACHER = 7L;
+	private static final long ENGLISH_TEACHER = 8L;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private LessonRepository lessonRepository;
+
+	private WeekViewService weekViewService;
+	private SchoolClass threeA;
+	private SchoolClass threeB;
+	private ClassSubject threeAMaths;
+	private Lesson wednesdayMaths;
+
+	@BeforeEach
+	void setUp() {
+		Form form = new Form();
+		form.setSchoolId(1L);
+		form.setFormNumber(3);
+		form.setFormName("Form 3");
+		form.setAcademicYear("2026-2027");
+		entityManager.persist(form);
+
+		threeA = schoolClass(form, "3A");
+		threeB = schoolClass(form, "3B");
+		Subject maths = subject("Mathematics", "MATH");
+		Subject english = subject("English Language", "ENG");
+
+		threeAMaths = classSubject(threeA, offering(maths, form), MATHS_TEACHER);
+		ClassSubject threeAEnglish = classSubject(threeA, offering(english, form), ENGLISH_TEACHER);
+		ClassSubject threeBMaths = classSubject(threeB, offering(maths, form), MATHS_TEACHER);
+
+		wednesdayMaths = lesson(threeAMaths, MONDAY.plusDays(2), "10:30");
+		lesson(threeAEnglish, MONDAY, "09:30");
+		lesson(threeBMaths, MONDAY.plusDays(2), "08:00");
+		lesson(threeAMaths, MONDAY.plusDays(7), "08:00");
+		entityManager.flush();
+		entityManager.clear();
+
+		weekViewService = newService();
+	}
+
+	private WeekViewService newService() {
+		WeekViewService service = new WeekViewService(lessonRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "maxViews", 100);
+		ReflectionTestUtils.setField(service, "expireAfterWriteMinutes", 60L);
+		service.init();
+		return service;
+	}
+
+	@Test
+	void scheduleSlotsCarryTheSchoolOfTheirClass() {
+		List<LessonSlot> slots = lessonRepository.findSlotsByDate(MONDAY.plusDays(2));
+		assertEquals(2, slots.size());
+		assertTrue(slots.stream().allMatch(slot -> Long.valueOf(1L).equals(slot.schoolId())));
+	}
+
+	@Test
+	void buildsClassAndTeacherWeeksWithResolvedNames() {
+		WeekView classWeek = weekViewService.getClassWeek(threeA.getClassId(), MONDAY.plusDays(4));
+		assertEquals(MONDAY, classWeek.weekStart());
+		assertEquals(MONDAY.plusDays(6), classWeek.weekEnd());
+		assertEquals(List.of("English Language", "Mathematics"), classWeek.entries().stream().map(WeekViewEntry::subjectName).toList());
+		WeekViewEntry maths = classWeek.entries().get(1);
+		assertEquals(DayOfWeek.WEDNESDAY, maths.day());
+		assertEquals("3A", maths.className());
+		assertEquals("Form 3", maths.formName());
+		assertEquals("MATH", maths.subjectCode());
+
+		WeekView teacherWeek = weekViewService.getTeacherWeek(MATHS_TEACHER, MONDAY);
+		assertEquals(List.of("3B", "3A"), teacherWeek.entries().stream().map(WeekViewEntry::className).toList());
+
+		// Served from memory until something changes, with a stable ETag
+		assertSame(classWeek, weekViewService.getClassWeek(threeA.getClassId(), MONDAY));
+		assertTrue(classWeek.etag().startsWith("\"") && classWeek.etag().endsWith("\""));
+	}
+
+	@Test
+	void patchesOnlyTheViewsALessonTouches() {
+		WeekView classWeek = weekViewService.getClassWeek(threeA.getClassId(), MONDAY);
+		WeekView teacherWeek = weekViewService.getTeacherWeek(MATHS_TEACHER, MONDAY);
+		WeekView englishWeek = weekViewService.getTeacherWeek(ENGLISH_TEACHER, MONDAY);
+		WeekView nextWeek = weekViewService.getClassWeek(threeA.getClassId(), MONDAY.plusDays(7));
+
+		// Move Wednesday's maths lesson into next week
+		LessonSlot before = LessonService.toSlot(wednesdayMaths, threeAMaths, 1L);
+		Lesson moved = lessonRepository.findById(wednesdayMaths.getLessonId()).orElseThrow();
+		moved.setLessonDate(MONDAY.plusDays(9));
+		lessonRepository.saveAndFlush(moved);
+		weekViewService.patch(moved.getLessonId(), before, LessonService.toSlot(moved, threeAMaths, 1L));
+
+		WeekView patchedClassWeek = weekViewService.getClassWeek(threeA.getClassId(), MONDAY);
+		assertEquals(1, patchedClassWeek.entries().size());
+		assertNotEquals(classWeek.etag(), patchedClassWeek.etag());
+		assertEquals(List.of("3B"), weekViewService.getTeacherWeek(MATHS_TEACHER, MONDAY).entries().stream().map(WeekViewEntry::className).toList());
+		assertNotEquals(teacherWeek.etag(), weekViewService.getTeacherWeek(MATHS_TEACHER, MONDAY).etag());
+		assertSame(englishWeek, weekViewService.getTeacherWeek(ENGLISH_TEACHER, MONDAY));
+
+		WeekView patchedNextWeek = weekViewService.getClassWeek(threeA.getClassId(), MONDAY.plusDays(7));
+		assertEquals(List.of(MONDAY.plusDays(7), MONDAY.plusDays(9)), patchedNextWeek.entries().stream().map(WeekViewEntry::lessonDate).toList());
+		assertNotEquals(nextWeek.etag(), patchedNextWeek.etag());
+
+		// Patched views match a fresh build, ETags included
+		WeekView rebuilt = newService().getClassWeek(threeA.getClassId(), MONDAY.plusDays(7));
+		assertEquals(rebuilt.entries(), patchedNextWeek.entries());
+		assertEquals(rebuilt.etag(), patchedNextWeek.etag());
+
+		// Deleting drops the entry
+		LessonSlot last = LessonService.toSlot(moved, threeAMaths, 1L);
+		lessonRepository.delete(moved);
+		lessonRepository.flush();
+		weekViewService.patch(moved.getLessonId(), last, null);
+		assertEquals(1, weekViewService.getClassWeek(threeA.getClassId(), MONDAY.plusDays(7)).entries().size());
+	}
+
+	private SchoolClass schoolClass(Form form, String name) {
+		SchoolClass schoolClass = new SchoolClass();
+		schoolClass.setFormId(form.getFormId());
+		schoolClass.setClassName(name);
+		schoolClass.setClassCode("F" + name);
+		schoolClass.setRoomNumber("R" + name);
+		return entityManager.persist(schoolClass);
+	}
+
+	private Subject subject(String name, String code) {
+		Subject subject = new Subject();
+		subject.setSchoolId(1L);
+		subject.setSubjectName(name);
+		subject.setSubjectCode(code);
+		return entityManager.persist(subject);
+	}
+
+	private SubjectFormOffering offering(Subject subject, Form form) {
+		SubjectFormOffering offering = new SubjectFormOffering();
+		offering.setSubjectId(subject.getSubjectId());
+		offering.setFormId(form.getFormId());
+		return entityManager.persist(offering);
+	}
+
+	private ClassSubject classSubject(SchoolClass schoolClass, SubjectFormOffering offering, long teacherId) {
+		ClassSubject classSubject = new ClassSubject();
+		classSubject.setClassId(schoolClass.getClassId());
+		classSubject.setSubjectOfferingId(offering.getOfferingId());
+		classSubject.setTeacherId(teacherId);
+		return entityManager.persist(classSubject);
+	}
+
+	private Lesson lesson(ClassSubject classSubject, LocalDate date, String start) {
+		Lesson lesson = new Lesson();
+		lesson.setClassSubjectId(classSubject.getClassSubjectId());
+		lesson.setLessonTitle("Lesson");
+		lesson.setLessonDate(date);
+		lesson.setStartTime(LocalTime.parse(start));
+		lesson.setEndTime(LocalTime.parse(start).plusMinutes(40));
+		return entityManager.persist(lesson);
+	}
+}
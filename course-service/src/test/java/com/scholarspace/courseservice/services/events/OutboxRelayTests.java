@@ -0,0 +1,218 @@
+package com.scholarspace.courseservice.services.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.courseservice.config.OutboxProperties;
+import com.scholarspace.courseservice.models.Course;
+import com.scholarspace.courseservice.models.Enrollment;
+import com.scholarspace.courseservice.models.EnrollmentStatus;
+import com.scholarspace.courseservice.models.OutboxEvent;
+import com.scholarspace.courseservice.proto.UserRef;
+import com.scholarspace.courseservice.proto.UserRole;
+import com.scholarspace.courseservice.repositories.CourseRepository;
+import com.scholarspace.courseservice.repositories.EnrollmentRepository;
+import com.scholarspace.courseservice.repositories.OutboxEventRepository;
+import com.scholarspace.courseservice.services.EnrollmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the outbox against real commits with the in-process broker standing in for the network:
+ * events exist only for committed writes, go out in order, survive a failing subscriber, a poison
+ * event is parked instead of blocking the rest, and a user-service event arriving twice is applied once.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTests {
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<DomainEvent> received = new ArrayList<>();
+	private final AtomicInteger failuresLeft = new AtomicInteger();
+
+	private TransactionTemplate transactionTemplate;
+	private OutboxProperties properties;
+	private OutboxService outboxService;
+	private EnrollmentService enrollmentService;
+	private DomainEventDispatcher dispatcher;
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		properties = new OutboxProperties();
+		properties.setBatchSize(2);
+		properties.setInitialBackoffMs(60000);
+		outboxService = new OutboxService(outboxEventRepository, objectMapper);
+
+		RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.getForObject(anyString(), eq(UserRef.class))).thenReturn(UserRef.newBuilder().setRole(UserRole.STUDENT).build());
+		enrollmentService = new EnrollmentService(enrollmentRepository, courseRepository, restTemplate, transactionTemplate, outboxService);
+
+		DomainEventListener recorder = new DomainEventListener() {
+			@Override
+			public Set<String> getEventTypes() {
+				return Set.of(DomainEventTypes.ENROLLMENT_STATUS_CHANGED, DomainEventTypes.COURSE_CREATED);
+			}
+
+			@Override
+			public void onEvent(DomainEvent event) {
+				if (failuresLeft.getAndDecrement() > 0) {
+					throw new IllegalStateException("subscriber unavailable");
+				}
+				received.add(event);
+			}
+		};
+		StaticListableBeanFactory listeners = new StaticListableBeanFactory();
+		listeners.addBean("recorder", recorder);
+		listeners.addBean("userAccountEventListener", new UserAccountEventListener(enrollmentService));
+		dispatcher = new DomainEventDispatcher(listeners.getBeanProvider(DomainEventListener.class), properties);
+
+		relay = new OutboxRelay(outboxEventRepository, new InProcessEventBroker(dispatcher), properties, objectMapper, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(relay, "source", "course-service");
+		relay.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		outboxEventRepository.deleteAll();
+	}
+
+	@Test
+	void publishesOnlyCommittedEventsInOrder() {
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			outboxService.record(DomainEventTypes.COURSE_CREATED, "Course", 1L, Map.of("courseId", 1));
+			throw new IllegalStateException("rolled back");
+		}));
+		assertEquals(0, outboxEventRepository.count());
+
+		for (long courseId = 1; courseId <= 3; courseId++) {
+			long id = courseId;
+			transactionTemplate.executeWithoutResult(status ->
+					outboxService.record(DomainEventTypes.COURSE_CREATED, "Course", id, Map.of("courseId", id)));
+		}
+
+		// The first batch fails at the subscriber and backs off; later events must not overtake it
+		failuresLeft.set(1);
+		assertEquals(0, relay.relayBatch());
+		assertEquals(0, relay.relayBatch());
+		List<OutboxEvent> pending = outboxEventRepository.findAll();
+		assertEquals(3, outboxEventRepository.countByPublishedAtIsNull());
+		assertEquals(1, pending.get(0).getAttempts());
+		assertEquals(0, pending.get(2).getAttempts());
+		assertTrue(pending.get(0).getLastError().contains("subscriber unavailable"));
+
+		// Once the backoff expires the whole backlog drains in commit order
+		outboxEventRepository.markFailed(List.of(pending.get(0).getOutboxId(), pending.get(1).getOutboxId()),
+				LocalDateTime.now().minusSeconds(1), "expired");
+		relay.poll();
+		assertEquals(List.of("1", "2", "3"), received.stream().map(DomainEvent::aggregateId).toList());
+		assertEquals("course-service", received.get(0).source());
+		assertEquals(1, received.get(0).payload().get("courseId"));
+		assertEquals(0, outboxEventRepository.countByPublishedAtIsNull());
+	}
+
+	@Test
+	void poisonEventIsParkedAfterMaxAttemptsAndTheRestGoOut() {
+		for (long courseId = 1; courseId <= 3; courseId++) {
+			long id = courseId;
+			transactionTemplate.executeWithoutResult(status ->
+					outboxService.record(DomainEventTypes.COURSE_CREATED, "Course", id, Map.of("courseId", id)));
+		}
+		properties.setInitialBackoffMs(0);
+		properties.setMaxAttempts(3);
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		EventPublisher rejectsCourseTwo = events -> {
+			if (events.stream().anyMatch(event -> event.aggregateId().equals("2"))) {
+				throw new IllegalStateException("subscriber rejects course 2");
+			}
+			received.addAll(events);
+		};
+		OutboxRelay poisoned = new OutboxRelay(outboxEventRepository, rejectsCourseTwo, properties, new ObjectMapper(), meterRegistry);
+		ReflectionTestUtils.setField(poisoned, "source", "course-service");
+		poisoned.init();
+
+		for (int i = 0; i < 5; i++) {
+			poisoned.poll();
+		}
+
+		assertEquals(List.of("1", "3"), received.stream().map(DomainEvent::aggregateId).toList());
+		OutboxEvent parked = outboxEventRepository.findAll().get(1);
+		assertNotNull(parked.getFailedAt());
+		assertNull(parked.getPublishedAt());
+		assertEquals(3, parked.getAttempts());
+		assertTrue(parked.getLastError().contains("rejects course 2"));
+		assertEquals(1, outboxEventRepository.countByFailedAtIsNotNull());
+		assertEquals(1.0, meterRegistry.counter("outbox.events.parked").count());
+	}
+
+	@Test
+	void httpBrokerRefusesToStartWithoutToken() {
+		HttpEventPublisher publisher = new HttpEventPublisher(mock(RestTemplate.class), properties);
+		assertThrows(IllegalStateException.class, publisher::checkToken);
+
+		properties.setToken("a-real-secret");
+		assertDoesNotThrow(publisher::checkToken);
+	}
+
+	@Test
+	void userDeactivationDropsPendingEnrollmentsOnce() {
+		Course course = courseRepository.save(new Course("CH101", "Chemistry", null, 3, "Fall", "2026", 1L));
+		Enrollment enrollment = enrollmentService.requestEnrollment(42L, course.getId());
+		assertEquals(1, courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount());
+
+		DomainEvent deactivated = new DomainEvent(UUID.randomUUID().toString(), DomainEventTypes.USER_DEACTIVATED,
+				"user-service", "User", "42", LocalDateTime.now(), Map.of("userId", 42, "role", "STUDENT"));
+		// The listener's service is not proxied here, so the test supplies its transaction
+		assertEquals(Integer.valueOf(1), transactionTemplate.execute(status -> dispatcher.dispatch(List.of(deactivated))));
+		// A redelivered batch is skipped by event id
+		assertEquals(Integer.valueOf(0), transactionTemplate.execute(status -> dispatcher.dispatch(List.of(deactivated))));
+
+		assertEquals(EnrollmentStatus.DROPPED, enrollmentRepository.findById(enrollment.getEnrollmentId()).orElseThrow().getStatus());
+		assertEquals(0, courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount());
+
+		// Requesting and dropping each left an EnrollmentStatusChanged event for the relay
+		relay.poll();
+		assertEquals(List.of("PENDING", "DROPPED"), received.stream().map(event -> event.payload().get("status")).toList());
+		assertNull(received.get(0).payload().get("previousStatus"));
+		assertEquals("PENDING", received.get(1).payload().get("previousStatus"));
+	}
+}
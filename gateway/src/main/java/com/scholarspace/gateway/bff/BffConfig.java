@@ -0,0 +1,34 @@
+package com.scholarspace.gateway.bff;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class BffConfig implements WebFluxConfigurer {
+
+    private final GlobalCorsProperties globalCorsProperties;
+
+    public BffConfig(GlobalCorsProperties globalCorsProperties) {
+        this.globalCorsProperties = globalCorsProperties;
+    }
+
+    // Resolves lb:// service names through discovery and traces each call like the proxied routes
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObservationRegistry observationRegistry) {
+        return WebClient.builder().observationRegistry(observationRegistry);
+    }
+
+    // globalcors only covers proxied routes; composite endpoints answer the same origins
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        globalCorsProperties.getCorsConfigurations()
+                .forEach((pattern, configuration) -> registry.addMapping(pattern).combine(configuration));
+    }
+}
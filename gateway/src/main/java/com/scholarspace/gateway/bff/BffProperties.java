@@ -0,0 +1,29 @@
+package com.scholarspace.gateway.bff;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.bff")
+public class BffProperties {
+    private String userServiceUri = "lb://user-service";
+    private String courseServiceUri = "lb://course-service";
+    // A part that takes longer is left out of the composite response instead of holding it up
+    private Duration partTimeout = Duration.ofSeconds(2);
+    // Per-course content lookups running at once for one composite request
+    private int maxFanOut = 8;
+
+    public String getUserServiceUri() { return userServiceUri; }
+    public void setUserServiceUri(String userServiceUri) { this.userServiceUri = userServiceUri; }
+
+    public String getCourseServiceUri() { return courseServiceUri; }
+    public void setCourseServiceUri(String courseServiceUri) { this.courseServiceUri = courseServiceUri; }
+
+    public Duration getPartTimeout() { return partTimeout; }
+    public void setPartTimeout(Duration partTimeout) { this.partTimeout = partTimeout; }
+
+    public int getMaxFanOut() { return maxFanOut; }
+    public void setMaxFanOut(int maxFanOut) { this.maxFanOut = maxFanOut; }
+}
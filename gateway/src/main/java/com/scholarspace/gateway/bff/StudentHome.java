@@ -0,0 +1,14 @@
+package com.scholarspace.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the student home screen needs in one response. A part that failed or timed out is
+ * {@code null} and named in {@code missing}; {@code courseContents} is keyed by course id.
+ */
+public record StudentHome(JsonNode profile, JsonNode enrollments, Map<String, JsonNode> courseContents,
+                          JsonNode submissions, boolean partial, List<String> missing) {
+}
@@ -0,0 +1,41 @@
+package com.scholarspace.gateway.bff;
+
+import com.scholarspace.gateway.security.JwtRoleResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite endpoints served by the gateway itself rather than proxied. The caller is the
+ * student whose verified token carries the {@code userId}; the token is passed on to every
+ * backend call, which keeps enforcing its own access rules.
+ */
+@RestController
+@RequestMapping("/api/bff")
+public class StudentHomeController {
+
+    private final StudentHomeService studentHomeService;
+    private final JwtRoleResolver jwtRoleResolver;
+
+    public StudentHomeController(StudentHomeService studentHomeService, JwtRoleResolver jwtRoleResolver) {
+        this.studentHomeService = studentHomeService;
+        this.jwtRoleResolver = jwtRoleResolver;
+    }
+
+    @GetMapping("/student-home")
+    public Mono<ResponseEntity<StudentHome>> studentHome(ServerWebExchange exchange) {
+        Long studentId = jwtRoleResolver.verifiedClaims(exchange.getRequest())
+                .map(claims -> claims.get("userId", Long.class))
+                .orElse(null);
+        if (studentId == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return studentHomeService.load(studentId, authorization).map(ResponseEntity::ok);
+    }
+}
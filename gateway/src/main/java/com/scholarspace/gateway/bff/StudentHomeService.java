@@ -0,0 +1,97 @@
+package com.scholarspace.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+/**
+ * Builds {@link StudentHome} from user-service and course-service. Profile, active enrollments
+ * and submissions are requested at once; contents are requested per enrolled course as soon as
+ * the enrollments arrive. Each call has its own timeout, so a slow part only drops itself.
+ */
+@Service
+public class StudentHomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentHomeService.class);
+
+    private final WebClient webClient;
+    private final BffProperties properties;
+
+    public StudentHomeService(WebClient.Builder loadBalancedWebClientBuilder, BffProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+    }
+
+    public Mono<StudentHome> load(long studentId, String authorization) {
+        Mono<Optional<JsonNode>> profile = part(properties.getUserServiceUri() + "/api/users/profile", authorization);
+        Mono<Optional<JsonNode>> enrollments = part(properties.getCourseServiceUri()
+                + "/api/enrollments/student/" + studentId + "/active", authorization).cache();
+        Mono<Optional<JsonNode>> submissions = part(properties.getCourseServiceUri()
+                + "/api/submissions/student/" + studentId, authorization);
+        Mono<Map<String, Optional<JsonNode>>> courseContents = enrollments
+                .flatMapMany(list -> Flux.fromStream(list.stream()
+                        .flatMap(nodes -> StreamSupport.stream(nodes.spliterator(), false))
+                        .map(enrollment -> enrollment.path("course").path("id").asText())
+                        .filter(courseId -> !courseId.isEmpty())
+                        .distinct()))
+                .flatMapSequential(courseId -> part(properties.getCourseServiceUri()
+                                + "/api/course-contents/course/" + courseId, authorization)
+                                .map(contents -> Map.entry(courseId, contents)),
+                        properties.getMaxFanOut())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+
+        return Mono.zip(profile, enrollments, submissions, courseContents).map(parts -> {
+            List<String> missing = new ArrayList<>();
+            Map<String, JsonNode> contents = new LinkedHashMap<>();
+            parts.getT4().forEach((courseId, part) -> {
+                if (part.isPresent()) {
+                    contents.put(courseId, part.get());
+                } else {
+                    missing.add("courseContents:" + courseId);
+                }
+            });
+            JsonNode profileNode = orMissing(parts.getT1(), "profile", missing);
+            JsonNode enrollmentNode = orMissing(parts.getT2(), "enrollments", missing);
+            JsonNode submissionNode = orMissing(parts.getT3(), "submissions", missing);
+            return new StudentHome(profileNode, enrollmentNode, contents, submissionNode, !missing.isEmpty(), missing);
+        });
+    }
+
+    private Mono<Optional<JsonNode>> part(String uri, String authorization) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(properties.getPartTimeout())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("Composite part {} failed: {}", uri, e.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static JsonNode orMissing(Optional<JsonNode> part, String name, List<String> missing) {
+        if (part.isEmpty()) {
+            missing.add(name);
+        }
+        return part.orElse(null);
+    }
+}
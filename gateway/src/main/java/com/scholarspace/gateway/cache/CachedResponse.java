@@ -0,0 +1,90 @@
+package com.scholarspace.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A 200 response body with the headers worth replaying. Every entry has an ETag: the backend's
+ * when it sent one, otherwise a digest of the body, so clients can always revalidate.
+ */
+public record CachedResponse(HttpHeaders headers, byte[] body, String etag, boolean backendEtag, long lastModified,
+                             long storedAtMillis, long expiresAtMillis) {
+
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY);
+
+    static CachedResponse of(HttpHeaders responseHeaders, byte[] body, long ttlMillis, long now) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : REPLAYED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+            if (values != null) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        String etag = responseHeaders.getETag();
+        boolean backendEtag = etag != null;
+        if (!backendEtag) {
+            etag = digest(body);
+        }
+        headers.setETag(etag);
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, etag, backendEtag,
+                responseHeaders.getLastModified(), now, now + ttlMillis);
+    }
+
+    boolean isFresh(long now) {
+        return now < expiresAtMillis;
+    }
+
+    /** Whether the backend can confirm this copy with a 304 once it expires. */
+    boolean canRevalidate() {
+        return backendEtag || lastModified >= 0;
+    }
+
+    /** The same body, confirmed by the backend with a 304 that may carry new caching headers. */
+    CachedResponse revalidated(HttpHeaders notModifiedHeaders, long ttlMillis, long now) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(headers);
+        String cacheControl = notModifiedHeaders.getCacheControl();
+        if (cacheControl != null) {
+            merged.setCacheControl(cacheControl);
+        }
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(merged), body, etag, backendEtag, lastModified,
+                now, now + ttlMillis);
+    }
+
+    /** Whether the request's conditional headers already match this entry. */
+    boolean notModifiedFor(ServerHttpRequest request) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String ours = opaque(etag);
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || opaque(tag).equals(ours));
+        }
+        long ifModifiedSince = request.getHeaders().getIfModifiedSince();
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    int weight() {
+        return body.length + 256;
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.scholarspace.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway response bodies, bounded by total size. Fresh entries are served without contacting
+ * the backend; expired entries that the backend can confirm with a 304 are kept a while longer
+ * for revalidation, the rest are dropped as soon as they expire.
+ */
+@Component
+public class ResponseCache {
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private Clock clock = Clock.systemUTC();
+
+    private Cache<ResponseCacheKey, CachedResponse> entries;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((ResponseCacheKey key, CachedResponse value) -> value.weight())
+                .expireAfter(new Expiry<ResponseCacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(ResponseCacheKey key, CachedResponse value, long currentTime) {
+                        return lifetimeNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ResponseCacheKey key, CachedResponse value, long currentTime, long currentDuration) {
+                        return lifetimeNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ResponseCacheKey key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.responses");
+    }
+
+    private long lifetimeNanos(CachedResponse value) {
+        long millis = value.expiresAtMillis() - clock.millis();
+        if (value.canRevalidate()) {
+            millis += TimeUnit.SECONDS.toMillis(properties.getStaleRetentionSeconds());
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+    }
+
+    long now() {
+        return clock.millis();
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    CachedResponse get(ResponseCacheKey key) {
+        return entries.getIfPresent(key);
+    }
+
+    void put(ResponseCacheKey key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    void record(String routeId, String result) {
+        Counter.builder("gateway.response.cache.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Drops entries of one route and/or under one path prefix; with neither, drops everything.
+     * Returns the number of entries removed.
+     */
+    public int purge(String routeId, String pathPrefix) {
+        int removed = 0;
+        for (ResponseCacheKey key : entries.asMap().keySet()) {
+            if ((routeId == null || routeId.equals(key.routeId()))
+                    && (pathPrefix == null || key.path().startsWith(pathPrefix))
+                    && entries.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public Map<String, Object> describe() {
+        CacheStats stats = entries.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("entries", entries.estimatedSize());
+        description.put("bytes", entries.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        description.put("hitRate", stats.hitRate());
+        description.put("evictions", stats.evictionCount());
+        return description;
+    }
+}
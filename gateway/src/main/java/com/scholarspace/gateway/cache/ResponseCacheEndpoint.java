@@ -0,0 +1,35 @@
+package com.scholarspace.gateway.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/responsecache}: size and hit rate of the gateway response cache.
+ * {@code DELETE /actuator/responsecache?route=&prefix=} purges one route and/or one path prefix,
+ * or everything when neither is given. Admin only, see {@link com.scholarspace.gateway.security.ActuatorAccessFilter}.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache() {
+        return responseCache.describe();
+    }
+
+    @DeleteOperation
+    public Map<String, Integer> purge(@Nullable String route, @Nullable String prefix) {
+        return Map.of("purged", responseCache.purge(route, prefix));
+    }
+}
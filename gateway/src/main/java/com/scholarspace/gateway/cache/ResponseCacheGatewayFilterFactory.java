@@ -0,0 +1,242 @@
+package com.scholarspace.gateway.cache;
+
+import com.scholarspace.gateway.security.JwtRoleResolver;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * {@code ResponseCache=<ttl>}: serves repeated GETs of a route from {@link ResponseCache}.
+ * <ul>
+ *   <li>Entries are keyed by route, path, sorted query and the caller's verified role.</li>
+ *   <li>Backend {@code Cache-Control} wins over the route TTL: {@code no-store}, {@code private}
+ *       and {@code no-cache} responses are never stored, and {@code s-maxage}/{@code max-age}
+ *       set the lifetime, capped at {@code app.response-cache.max-ttl-seconds}.</li>
+ *   <li>Conditional requests matching a fresh entry get a 304 without a backend call; expired
+ *       entries with a backend ETag or Last-Modified are revalidated with a conditional GET.</li>
+ *   <li>A successful write through the same route purges that route's entries.</li>
+ * </ul>
+ * The filter runs before {@link NettyWriteResponseFilter} so it can capture the response body.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+    private final JwtRoleResolver roleResolver;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, ResponseCacheProperties properties,
+                                             JwtRoleResolver roleResolver) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.properties = properties;
+        this.roleResolver = roleResolver;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+        HttpMethod method = request.getMethod();
+        if (!properties.isEnabled() || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return chain.filter(exchange);
+        }
+        if (!HttpMethod.GET.equals(method)) {
+            // Whatever the write changed is somewhere under this route
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    responseCache.purge(routeId, null);
+                }
+            });
+        }
+
+        ResponseCacheKey key = new ResponseCacheKey(routeId, request.getPath().value(),
+                canonicalQuery(request), roleResolver.resolve(request));
+        String requestCacheControl = request.getHeaders().getCacheControl();
+        boolean bypass = requestCacheControl != null
+                && (requestCacheControl.contains("no-cache") || requestCacheControl.contains("no-store"));
+        long now = responseCache.now();
+        CachedResponse cached = bypass ? null : responseCache.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            responseCache.record(routeId, "hit");
+            return writeCached(exchange.getResponse(), request, cached, "HIT", now);
+        }
+
+        ServerWebExchange forwarded = exchange;
+        CachedResponse stale = null;
+        if (cached != null && cached.canRevalidate()) {
+            stale = cached;
+            forwarded = exchange.mutate().request(r -> r.headers(headers -> {
+                headers.remove(HttpHeaders.IF_NONE_MATCH);
+                headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                if (cached.backendEtag()) {
+                    headers.setIfNoneMatch(cached.etag());
+                } else {
+                    headers.setIfModifiedSince(cached.lastModified());
+                }
+            })).build();
+        }
+        responseCache.record(routeId, bypass ? "bypass" : stale != null ? "revalidate" : "miss");
+        CachingResponse response = new CachingResponse(exchange.getResponse(), request, key, stale, config);
+        return chain.filter(forwarded.mutate().response(response).build());
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, ServerHttpRequest request, CachedResponse cached,
+                                   String cacheStatus, long now) {
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.ETAG);
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(Math.max(0, now - cached.storedAtMillis()) / 1000));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        if (cached.notModifiedFor(request)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /** Lifetime allowed by the backend's Cache-Control, or -1 when the response must not be stored. */
+    long ttlMillis(HttpHeaders responseHeaders, Config config) {
+        if (responseHeaders.containsKey(HttpHeaders.SET_COOKIE) || responseHeaders.getVary().contains("*")) {
+            return -1;
+        }
+        long maxTtl = TimeUnit.SECONDS.toMillis(properties.getMaxTtlSeconds());
+        long ttl = config.getTtl() != null ? config.getTtl().toMillis()
+                : TimeUnit.SECONDS.toMillis(properties.getDefaultTtlSeconds());
+        String cacheControl = responseHeaders.getCacheControl();
+        if (cacheControl == null) {
+            return Math.min(ttl, maxTtl);
+        }
+        Long maxAge = null;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.equals("no-store") || trimmed.equals("private") || trimmed.startsWith("no-cache")) {
+                return -1;
+            }
+            try {
+                if (trimmed.startsWith("s-maxage=")) {
+                    maxAge = Long.parseLong(trimmed.substring(9));
+                } else if (trimmed.startsWith("max-age=") && maxAge == null) {
+                    maxAge = Long.parseLong(trimmed.substring(8));
+                }
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return Math.min(maxAge != null ? TimeUnit.SECONDS.toMillis(maxAge) : ttl, maxTtl);
+    }
+
+    private static String canonicalQuery(ServerHttpRequest request) {
+        if (request.getQueryParams().isEmpty()) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(request.getQueryParams()).entrySet()) {
+            for (String value : param.getValue().stream().sorted().toList()) {
+                query.append(query.isEmpty() ? "" : "&").append(param.getKey()).append('=').append(value);
+            }
+        }
+        return query.toString();
+    }
+
+    /** Captures cacheable 200s on their way to the client and answers backend 304s from the stale copy. */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final ResponseCacheKey key;
+        private final CachedResponse stale;
+        private final Config config;
+
+        CachingResponse(ServerHttpResponse delegate, ServerHttpRequest request, ResponseCacheKey key,
+                        CachedResponse stale, Config config) {
+            super(delegate);
+            this.request = request;
+            this.key = key;
+            this.stale = stale;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long now = responseCache.now();
+            if (stale != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                long ttl = ttlMillis(getHeaders(), config);
+                CachedResponse refreshed = stale.revalidated(getHeaders(), Math.max(ttl, 0), now);
+                if (ttl >= 0) {
+                    responseCache.put(key, refreshed);
+                }
+                return DataBufferUtils.join(body).doOnNext(DataBufferUtils::release)
+                        .then(writeCached(getDelegate(), request, refreshed, "REVALIDATED", now));
+            }
+            if (status == null || status.value() != HttpStatus.OK.value()) {
+                return super.writeWith(body);
+            }
+            long ttl = ttlMillis(getHeaders(), config);
+            long contentLength = getHeaders().getContentLength();
+            if (ttl < 0 || contentLength > properties.getMaxEntryBytes()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                CachedResponse entry = CachedResponse.of(getHeaders(), bytes, ttl, now);
+                if (bytes.length <= properties.getMaxEntryBytes() && (ttl > 0 || entry.canRevalidate())) {
+                    responseCache.put(key, entry);
+                }
+                return writeCached(getDelegate(), request, entry, "MISS", now);
+            });
+        }
+    }
+
+    public static class Config {
+        private Duration ttl;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+}
@@ -0,0 +1,5 @@
+package com.scholarspace.gateway.cache;
+
+/** Responses are shared by every caller of the same role asking the same route for the same URL. */
+public record ResponseCacheKey(String routeId, String path, String query, String role) {
+}
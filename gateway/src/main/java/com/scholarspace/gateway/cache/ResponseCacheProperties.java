@@ -0,0 +1,38 @@
+package com.scholarspace.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    // Total body bytes held across all entries
+    private long maxBytes = 64L * 1024 * 1024;
+    // Larger responses are passed through uncached
+    private int maxEntryBytes = 1024 * 1024;
+    // Used when neither the backend nor the route filter gives a lifetime
+    private long defaultTtlSeconds = 30;
+    // Upper bound on backend max-age
+    private long maxTtlSeconds = 300;
+    // How long an expired entry with an ETag or Last-Modified is kept for revalidation
+    private long staleRetentionSeconds = 600;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+
+    public int getMaxEntryBytes() { return maxEntryBytes; }
+    public void setMaxEntryBytes(int maxEntryBytes) { this.maxEntryBytes = maxEntryBytes; }
+
+    public long getDefaultTtlSeconds() { return defaultTtlSeconds; }
+    public void setDefaultTtlSeconds(long defaultTtlSeconds) { this.defaultTtlSeconds = defaultTtlSeconds; }
+
+    public long getMaxTtlSeconds() { return maxTtlSeconds; }
+    public void setMaxTtlSeconds(long maxTtlSeconds) { this.maxTtlSeconds = maxTtlSeconds; }
+
+    public long getStaleRetentionSeconds() { return staleRetentionSeconds; }
+    public void setStaleRetentionSeconds(long staleRetentionSeconds) { this.staleRetentionSeconds = staleRetentionSeconds; }
+}
@@ -0,0 +1,85 @@
+package com.scholarspace.gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one backend, adapted like Netflix's Gradient2: the limit follows the ratio
+ * between the long-term latency baseline and each new response time, so it shrinks as soon as
+ * the backend starts queueing and creeps back up while responses stay near the baseline.
+ * Timeouts and 503/504 answers cut it multiplicatively.
+ */
+final class AdaptiveLimit {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double baselineRttNanos;
+    private long samples;
+
+    AdaptiveLimit(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * Takes a slot if the given share of the limit is not full yet. Returns the number of requests
+     * in flight including this one, or -1 when the request must be shed.
+     */
+    int tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        double rtt = Math.max(1, rttNanos);
+        samples++;
+        // Plain average while warming up, exponential once the window is full
+        double factor = Math.max(2.0 / (properties.getLongWindow() + 1), 1.0 / samples);
+        baselineRttNanos += (rtt - baselineRttNanos) * factor;
+        // After a lasting speed-up the old baseline would hold the limit down for a whole window
+        if (baselineRttNanos / rtt > 2) {
+            baselineRttNanos *= 0.95;
+        }
+        // Traffic using under half the limit is not what makes the backend slow
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * baselineRttNanos / rtt));
+        double estimate = limit * gradient + properties.getQueueSize();
+        setLimit(limit * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+    }
+
+    synchronized void onDrop() {
+        setLimit(limit * properties.getBackoffRatio());
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+    }
+
+    double limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double baselineRttMillis() {
+        return baselineRttNanos / 1_000_000.0;
+    }
+}
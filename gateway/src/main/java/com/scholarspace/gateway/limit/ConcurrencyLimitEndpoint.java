@@ -0,0 +1,27 @@
+package com.scholarspace.gateway.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/concurrencylimits}: current limit, requests in flight and latency baseline
+ * per backend. Shed requests are counted as {@code gateway.concurrency.rejected}.
+ */
+@Component
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitEndpoint {
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public ConcurrencyLimitEndpoint(ConcurrencyLimits concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> limits() {
+        return concurrencyLimits.describe();
+    }
+}
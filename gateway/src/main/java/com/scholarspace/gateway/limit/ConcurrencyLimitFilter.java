@@ -0,0 +1,92 @@
+package com.scholarspace.gateway.limit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sheds requests a backend cannot take right now with an immediate 503 instead of letting them
+ * queue there. Runs after the response cache, so cache hits never count against a backend, and
+ * times each request until the backend's response headers arrive.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = 0;
+
+    private final ConcurrencyLimits concurrencyLimits;
+    private final ConcurrencyLimitProperties properties;
+    private final List<PathPattern> lowPriorityPaths;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimits concurrencyLimits, ConcurrencyLimitProperties properties) {
+        this.concurrencyLimits = concurrencyLimits;
+        this.properties = properties;
+        this.lowPriorityPaths = properties.getLowPriorityPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        Priority priority = priorityOf(route, exchange.getRequest().getPath().pathWithinApplication());
+        String backend = ConcurrencyLimits.backendOf(route);
+        AdaptiveLimit limit = concurrencyLimits.forBackend(backend);
+        int inFlight = limit.tryAcquire(properties.shareOf(priority));
+        if (inFlight < 0) {
+            concurrencyLimits.rejected(backend, route.getId(), priority);
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            limit.release();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.ON_ERROR || status != null
+                    && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status.value() == HttpStatus.GATEWAY_TIMEOUT.value())) {
+                limit.onDrop();
+            } else if (signal == SignalType.ON_COMPLETE) {
+                limit.onSample(System.nanoTime() - start, inFlight);
+            }
+        });
+    }
+
+    private Priority priorityOf(Route route, PathContainer path) {
+        for (PathPattern pattern : lowPriorityPaths) {
+            if (pattern.matches(path)) {
+                return Priority.LOW;
+            }
+        }
+        Object configured = route.getMetadata().get("priority");
+        return configured != null ? Priority.valueOf(configured.toString().toUpperCase(Locale.ROOT)) : Priority.NORMAL;
+    }
+}
@@ -0,0 +1,76 @@
+package com.scholarspace.gateway.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    // Where every backend starts; it adapts from the first responses on
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    // Responses averaged into the long-term latency baseline
+    private int longWindow = 600;
+    // How much slower than the baseline a response may be before the limit shrinks
+    private double rttTolerance = 1.5;
+    // Weight of each new estimate in the limit
+    private double smoothing = 0.2;
+    // Headroom added to every estimate so a healthy backend keeps probing upwards
+    private int queueSize = 4;
+    // Applied to the limit when the backend times out or answers 503/504
+    private double backoffRatio = 0.9;
+    // Fraction of a backend's limit NORMAL and LOW requests may fill; CRITICAL may fill all of it
+    private double normalShare = 0.9;
+    private double lowShare = 0.5;
+    // Requests on these paths count as LOW whatever their route's priority
+    private List<String> lowPriorityPaths = new ArrayList<>();
+
+    public double shareOf(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case LOW -> lowShare;
+        };
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+    public int getLongWindow() { return longWindow; }
+    public void setLongWindow(int longWindow) { this.longWindow = longWindow; }
+
+    public double getRttTolerance() { return rttTolerance; }
+    public void setRttTolerance(double rttTolerance) { this.rttTolerance = rttTolerance; }
+
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+
+    public int getQueueSize() { return queueSize; }
+    public void setQueueSize(int queueSize) { this.queueSize = queueSize; }
+
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+
+    public double getNormalShare() { return normalShare; }
+    public void setNormalShare(double normalShare) { this.normalShare = normalShare; }
+
+    public double getLowShare() { return lowShare; }
+    public void setLowShare(double lowShare) { this.lowShare = lowShare; }
+
+    public List<String> getLowPriorityPaths() { return lowPriorityPaths; }
+    public void setLowPriorityPaths(List<String> lowPriorityPaths) { this.lowPriorityPaths = lowPriorityPaths; }
+}
@@ -0,0 +1,73 @@
+package com.scholarspace.gateway.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AdaptiveLimit} per backend, created on its first request. Every route to the same
+ * {@code lb://} service shares the limit, so a report on one route competes with logins on
+ * another for the same instances and the priority shares decide which is shed. Routes to a
+ * fixed URL are limited on their own.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimits(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static String backendOf(Route route) {
+        URI uri = route.getUri();
+        return "lb".equals(uri.getScheme()) && uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : route.getId();
+    }
+
+    AdaptiveLimit forBackend(String backend) {
+        return limits.computeIfAbsent(backend, id -> {
+            AdaptiveLimit limit = new AdaptiveLimit(properties);
+            Gauge.builder("gateway.concurrency.limit", limit, AdaptiveLimit::limit)
+                    .tag("backend", id)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.in.flight", limit, AdaptiveLimit::inFlight)
+                    .tag("backend", id)
+                    .register(meterRegistry);
+            return limit;
+        });
+    }
+
+    void rejected(String backend, String routeId, Priority priority) {
+        Counter.builder("gateway.concurrency.rejected")
+                .tag("backend", backend)
+                .tag("route", routeId)
+                .tag("priority", priority.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> description = new TreeMap<>();
+        limits.forEach((backend, limit) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("limit", (int) limit.limit());
+            entry.put("inFlight", limit.inFlight());
+            entry.put("baselineRttMs", limit.baselineRttMillis());
+            description.put(backend, entry);
+        });
+        return description;
+    }
+}
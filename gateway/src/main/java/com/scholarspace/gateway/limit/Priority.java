@@ -0,0 +1,12 @@
+package com.scholarspace.gateway.limit;
+
+/**
+ * Order in which requests are shed once a backend nears its limit: {@code LOW} first, then
+ * {@code NORMAL}; {@code CRITICAL} may fill the whole limit. Set per route as the
+ * {@code priority} metadata entry.
+ */
+public enum Priority {
+    CRITICAL,
+    NORMAL,
+    LOW
+}
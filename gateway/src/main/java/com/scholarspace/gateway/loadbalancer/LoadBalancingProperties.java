@@ -0,0 +1,41 @@
+package com.scholarspace.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for {@link LatencyAwareLoadBalancer}. Services listed in
+ * {@code consistent-hash-services} send requests that name an institution to the same replica.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.load-balancer")
+public class LoadBalancingProperties {
+    // Time constant of the latency average; a slow sample counts fully at once and fades over this
+    private Duration decay = Duration.ofSeconds(10);
+    // Latency charged to a replica for a call that failed
+    private Duration failurePenalty = Duration.ofSeconds(1);
+    private List<String> consistentHashServices = new ArrayList<>();
+    // Points per replica on the hash ring
+    private int virtualNodes = 64;
+    // A replica holding more than this multiple of the average in-flight load passes keys on to the next
+    private double hashLoadFactor = 1.25;
+
+    public Duration getDecay() { return decay; }
+    public void setDecay(Duration decay) { this.decay = decay; }
+
+    public Duration getFailurePenalty() { return failurePenalty; }
+    public void setFailurePenalty(Duration failurePenalty) { this.failurePenalty = failurePenalty; }
+
+    public List<String> getConsistentHashServices() { return consistentHashServices; }
+    public void setConsistentHashServices(List<String> consistentHashServices) { this.consistentHashServices = consistentHashServices; }
+
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+
+    public double getHashLoadFactor() { return hashLoadFactor; }
+    public void setHashLoadFactor(double hashLoadFactor) { this.hashLoadFactor = hashLoadFactor; }
+}
@@ -0,0 +1,77 @@
+package com.scholarspace.gateway.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Request, 5xx and slow-request counts in fixed time buckets covering the longest SLO window.
+ * A bucket is cleared when the ring comes round to it again, so sums never include requests
+ * older than the window asked for (give or take one bucket).
+ */
+final class RollingWindow {
+
+    private final long bucketMillis;
+    private final long[] epochs;
+    private final long[] requests;
+    private final long[] errors;
+    private final long[] slow;
+
+    RollingWindow(Duration span, Duration bucket) {
+        this.bucketMillis = bucket.toMillis();
+        int buckets = (int) Math.ceil((double) span.toMillis() / bucketMillis);
+        this.epochs = new long[buckets];
+        this.requests = new long[buckets];
+        this.errors = new long[buckets];
+        this.slow = new long[buckets];
+        Arrays.fill(epochs, -1);
+    }
+
+    synchronized void record(long nowMillis, boolean error, boolean slowRequest) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % epochs.length);
+        if (epochs[index] != epoch) {
+            epochs[index] = epoch;
+            requests[index] = 0;
+            errors[index] = 0;
+            slow[index] = 0;
+        }
+        requests[index]++;
+        if (error) {
+            errors[index]++;
+        }
+        if (slowRequest) {
+            slow[index]++;
+        }
+    }
+
+    synchronized Counts sum(long nowMillis, Duration window) {
+        long current = nowMillis / bucketMillis;
+        long oldest = current - Math.max(1, window.toMillis() / bucketMillis) + 1;
+        long requestSum = 0;
+        long errorSum = 0;
+        long slowSum = 0;
+        for (int i = 0; i < epochs.length; i++) {
+            if (epochs[i] >= oldest && epochs[i] <= current) {
+                requestSum += requests[i];
+                errorSum += errors[i];
+                slowSum += slow[i];
+            }
+        }
+        return new Counts(requestSum, errorSum, slowSum);
+    }
+
+    record Counts(long requests, long errors, long slow) {
+
+        /**
+         * How fast the error budget is being spent: 1 uses it up exactly over the SLO period,
+         * 14.4 over an hour would use a 30-day budget in about two days.
+         */
+        double burnRate(long bad, double targetPercent) {
+            if (requests == 0 || bad == 0) {
+                return 0;
+            }
+            double budget = 1 - targetPercent / 100;
+            return budget <= 0 ? Double.POSITIVE_INFINITY : ((double) bad / requests) / budget;
+        }
+    }
+}
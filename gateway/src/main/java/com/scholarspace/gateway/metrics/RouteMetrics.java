@@ -0,0 +1,181 @@
+package com.scholarspace.gateway.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency, status classes, bytes and SLO burn rates per gateway route. Latency percentiles come
+ * from Micrometer's HdrHistogram-backed timer over its rolling two-minute window and are also
+ * published as a Prometheus histogram with a bucket at the route's latency threshold. Burn rates
+ * are registered as {@code gateway.slo.burn.rate} gauges per route, SLO and window.
+ */
+@Component
+public class RouteMetrics {
+
+    static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry meterRegistry;
+    private final SloProperties properties;
+    private final Duration longestWindow;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private Clock clock = Clock.systemUTC();
+
+    public RouteMetrics(MeterRegistry meterRegistry, SloProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.longestWindow = properties.getWindows().stream().max(Duration::compareTo).orElse(Duration.ofHours(1));
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /** Records one finished request; {@code statusClass} is {@code 2xx}..{@code 5xx} or {@value #CANCELLED}. */
+    void record(String routeId, String statusClass, long durationNanos, long requestBytes, long responseBytes) {
+        RouteStats stats = routes.computeIfAbsent(routeId, this::register);
+        Counter.builder("gateway.route.responses")
+                .tag("route", routeId)
+                .tag("status", statusClass)
+                .register(meterRegistry)
+                .increment();
+        stats.requestBytes.record(requestBytes);
+        stats.responseBytes.record(responseBytes);
+        // The client gave up, so neither the time nor the outcome says anything about the route
+        if (CANCELLED.equals(statusClass)) {
+            return;
+        }
+        stats.latency.record(durationNanos, TimeUnit.NANOSECONDS);
+        stats.window.record(clock.millis(), "5xx".equals(statusClass),
+                durationNanos > stats.objective.getLatencyThreshold().toNanos());
+    }
+
+    private RouteStats register(String routeId) {
+        SloProperties.Objective objective = properties.objectiveFor(routeId);
+        RouteStats stats = new RouteStats(objective,
+                Timer.builder("gateway.route.latency")
+                        .tag("route", routeId)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(objective.getLatencyThreshold())
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry),
+                DistributionSummary.builder("gateway.route.request.bytes")
+                        .baseUnit("bytes")
+                        .tag("route", routeId)
+                        .register(meterRegistry),
+                DistributionSummary.builder("gateway.route.response.bytes")
+                        .baseUnit("bytes")
+                        .tag("route", routeId)
+                        .register(meterRegistry),
+                new RollingWindow(longestWindow, properties.getBucket()));
+        for (Duration window : properties.getWindows()) {
+            Gauge.builder("gateway.slo.burn.rate", stats, s -> s.availabilityBurnRate(clock.millis(), window))
+                    .tag("route", routeId)
+                    .tag("slo", "availability")
+                    .tag("window", label(window))
+                    .register(meterRegistry);
+            Gauge.builder("gateway.slo.burn.rate", stats, s -> s.latencyBurnRate(clock.millis(), window))
+                    .tag("route", routeId)
+                    .tag("slo", "latency")
+                    .tag("window", label(window))
+                    .register(meterRegistry);
+        }
+        return stats;
+    }
+
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> description = new TreeMap<>();
+        long now = clock.millis();
+        routes.forEach((routeId, stats) -> description.put(routeId, stats.describe(now)));
+        return description;
+    }
+
+    public Map<String, Object> describe(String routeId) {
+        RouteStats stats = routes.get(routeId);
+        return stats != null ? stats.describe(clock.millis()) : Collections.emptyMap();
+    }
+
+    static String label(Duration window) {
+        long seconds = window.toSeconds();
+        if (seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        return seconds % 60 == 0 ? seconds / 60 + "m" : seconds + "s";
+    }
+
+    private final class RouteStats {
+
+        private final SloProperties.Objective objective;
+        private final Timer latency;
+        private final DistributionSummary requestBytes;
+        private final DistributionSummary responseBytes;
+        private final RollingWindow window;
+
+        RouteStats(SloProperties.Objective objective, Timer latency, DistributionSummary requestBytes,
+                   DistributionSummary responseBytes, RollingWindow window) {
+            this.objective = objective;
+            this.latency = latency;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.window = window;
+        }
+
+        double availabilityBurnRate(long now, Duration span) {
+            RollingWindow.Counts counts = window.sum(now, span);
+            return counts.burnRate(counts.errors(), objective.getAvailabilityTarget());
+        }
+
+        double latencyBurnRate(long now, Duration span) {
+            RollingWindow.Counts counts = window.sum(now, span);
+            return counts.burnRate(counts.slow(), objective.getLatencyTarget());
+        }
+
+        Map<String, Object> describe(long now) {
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("objective", Map.of(
+                    "availabilityTarget", objective.getAvailabilityTarget(),
+                    "latencyThresholdMs", objective.getLatencyThreshold().toMillis(),
+                    "latencyTarget", objective.getLatencyTarget()));
+
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            Map<String, Object> latencyMs = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                latencyMs.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            latencyMs.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+            route.put("latencyMs", latencyMs);
+            route.put("requestBytes", (long) requestBytes.totalAmount());
+            route.put("responseBytes", (long) responseBytes.totalAmount());
+
+            Map<String, Object> windows = new LinkedHashMap<>();
+            for (Duration span : properties.getWindows()) {
+                RollingWindow.Counts counts = window.sum(now, span);
+                Map<String, Object> figures = new LinkedHashMap<>();
+                figures.put("requests", counts.requests());
+                figures.put("errors", counts.errors());
+                figures.put("slow", counts.slow());
+                figures.put("availabilityBurnRate", counts.burnRate(counts.errors(), objective.getAvailabilityTarget()));
+                figures.put("latencyBurnRate", counts.burnRate(counts.slow(), objective.getLatencyTarget()));
+                windows.put(label(span), figures);
+            }
+            route.put("windows", windows);
+            return route;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.scholarspace.gateway.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/slo}: per route latency percentiles, byte totals and error and latency
+ * budget burn rates over each configured window; {@code /actuator/slo/{routeId}} shows one
+ * route. The same figures are scraped from {@code /actuator/prometheus}.
+ */
+@Component
+@Endpoint(id = "slo")
+public class SloEndpoint {
+
+    private final RouteMetrics routeMetrics;
+
+    public SloEndpoint(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> routes() {
+        return routeMetrics.describe();
+    }
+
+    @ReadOperation
+    public Map<String, Object> route(@Selector String routeId) {
+        return routeMetrics.describe(routeId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.scholarspace.gateway.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service level objectives per gateway route. {@code defaults} apply to every route and
+ * {@code routes.<route-id>} overrides any of them for one route.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.slo")
+public class SloProperties {
+    private Objective defaults = new Objective(99.5, Duration.ofSeconds(1), 99.0);
+    private Map<String, Objective> routes = new HashMap<>();
+    // Burn rates are reported over each of these; the longest sets how much history is kept
+    private List<Duration> windows = List.of(Duration.ofMinutes(5), Duration.ofHours(1));
+    // Granularity of the rolling windows
+    private Duration bucket = Duration.ofSeconds(10);
+
+    public Objective objectiveFor(String routeId) {
+        Objective override = routes.get(routeId);
+        if (override == null) {
+            return defaults;
+        }
+        return new Objective(
+                override.getAvailabilityTarget() != null ? override.getAvailabilityTarget() : defaults.getAvailabilityTarget(),
+                override.getLatencyThreshold() != null ? override.getLatencyThreshold() : defaults.getLatencyThreshold(),
+                override.getLatencyTarget() != null ? override.getLatencyTarget() : defaults.getLatencyTarget());
+    }
+
+    public Objective getDefaults() { return defaults; }
+    public void setDefaults(Objective defaults) { this.defaults = defaults; }
+
+    public Map<String, Objective> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Objective> routes) { this.routes = routes; }
+
+    public List<Duration> getWindows() { return windows; }
+    public void setWindows(List<Duration> windows) { this.windows = windows; }
+
+    public Duration getBucket() { return bucket; }
+    public void setBucket(Duration bucket) { this.bucket = bucket; }
+
+    public static class Objective {
+        // Percentage of requests that must not end in a 5xx
+        private Double availabilityTarget;
+        private Duration latencyThreshold;
+        // Percentage of requests that must finish within latencyThreshold
+        private Double latencyTarget;
+
+        public Objective() {
+        }
+
+        public Objective(Double availabilityTarget, Duration latencyThreshold, Double latencyTarget) {
+            this.availabilityTarget = availabilityTarget;
+            this.latencyThreshold = latencyThreshold;
+            this.latencyTarget = latencyTarget;
+        }
+
+        public Double getAvailabilityTarget() { return availabilityTarget; }
+        public void setAvailabilityTarget(Double availabilityTarget) { this.availabilityTarget = availabilityTarget; }
+
+        public Duration getLatencyThreshold() { return latencyThreshold; }
+        public void setLatencyThreshold(Duration latencyThreshold) { this.latencyThreshold = latencyThreshold; }
+
+        public Double getLatencyTarget() { return latencyTarget; }
+        public void setLatencyTarget(Double latencyTarget) { this.latencyTarget = latencyTarget; }
+    }
+}
@@ -0,0 +1,55 @@
+package com.scholarspace.gateway.security;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The gateway serves its actuator endpoints on the public port and has no Spring Security, so
+ * this filter guards them: apart from the configured public endpoints, every {@code /actuator}
+ * call needs a verified token with the ADMIN role. Operational endpoints can purge caches or
+ * reveal request paths of other users, which callers must not reach.
+ */
+@Component
+public class ActuatorAccessFilter implements WebFilter, Ordered {
+
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final ActuatorAccessProperties properties;
+    private final JwtRoleResolver roleResolver;
+
+    public ActuatorAccessFilter(ActuatorAccessProperties properties, JwtRoleResolver roleResolver) {
+        this.properties = properties;
+        this.roleResolver = roleResolver;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.equals(ACTUATOR_PATH) && !path.startsWith(ACTUATOR_PATH + "/")) {
+            return chain.filter(exchange);
+        }
+        String endpoint = path.length() > ACTUATOR_PATH.length() + 1
+                ? path.substring(ACTUATOR_PATH.length() + 1).split("/", 2)[0]
+                : "";
+        if (properties.getPublicEndpoints().contains(endpoint)) {
+            return chain.filter(exchange);
+        }
+
+        String role = roleResolver.resolve(exchange.getRequest());
+        if ("ADMIN".equals(role)) {
+            return chain.filter(exchange);
+        }
+        exchange.getResponse().setStatusCode(JwtRoleResolver.ANONYMOUS.equals(role) ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN);
+        return exchange.getResponse().setComplete();
+    }
+}
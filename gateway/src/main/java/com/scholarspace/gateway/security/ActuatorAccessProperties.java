@@ -0,0 +1,17 @@
+package com.scholarspace.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.actuator")
+public class ActuatorAccessProperties {
+    // Endpoints anyone may call; every other actuator endpoint needs an admin token
+    private List<String> publicEndpoints = new ArrayList<>(List.of("health", "info", "prometheus"));
+
+    public List<String> getPublicEndpoints() { return publicEndpoints; }
+    public void setPublicEndpoints(List<String> publicEndpoints) { this.publicEndpoints = publicEndpoints; }
+}
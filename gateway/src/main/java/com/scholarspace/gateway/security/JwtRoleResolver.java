@@ -0,0 +1,53 @@
+package com.scholarspace.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Reads the claims of the bearer token. The gateway leaves authentication of routed requests to
+ * the services, but anything it shares between callers of the same role, answers for one user or
+ * serves from its own actuator must not
+ * trust an unsigned claim, so the token is verified with the same secret the services use;
+ * anything that does not verify counts as {@link #ANONYMOUS}.
+ */
+@Component
+public class JwtRoleResolver {
+
+    public static final String ANONYMOUS = "ANONYMOUS";
+
+    private final JwtParser parser;
+
+    public JwtRoleResolver(JwtProperties properties) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    public String resolve(ServerHttpRequest request) {
+        return verifiedClaims(request)
+                .map(claims -> claims.get("role", String.class))
+                .orElse(ANONYMOUS);
+    }
+
+    /** Claims of the bearer token, empty when there is none or it does not verify. */
+    public Optional<Claims> verifiedClaims(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(parser.parseClaimsJws(header.substring(7)).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
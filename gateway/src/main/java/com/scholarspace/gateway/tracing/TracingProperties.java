@@ -0,0 +1,37 @@
+package com.scholarspace.gateway.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+    // Finished spans are appended here as JSON lines; blank disables the file export
+    private String exportFile = "";
+    // Once the file would grow past this it is renamed to <file>.1, replacing the previous one
+    private long exportMaxBytes = 50L * 1024 * 1024;
+    // Spans waiting for the writer thread; further spans are dropped and counted
+    private int exportQueueSize = 10000;
+    // Traces kept in memory for /actuator/slowtraces
+    private int recentTraces = 1000;
+    private long retentionMinutes = 15;
+    private int slowestLimit = 20;
+
+    public String getExportFile() { return exportFile; }
+    public void setExportFile(String exportFile) { this.exportFile = exportFile; }
+
+    public long getExportMaxBytes() { return exportMaxBytes; }
+    public void setExportMaxBytes(long exportMaxBytes) { this.exportMaxBytes = exportMaxBytes; }
+
+    public int getExportQueueSize() { return exportQueueSize; }
+    public void setExportQueueSize(int exportQueueSize) { this.exportQueueSize = exportQueueSize; }
+
+    public int getRecentTraces() { return recentTraces; }
+    public void setRecentTraces(int recentTraces) { this.recentTraces = recentTraces; }
+
+    public long getRetentionMinutes() { return retentionMinutes; }
+    public void setRetentionMinutes(long retentionMinutes) { this.retentionMinutes = retentionMinutes; }
+
+    public int getSlowestLimit() { return slowestLimit; }
+    public void setSlowestLimit(int slowestLimit) { this.slowestLimit = slowestLimit; }
+}
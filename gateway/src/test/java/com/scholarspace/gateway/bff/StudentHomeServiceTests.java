@@ -0,0 +1,75 @@
+package com.scholarspace.gateway.bff;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentHomeServiceTests {
+
+	private static final Duration BACKEND_LATENCY = Duration.ofMillis(150);
+
+	private final Map<String, String> authorizations = new ConcurrentHashMap<>();
+	private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+
+	@Test
+	void fansOutConcurrentlyAndReturnsWhatArrivedInTime() {
+		BffProperties properties = new BffProperties();
+		properties.setPartTimeout(Duration.ofMillis(400));
+		StudentHomeService service = new StudentHomeService(WebClient.builder().exchangeFunction(this::backend), properties);
+
+		StudentHome home = service.load(7, "Bearer token").block();
+
+		assertNotNull(home);
+		assertEquals("Ada", home.profile().path("name").asText());
+		assertEquals(2, home.enrollments().size());
+		assertEquals(List.of("11"), List.copyOf(home.courseContents().keySet()));
+		assertEquals("Week 1", home.courseContents().get("11").get(0).path("title").asText());
+		assertNull(home.submissions());
+		assertTrue(home.partial());
+		assertEquals(List.of("courseContents:12", "submissions"), home.missing().stream().sorted().toList());
+
+		// Independent parts start together; contents wait only for the enrollments
+		long profileStart = startedAt.get("/api/users/profile");
+		assertTrue(Math.abs(startedAt.get("/api/enrollments/student/7/active") - profileStart) < BACKEND_LATENCY.toMillis() / 2);
+		assertTrue(Math.abs(startedAt.get("/api/submissions/student/7") - profileStart) < BACKEND_LATENCY.toMillis() / 2);
+		assertTrue(startedAt.get("/api/course-contents/course/11") - profileStart >= BACKEND_LATENCY.toMillis());
+		assertTrue(Math.abs(startedAt.get("/api/course-contents/course/12") - startedAt.get("/api/course-contents/course/11"))
+				< BACKEND_LATENCY.toMillis() / 2);
+		assertEquals(5, authorizations.size());
+		assertTrue(authorizations.values().stream().allMatch("Bearer token"::equals));
+	}
+
+	private Mono<ClientResponse> backend(ClientRequest request) {
+		String path = request.url().getPath();
+		authorizations.put(path, request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+		startedAt.put(path, System.currentTimeMillis());
+		return switch (path) {
+			case "/api/users/profile" -> json("{\"userId\":7,\"name\":\"Ada\"}", BACKEND_LATENCY);
+			case "/api/enrollments/student/7/active" -> json("[{\"enrollmentId\":1,\"course\":{\"id\":11}},"
+					+ "{\"enrollmentId\":2,\"course\":{\"id\":12}}]", BACKEND_LATENCY);
+			case "/api/course-contents/course/11" -> json("[{\"title\":\"Week 1\"}]", BACKEND_LATENCY);
+			case "/api/course-contents/course/12" -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+			case "/api/submissions/student/7" -> json("[]", Duration.ofSeconds(5));
+			default -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+		};
+	}
+
+	private static Mono<ClientResponse> json(String body, Duration latency) {
+		return Mono.delay(latency).map(tick -> ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body(body)
+				.build());
+	}
+}
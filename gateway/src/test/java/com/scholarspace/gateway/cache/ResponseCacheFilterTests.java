@@ -0,0 +1,180 @@
+package com.scholarspace.gateway.cache;
+
+import com.scholarspace.gateway.security.JwtProperties;
+import com.scholarspace.gateway.security.JwtRoleResolver;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ResponseCacheFilterTests {
+
+	private static final String SECRET = "your_secret_key_here_should_be_at_least_32_characters_long";
+	private static final long T0 = 1_790_000_000_000L;
+
+	private final Route route = Route.async().id("course-service-courses").uri("http://localhost")
+			.predicate(exchange -> true).build();
+
+	private ResponseCache responseCache;
+	private GatewayFilter filter;
+	private final List<HttpHeaders> backendRequests = new ArrayList<>();
+	private String backendCacheControl;
+	private String backendEtag;
+
+	@BeforeEach
+	void setUp() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		responseCache = new ResponseCache(properties, new SimpleMeterRegistry());
+		responseCache.init();
+		setTime(T0);
+		JwtProperties jwtProperties = new JwtProperties();
+		jwtProperties.setSecret(SECRET);
+		ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(responseCache, properties,
+				new JwtRoleResolver(jwtProperties));
+		ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+		config.setTtl(Duration.ofSeconds(30));
+		filter = factory.apply(config);
+	}
+
+	@Test
+	void repeatedGetIsServedFromCacheAndMatchingConditionalGetGets304() {
+		MockServerWebExchange first = send(MockServerHttpRequest.get("/api/courses").queryParam("page", "0"));
+		assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+		String etag = first.getResponse().getHeaders().getETag();
+		assertNotNull(etag);
+
+		MockServerWebExchange second = send(MockServerHttpRequest.get("/api/courses?page=0"));
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+		assertEquals(first.getResponse().getBodyAsString().block(), second.getResponse().getBodyAsString().block());
+
+		MockServerWebExchange conditional = send(MockServerHttpRequest.get("/api/courses?page=0")
+				.header(HttpHeaders.IF_NONE_MATCH, etag));
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+		assertEquals(1, backendRequests.size());
+	}
+
+	@Test
+	void canonicalQueryIgnoresParameterOrder() {
+		send(MockServerHttpRequest.get("/api/courses?page=0&size=20"));
+		MockServerWebExchange reordered = send(MockServerHttpRequest.get("/api/courses?size=20&page=0"));
+
+		assertEquals("HIT", reordered.getResponse().getHeaders().getFirst("X-Cache"));
+		assertEquals(1, backendRequests.size());
+	}
+
+	@Test
+	void rolesDoNotShareEntriesAndUnverifiedTokensCountAsAnonymous() {
+		send(MockServerHttpRequest.get("/api/courses/1"));
+		send(MockServerHttpRequest.get("/api/courses/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN", SECRET)));
+		MockServerWebExchange forged = send(MockServerHttpRequest.get("/api/courses/1")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN", "some_other_secret_that_is_also_32_characters")));
+
+		assertEquals(2, backendRequests.size());
+		assertEquals("HIT", forged.getResponse().getHeaders().getFirst("X-Cache"));
+	}
+
+	@Test
+	void backendNoStoreAndClientNoCacheBypassTheCache() {
+		backendCacheControl = "no-cache, no-store, max-age=0, must-revalidate";
+		send(MockServerHttpRequest.get("/api/courses/1"));
+		send(MockServerHttpRequest.get("/api/courses/1"));
+		assertEquals(2, backendRequests.size());
+
+		backendCacheControl = "max-age=60";
+		send(MockServerHttpRequest.get("/api/courses/2"));
+		send(MockServerHttpRequest.get("/api/courses/2").header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+		assertEquals(4, backendRequests.size());
+	}
+
+	@Test
+	void expiredEntryWithBackendEtagIsRevalidated() {
+		backendCacheControl = "max-age=10";
+		backendEtag = "\"v1\"";
+		send(MockServerHttpRequest.get("/api/courses/1"));
+
+		setTime(T0 + 11_000);
+		MockServerWebExchange revalidated = send(MockServerHttpRequest.get("/api/courses/1"));
+
+		assertEquals(2, backendRequests.size());
+		assertEquals("\"v1\"", backendRequests.get(1).getIfNoneMatch().get(0));
+		assertEquals(HttpStatus.OK, revalidated.getResponse().getStatusCode());
+		assertEquals("REVALIDATED", revalidated.getResponse().getHeaders().getFirst("X-Cache"));
+		assertEquals("{\"path\":\"/api/courses/1\"}", revalidated.getResponse().getBodyAsString().block());
+
+		assertEquals("HIT", send(MockServerHttpRequest.get("/api/courses/1")).getResponse().getHeaders().getFirst("X-Cache"));
+	}
+
+	@Test
+	void writesPurgeTheirRouteAndPurgeByPrefixIsSelective() {
+		send(MockServerHttpRequest.get("/api/courses/1"));
+		send(MockServerHttpRequest.get("/api/courses/2"));
+		assertEquals(1, responseCache.purge(null, "/api/courses/1"));
+
+		send(MockServerHttpRequest.post("/api/courses"));
+		send(MockServerHttpRequest.get("/api/courses/2"));
+		assertEquals(4, backendRequests.size());
+	}
+
+	private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		filter.filter(exchange, backend()).block();
+		return exchange;
+	}
+
+	// Answers like a course-service controller: 304 for a matching ETag, otherwise the path as JSON
+	private GatewayFilterChain backend() {
+		return exchange -> {
+			backendRequests.add(exchange.getRequest().getHeaders());
+			ServerHttpResponse response = exchange.getResponse();
+			if (backendCacheControl != null) {
+				response.getHeaders().setCacheControl(backendCacheControl);
+			}
+			if (backendEtag != null) {
+				response.getHeaders().setETag(backendEtag);
+				if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(backendEtag)) {
+					response.setStatusCode(HttpStatus.NOT_MODIFIED);
+					return response.writeWith(Flux.empty());
+				}
+			}
+			HttpStatus status = exchange.getRequest().getMethod().matches("POST") ? HttpStatus.CREATED : HttpStatus.OK;
+			response.setStatusCode(status);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			byte[] body = ("{\"path\":\"" + exchange.getRequest().getPath().value() + "\"}").getBytes(StandardCharsets.UTF_8);
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+		};
+	}
+
+	private void setTime(long millis) {
+		responseCache.setClock(Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+	}
+
+	private static String token(String role, String secret) {
+		return Jwts.builder().claim("role", role)
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+}
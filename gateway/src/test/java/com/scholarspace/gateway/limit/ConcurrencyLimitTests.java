@@ -0,0 +1,162 @@
+package com.scholarspace.gateway.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ConcurrencyLimitTests {
+
+	private ConcurrencyLimitProperties properties;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ConcurrencyLimitProperties();
+		properties.setLowPriorityPaths(List.of("/api/courses/*/*/stats"));
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesAndRecoversWhenItSettles() {
+		AdaptiveLimit limit = new AdaptiveLimit(properties);
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), (int) limit.limit());
+		}
+		double healthy = limit.limit();
+		assertTrue(healthy > properties.getInitialLimit(), "busy route with steady latency should probe upwards");
+
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(80), (int) limit.limit());
+		}
+		double overloaded = limit.limit();
+		assertTrue(overloaded < healthy / 2, "queueing backend should cut the limit, was " + overloaded);
+		assertTrue(overloaded >= properties.getMinLimit());
+
+		limit.onDrop();
+		assertEquals(Math.max(properties.getMinLimit(), overloaded * properties.getBackoffRatio()), limit.limit(), 1e-9);
+
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), (int) limit.limit());
+		}
+		assertTrue(limit.limit() > overloaded);
+	}
+
+	@Test
+	void idleRouteKeepsItsLimitWhateverTheLatency() {
+		AdaptiveLimit limit = new AdaptiveLimit(properties);
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10 + i * 10L), 1);
+		}
+		assertEquals(properties.getInitialLimit(), limit.limit(), 1e-9);
+	}
+
+	@Test
+	void lowerPrioritiesAreShedFirst() {
+		AdaptiveLimit limit = new AdaptiveLimit(properties);
+		int low = 0;
+		while (limit.tryAcquire(properties.shareOf(Priority.LOW)) > 0) {
+			low++;
+		}
+		assertEquals(10, low);
+		int normal = 0;
+		while (limit.tryAcquire(properties.shareOf(Priority.NORMAL)) > 0) {
+			normal++;
+		}
+		assertEquals(8, normal);
+		assertEquals(19, limit.tryAcquire(properties.shareOf(Priority.CRITICAL)));
+		assertEquals(20, limit.tryAcquire(properties.shareOf(Priority.CRITICAL)));
+		assertEquals(-1, limit.tryAcquire(properties.shareOf(Priority.CRITICAL)));
+	}
+
+	@Test
+	void filterRejectsOverflowWith503AndReleasesOnCompletion() {
+		properties.setInitialLimit(4);
+		ConcurrencyLimits limits = new ConcurrencyLimits(properties, new SimpleMeterRegistry());
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limits, properties);
+		Route route = route("course-service-courses", "lb://course-service", null);
+		Sinks.Empty<Void> backend = Sinks.empty();
+
+		// Reports may take half of the four slots
+		filter.filter(exchange("/api/courses/institution/1/stats", route), e -> backend.asMono()).subscribe();
+		filter.filter(exchange("/api/courses/institution/2/stats", route), e -> backend.asMono()).subscribe();
+		MockServerWebExchange shed = exchange("/api/courses/institution/3/stats", route);
+		filter.filter(shed, e -> Mono.empty()).block();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+		assertEquals("1", shed.getResponse().getHeaders().getFirst("Retry-After"));
+
+		MockServerWebExchange listing = exchange("/api/courses", route);
+		filter.filter(listing, e -> Mono.empty()).block();
+		assertNull(listing.getResponse().getStatusCode());
+
+		backend.tryEmitEmpty();
+		Map<String, Object> described = limits.describe().get("course-service");
+		assertEquals(4, described.get("limit"));
+		assertEquals(0, described.get("inFlight"));
+	}
+
+	@Test
+	void routesToOneBackendShareItsLimitSoLowIsShedWhileCriticalGetsIn() {
+		properties.setInitialLimit(4);
+		ConcurrencyLimits limits = new ConcurrencyLimits(properties, new SimpleMeterRegistry());
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limits, properties);
+		Route reports = route("course-service-courses", "lb://course-service", null);
+		Route enrollments = route("course-service-enrollments", "lb://course-service", "critical");
+		Route users = route("user-service-users", "lb://user-service", null);
+		Sinks.Empty<Void> backend = Sinks.empty();
+
+		// Two reports fill the LOW share of course-service
+		filter.filter(exchange("/api/courses/institution/1/stats", reports), e -> backend.asMono()).subscribe();
+		filter.filter(exchange("/api/courses/institution/2/stats", reports), e -> backend.asMono()).subscribe();
+
+		// Critical traffic on another route to the same backend still gets the remaining slots
+		for (int i = 0; i < 2; i++) {
+			MockServerWebExchange critical = exchange("/api/enrollments", enrollments);
+			filter.filter(critical, e -> backend.asMono()).subscribe();
+			assertNull(critical.getResponse().getStatusCode());
+		}
+		Map<String, Object> courseService = limits.describe().get("course-service");
+		assertEquals(4, courseService.get("inFlight"));
+
+		MockServerWebExchange lowShed = exchange("/api/courses/institution/3/stats", reports);
+		filter.filter(lowShed, e -> Mono.empty()).block();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, lowShed.getResponse().getStatusCode());
+		MockServerWebExchange criticalShed = exchange("/api/enrollments", enrollments);
+		filter.filter(criticalShed, e -> Mono.empty()).block();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, criticalShed.getResponse().getStatusCode());
+
+		// Another backend has a limit of its own
+		MockServerWebExchange otherBackend = exchange("/api/users/stats", users);
+		filter.filter(otherBackend, e -> Mono.empty()).block();
+		assertNull(otherBackend.getResponse().getStatusCode());
+
+		backend.tryEmitEmpty();
+		assertEquals(0, limits.describe().get("course-service").get("inFlight"));
+		assertEquals(Set.of("course-service", "user-service"), limits.describe().keySet());
+	}
+
+	private static Route route(String id, String uri, String priority) {
+		Route.AsyncBuilder builder = Route.async().id(id).uri(uri).predicate(exchange -> true);
+		if (priority != null) {
+			builder.metadata("priority", priority);
+		}
+		return builder.build();
+	}
+
+	private static MockServerWebExchange exchange(String path, Route route) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+		exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
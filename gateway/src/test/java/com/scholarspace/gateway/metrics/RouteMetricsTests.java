@@ -0,0 +1,108 @@
+package com.scholarspace.gateway.metrics;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class RouteMetricsTests {
+
+	private static final long T0 = 1_790_000_000_000L;
+
+	private PrometheusMeterRegistry registry;
+	private RouteMetrics routeMetrics;
+
+	@BeforeEach
+	void setUp() {
+		SloProperties properties = new SloProperties();
+		properties.getRoutes().put("user-service-auth",
+				new SloProperties.Objective(99.0, Duration.ofMillis(500), null));
+		registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		routeMetrics = new RouteMetrics(registry, properties);
+		setTime(T0);
+	}
+
+	@Test
+	void burnRatesFollowErrorsAndSlowRequestsPerWindow() {
+		for (int i = 0; i < 95; i++) {
+			routeMetrics.record("user-service-auth", "2xx", TimeUnit.MILLISECONDS.toNanos(20), 100, 400);
+		}
+		for (int i = 0; i < 3; i++) {
+			routeMetrics.record("user-service-auth", "5xx", TimeUnit.MILLISECONDS.toNanos(20), 100, 0);
+		}
+		routeMetrics.record("user-service-auth", "2xx", TimeUnit.MILLISECONDS.toNanos(800), 100, 400);
+		routeMetrics.record("user-service-auth", "2xx", TimeUnit.MILLISECONDS.toNanos(900), 100, 400);
+		routeMetrics.record("user-service-auth", RouteMetrics.CANCELLED, TimeUnit.SECONDS.toNanos(5), 100, 0);
+
+		Map<String, Object> auth = routeMetrics.describe("user-service-auth");
+		Map<?, ?> fiveMinutes = (Map<?, ?>) ((Map<?, ?>) auth.get("windows")).get("5m");
+		assertEquals(100L, fiveMinutes.get("requests"));
+		// 3% errors against a 1% budget, 2% slow against the default 99% latency target
+		assertEquals(3.0, (double) fiveMinutes.get("availabilityBurnRate"), 1e-6);
+		assertEquals(2.0, (double) fiveMinutes.get("latencyBurnRate"), 1e-6);
+		assertEquals(10_100L, auth.get("requestBytes"));
+		assertEquals(38_800L, auth.get("responseBytes"));
+		Map<?, ?> latency = (Map<?, ?>) auth.get("latencyMs");
+		assertTrue((double) latency.get("p50") < 50, latency.toString());
+		assertTrue((double) latency.get("p99") > 500, latency.toString());
+
+		// Ten minutes later the short window is clean while the hour still remembers
+		setTime(T0 + TimeUnit.MINUTES.toMillis(10));
+		routeMetrics.record("user-service-auth", "2xx", TimeUnit.MILLISECONDS.toNanos(20), 100, 400);
+		Map<?, ?> windows = (Map<?, ?>) routeMetrics.describe("user-service-auth").get("windows");
+		assertEquals(0.0, (double) ((Map<?, ?>) windows.get("5m")).get("availabilityBurnRate"));
+		assertEquals(101L, ((Map<?, ?>) windows.get("1h")).get("requests"));
+	}
+
+	@Test
+	void filterRecordsStatusClassAndBytesAndScrapesAsPrometheus() {
+		RouteMetricsFilter filter = new RouteMetricsFilter(routeMetrics);
+		Route route = Route.async().id("course-service-submissions").uri("http://localhost")
+				.predicate(exchange -> true).build();
+
+		MockServerWebExchange ok = MockServerWebExchange.from(MockServerHttpRequest.post("/api/submissions").body("{\"a\":1}"));
+		ok.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		filter.filter(ok, exchange -> exchange.getRequest().getBody().then(Mono.defer(() -> {
+			exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+			byte[] body = "{\"id\":5}".getBytes(StandardCharsets.UTF_8);
+			return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+		}))).block();
+
+		MockServerWebExchange timedOut = MockServerWebExchange.from(MockServerHttpRequest.get("/api/submissions/1"));
+		timedOut.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+		assertThrows(ResponseStatusException.class, () -> filter.filter(timedOut,
+				exchange -> Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT))).block());
+
+		assertEquals("4xx", RouteMetricsFilter.statusClass(null, HttpStatus.NOT_FOUND, null));
+		String scrape = registry.scrape();
+		assertTrue(scrape.contains("gateway_route_responses_total{route=\"course-service-submissions\",status=\"2xx\"} 1.0"), scrape);
+		assertTrue(scrape.contains("gateway_route_responses_total{route=\"course-service-submissions\",status=\"5xx\"} 1.0"), scrape);
+		assertTrue(scrape.contains("gateway_route_request_bytes_sum{route=\"course-service-submissions\"} 7.0"), scrape);
+		assertTrue(scrape.contains("gateway_route_response_bytes_sum{route=\"course-service-submissions\"} 8.0"), scrape);
+		assertTrue(scrape.contains("gateway_route_latency_seconds_bucket{route=\"course-service-submissions\",le=\"1.0\"}"), scrape);
+		// Half the requests failed against the default 0.5% budget
+		assertEquals(100.0, registry.get("gateway.slo.burn.rate").tags("route", "course-service-submissions",
+				"slo", "availability", "window", "1h").gauge().value(), 1e-6);
+	}
+
+	private void setTime(long millis) {
+		routeMetrics.setClock(Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+	}
+}
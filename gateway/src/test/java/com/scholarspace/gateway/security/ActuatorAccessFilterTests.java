@@ -0,0 +1,85 @@
+package com.scholarspace.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActuatorAccessFilterTests {
+
+	private static final String SECRET = "your_secret_key_here_should_be_at_least_32_characters_long";
+
+	private final ActuatorAccessFilter filter;
+
+	ActuatorAccessFilterTests() {
+		JwtProperties jwtProperties = new JwtProperties();
+		jwtProperties.setSecret(SECRET);
+		filter = new ActuatorAccessFilter(new ActuatorAccessProperties(), new JwtRoleResolver(jwtProperties));
+	}
+
+	@Test
+	void purgeNeedsAnAdminToken() {
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.delete("/actuator/responsecache")));
+		assertEquals(HttpStatus.FORBIDDEN, send(MockServerHttpRequest.delete("/actuator/responsecache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("STUDENT", SECRET))));
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.delete("/actuator/responsecache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN", "some_other_secret_that_is_also_32_characters"))));
+		assertNull(send(MockServerHttpRequest.delete("/actuator/responsecache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN", SECRET))));
+	}
+
+	@Test
+	void operationalEndpointsAndTheIndexAreGuarded() {
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.get("/actuator")));
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.get("/actuator/gateway/routes")));
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.get("/actuator/concurrencylimits")));
+	}
+
+	@Test
+	void slowTracesAreAdminOnly() {
+		// Trace tags carry request URLs and ids, so they are not part of the public endpoints
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.get("/actuator/slowtraces")));
+		assertEquals(HttpStatus.UNAUTHORIZED, send(MockServerHttpRequest.get("/actuator/slowtraces/abc123")));
+		assertEquals(HttpStatus.FORBIDDEN, send(MockServerHttpRequest.get("/actuator/slowtraces")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("INSTRUCTOR", SECRET))));
+		assertNull(send(MockServerHttpRequest.get("/actuator/slowtraces")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token("ADMIN", SECRET))));
+	}
+
+	@Test
+	void publicEndpointsAndRoutedTrafficPassThrough() {
+		assertNull(send(MockServerHttpRequest.get("/actuator/health")));
+		assertNull(send(MockServerHttpRequest.get("/actuator/prometheus")));
+		assertNull(send(MockServerHttpRequest.get("/api/courses")));
+		assertNull(send(MockServerHttpRequest.get("/actuatorish")));
+	}
+
+	/** Status set by the filter, or {@code null} when the request reached the chain. */
+	private HttpStatus send(MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		AtomicBoolean passed = new AtomicBoolean();
+		filter.filter(exchange, ex -> {
+			passed.set(true);
+			return Mono.empty();
+		}).block();
+		if (passed.get()) {
+			return null;
+		}
+		return HttpStatus.valueOf(exchange.getResponse().getStatusCode().value());
+	}
+
+	private static String token(String role, String secret) {
+		return Jwts.builder().claim("role", role)
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+}
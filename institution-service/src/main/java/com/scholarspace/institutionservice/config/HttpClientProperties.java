@@ -0,0 +1,59 @@
+package com.scholarspace.institutionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for calls to other services. The defaults apply to every target service and
+ * {@code targets.<service-name>} overrides them for one, e.g. a tighter deadline for a slow one.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.http-client")
+public class HttpClientProperties {
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 50;
+    private long connectTimeoutMs = 2000;
+    private long connectionRequestTimeoutMs = 1000;
+    private long keepAliveMs = 30000;
+    private long idleEvictMs = 60000;
+    private long readTimeoutMs = 5000;
+    private long deadlineMs = 8000;
+    private int getRetries = 2;
+    private long retryBackoffMs = 100;
+    private int breakerWindow = 20;
+    private int breakerMinimumCalls = 10;
+    private int breakerFailureRatePercent = 50;
+    private long breakerOpenMs = 10000;
+    // Identical concurrent GETs share one call; 404s are remembered for notFoundTtlMs (0 disables)
+    private boolean singleFlight = true;
+    private long notFoundTtlMs = 5000;
+    private long notFoundMaxEntries = 1000;
+    private Map<String, Target> targets = new HashMap<>();
+
+    @Data
+    public static class Target {
+        private Long readTimeoutMs;
+        private Long deadlineMs;
+        private Integer getRetries;
+    }
+
+    public long readTimeoutMs(String target) {
+        Target override = targets.get(target);
+        return override != null && override.getReadTimeoutMs() != null ? override.getReadTimeoutMs() : readTimeoutMs;
+    }
+
+    public long deadlineMs(String target) {
+        Target override = targets.get(target);
+        return override != null && override.getDeadlineMs() != null ? override.getDeadlineMs() : deadlineMs;
+    }
+
+    public int getRetries(String target) {
+        Target override = targets.get(target);
+        return override != null && override.getGetRetries() != null ? override.getGetRetries() : getRetries;
+    }
+}
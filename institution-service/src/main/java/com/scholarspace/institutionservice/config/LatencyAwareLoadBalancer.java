@@ -0,0 +1,187 @@
+package com.scholarspace.institutionservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks a replica by power of two choices: two random replicas are compared by
+ * {@link LoadBalancerStats#cost} and the cheaper one wins, so a replica that slows down loses
+ * traffic within a few calls instead of keeping a round-robin share.
+ * <p>
+ * For services in {@code app.load-balancer.consistent-hash-services}, requests that name an
+ * institution go to the replica owning that institution on a hash ring, keeping its caches warm.
+ * A replica already carrying more than {@code hash-load-factor} times the average load passes
+ * the key on to the next replica on the ring.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+
+    static final String INSTITUTION_HEADER = "X-Institution-Id";
+    private static final Pattern INSTITUTION_PATH = Pattern.compile("/institutions?/(\\d+)");
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final LoadBalancerStats stats;
+    private final LoadBalancingProperties properties;
+    private final boolean consistentHash;
+
+    private volatile HashRing ring;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                    LoadBalancerStats stats, LoadBalancingProperties properties) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+        this.properties = properties;
+        this.consistentHash = properties.getConsistentHashServices().contains(serviceId);
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> select(instances, request));
+    }
+
+    Response<ServiceInstance> select(List<ServiceInstance> instances, Request<?> request) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        if (consistentHash) {
+            String institutionId = institutionId(request);
+            if (institutionId != null) {
+                return new DefaultResponse(owner(ringFor(instances), institutionId, instances));
+            }
+        }
+        return new DefaultResponse(powerOfTwoChoices(instances));
+    }
+
+    private ServiceInstance powerOfTwoChoices(List<ServiceInstance> instances) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return stats.cost(b) < stats.cost(a) ? b : a;
+    }
+
+    // Header first, then a /institution(s)/{id} path segment, then an institutionId query parameter
+    static String institutionId(Request<?> request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return null;
+        }
+        RequestData data = context.getClientRequest();
+        String header = data.getHeaders() != null ? data.getHeaders().getFirst(INSTITUTION_HEADER) : null;
+        if (header != null && !header.isBlank()) {
+            return header.trim();
+        }
+        if (data.getUrl() == null) {
+            return null;
+        }
+        Matcher matcher = INSTITUTION_PATH.matcher(data.getUrl().getPath());
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return UriComponentsBuilder.fromUri(data.getUrl()).build().getQueryParams().getFirst("institutionId");
+    }
+
+    private HashRing ringFor(List<ServiceInstance> instances) {
+        List<String> keys = instances.stream().map(LoadBalancerStats::key).sorted().toList();
+        HashRing current = ring;
+        if (current == null || !current.keys().equals(keys)) {
+            current = HashRing.of(keys, instances, properties.getVirtualNodes());
+            ring = current;
+        }
+        return current;
+    }
+
+    // First replica clockwise from the key that is not already over its share of the load
+    private ServiceInstance owner(HashRing ring, String institutionId, List<ServiceInstance> instances) {
+        int replicas = instances.size();
+        int totalInFlight = 0;
+        for (ServiceInstance instance : instances) {
+            totalInFlight += stats.inFlight(instance);
+        }
+        double bound = Math.ceil(properties.getHashLoadFactor() * (totalInFlight + 1) / replicas);
+        long position = hash(institutionId);
+        Set<String> tried = new HashSet<>();
+        ServiceInstance first = null;
+        for (Collection<ServiceInstance> arc : List.of(ring.points().tailMap(position).values(),
+                ring.points().headMap(position).values())) {
+            for (ServiceInstance candidate : arc) {
+                if (!tried.add(LoadBalancerStats.key(candidate))) {
+                    continue;
+                }
+                if (first == null) {
+                    first = candidate;
+                }
+                if (stats.inFlight(candidate) + 1 <= bound) {
+                    return candidate;
+                }
+                if (tried.size() == replicas) {
+                    return first;
+                }
+            }
+        }
+        return first;
+    }
+
+    private record HashRing(List<String> keys, TreeMap<Long, ServiceInstance> points) {
+
+        static HashRing of(List<String> keys, List<ServiceInstance> instances, int virtualNodes) {
+            TreeMap<Long, ServiceInstance> points = new TreeMap<>();
+            for (ServiceInstance instance : instances) {
+                String key = LoadBalancerStats.key(instance);
+                for (int node = 0; node < virtualNodes; node++) {
+                    points.put(hash(key + "#" + node), instance);
+                }
+            }
+            return new HashRing(keys, points);
+        }
+    }
+
+    static long hash(String value) {
+        // FNV-1a followed by the MurmurHash3 finaliser so nearby keys land far apart on the ring
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
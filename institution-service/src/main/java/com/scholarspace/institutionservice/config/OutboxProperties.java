@@ -0,0 +1,28 @@
+package com.scholarspace.institutionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    // "http" posts batches to the subscribers below; "in-process" hands them to local listeners only
+    private String broker = "in-process";
+    private List<String> subscribers = new ArrayList<>();
+    // Shared secret sent with published batches and required on inbound ones
+    private String token = "";
+    private int batchSize = 100;
+    private long pollIntervalMs = 1000;
+    private long initialBackoffMs = 1000;
+    private long maxBackoffMs = 300000;
+    // An event failing this often on its own is parked instead of blocking the ones behind it
+    private int maxAttempts = 20;
+    private int retentionHours = 72;
+    private int dedupeWindow = 100000;
+}
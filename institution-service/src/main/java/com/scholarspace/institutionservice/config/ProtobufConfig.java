@@ -0,0 +1,37 @@
+package com.scholarspace.institutionservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+/**
+ * Binary transport for service-to-service calls. The converter is picked up by MVC next to
+ * Jackson; endpoints only answer with a generated message when the caller names
+ * {@code application/x-protobuf} in its Accept header, so browsers and other external clients
+ * sending {@code *}{@code /*} keep getting JSON.
+ */
+@Configuration
+public class ProtobufConfig {
+
+    public static final MediaType PROTOBUF = ProtobufHttpMessageConverter.PROTOBUF;
+
+    @Bean
+    public ProtobufHttpMessageConverter protobufHttpMessageConverter() {
+        return new ProtobufHttpMessageConverter();
+    }
+
+    /** Whether an Accept header explicitly asks for protobuf; wildcards do not count. */
+    public static boolean acceptsProtobuf(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> PROTOBUF.equalsTypeAndSubtype(type) && type.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.scholarspace.institutionservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * RestTemplate for calls to other services. Each target service - the host of the logical
+ * {@code http://service-name/...} URL, before load balancing - gets its own deadline, circuit
+ * breaker and latency timer, and GET, HEAD and OPTIONS calls are retried a bounded number of times
+ * within that deadline. Callers keep their own fallbacks: an open breaker surfaces as a
+ * {@link ResourceAccessException} without touching the network.
+ *
+ * <p>Identical concurrent GETs (same URL and request headers) are coalesced: the first caller makes
+ * the call and the others wait for its buffered response, each decoding it into its own object.
+ * A 404 is remembered for a few seconds so repeated lookups of a missing id stay local.
+ */
+@Slf4j
+public class ResilientRestTemplate extends RestTemplate {
+
+    /** Response timeout for the attempt in progress on this thread, read by the request factory. */
+    static final ThreadLocal<Long> RESPONSE_TIMEOUT_MS = new ThreadLocal<>();
+
+    private static final Set<HttpMethod> IDEMPOTENT_READS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TargetCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, HttpClientErrorException> notFound;
+
+    public ResilientRestTemplate(ClientHttpRequestFactory requestFactory, HttpClientProperties properties, MeterRegistry meterRegistry) {
+        super(requestFactory);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(properties.getNotFoundMaxEntries())
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, properties.getNotFoundTtlMs())))
+                .build();
+    }
+
+    /** Raised without calling the target while its circuit breaker is open. */
+    public static class CircuitOpenException extends ResourceAccessException {
+        public CircuitOpenException(String target) {
+            super("Circuit breaker for " + target + " is open");
+        }
+    }
+
+    @Override
+    protected <T> T doExecute(URI url, @Nullable String uriTemplate, @Nullable HttpMethod method,
+                              @Nullable RequestCallback requestCallback, @Nullable ResponseExtractor<T> responseExtractor) throws RestClientException {
+        String target = url.getHost() != null ? url.getHost() : "unknown";
+        if (method == HttpMethod.GET && responseExtractor != null && properties.isSingleFlight()) {
+            String key = coalescingKey(url, requestCallback);
+            if (key != null) {
+                return coalesced(target, url, key, requestCallback, responseExtractor);
+            }
+        } else if (method != null && !IDEMPOTENT_READS.contains(method)) {
+            // A write may have created what an earlier GET did not find
+            String prefix = url + " ";
+            notFound.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+        return resilientExecute(target, url, uriTemplate, method, requestCallback, responseExtractor);
+    }
+
+    private <T> T resilientExecute(String target, URI url, @Nullable String uriTemplate, @Nullable HttpMethod method,
+                                   @Nullable RequestCallback requestCallback, @Nullable ResponseExtractor<T> responseExtractor) {
+        TargetCircuitBreaker breaker = breakers.computeIfAbsent(target, this::newBreaker);
+        int retries = method != null && IDEMPOTENT_READS.contains(method) ? properties.getRetries(target) : 0;
+        long readTimeoutMs = properties.readTimeoutMs(target);
+        long deadlineMs = properties.deadlineMs(target);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        String outcome = "ERROR";
+        try {
+            for (int attempt = 0; ; attempt++) {
+                // Checked before taking a permit: an attempt that never starts tells the breaker nothing
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    outcome = "DEADLINE";
+                    throw new ResourceAccessException("Deadline of " + deadlineMs + " ms exceeded calling " + target);
+                }
+                TargetCircuitBreaker.Permit permit = breaker.tryAcquire();
+                if (permit == TargetCircuitBreaker.Permit.REJECTED) {
+                    outcome = "REJECTED";
+                    throw new CircuitOpenException(target);
+                }
+
+                RestClientException failure;
+                RESPONSE_TIMEOUT_MS.set(Math.min(readTimeoutMs, remainingMs));
+                try {
+                    T result = super.doExecute(url, uriTemplate, method, requestCallback, responseExtractor);
+                    breaker.record(permit, true);
+                    outcome = "SUCCESS";
+                    return result;
+                } catch (HttpServerErrorException | ResourceAccessException e) {
+                    breaker.record(permit, false);
+                    failure = e;
+                } catch (RestClientException e) {
+                    // The target answered (4xx or an unreadable body), so it counts as healthy
+                    breaker.record(permit, true);
+                    outcome = e instanceof HttpClientErrorException ? "CLIENT_ERROR" : "ERROR";
+                    throw e;
+                } catch (RuntimeException e) {
+                    // Nothing reached the target, e.g. the load balancer had no instance of it
+                    breaker.record(permit, false);
+                    outcome = "UNAVAILABLE";
+                    throw e;
+                } finally {
+                    RESPONSE_TIMEOUT_MS.remove();
+                }
+
+                outcome = failure instanceof HttpServerErrorException ? "SERVER_ERROR" : "IO_ERROR";
+                if (attempt >= retries || !isRetryable(failure) || !backOff(attempt, deadline)) {
+                    throw failure;
+                }
+                log.debug("Retrying {} {} after {}", method, url, failure.getMessage());
+                Counter.builder("http.client.target.retries")
+                        .tag("target", target)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        } finally {
+            Timer.builder("http.client.target.requests")
+                    .description("Calls to other services, including retries")
+                    .tag("target", target)
+                    .tag("method", method != null ? method.name() : "UNKNOWN")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T coalesced(String target, URI url, String key, @Nullable RequestCallback requestCallback,
+                            ResponseExtractor<T> responseExtractor) {
+        HttpClientErrorException missing = notFound.getIfPresent(key);
+        if (missing != null) {
+            countSaved(target, "not_found_cache");
+            throw (HttpClientErrorException) copyOf(missing);
+        }
+
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, call);
+        BufferedResponse response;
+        if (existing != null) {
+            countSaved(target, "in_flight");
+            response = await(existing, target);
+        } else {
+            try {
+                response = resilientExecute(target, url, null, HttpMethod.GET, requestCallback, BufferedResponse::read);
+                call.complete(response);
+            } catch (RuntimeException e) {
+                if (e instanceof HttpClientErrorException.NotFound notFoundError && properties.getNotFoundTtlMs() > 0) {
+                    notFound.put(key, notFoundError);
+                }
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                // Removed only after the negative cache is filled, so a caller arriving now sees one or the other
+                inFlight.remove(key, call);
+            }
+        }
+
+        try {
+            return responseExtractor.extractData(response.replay());
+        } catch (IOException e) {
+            throw new RestClientException("Error while extracting response from " + url, e);
+        }
+    }
+
+    private BufferedResponse await(CompletableFuture<BufferedResponse> call, String target) {
+        try {
+            // The leading call is bounded by the target's deadline; the margin covers its last backoff
+            return call.get(properties.deadlineMs(target) + 1000, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw copyOf(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceAccessException("Timed out waiting for an identical call to " + target);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted waiting for an identical call to " + target);
+        }
+    }
+
+    /** Each waiting caller gets its own status exception, so none shares a stack trace or gets mutated. */
+    private static RuntimeException copyOf(Throwable failure) {
+        if (failure instanceof HttpStatusCodeException e) {
+            return e.getStatusCode().is4xxClientError()
+                    ? HttpClientErrorException.create(e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(), e.getResponseBodyAsByteArray(), null)
+                    : HttpServerErrorException.create(e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(), e.getResponseBodyAsByteArray(), null);
+        }
+        return failure instanceof RuntimeException e ? e : new RestClientException(failure.getMessage(), failure);
+    }
+
+    private void countSaved(String target, String source) {
+        Counter.builder("http.client.target.coalesced")
+                .description("GETs answered without a request of their own")
+                .tag("target", target)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Runs the request callback against a stand-in request to learn the headers it would send.
+     * Returns null, so the call is not coalesced, when the callback writes a body or fails.
+     */
+    @Nullable
+    private static String coalescingKey(URI url, @Nullable RequestCallback requestCallback) {
+        CapturedRequest captured = new CapturedRequest(url);
+        if (requestCallback != null) {
+            try {
+                requestCallback.doWithRequest(captured);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+        return captured.body.size() > 0 ? null : url + " " + captured.headers;
+    }
+
+    private static final class CapturedRequest implements ClientHttpRequest {
+        private final URI uri;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        CapturedRequest(URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return HttpMethod.GET;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public ClientHttpResponse execute() {
+            throw new UnsupportedOperationException("Captured requests are never sent");
+        }
+    }
+
+    /** A successful response read fully into memory so several callers can decode it. */
+    private record BufferedResponse(HttpStatusCode status, String statusText, HttpHeaders headers, byte[] body) {
+
+        static BufferedResponse read(ClientHttpResponse response) throws IOException {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedResponse(response.getStatusCode(), response.getStatusText(), headers,
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+
+        ClientHttpResponse replay() {
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return status;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return statusText;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+
+    private TargetCircuitBreaker newBreaker(String target) {
+        TargetCircuitBreaker breaker = new TargetCircuitBreaker(properties.getBreakerWindow(), properties.getBreakerMinimumCalls(),
+                properties.getBreakerFailureRatePercent(), properties.getBreakerOpenMs());
+        Gauge.builder("http.client.target.breaker.state", breaker, b -> b.state().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("target", target)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private static boolean isRetryable(RestClientException failure) {
+        return failure instanceof ResourceAccessException
+                || RETRYABLE_STATUSES.contains(((HttpServerErrorException) failure).getStatusCode().value());
+    }
+
+    /** Sleeps before the next attempt; false when the deadline would pass first. */
+    private boolean backOff(int attempt, long deadline) {
+        long backoffMs = properties.getRetryBackoffMs() << Math.min(attempt, 10);
+        long sleepMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sleepMs) >= deadline) {
+            return false;
+        }
+        try {
+            Thread.sleep(sleepMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
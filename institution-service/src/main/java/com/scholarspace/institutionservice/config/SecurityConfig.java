@@ -41,6 +41,8 @@ public class SecurityConfig {
                 
                 // Allow actuator health checks
                 .requestMatchers("/actuator/health").permitAll()
+                // Slow traces carry request URLs, SQL and error messages
+                .requestMatchers("/actuator/slowtraces/**").hasAuthority("ROLE_ADMIN")
                 
                 // Allow OPTIONS requests (CORS preflight)
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
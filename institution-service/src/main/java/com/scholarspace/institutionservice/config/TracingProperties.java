@@ -0,0 +1,21 @@
+package com.scholarspace.institutionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+    // Finished spans are appended here as JSON lines; blank disables the file export
+    private String exportFile = "";
+    // Once the file would grow past this it is renamed to <file>.1, replacing the previous one
+    private long exportMaxBytes = 50L * 1024 * 1024;
+    // Spans waiting for the writer thread; further spans are dropped and counted
+    private int exportQueueSize = 10000;
+    // Traces kept in memory for /actuator/slowtraces
+    private int recentTraces = 1000;
+    private long retentionMinutes = 15;
+    private int slowestLimit = 20;
+}
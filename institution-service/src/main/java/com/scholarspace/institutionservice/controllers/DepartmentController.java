@@ -1,6 +1,9 @@
 package com.scholarspace.institutionservice.controllers;
 
+import com.scholarspace.institutionservice.config.ProtobufConfig;
+import com.scholarspace.institutionservice.dto.DepartmentCourseStats;
 import com.scholarspace.institutionservice.models.Department;
+import com.scholarspace.institutionservice.proto.DepartmentRef;
 import com.scholarspace.institutionservice.services.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -136,7 +140,7 @@ public class DepartmentController {
     @GetMapping("/{id}")
     @Operation(
         summary = "Get department by ID",
-        description = "Retrieves detailed information about a specific department using its unique identifier. The response includes the department details along with its associated institution information. This is useful when you need complete information about a particular department."
+        description = "Retrieves detailed information about a specific department using its unique identifier. The response includes the department details along with its associated institution information. This is useful when you need complete information about a particular department. Internal callers that accept application/x-protobuf get a compact DepartmentRef message instead of JSON."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -166,12 +170,27 @@ public class DepartmentController {
             example = "1",
             required = true
         )
-        @PathVariable Long id) {
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Optional<Department> department = departmentService.getDepartmentById(id);
+        if (department.isPresent() && ProtobufConfig.acceptsProtobuf(accept)) {
+            return ResponseEntity.ok().contentType(ProtobufConfig.PROTOBUF).body(toRef(department.get()));
+        }
         return department.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    private static DepartmentRef toRef(Department department) {
+        DepartmentRef.Builder ref = DepartmentRef.newBuilder()
+                .setDepartmentId(department.getDepartmentId())
+                .setName(department.getName())
+                .setCode(department.getCode());
+        if (department.getInstitution() != null) {
+            ref.setInstitutionId(department.getInstitution().getInstitutionId());
+        }
+        return ref.build();
+    }
+
     @GetMapping("/code/{code}")
     @Operation(
         summary = "Find department by code",
@@ -384,7 +403,7 @@ public class DepartmentController {
         description = "Retrieves comprehensive statistics for a specific department including course count and enrollment numbers."
     )
     @ApiResponse(responseCode = "200", description = "Department statistics retrieved successfully")
-    public ResponseEntity<Map<String, Object>> getDepartmentStats(
+    public ResponseEntity<DepartmentCourseStats> getDepartmentStats(
         @Parameter(description = "Department ID", example = "1")
         @PathVariable Long id) {
         return ResponseEntity.ok(departmentService.getDepartmentStats(id));
@@ -366,4 +366,16 @@ public class InstitutionController {
         @PathVariable Long id) {
         return ResponseEntity.ok(institutionService.getInstitutionStats(id));
     }
+
+    @GetMapping("/{id}/departments/stats")
+    @Operation(
+        summary = "Get statistics for every department of an institution",
+        description = "Retrieves course and enrollment counts for all departments of an institution, plus the institution totals, in one call to course-service."
+    )
+    @ApiResponse(responseCode = "200", description = "Department statistics retrieved successfully")
+    public ResponseEntity<Map<String, Object>> getDepartmentStatsByInstitution(
+        @Parameter(description = "Institution ID", example = "1")
+        @PathVariable Long id) {
+        return ResponseEntity.ok(institutionService.getDepartmentStatsByInstitution(id));
+    }
 }
\ No newline at end of file
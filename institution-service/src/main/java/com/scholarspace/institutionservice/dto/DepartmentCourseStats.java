@@ -0,0 +1,18 @@
+package com.scholarspace.institutionservice.dto;
+
+/**
+ * Course and enrollment counts of one department, as returned by course-service's
+ * {@code /api/courses/department/{id}/stats}.
+ */
+public record DepartmentCourseStats(
+        Long departmentId,
+        long courseCount,
+        long activeCourseCount,
+        long enrollmentCount,
+        long pendingEnrollmentCount,
+        long studentCount) {
+
+    public static DepartmentCourseStats empty(Long departmentId) {
+        return new DepartmentCourseStats(departmentId, 0, 0, 0, 0, 0);
+    }
+}
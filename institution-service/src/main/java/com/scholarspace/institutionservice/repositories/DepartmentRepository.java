@@ -2,6 +2,8 @@ package com.scholarspace.institutionservice.repositories;
 
 import com.scholarspace.institutionservice.models.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,7 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByCode(String code);
     List<Department> findByInstitution_InstitutionId(Long institutionId);
     long countByInstitution_InstitutionId(Long institutionId);
+    
+    @Query("SELECT d.departmentId FROM Department d WHERE d.institution.institutionId = :institutionId ORDER BY d.departmentId")
+    List<Long> findIdsByInstitutionId(@Param("institutionId") Long institutionId);
 }
\ No newline at end of file
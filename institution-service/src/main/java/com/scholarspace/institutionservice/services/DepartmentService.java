@@ -1,26 +1,34 @@
 package com.scholarspace.institutionservice.services;
 
+import com.scholarspace.institutionservice.dto.DepartmentCourseStats;
 import com.scholarspace.institutionservice.models.Department;
 import com.scholarspace.institutionservice.models.Institution;
 import com.scholarspace.institutionservice.repositories.DepartmentRepository;
 import com.scholarspace.institutionservice.repositories.InstitutionRepository;
+import com.scholarspace.institutionservice.services.events.DomainEventTypes;
+import com.scholarspace.institutionservice.services.events.OutboxService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final InstitutionRepository institutionRepository;
     private final RestTemplate restTemplate;
+    private final OutboxService outboxService;
 
     public Department createDepartment(String name, String code, String description, Long institutionId) {
         if (departmentRepository.findByCode(code).isPresent()) {
@@ -60,28 +68,31 @@ public class DepartmentService {
         return departmentRepository.save(department);
     }
 
+    @Transactional
     public void deleteDepartment(Long departmentId) {
-        departmentRepository.deleteById(departmentId);
+        departmentRepository.findById(departmentId).ifPresent(department -> {
+            departmentRepository.delete(department);
+            
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("departmentId", department.getDepartmentId());
+            payload.put("institutionId", department.getInstitution().getInstitutionId());
+            payload.put("code", department.getCode());
+            outboxService.record(DomainEventTypes.DEPARTMENT_DELETED, "Department", departmentId, payload);
+        });
     }
 
-    public Map<String, Object> getDepartmentStats(Long departmentId) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Get course count from course-service
+    public DepartmentCourseStats getDepartmentStats(Long departmentId) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> courseStats = restTemplate.getForObject(
-                "http://course-service/api/courses/department/" + departmentId + "/stats", 
-                Map.class
-            );
-            if (courseStats != null) {
-                stats.putAll(courseStats);
+            DepartmentCourseStats stats = restTemplate.exchange(
+                "http://course-service/api/courses/department/" + departmentId + "/stats",
+                HttpMethod.GET, InstitutionService.withCallerToken(), DepartmentCourseStats.class
+            ).getBody();
+            if (stats != null) {
+                return stats;
             }
         } catch (Exception e) {
-            stats.put("courseCount", 0);
-            stats.put("enrollmentCount", 0);
+            log.warn("Course stats for department {} unavailable, returning zeros: {}", departmentId, e.getMessage());
         }
-        
-        return stats;
+        return DepartmentCourseStats.empty(departmentId);
     }
-}
\ No newline at end of file
+}
@@ -5,24 +5,37 @@ import com.scholarspace.institutionservice.models.Institution;
 import com.scholarspace.institutionservice.repositories.DepartmentRepository;
 import com.scholarspace.institutionservice.repositories.InstitutionRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class InstitutionService {
 
     private final InstitutionRepository institutionRepository;
     private final DepartmentRepository departmentRepository;
     private final RestTemplate restTemplate;
 
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+    };
+
     public Institution createInstitution(String name, String location, String contact) {
         if (institutionRepository.findByName(name).isPresent()) {
             throw new RuntimeException("Institution with this name already exists");
@@ -89,24 +102,93 @@ public class InstitutionService {
         Map<String, Object> stats = new HashMap<>();
         
         // Get department count
-        long departmentCount = departmentRepository.countByInstitution_InstitutionId(institutionId);
-        stats.put("departmentCount", departmentCount);
+        List<Long> departmentIds = departmentRepository.findIdsByInstitutionId(institutionId);
+        stats.put("departmentCount", departmentIds.size());
         
-        // Get course count from course-service
+        // Get course count from course-service; courses only know their department, so pass the ids
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> courseStats = restTemplate.getForObject(
-                "http://course-service/api/courses/institution/" + institutionId + "/stats", 
-                Map.class
-            );
+            Map<String, Object> courseStats = restTemplate.exchange(
+                "http://course-service/api/courses/institution/" + institutionId + "/stats?departmentIds=" + joinIds(departmentIds), 
+                HttpMethod.GET, withCallerToken(), JSON_OBJECT
+            ).getBody();
             if (courseStats != null) {
                 stats.putAll(courseStats);
             }
         } catch (Exception e) {
-            stats.put("courseCount", 0);
-            stats.put("studentCount", 0);
+            log.warn("Course stats for institution {} unavailable, returning zeros: {}", institutionId, e.getMessage());
+            stats.putAll(emptyInstitutionStats(institutionId, departmentIds.size()));
         }
         
         return stats;
     }
+
+    /**
+     * Course stats for every department of an institution plus the institution totals, fetched
+     * from course-service in a single call instead of one call per department.
+     */
+    public Map<String, Object> getDepartmentStatsByInstitution(Long institutionId) {
+        List<Long> departmentIds = departmentRepository.findIdsByInstitutionId(institutionId);
+        try {
+            Map<String, Object> courseStats = restTemplate.exchange(
+                "http://course-service/api/courses/institution/" + institutionId + "/departments/stats?departmentIds=" + joinIds(departmentIds), 
+                HttpMethod.GET, withCallerToken(), JSON_OBJECT
+            ).getBody();
+            if (courseStats != null) {
+                return courseStats;
+            }
+        } catch (Exception e) {
+            log.warn("Department stats for institution {} unavailable, returning zeros: {}", institutionId, e.getMessage());
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("institution", emptyInstitutionStats(institutionId, departmentIds.size()));
+        stats.put("departments", departmentIds.stream()
+                .map(InstitutionService::emptyDepartmentStats)
+                .toList());
+        return stats;
+    }
+
+    /**
+     * The course-service stats endpoints need a JWT like any other call, so the admin's token is
+     * passed on. It goes in the request headers rather than an interceptor so that coalesced reads
+     * in ResilientRestTemplate are only shared between calls carrying the same token.
+     */
+    static HttpEntity<Void> withCallerToken() {
+        HttpHeaders headers = new HttpHeaders();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String authorization = attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) {
+                headers.set(HttpHeaders.AUTHORIZATION, authorization);
+            }
+        }
+        return new HttpEntity<>(headers);
+    }
+
+    // Same fields as course-service's InstitutionCourseStats and DepartmentCourseStats, all zero
+    private static Map<String, Object> emptyInstitutionStats(Long institutionId, int departmentCount) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("institutionId", institutionId);
+        stats.put("departmentCount", departmentCount);
+        stats.put("courseCount", 0);
+        stats.put("activeCourseCount", 0);
+        stats.put("enrollmentCount", 0);
+        stats.put("pendingEnrollmentCount", 0);
+        stats.put("studentCount", 0);
+        return stats;
+    }
+
+    private static Map<String, Object> emptyDepartmentStats(Long departmentId) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("departmentId", departmentId);
+        stats.put("courseCount", 0);
+        stats.put("activeCourseCount", 0);
+        stats.put("enrollmentCount", 0);
+        stats.put("pendingEnrollmentCount", 0);
+        stats.put("studentCount", 0);
+        return stats;
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
 }
\ No newline at end of file
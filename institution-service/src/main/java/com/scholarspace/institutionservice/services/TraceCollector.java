@@ -0,0 +1,271 @@
+package com.scholarspace.institutionservice.services;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.institutionservice.config.TracingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Receives every span this service finishes. Each span is tagged with its hop ({@code hop}: the
+ * service, plus the remote side for client calls or the operation for local work such as JDBC),
+ * its duration and its self time, i.e. the part not covered by child spans finished here.
+ * Spans are grouped by trace for {@code /actuator/slowtraces} and, when
+ * {@code app.tracing.export-file} is set, appended as JSON lines by a background writer so the
+ * files of all services can be joined on {@code traceId}. The file rolls over to {@code <file>.1}
+ * once it reaches {@code app.tracing.export-max-bytes}, so at most two files are kept on disk.
+ */
+@Component
+public class TraceCollector extends SpanHandler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceCollector.class);
+
+    private final TracingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Cache<String, TraceRecord> traces;
+    private BlockingQueue<SpanRecord> exportQueue;
+    private Thread writer;
+    private Counter dropped;
+
+    public TraceCollector(TracingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        traces = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentTraces())
+                .expireAfterWrite(Duration.ofMinutes(properties.getRetentionMinutes()))
+                .build();
+        dropped = Counter.builder("tracing.export.dropped").register(meterRegistry);
+        if (!properties.getExportFile().isBlank()) {
+            exportQueue = new ArrayBlockingQueue<>(properties.getExportQueueSize());
+            writer = new Thread(() -> writeLoop(Path.of(properties.getExportFile())), "trace-export");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED || span.startTimestamp() == 0L) {
+            return true;
+        }
+        long durationMicros = Math.max(0L, span.finishTimestamp() - span.startTimestamp());
+        TraceRecord trace = traces.get(span.traceId(), TraceRecord::new);
+        long selfMicros = Math.max(0L, durationMicros - trace.finish(span.id(), span.parentId(), durationMicros));
+        String hop = hop(span);
+        span.tag("hop", hop);
+        span.tag("hop.duration.ms", millis(durationMicros));
+        span.tag("hop.self.ms", millis(selfMicros));
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < span.tagCount(); i++) {
+            tags.put(span.tagKeyAt(i), span.tagValueAt(i));
+        }
+        SpanRecord record = new SpanRecord(span.traceId(), span.id(), span.parentId(), span.localServiceName(),
+                span.name(), span.kind() != null ? span.kind().name() : "LOCAL", hop, span.startTimestamp(),
+                durationMicros / 1000.0, selfMicros / 1000.0,
+                span.error() != null ? span.error().toString() : span.tag("error"), tags);
+        trace.add(record);
+        if (exportQueue != null && !exportQueue.offer(record)) {
+            dropped.increment();
+        }
+        return true;
+    }
+
+    /** The slowest traces still held in memory, slowest first. */
+    public List<TraceSummary> slowest(int limit) {
+        return traces.asMap().values().stream()
+                .map(TraceRecord::summarize)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(TraceSummary::durationMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public Optional<List<SpanRecord>> spans(String traceId) {
+        return Optional.ofNullable(traces.getIfPresent(traceId)).map(TraceRecord::sortedSpans);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(1000);
+        }
+    }
+
+    static String hop(MutableSpan span) {
+        String service = span.localServiceName() != null ? span.localServiceName() : "unknown";
+        if (span.kind() == Span.Kind.SERVER) {
+            return service;
+        }
+        if (span.kind() == Span.Kind.CLIENT) {
+            return service + " -> " + remote(span);
+        }
+        return service + " " + (span.name() != null ? span.name() : "local");
+    }
+
+    private static String remote(MutableSpan span) {
+        if (span.remoteServiceName() != null) {
+            return span.remoteServiceName();
+        }
+        for (String key : List.of("client.name", "spring.cloud.gateway.route.uri", "http.url")) {
+            String value = span.tag(key);
+            if (value == null) {
+                continue;
+            }
+            try {
+                String host = URI.create(value).getHost();
+                return host != null ? host : value;
+            } catch (IllegalArgumentException e) {
+                return value;
+            }
+        }
+        return "remote";
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    private void writeLoop(Path path) {
+        List<SpanRecord> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(exportQueue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            exportQueue.drainTo(batch);
+            write(path, batch);
+        }
+        exportQueue.drainTo(batch);
+        write(path, batch);
+    }
+
+    private void write(Path path, List<SpanRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (SpanRecord span : batch) {
+            try {
+                lines.append(objectMapper.writeValueAsString(span)).append('\n');
+            } catch (JsonProcessingException e) {
+                dropped.increment();
+            }
+        }
+        batch.clear();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.exists(path) && Files.size(path) + lines.length() > properties.getExportMaxBytes()) {
+                Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not export spans to {}: {}", path, e.getMessage());
+        }
+    }
+
+    public record SpanRecord(String traceId, String spanId, String parentId, String service, String name,
+                             String kind, String hop, long startMicros, double durationMs, double selfMs,
+                             String error, Map<String, String> tags) {
+    }
+
+    /** One trace as seen from this service, with self time summed per hop. */
+    public record TraceSummary(String traceId, String root, Instant startedAt, double durationMs, int spanCount,
+                               boolean error, Map<String, Double> selfMsByHop) {
+    }
+
+    private static final class TraceRecord {
+        private final String traceId;
+        private final List<SpanRecord> spans = new ArrayList<>();
+        // Time covered by finished children, waiting for their parent to finish
+        private final Map<String, Long> childMicros = new HashMap<>();
+
+        TraceRecord(String traceId) {
+            this.traceId = traceId;
+        }
+
+        synchronized long finish(String spanId, String parentId, long durationMicros) {
+            if (parentId != null) {
+                childMicros.merge(parentId, durationMicros, Long::sum);
+            }
+            Long children = childMicros.remove(spanId);
+            return children != null ? children : 0L;
+        }
+
+        synchronized void add(SpanRecord span) {
+            spans.add(span);
+        }
+
+        synchronized List<SpanRecord> sortedSpans() {
+            return spans.stream().sorted(Comparator.comparingLong(SpanRecord::startMicros)).toList();
+        }
+
+        synchronized TraceSummary summarize() {
+            if (spans.isEmpty()) {
+                return null;
+            }
+            SpanRecord root = null;
+            long end = 0L;
+            boolean error = false;
+            Map<String, Double> selfMsByHop = new HashMap<>();
+            for (SpanRecord span : spans) {
+                if (root == null || span.startMicros() < root.startMicros()
+                        || (span.startMicros() == root.startMicros() && span.durationMs() > root.durationMs())) {
+                    root = span;
+                }
+                end = Math.max(end, span.startMicros() + Math.round(span.durationMs() * 1000));
+                error |= span.error() != null;
+                selfMsByHop.merge(span.hop(), span.selfMs(), Double::sum);
+            }
+            Map<String, Double> sortedHops = new LinkedHashMap<>();
+            selfMsByHop.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .forEach(e -> sortedHops.put(e.getKey(), Math.round(e.getValue() * 1000) / 1000.0));
+            return new TraceSummary(traceId, root.hop() + " " + root.name(),
+                    Instant.EPOCH.plus(root.startMicros(), ChronoUnit.MICROS), (end - root.startMicros()) / 1000.0,
+                    spans.size(), error, sortedHops);
+        }
+    }
+}
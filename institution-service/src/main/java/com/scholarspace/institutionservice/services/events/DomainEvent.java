@@ -0,0 +1,12 @@
+package com.scholarspace.institutionservice.services.events;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A domain event as it travels between services. {@code eventId} is unique per event and is what
+ * subscribers deduplicate on, since the relay delivers at least once.
+ */
+public record DomainEvent(String eventId, String eventType, String source, String aggregateType,
+                          String aggregateId, LocalDateTime occurredAt, Map<String, Object> payload) {
+}
@@ -0,0 +1,12 @@
+package com.scholarspace.institutionservice.services.events;
+
+import java.util.List;
+
+/**
+ * Hands a batch of outbox events to subscribers. Returning normally means every subscriber
+ * accepted the whole batch; throwing makes the relay back off and send the batch again.
+ */
+public interface EventPublisher {
+
+    void publish(List<DomainEvent> events);
+}
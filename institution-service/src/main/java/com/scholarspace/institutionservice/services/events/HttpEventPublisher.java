@@ -0,0 +1,47 @@
+package com.scholarspace.institutionservice.services.events;
+
+import com.scholarspace.institutionservice.config.OutboxProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Posts each batch to every configured subscriber's {@code /internal/events} endpoint through the
+ * load-balanced client. A subscriber that fails makes the whole batch go out again later, and the
+ * subscribers that already took it skip the duplicates. Refuses to start without a token, since
+ * subscribers reject unsigned batches and the relay would retry them forever.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.broker", havingValue = "http")
+@RequiredArgsConstructor
+public class HttpEventPublisher implements EventPublisher {
+
+    public static final String TOKEN_HEADER = "X-Event-Token";
+
+    private final RestTemplate restTemplate;
+    private final OutboxProperties properties;
+
+    @PostConstruct
+    void checkToken() {
+        if (properties.getToken() == null || properties.getToken().isBlank()) {
+            throw new IllegalStateException("app.outbox.token (OUTBOX_TOKEN) must be set when app.outbox.broker is http");
+        }
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(TOKEN_HEADER, properties.getToken());
+        for (String subscriber : properties.getSubscribers()) {
+            restTemplate.postForEntity(subscriber + "/internal/events", new HttpEntity<>(events, headers), Void.class);
+        }
+    }
+}
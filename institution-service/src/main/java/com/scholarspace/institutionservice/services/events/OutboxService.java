@@ -0,0 +1,38 @@
+package com.scholarspace.institutionservice.services.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.institutionservice.models.OutboxEvent;
+import com.scholarspace.institutionservice.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes domain events to the outbox table. Recording requires the caller's transaction, so the
+ * event is committed or rolled back together with the change it describes and is never published
+ * for a write that did not happen.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent record(String eventType, String aggregateType, Object aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + eventType + " event", e);
+        }
+        return outboxEventRepository.save(new OutboxEvent(UUID.randomUUID().toString(), eventType,
+                aggregateType, String.valueOf(aggregateId), json));
+    }
+}
@@ -0,0 +1,141 @@
+package com.scholarspace.institutionservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerTests {
+
+	private static final ServiceInstance A = instance("a");
+	private static final ServiceInstance B = instance("b");
+	private static final ServiceInstance C = instance("c");
+	private static final List<ServiceInstance> INSTANCES = List.of(A, B, C);
+
+	private LoadBalancingProperties properties;
+	private LoadBalancerStats stats;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LoadBalancingProperties();
+		properties.setConsistentHashServices(List.of("institution-service"));
+		stats = new LoadBalancerStats(properties);
+	}
+
+	@Test
+	void replicaInAPauseStopsGettingTraffic() {
+		stats.observe(A, TimeUnit.MILLISECONDS.toNanos(10));
+		stats.observe(B, TimeUnit.MILLISECONDS.toNanos(10));
+		stats.observe(C, TimeUnit.MILLISECONDS.toNanos(400));
+		LatencyAwareLoadBalancer balancer = balancer("user-service");
+
+		Map<ServiceInstance, Integer> picks = new HashMap<>();
+		for (int i = 0; i < 30; i++) {
+			Request<RequestDataContext> request = request("/api/users/" + i, null);
+			Response<ServiceInstance> response = balancer.select(INSTANCES, request);
+			// Calls stay outstanding, so the fast replicas fill up as traffic arrives
+			stats.onStartRequest(cast(request), response);
+			picks.merge(response.getServer(), 1, Integer::sum);
+		}
+
+		assertNull(picks.get(C));
+		assertTrue(picks.get(A) > 5 && picks.get(B) > 5, picks.toString());
+	}
+
+	@Test
+	void pausedReplicaIsTriedAgainOnceItsLatencyFades() throws Exception {
+		properties.setDecay(Duration.ofMillis(50));
+		stats.observe(C, TimeUnit.MILLISECONDS.toNanos(400));
+		Thread.sleep(400);
+		stats.observe(A, TimeUnit.MILLISECONDS.toNanos(10));
+		stats.observe(B, TimeUnit.MILLISECONDS.toNanos(10));
+
+		LatencyAwareLoadBalancer balancer = balancer("user-service");
+		Set<ServiceInstance> chosen = new HashSet<>();
+		for (int i = 0; i < 30; i++) {
+			chosen.add(balancer.select(INSTANCES, request("/api/users/1", null)).getServer());
+		}
+		assertTrue(chosen.contains(C));
+	}
+
+	@Test
+	void lifecycleTracksInFlightCallsAndChargesFailures() {
+		Request<Object> request = cast(request("/api/users/1", null));
+		DefaultResponse response = new DefaultResponse(A);
+
+		stats.onStartRequest(request, response);
+		assertEquals(1, stats.inFlight(A));
+		stats.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, new IllegalStateException(), request, response));
+
+		assertEquals(0, stats.inFlight(A));
+		assertEquals(properties.getFailurePenalty().toNanos(), stats.cost(A), properties.getFailurePenalty().toNanos() * 0.01);
+	}
+
+	@Test
+	void institutionRequestsStickToOneReplicaUnlessItIsOverloaded() {
+		LatencyAwareLoadBalancer balancer = balancer("institution-service");
+
+		ServiceInstance owner = balancer.select(INSTANCES, request("/api/institutions/42", null)).getServer();
+		assertEquals(owner, balancer.select(INSTANCES, request("/api/departments/institution/42", null)).getServer());
+		assertEquals(owner, balancer.select(INSTANCES, request("/api/departments?institutionId=42", null)).getServer());
+		assertEquals(owner, balancer.select(INSTANCES, request("/api/departments/7", "42")).getServer());
+
+		Set<ServiceInstance> owners = new HashSet<>();
+		for (int institution = 1; institution <= 50; institution++) {
+			owners.add(balancer.select(INSTANCES, request("/api/institutions/" + institution, null)).getServer());
+		}
+		assertEquals(Set.copyOf(INSTANCES), owners);
+
+		for (int i = 0; i < 10; i++) {
+			stats.onStartRequest(cast(request("/api/institutions/42", null)), new DefaultResponse(owner));
+		}
+		assertNotEquals(owner, balancer.select(INSTANCES, request("/api/institutions/42", null)).getServer());
+	}
+
+	private LatencyAwareLoadBalancer balancer(String serviceId) {
+		return new LatencyAwareLoadBalancer(new StaticListableBeanFactory().getBeanProvider(ServiceInstanceListSupplier.class),
+				serviceId, stats, properties);
+	}
+
+	private static Request<RequestDataContext> request(String pathAndQuery, String institutionHeader) {
+		HttpHeaders headers = new HttpHeaders();
+		if (institutionHeader != null) {
+			headers.set(LatencyAwareLoadBalancer.INSTITUTION_HEADER, institutionHeader);
+		}
+		RequestData data = new RequestData(HttpMethod.GET, URI.create("http://service" + pathAndQuery), headers,
+				new LinkedMultiValueMap<>(), Map.of());
+		return new DefaultRequest<>(new RequestDataContext(data));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Request<Object> cast(Request<?> request) {
+		return (Request<Object>) request;
+	}
+
+	private static ServiceInstance instance(String host) {
+		return new DefaultServiceInstance(host, "service", host, 8080, false);
+	}
+}
@@ -0,0 +1,108 @@
+package com.scholarspace.institutionservice.services;
+
+import com.scholarspace.institutionservice.dto.DepartmentCourseStats;
+import com.scholarspace.institutionservice.repositories.DepartmentRepository;
+import com.scholarspace.institutionservice.repositories.InstitutionRepository;
+import com.scholarspace.institutionservice.services.events.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class InstitutionStatsTests {
+
+	private static final String BEARER = "Bearer admin-token";
+	private static final String DEPARTMENT_STATS_URL = "http://course-service/api/courses/institution/1/departments/stats?departmentIds=10,11";
+
+	private MockRestServiceServer courseService;
+	private InstitutionService institutionService;
+	private DepartmentService departmentService;
+
+	@BeforeEach
+	void setUp() {
+		RestTemplate restTemplate = new RestTemplate();
+		courseService = MockRestServiceServer.bindTo(restTemplate).build();
+		DepartmentRepository departments = mock(DepartmentRepository.class);
+		when(departments.findIdsByInstitutionId(1L)).thenReturn(List.of(10L, 11L));
+		institutionService = new InstitutionService(mock(InstitutionRepository.class), departments, restTemplate);
+		departmentService = new DepartmentService(departments, mock(InstitutionRepository.class), restTemplate,
+				mock(OutboxService.class));
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.AUTHORIZATION, BEARER);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void forwardsTheCallersTokenToCourseService() {
+		courseService.expect(requestTo(DEPARTMENT_STATS_URL))
+				.andExpect(header(HttpHeaders.AUTHORIZATION, BEARER))
+				.andRespond(withSuccess("{\"institution\":{\"courseCount\":3},\"departments\":[]}", MediaType.APPLICATION_JSON));
+		courseService.expect(requestTo("http://course-service/api/courses/institution/1/stats?departmentIds=10,11"))
+				.andExpect(header(HttpHeaders.AUTHORIZATION, BEARER))
+				.andRespond(withSuccess("{\"courseCount\":3,\"studentCount\":12}", MediaType.APPLICATION_JSON));
+
+		assertEquals(Map.of("courseCount", 3), institutionService.getDepartmentStatsByInstitution(1L).get("institution"));
+		Map<String, Object> stats = institutionService.getInstitutionStats(1L);
+		assertEquals(12, stats.get("studentCount"));
+		assertEquals(2, stats.get("departmentCount"));
+		courseService.verify();
+	}
+
+	@Test
+	void fallbackHasTheShapeOfTheCourseServiceStats() {
+		courseService.expect(requestTo(DEPARTMENT_STATS_URL)).andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+
+		Map<String, Object> stats = institutionService.getDepartmentStatsByInstitution(1L);
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> institution = (Map<String, Object>) stats.get("institution");
+		assertEquals(Set.of("institutionId", "departmentCount", "courseCount", "activeCourseCount", "enrollmentCount",
+				"pendingEnrollmentCount", "studentCount"), institution.keySet());
+		assertEquals(2, institution.get("departmentCount"));
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> departments = (List<Map<String, Object>>) stats.get("departments");
+		assertEquals(List.of(10L, 11L), departments.stream().map(d -> d.get("departmentId")).toList());
+		assertEquals(Set.of("departmentId", "courseCount", "activeCourseCount", "enrollmentCount",
+				"pendingEnrollmentCount", "studentCount"), departments.get(0).keySet());
+	}
+
+	@Test
+	void departmentStatsForwardTheTokenAndFallBackToTheSameShape() {
+		String url = "http://course-service/api/courses/department/10/stats";
+		courseService.expect(requestTo(url))
+				.andExpect(header(HttpHeaders.AUTHORIZATION, BEARER))
+				.andRespond(withSuccess("{\"departmentId\":10,\"courseCount\":4,\"activeCourseCount\":3,\"enrollmentCount\":20,"
+						+ "\"pendingEnrollmentCount\":2,\"studentCount\":15}", MediaType.APPLICATION_JSON));
+		courseService.expect(requestTo(url)).andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+
+		assertEquals(new DepartmentCourseStats(10L, 4, 3, 20, 2, 15), departmentService.getDepartmentStats(10L));
+		assertEquals(DepartmentCourseStats.empty(10L), departmentService.getDepartmentStats(10L));
+		courseService.verify();
+	}
+}
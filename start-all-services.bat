@@ -8,6 +8,10 @@ echo Please ensure PostgreSQL is running and databases are created.
 echo.
 pause
 
+rem user-service sends account events to course-service over HTTP; both windows inherit this token
+if not defined OUTBOX_TOKEN set OUTBOX_TOKEN=local-%RANDOM%%RANDOM%%RANDOM%%RANDOM%
+if not defined OUTBOX_BROKER set OUTBOX_BROKER=http
+
 echo.
 echo [1/6] Starting Config Server (Port 8888)...
 start "Config Server" cmd /k "cd config-server && mvnw.cmd spring-boot:run"
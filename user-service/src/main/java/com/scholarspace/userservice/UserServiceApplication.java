@@ -4,9 +4,11 @@ import com.scholarspace.userservice.config.LdapConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(LdapConfig.class)
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
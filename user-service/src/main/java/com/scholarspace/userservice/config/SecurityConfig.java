@@ -39,6 +39,8 @@ public class SecurityConfig {
                 .requestMatchers("/test/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Slow traces carry request URLs, SQL and error messages
+                .requestMatchers("/actuator/slowtraces/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
@@ -0,0 +1,116 @@
+package com.scholarspace.userservice.config;
+
+import java.util.Arrays;
+
+/**
+ * Count-based circuit breaker for one target service. It opens when at least
+ * {@code failureRatePercent} of the last {@code window} calls failed (once {@code minimumCalls}
+ * have been seen), rejects calls while open, then lets a single probe through; the probe's outcome
+ * closes it again or reopens it. Calls still finishing from before the breaker opened do not count
+ * as the probe.
+ */
+final class TargetCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** What {@link #tryAcquire()} granted; the same value is handed back to {@link #record}. */
+    enum Permit {
+        REJECTED,
+        CALL,
+        PROBE
+    }
+
+    private final boolean[] failed;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    TargetCircuitBreaker(int window, int minimumCalls, int failureRatePercent, long openMs) {
+        this.failed = new boolean[Math.max(1, window)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failed.length));
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = openMs * 1_000_000;
+    }
+
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return Permit.REJECTED;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return Permit.REJECTED;
+            }
+            probeInFlight = true;
+            return Permit.PROBE;
+        }
+        return Permit.CALL;
+    }
+
+    synchronized void record(Permit permit, boolean success) {
+        if (permit == Permit.REJECTED) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (permit != Permit.PROBE) {
+                // A call admitted while closed finished late; only the probe decides
+                return;
+            }
+            probeInFlight = false;
+            if (success) {
+                state = State.CLOSED;
+                clear();
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // A call admitted before the breaker opened; it says nothing about the target now
+            return;
+        }
+
+        if (calls == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failed[next] = !success;
+        failures += success ? 0 : 1;
+        next = (next + 1) % failed.length;
+        if (calls >= minimumCalls && failures * 100 >= failureRatePercent * calls) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        clear();
+    }
+
+    private void clear() {
+        Arrays.fill(failed, false);
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -1,8 +1,12 @@
 package com.scholarspace.userservice.controllers;
 
+import com.scholarspace.userservice.config.ProtobufConfig;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
+import com.scholarspace.userservice.proto.UserRef;
+import com.scholarspace.userservice.proto.UserRole;
 import com.scholarspace.userservice.services.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
@@ -67,7 +71,7 @@ public class UserController {
     @GetMapping("/{id}")
     @Operation(
         summary = "Get User by ID", 
-        description = "Retrieve user details by ID. Accessible by Admin only."
+        description = "Retrieve user details by ID. Accessible by Admin only. Internal callers that accept application/x-protobuf get a compact UserRef message instead of JSON."
     )
     @ApiResponse(responseCode = "200", description = "User found",
         content = @Content(mediaType = "application/json",
@@ -76,12 +80,35 @@ public class UserController {
             )))
     @ApiResponse(responseCode = "404", description = "User not found")
     @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Optional<User> user = userService.getUserById(id);
+        if (user.isPresent() && ProtobufConfig.acceptsProtobuf(accept)) {
+            return ResponseEntity.ok().contentType(ProtobufConfig.PROTOBUF).body(toRef(user.get()));
+        }
         return user.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    private static UserRef toRef(User user) {
+        UserRef.Builder ref = UserRef.newBuilder()
+                .setUserId(user.getUserId())
+                .setActive(user.isActive());
+        if (user.getName() != null) {
+            ref.setName(user.getName());
+        }
+        if (user.getEmail() != null) {
+            ref.setEmail(user.getEmail());
+        }
+        if (user.getRole() != null) {
+            ref.setRole(UserRole.valueOf(user.getRole().name()));
+        }
+        if (user.getDepartmentId() != null) {
+            ref.setDepartmentId(user.getDepartmentId());
+        }
+        return ref.build();
+    }
+
     @GetMapping("/role/{role}")
     public ResponseEntity<List<User>> getUsersByRole(@PathVariable String role) {
         try {
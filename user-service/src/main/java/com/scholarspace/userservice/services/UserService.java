@@ -3,11 +3,16 @@ package com.scholarspace.userservice.services;
 import com.scholarspace.userservice.models.Role;
 import com.scholarspace.userservice.models.User;
 import com.scholarspace.userservice.repositories.UserRepository;
+import com.scholarspace.userservice.services.events.DomainEventTypes;
+import com.scholarspace.userservice.services.events.OutboxService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,10 +20,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final OutboxService outboxService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, OutboxService outboxService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.outboxService = outboxService;
     }
     
     /**
@@ -93,17 +100,50 @@ public class UserService {
         return userRepository.findByRoleAndIsActiveTrue(role);
     }
 
+    /**
+     * Saves an edited user. Callers hand in a detached copy, so the stored row still holds the
+     * previous role and status; a role change or deactivation is recorded in the outbox in the
+     * same transaction as the update.
+     */
+    @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        Optional<User> stored = user.getUserId() != null ? userRepository.findById(user.getUserId()) : Optional.empty();
+        Role previousRole = stored.map(User::getRole).orElse(null);
+        boolean wasActive = stored.map(User::isActive).orElse(false);
+        
+        User saved = userRepository.save(user);
+        if (previousRole != null && previousRole != saved.getRole()) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("userId", saved.getUserId());
+            payload.put("previousRole", previousRole.name());
+            payload.put("role", saved.getRole() != null ? saved.getRole().name() : null);
+            outboxService.record(DomainEventTypes.ROLE_CHANGED, "User", saved.getUserId(), payload);
+        }
+        if (wasActive && !saved.isActive()) {
+            recordDeactivated(saved);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deactivateUser(Long userId) {
         userRepository.findById(userId).ifPresent(user -> {
+            boolean wasActive = user.isActive();
             user.setActive(false);
             userRepository.save(user);
+            if (wasActive) {
+                recordDeactivated(user);
+            }
         });
     }
 
+    private void recordDeactivated(User user) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userId", user.getUserId());
+        payload.put("role", user.getRole() != null ? user.getRole().name() : null);
+        outboxService.record(DomainEventTypes.USER_DEACTIVATED, "User", user.getUserId(), payload);
+    }
+
     public void activateUser(Long userId) {
         userRepository.findById(userId).ifPresent(user -> {
             user.setActive(true);
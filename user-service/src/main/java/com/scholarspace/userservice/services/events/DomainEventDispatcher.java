@@ -0,0 +1,52 @@
+package com.scholarspace.userservice.services.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scholarspace.userservice.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes delivered events to the {@link DomainEventListener}s interested in their type. Recently
+ * seen event ids are remembered so a redelivered batch only runs the events that failed before;
+ * the window is bounded, which is why listeners must still be idempotent.
+ */
+@Component
+@Slf4j
+public class DomainEventDispatcher {
+
+    private final List<DomainEventListener> listeners;
+    private final Cache<String, Boolean> seen;
+
+    public DomainEventDispatcher(ObjectProvider<DomainEventListener> listeners, OutboxProperties properties) {
+        this.listeners = listeners.orderedStream().toList();
+        this.seen = Caffeine.newBuilder().maximumSize(properties.getDedupeWindow()).build();
+    }
+
+    /** Delivers the events in order and returns how many were new. */
+    public int dispatch(List<DomainEvent> events) {
+        int delivered = 0;
+        for (DomainEvent event : events) {
+            if (seen.asMap().putIfAbsent(event.eventId(), Boolean.TRUE) != null) {
+                log.debug("Skipping duplicate {} event {}", event.eventType(), event.eventId());
+                continue;
+            }
+            try {
+                for (DomainEventListener listener : listeners) {
+                    if (listener.getEventTypes().contains(event.eventType())) {
+                        listener.onEvent(event);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Forget the id so the redelivery runs this event again
+                seen.invalidate(event.eventId());
+                throw e;
+            }
+            delivered++;
+        }
+        return delivered;
+    }
+}
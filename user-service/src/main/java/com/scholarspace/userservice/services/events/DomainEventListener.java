@@ -0,0 +1,15 @@
+package com.scholarspace.userservice.services.events;
+
+import java.util.Set;
+
+/**
+ * Consumes domain events handed over by the in-process broker. Listeners are Spring beans; a
+ * listener that throws fails the batch, which is then redelivered, so implementations must be
+ * idempotent.
+ */
+public interface DomainEventListener {
+
+    Set<String> getEventTypes();
+
+    void onEvent(DomainEvent event);
+}
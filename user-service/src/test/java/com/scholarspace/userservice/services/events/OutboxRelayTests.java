@@ -0,0 +1,197 @@
+package com.scholarspace.userservice.services.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scholarspace.userservice.config.OutboxProperties;
+import com.scholarspace.userservice.models.OutboxEvent;
+import com.scholarspace.userservice.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Runs the relay over an in-memory outbox table with the in-process broker: events go out in id
+ * order, a redelivered event is applied once, and a poison event is retried alone and parked.
+ */
+class OutboxRelayTests {
+
+	private static final String POISON = "poison";
+
+	private final List<OutboxEvent> table = new ArrayList<>();
+	private final List<String> received = new ArrayList<>();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private OutboxProperties properties;
+	private DomainEventDispatcher dispatcher;
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		properties = new OutboxProperties();
+		properties.setBatchSize(2);
+		properties.setMaxAttempts(2);
+		properties.setInitialBackoffMs(60000);
+
+		StaticListableBeanFactory listeners = new StaticListableBeanFactory();
+		listeners.addBean("recorder", new DomainEventListener() {
+			@Override
+			public Set<String> getEventTypes() {
+				return Set.of(DomainEventTypes.ROLE_CHANGED);
+			}
+
+			@Override
+			public void onEvent(DomainEvent event) {
+				if (POISON.equals(event.aggregateId())) {
+					throw new IllegalStateException("listener crashed");
+				}
+				received.add(event.aggregateId());
+			}
+		});
+		dispatcher = new DomainEventDispatcher(listeners.getBeanProvider(DomainEventListener.class), properties);
+
+		relay = new OutboxRelay(repository(), new InProcessEventBroker(dispatcher), properties, new ObjectMapper(), meterRegistry);
+		ReflectionTestUtils.setField(relay, "source", "user-service");
+		relay.init();
+	}
+
+	@Test
+	void eventsGoOutInIdOrderAndARedeliveryIsAppliedOnce() {
+		write("1");
+		write("2");
+		write("3");
+
+		relay.poll();
+
+		assertEquals(List.of("1", "2", "3"), received);
+		assertTrue(table.stream().allMatch(event -> event.getPublishedAt() != null));
+		assertEquals(3.0, meterRegistry.counter("outbox.events.published").count());
+
+		DomainEvent again = new DomainEvent(table.get(0).getEventId(), DomainEventTypes.ROLE_CHANGED,
+				"user-service", "User", "1", LocalDateTime.now(), Map.of());
+		assertEquals(0, dispatcher.dispatch(List.of(again)));
+		assertEquals(List.of("1", "2", "3"), received);
+	}
+
+	@Test
+	void poisonEventIsRetriedAloneThenParkedSoTheRestGoOut() {
+		OutboxEvent poison = write(POISON);
+		OutboxEvent next = write("2");
+		write("3");
+
+		// The whole batch backs off, and nothing overtakes it while it waits
+		assertEquals(0, relay.relayBatch());
+		assertEquals(1, poison.getAttempts());
+		assertEquals(1, next.getAttempts());
+		assertTrue(poison.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+		assertEquals("IllegalStateException: listener crashed", poison.getLastError());
+		assertEquals(0, relay.relayBatch());
+		assertTrue(received.isEmpty());
+
+		table.forEach(event -> event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+		assertEquals(0, relay.relayBatch());
+		assertNotNull(poison.getFailedAt());
+		assertNull(next.getFailedAt());
+
+		relay.poll();
+		assertEquals(List.of("2", "3"), received);
+		assertNull(poison.getPublishedAt());
+		assertEquals(1.0, meterRegistry.counter("outbox.batches.failed").count());
+		assertEquals(1.0, meterRegistry.counter("outbox.events.parked").count());
+		assertEquals(2.0, meterRegistry.counter("outbox.events.published").count());
+	}
+
+	@Test
+	void httpPublisherNeedsATokenAndSendsItToEverySubscriber() {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer subscribers = MockRestServiceServer.bindTo(restTemplate).build();
+		properties.setSubscribers(List.of("http://course-service", "http://institution-service"));
+		HttpEventPublisher publisher = new HttpEventPublisher(restTemplate, properties);
+
+		assertThrows(IllegalStateException.class, publisher::checkToken);
+
+		properties.setToken("secret");
+		publisher.checkToken();
+		for (String subscriber : properties.getSubscribers()) {
+			subscribers.expect(requestTo(subscriber + "/internal/events"))
+					.andExpect(method(HttpMethod.POST))
+					.andExpect(header(HttpEventPublisher.TOKEN_HEADER, "secret"))
+					.andRespond(withSuccess());
+		}
+		publisher.publish(List.of(new DomainEvent("e-1", DomainEventTypes.ROLE_CHANGED, "user-service", "User", "1",
+				LocalDateTime.now(), Map.of())));
+		subscribers.verify();
+	}
+
+	private OutboxEvent write(String aggregateId) {
+		OutboxEvent event = new OutboxEvent("event-" + aggregateId, DomainEventTypes.ROLE_CHANGED, "User", aggregateId, "{}");
+		event.setOutboxId((long) table.size() + 1);
+		event.setCreatedAt(LocalDateTime.now());
+		event.setNextAttemptAt(event.getCreatedAt());
+		table.add(event);
+		return event;
+	}
+
+	/** Applies the repository's update queries to {@link #table}. */
+	private OutboxEventRepository repository() {
+		OutboxEventRepository repository = mock(OutboxEventRepository.class);
+		when(repository.findPending(any(Pageable.class))).thenAnswer(invocation -> {
+			Pageable page = invocation.getArgument(0);
+			return table.stream()
+					.filter(event -> event.getPublishedAt() == null && event.getFailedAt() == null)
+					.limit(page.getPageSize())
+					.toList();
+		});
+		when(repository.markPublished(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+			for (OutboxEvent event : rows(invocation.getArgument(0))) {
+				event.setPublishedAt(invocation.getArgument(1));
+				event.setLastError(null);
+			}
+			return 0;
+		});
+		when(repository.markFailed(anyCollection(), any(LocalDateTime.class), anyString())).thenAnswer(invocation -> {
+			for (OutboxEvent event : rows(invocation.getArgument(0))) {
+				event.setAttempts(event.getAttempts() + 1);
+				event.setNextAttemptAt(invocation.getArgument(1));
+				event.setLastError(invocation.getArgument(2));
+			}
+			return 0;
+		});
+		when(repository.markParked(anyLong(), any(LocalDateTime.class), anyString())).thenAnswer(invocation -> {
+			for (OutboxEvent event : rows(List.of(invocation.<Long>getArgument(0)))) {
+				event.setAttempts(event.getAttempts() + 1);
+				event.setFailedAt(invocation.getArgument(1));
+				event.setLastError(invocation.getArgument(2));
+			}
+			return 0;
+		});
+		return repository;
+	}
+
+	private List<OutboxEvent> rows(Collection<Long> ids) {
+		return table.stream().filter(event -> ids.contains(event.getOutboxId())).toList();
+	}
+}